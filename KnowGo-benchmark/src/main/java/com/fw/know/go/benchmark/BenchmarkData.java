@@ -0,0 +1,90 @@
+package com.fw.know.go.benchmark;
+
+import org.springframework.ai.document.Document;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * @Description 基准测试数据，固定随机种子，每次运行的数据相同
+ * @Date 19/10/2026 下午2:40
+ * @Author Leo
+ */
+public final class BenchmarkData {
+
+    public static final long SEED = 20261019L;
+
+    private static final String PARAGRAPH = "KnowGo 使用 Spring AI 构建检索增强生成流程，文档经 Tika 解析后向量化写入 Chroma，"
+            + "问答时先检索相关片段，再由大模型结合上下文生成回答。The answer cache is keyed by the normalized question, "
+            + "a fingerprint of the retrieved context and the model options. ";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 生成指定长度的中英文混合文本
+     * @param length 字符数
+     * @return 文本
+     */
+    public static String text(int length) {
+        StringBuilder sb = new StringBuilder(length + PARAGRAPH.length());
+        int paragraph = 0;
+        while (sb.length() < length) {
+            sb.append(PARAGRAPH);
+            if (++paragraph % 5 == 0) {
+                sb.append("\n\n");
+            }
+        }
+        return sb.substring(0, length);
+    }
+
+    /**
+     * 生成检索结果形态的文档，带有上传时写入的元数据
+     * @param count 文档数
+     * @param length 每篇文档的字符数
+     * @return 文档
+     */
+    public static List<Document> documents(int count, int length) {
+        List<Document> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("source", "knowgo-guide-" + i + ".pdf");
+            metadata.put("Content-Type", "application/pdf");
+            metadata.put("fileName", "knowgo-guide-" + i + ".pdf");
+            metadata.put("page", i + 1);
+            metadata.put("distance", 0.1 + i * 0.05);
+            documents.add(Document.builder()
+                    .id("9f1c2d7a-3b8e-4f60-a1b2-c3d4e5f6a7b" + i)
+                    .text(text(length))
+                    .metadata(metadata)
+                    .build());
+        }
+        return documents;
+    }
+
+    /**
+     * 生成已归一化的随机向量
+     * @param count 向量数
+     * @param dimensions 维度
+     * @return 向量
+     */
+    public static float[][] normalizedVectors(int count, int dimensions) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        float[][] vectors = new float[count][dimensions];
+        for (float[] vector : vectors) {
+            double norm = 0;
+            for (int i = 0; i < dimensions; i++) {
+                vector[i] = (float) random.nextGaussian();
+                norm += vector[i] * vector[i];
+            }
+            float scale = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < dimensions; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vectors;
+    }
+}
@@ -0,0 +1,93 @@
+package com.fw.know.go.benchmark;
+
+import com.alicp.jetcache.CacheValueHolder;
+import com.alicp.jetcache.support.JavaValueDecoder;
+import com.alicp.jetcache.support.JavaValueEncoder;
+import com.fw.know.go.cache.codec.CompactValueDecoder;
+import com.fw.know.go.cache.codec.CompactValueEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description 缓存值编解码，紧凑编码与JetCache默认的Java序列化对比
+ * @Date 19/10/2026 下午3:20
+ * @Author Leo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    @Param({"answer-300", "answer-4k", "vector-1536", "doc-ids-20"})
+    public String sample;
+
+    private final CompactValueEncoder compactEncoder = new CompactValueEncoder(true, 1024);
+
+    private final CompactValueDecoder compactDecoder = new CompactValueDecoder(true);
+
+    private final JavaValueEncoder javaEncoder = new JavaValueEncoder(true);
+
+    private final JavaValueDecoder javaDecoder = new JavaValueDecoder(true);
+
+    private CacheValueHolder<Object> holder;
+
+    private byte[] compactBytes;
+
+    private byte[] javaBytes;
+
+    @Setup
+    public void setup() {
+        Object value = switch (sample) {
+            case "answer-300" -> BenchmarkData.text(300);
+            case "answer-4k" -> BenchmarkData.text(4096);
+            case "vector-1536" -> BenchmarkData.normalizedVectors(1, 1536)[0];
+            case "doc-ids-20" -> {
+                List<String> ids = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    ids.add("9f1c2d7a-3b8e-4f60-a1b2-c3d4e5f6a7b" + i);
+                }
+                yield ids;
+            }
+            default -> throw new IllegalArgumentException("unsupported sample: " + sample);
+        };
+        holder = new CacheValueHolder<>(value, 60_000);
+        compactBytes = compactEncoder.apply(holder);
+        javaBytes = javaEncoder.apply(holder);
+    }
+
+    @Benchmark
+    public byte[] compactEncode() {
+        return compactEncoder.apply(holder);
+    }
+
+    @Benchmark
+    public Object compactDecode() {
+        return compactDecoder.apply(compactBytes);
+    }
+
+    @Benchmark
+    public byte[] javaEncode() {
+        return javaEncoder.apply(holder);
+    }
+
+    @Benchmark
+    public Object javaDecode() {
+        return javaDecoder.apply(javaBytes);
+    }
+}
@@ -0,0 +1,68 @@
+package com.fw.know.go.benchmark;
+
+import com.fw.know.go.ai.cache.ChatCacheKeyBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.document.Document;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description 问答缓存Key构建，每次问答都会执行一次，耗时主要在格式化文档内容和MD5
+ * @Date 19/10/2026 下午2:50
+ * @Author Leo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheKeyBenchmark {
+
+    /**
+     * 检索到的文档数
+     */
+    @Param({"3", "8"})
+    public int documents;
+
+    /**
+     * 每篇文档的字符数
+     */
+    @Param({"500", "2000"})
+    public int length;
+
+    private List<Document> retrieved;
+
+    private ChatOptions options;
+
+    private String question;
+
+    @Setup
+    public void setup() {
+        retrieved = BenchmarkData.documents(documents, length);
+        options = ChatOptions.builder().model("qwen-plus").temperature(0.7).maxTokens(2048).build();
+        question = "  KnowGo 的问答缓存 Key 是怎么 构建的？ ";
+    }
+
+    @Benchmark
+    public String buildCacheKey() {
+        return ChatCacheKeyBuilder.build(question, retrieved, options);
+    }
+
+    @Benchmark
+    public String contextFingerprint() {
+        return ChatCacheKeyBuilder.contextFingerprint(retrieved);
+    }
+}
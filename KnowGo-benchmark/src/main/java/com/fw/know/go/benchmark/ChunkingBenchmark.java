@@ -0,0 +1,49 @@
+package com.fw.know.go.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.transformer.splitter.TokenTextSplitter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description 文档分块吞吐，使用Spring AI的TokenTextSplitter，按文档字符数分档
+ * @Date 19/10/2026 下午3:10
+ * @Author Leo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChunkingBenchmark {
+
+    @Param({"10000", "100000"})
+    public int length;
+
+    private final TokenTextSplitter splitter = new TokenTextSplitter();
+
+    private Document document;
+
+    @Setup
+    public void setup() {
+        document = new Document(BenchmarkData.text(length));
+    }
+
+    @Benchmark
+    public List<Document> split() {
+        return splitter.apply(List.of(document));
+    }
+}
@@ -0,0 +1,118 @@
+package com.fw.know.go.benchmark;
+
+import com.fw.know.go.file.FileService;
+import com.fw.know.go.file.FileServiceImpl;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description Tika文本提取，按文件格式分别测量，样例文件在启动时生成，内容量相近
+ * @Date 19/10/2026 下午3:00
+ * @Author Leo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TikaExtractionBenchmark {
+
+    private static final int PARAGRAPHS = 40;
+
+    private static final String LINE = "KnowGo parses uploaded documents with Apache Tika before embedding them into Chroma.";
+
+    @Param({"txt", "html", "pdf", "docx"})
+    public String format;
+
+    private final FileService fileService = new FileServiceImpl();
+
+    private byte[] content;
+
+    @Setup
+    public void setup() throws IOException {
+        content = switch (format) {
+            case "txt" -> plainText().getBytes(StandardCharsets.UTF_8);
+            case "html" -> html().getBytes(StandardCharsets.UTF_8);
+            case "pdf" -> pdf();
+            case "docx" -> docx();
+            default -> throw new IllegalArgumentException("unsupported format: " + format);
+        };
+    }
+
+    @Benchmark
+    public String extractText() throws Exception {
+        return fileService.extractText(new ByteArrayInputStream(content));
+    }
+
+    private static String plainText() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < PARAGRAPHS; i++) {
+            sb.append(i).append(". ").append(LINE).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String html() {
+        StringBuilder sb = new StringBuilder("<html><head><title>KnowGo</title></head><body>");
+        for (int i = 0; i < PARAGRAPHS; i++) {
+            sb.append("<p>").append(i).append(". ").append(LINE).append("</p>");
+        }
+        return sb.append("</body></html>").toString();
+    }
+
+    private static byte[] pdf() throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            int perPage = 20;
+            for (int start = 0; start < PARAGRAPHS; start += perPage) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream stream = new PDPageContentStream(document, page)) {
+                    stream.beginText();
+                    stream.setFont(font, 10);
+                    stream.setLeading(14);
+                    stream.newLineAtOffset(40, 750);
+                    for (int i = start; i < Math.min(start + perPage, PARAGRAPHS); i++) {
+                        stream.showText(i + ". " + LINE);
+                        stream.newLine();
+                    }
+                    stream.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] docx() throws IOException {
+        try (XWPFDocument document = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int i = 0; i < PARAGRAPHS; i++) {
+                document.createParagraph().createRun().setText(i + ". " + LINE);
+            }
+            document.write(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.fw.know.go.benchmark;
+
+import com.fw.know.go.datasource.scoring.FloatMatrix;
+import com.fw.know.go.datasource.scoring.Int8Matrix;
+import com.fw.know.go.datasource.scoring.ScalarScoringKernel;
+import com.fw.know.go.datasource.scoring.ScoringKernel;
+import com.fw.know.go.datasource.scoring.TopKSelector;
+import com.fw.know.go.datasource.scoring.VectorKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description 向量打分，查询向量与一批向量逐个计算相似度；kernel=scalar 为标量实现，
+ * kernel=preferred 为运行时选择的实现（加载 jdk.incubator.vector 时为SIMD）
+ * @Date 19/10/2026 下午3:30
+ * @Author Leo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class VectorScoringBenchmark {
+
+    /**
+     * 向量维度，text-embedding-v1 为1536
+     */
+    @Param({"768", "1536"})
+    public int dimensions;
+
+    @Param({"10000"})
+    public int count;
+
+    @Param({"scalar", "preferred"})
+    public String kernel;
+
+    @Param({"10"})
+    public int topK;
+
+    private float[][] vectors;
+
+    private float[] query;
+
+    private float[] scores;
+
+    private ScoringKernel scoringKernel;
+
+    private FloatMatrix matrix;
+
+    private Int8Matrix int8Matrix;
+
+    @Setup
+    public void setup() {
+        vectors = BenchmarkData.normalizedVectors(count, dimensions);
+        query = BenchmarkData.normalizedVectors(1, dimensions)[0];
+        scores = new float[count];
+        scoringKernel = "scalar".equals(kernel) ? ScalarScoringKernel.INSTANCE : VectorKernels.kernel();
+        matrix = new FloatMatrix(dimensions, count);
+        for (float[] vector : vectors) {
+            matrix.add(vector);
+        }
+        int8Matrix = Int8Matrix.quantize(matrix);
+    }
+
+    /**
+     * 已归一化向量，点积即余弦相似度，向量分散存储在二维数组中
+     */
+    @Benchmark
+    public float[] dotAll() {
+        for (int i = 0; i < vectors.length; i++) {
+            scores[i] = scoringKernel.dot(query, 0, vectors[i], 0, dimensions);
+        }
+        return scores;
+    }
+
+    /**
+     * 未归一化时逐个计算余弦相似度
+     */
+    @Benchmark
+    public float[] cosineAll() {
+        for (int i = 0; i < vectors.length; i++) {
+            scores[i] = scoringKernel.cosine(query, 0, vectors[i], 0, dimensions);
+        }
+        return scores;
+    }
+
+    /**
+     * 向量按行连续存储，批量点积
+     */
+    @Benchmark
+    public float[] dotRows() {
+        scoringKernel.dotRows(query, matrix.data(), count, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public float[] l2Rows() {
+        scoringKernel.l2Rows(query, matrix.data(), count, scores);
+        return scores;
+    }
+
+    /**
+     * int8量化后的近似点积，使用运行时选择的实现，与kernel参数无关
+     */
+    @Benchmark
+    public float[] int8DotAll() {
+        int8Matrix.dotAll(query, scores);
+        return scores;
+    }
+
+    /**
+     * 批量点积后选出TopK，对应进程内向量存储的检索路径
+     */
+    @Benchmark
+    public int[] dotRowsTopK() {
+        scoringKernel.dotRows(query, matrix.data(), count, scores);
+        return TopKSelector.select(scores, count, topK, 0f);
+    }
+}
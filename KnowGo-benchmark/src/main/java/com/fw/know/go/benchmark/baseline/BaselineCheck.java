@@ -0,0 +1,102 @@
+package com.fw.know.go.benchmark.baseline;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * @Description 对比本次JMH结果和基线，任一基准变慢超过容差或在本次结果中缺失时以非零状态退出
+ * 用法：java -cp target/benchmarks.jar com.fw.know.go.benchmark.baseline.BaselineCheck baseline.json result.json [容差，默认0.10]
+ * @Date 19/10/2026 下午3:40
+ * @Author Leo
+ */
+public final class BaselineCheck {
+
+    private static final double DEFAULT_TOLERANCE = 0.10;
+
+    private BaselineCheck() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("usage: BaselineCheck <baseline.json> <result.json> [tolerance]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE;
+        File baselineFile = new File(args[0]);
+        File currentFile = new File(args[1]);
+        if (!baselineFile.isFile()) {
+            System.err.printf("baseline file not found: %s, record one on the benchmark machine (see baselines/README.md)%n",
+                    baselineFile.getAbsolutePath());
+            System.exit(2);
+        }
+        if (!currentFile.isFile()) {
+            System.err.printf("result file not found: %s, run the benchmarks with -rf json -rff %s first%n",
+                    currentFile.getAbsolutePath(), currentFile.getName());
+            System.exit(2);
+        }
+        Map<String, Score> baseline = read(baselineFile);
+        Map<String, Score> current = read(currentFile);
+        if (baseline.isEmpty()) {
+            System.err.printf("baseline %s has no results, record one on the benchmark machine (see baselines/README.md)%n",
+                    baselineFile.getAbsolutePath());
+            System.exit(2);
+        }
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, Score> entry : new TreeMap<>(current).entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", now.value, "new");
+                continue;
+            }
+            double change = (now.value - before.value) / before.value;
+            // 吞吐模式越大越好，其余模式（耗时）越小越好
+            boolean regressed = now.higherIsBetter ? change < -tolerance : change > tolerance;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), before.value, now.value,
+                    change * 100, regressed ? "  REGRESSION" : "");
+        }
+        // 基线中有而本次没有的基准视为失败，避免删掉或改名的基准悄悄逃过对比
+        int missing = 0;
+        for (String name : new TreeMap<>(baseline).keySet()) {
+            if (!current.containsKey(name)) {
+                missing++;
+                System.out.printf("%-90s %14.3f %14s %9s%n", name, baseline.get(name).value, "-", "MISSING");
+            }
+        }
+        if (regressions > 0 || missing > 0) {
+            System.err.printf("%d benchmark(s) regressed more than %.0f%%, %d benchmark(s) missing from %s%n",
+                    regressions, tolerance * 100, missing, currentFile.getName());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 读取 -rf json 输出的结果，以 基准名{参数} 为键
+     */
+    private static Map<String, Score> read(File file) {
+        JSONArray results = JSONUtil.parseArray(FileUtil.readUtf8String(file));
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (int i = 0; i < results.size(); i++) {
+            JSONObject result = results.getJSONObject(i);
+            JSONObject params = result.getJSONObject("params");
+            String key = result.getStr("benchmark") + (params == null ? "" : new TreeMap<>(params).toString());
+            JSONObject metric = result.getJSONObject("primaryMetric");
+            scores.put(key, new Score(metric.getDouble("score"), "thrpt".equals(result.getStr("mode"))));
+        }
+        return scores;
+    }
+
+    private record Score(double value, boolean higherIsBetter) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.fw.know.go.benchmark.load;
+
+import java.util.Arrays;
+
+/**
+ * @Description 单个接口的延迟和结果记录，结束后排序计算分位数
+ * @Date 19/10/2026 下午5:50
+ * @Author Leo
+ */
+public class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+
+    private int size;
+
+    private long succeeded;
+
+    private long degraded;
+
+    private long failed;
+
+    /**
+     * 记录一次请求
+     * @param latencyNanos 从计划发送时间到收到响应的耗时
+     * @param outcome 结果
+     */
+    public synchronized void record(long latencyNanos, Outcome outcome) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = latencyNanos;
+        switch (outcome) {
+            case SUCCEEDED -> succeeded++;
+            case DEGRADED -> degraded++;
+            case FAILED -> failed++;
+        }
+    }
+
+    public synchronized long count() {
+        return size;
+    }
+
+    public synchronized long succeeded() {
+        return succeeded;
+    }
+
+    public synchronized long degraded() {
+        return degraded;
+    }
+
+    public synchronized long failed() {
+        return failed;
+    }
+
+    /**
+     * 分位数，单位毫秒
+     * @param quantile 0到1之间
+     * @return 分位数，没有记录时返回0
+     */
+    public synchronized double percentileMillis(double quantile) {
+        if (size == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(quantile * size) - 1;
+        return sorted[Math.max(0, Math.min(size - 1, index))] / 1_000_000.0;
+    }
+
+    /**
+     * 请求结果
+     */
+    public enum Outcome {
+        SUCCEEDED, DEGRADED, FAILED
+    }
+}
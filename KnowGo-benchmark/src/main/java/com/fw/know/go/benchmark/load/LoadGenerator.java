@@ -0,0 +1,246 @@
+package com.fw.know.go.benchmark.load;
+
+import com.fw.know.go.base.context.TenantSignature;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @Description 开环压测：按固定速率发起请求，不等待上一个请求返回，延迟从计划发送时间算起，
+ * 服务变慢时排队时间也计入延迟，避免协调遗漏。结束后输出各接口的吞吐和 p50/p95/p99
+ * 用法：java -cp KnowGo-benchmark/target/benchmarks.jar com.fw.know.go.benchmark.load.LoadGenerator --rps 50 --duration 2m
+ * @Date 19/10/2026 下午6:00
+ * @Author Leo
+ */
+public class LoadGenerator {
+
+    private static final String DEGRADED = "\"code\":\"DEGRADED\"";
+
+    private static final String SUCCESS = "\"success\":true";
+
+    private final LoadOptions options;
+
+    private final HttpClient httpClient;
+
+    private final SplittableRandom random;
+
+    private final Map<LoadOptions.Endpoint, LatencyRecorder> recorders = new EnumMap<>(LoadOptions.Endpoint.class);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * 未配置签名密钥时为空，请求只带租户请求头
+     */
+    private final TenantSignature tenantSignature;
+
+    private volatile boolean measuring;
+
+    public LoadGenerator(LoadOptions options) {
+        this.options = options;
+        this.random = new SplittableRandom(options.getSeed());
+        this.tenantSignature = options.getTenantSecret() == null || options.getTenantSecret().isBlank()
+                ? null : new TenantSignature(options.getTenantSecret(), Duration.ZERO);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(options.getTimeout())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        for (LoadOptions.Endpoint endpoint : LoadOptions.Endpoint.values()) {
+            recorders.put(endpoint, new LatencyRecorder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        new LoadGenerator(options).run();
+    }
+
+    /**
+     * 预热后按设定速率发起请求，结束后等待在途请求完成并输出报告
+     */
+    public void run() throws InterruptedException {
+        long intervalNanos = (long) (1_000_000_000L / options.getRps());
+        long start = System.nanoTime();
+        long measureStart = start + options.getWarmup().toNanos();
+        long end = measureStart + options.getDuration().toNanos();
+        System.out.printf("target=%s rps=%.1f warmup=%ss duration=%ss mix=%s%n", options.getTarget(), options.getRps(),
+                options.getWarmup().toSeconds(), options.getDuration().toSeconds(), options.getMix());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long intended = start; intended < end; intended += intervalNanos) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (!measuring && intended >= measureStart) {
+                    measuring = true;
+                }
+                if (inFlight.get() >= options.getMaxInFlight()) {
+                    if (measuring) {
+                        dropped.incrementAndGet();
+                    }
+                    continue;
+                }
+                LoadOptions.Endpoint endpoint = this.pickEndpoint();
+                String question = options.getQuestions().get(random.nextInt(options.getQuestions().size()));
+                boolean record = measuring;
+                long scheduledAt = intended;
+                inFlight.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        this.send(endpoint, question, scheduledAt, record);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(options.getTimeout().toSeconds() + 5, TimeUnit.SECONDS);
+        }
+        this.report(options.getDuration().toNanos());
+    }
+
+    private void send(LoadOptions.Endpoint endpoint, String question, long scheduledAt, boolean record) {
+        LatencyRecorder.Outcome outcome;
+        try {
+            HttpResponse<String> response = httpClient.send(this.buildRequest(endpoint, question),
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            String body = response.body();
+            if (response.statusCode() != 200) {
+                outcome = LatencyRecorder.Outcome.FAILED;
+            } else if (body.contains(DEGRADED)) {
+                outcome = LatencyRecorder.Outcome.DEGRADED;
+            } else {
+                outcome = body.contains(SUCCESS) ? LatencyRecorder.Outcome.SUCCEEDED : LatencyRecorder.Outcome.FAILED;
+            }
+        } catch (Exception e) {
+            outcome = LatencyRecorder.Outcome.FAILED;
+        }
+        if (record) {
+            recorders.get(endpoint).record(System.nanoTime() - scheduledAt, outcome);
+        }
+    }
+
+    private HttpRequest buildRequest(LoadOptions.Endpoint endpoint, String question) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(options.getTimeout())
+                .header(TenantSignature.TENANT_HEADER, options.getTenant());
+        if (tenantSignature != null) {
+            long now = System.currentTimeMillis();
+            builder.header(TenantSignature.TIMESTAMP_HEADER, String.valueOf(now))
+                    .header(TenantSignature.SIGNATURE_HEADER, tenantSignature.sign(options.getTenant(), now));
+        }
+        URI target = options.getTarget();
+        return switch (endpoint) {
+            case CHAT -> builder.uri(URI.create(target + "/rag/chat"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"question\":\"" + escapeJson(question) + "\"}",
+                            StandardCharsets.UTF_8))
+                    .build();
+            case QUERY -> builder.uri(URI.create(target + "/document/query?query="
+                            + URLEncoder.encode(question, StandardCharsets.UTF_8)))
+                    .GET()
+                    .build();
+            case UPLOAD -> {
+                String boundary = "knowgo-" + UUID.randomUUID();
+                byte[] body = multipart(boundary, "loadtest-" + UUID.randomUUID() + ".txt", uploadContent(question));
+                yield builder.uri(URI.create(target + "/document/upload"))
+                        .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                        .build();
+            }
+        };
+    }
+
+    private LoadOptions.Endpoint pickEndpoint() {
+        double total = options.getMix().values().stream().mapToDouble(Double::doubleValue).sum();
+        double point = random.nextDouble() * total;
+        LoadOptions.Endpoint last = null;
+        for (Map.Entry<LoadOptions.Endpoint, Double> entry : options.getMix().entrySet()) {
+            point -= entry.getValue();
+            last = entry.getKey();
+            if (point < 0) {
+                return last;
+            }
+        }
+        return last;
+    }
+
+    private void report(long durationNanos) {
+        double seconds = durationNanos / 1_000_000_000.0;
+        System.out.printf("%n%-8s %8s %8s %8s %8s %10s %10s %10s %10s %10s%n", "endpoint", "count", "ok", "degraded",
+                "failed", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)");
+        recorders.forEach((endpoint, recorder) -> {
+            if (recorder.count() == 0) {
+                return;
+            }
+            System.out.printf("%-8s %8d %8d %8d %8d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    endpoint.name().toLowerCase(), recorder.count(), recorder.succeeded(), recorder.degraded(),
+                    recorder.failed(), recorder.count() / seconds, recorder.percentileMillis(0.50),
+                    recorder.percentileMillis(0.95), recorder.percentileMillis(0.99), recorder.percentileMillis(1.0));
+        });
+        if (dropped.get() > 0) {
+            System.out.printf("dropped %d requests: more than %d in flight%n", dropped.get(), options.getMaxInFlight());
+        }
+    }
+
+    private static String uploadContent(String question) {
+        return ("压测上传文档。" + question + "\n").repeat(50);
+    }
+
+    private static byte[] multipart(String boundary, String fileName, String content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        String head = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: text/plain; charset=UTF-8\r\n\r\n";
+        out.writeBytes(head.getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(content.getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    private static String escapeJson(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 8);
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
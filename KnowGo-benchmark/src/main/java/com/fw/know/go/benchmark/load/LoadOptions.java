@@ -0,0 +1,183 @@
+package com.fw.know.go.benchmark.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @Description 压测参数，命令行格式 --name value
+ * @Date 19/10/2026 下午5:40
+ * @Author Leo
+ */
+public class LoadOptions {
+
+    public static final String USAGE = """
+            usage: LoadGenerator [options]
+              --target      http://localhost:8003   被测实例地址
+              --rps         20                      每秒发起的请求数（开环，不受响应快慢影响）
+              --duration    60s                     统计时长
+              --warmup      10s                     预热时长，不计入统计
+              --mix         chat=1,query=3,upload=0 各接口的请求比例
+              --questions   questions.txt           问题文件，每行一个，缺省使用内置问题
+              --timeout     60s                     单个请求超时
+              --max-in-flight 2000                  在途请求上限，超过时丢弃并计数
+              --tenant      loadtest                请求头 X-Tenant-Id
+              --tenant-secret                       租户签名密钥，缺省取环境变量 TENANT_SIGNING_SECRET
+              --seed        20261019                随机种子
+            """;
+
+    private URI target = URI.create("http://localhost:8003");
+
+    private double rps = 20;
+
+    private Duration duration = Duration.ofSeconds(60);
+
+    private Duration warmup = Duration.ofSeconds(10);
+
+    private Map<Endpoint, Double> mix = new LinkedHashMap<>(Map.of(Endpoint.CHAT, 1.0, Endpoint.QUERY, 3.0));
+
+    private List<String> questions = List.of(
+            "KnowGo 支持哪些文档格式？",
+            "如何配置向量数据库的地址？",
+            "问答结果的缓存多久过期？",
+            "检索时 topK 是怎么确定的？",
+            "What model is used for embeddings?",
+            "上传的文档会被切分吗？",
+            "如何查看各租户的 token 用量？",
+            "请求超时后会返回什么？");
+
+    private Duration timeout = Duration.ofSeconds(60);
+
+    private int maxInFlight = 2000;
+
+    private String tenant = "loadtest";
+
+    private String tenantSecret = System.getenv("TENANT_SIGNING_SECRET");
+
+    private long seed = 20261019L;
+
+    /**
+     * 解析命令行参数
+     * @param args 命令行参数
+     * @return 压测参数
+     * @throws IOException 读取问题文件失败
+     */
+    public static LoadOptions parse(String[] args) throws IOException {
+        LoadOptions options = new LoadOptions();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if ("--help".equals(name) || "-h".equals(name)) {
+                throw new IllegalArgumentException("help");
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("missing value for " + name);
+            }
+            String value = args[++i];
+            switch (name) {
+                case "--target" -> options.target = URI.create(value.endsWith("/") ? value.substring(0, value.length() - 1) : value);
+                case "--rps" -> options.rps = Double.parseDouble(value);
+                case "--duration" -> options.duration = parseDuration(value);
+                case "--warmup" -> options.warmup = parseDuration(value);
+                case "--mix" -> options.mix = parseMix(value);
+                case "--questions" -> options.questions = Files.readAllLines(Path.of(value), StandardCharsets.UTF_8)
+                        .stream().map(String::trim).filter(line -> !line.isEmpty()).toList();
+                case "--timeout" -> options.timeout = parseDuration(value);
+                case "--max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                case "--tenant" -> options.tenant = value;
+                case "--tenant-secret" -> options.tenantSecret = value;
+                case "--seed" -> options.seed = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("unknown option " + name);
+            }
+        }
+        if (options.rps <= 0 || options.questions.isEmpty() || options.mix.isEmpty()) {
+            throw new IllegalArgumentException("rps must be positive, questions and mix must not be empty");
+        }
+        return options;
+    }
+
+    /**
+     * 解析 500ms、30s、2m 格式的时长
+     */
+    public static Duration parseDuration(String value) {
+        String v = value.trim().toLowerCase();
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        long amount = Long.parseLong(v.substring(0, v.length() - 1));
+        return switch (v.charAt(v.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("invalid duration " + value);
+        };
+    }
+
+    static Map<Endpoint, Double> parseMix(String value) {
+        Map<Endpoint, Double> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] kv = part.split("=", 2);
+            double weight = Double.parseDouble(kv[1].trim());
+            if (weight > 0) {
+                mix.put(Endpoint.valueOf(kv[0].trim().toUpperCase()), weight);
+            }
+        }
+        return mix;
+    }
+
+    public URI getTarget() {
+        return target;
+    }
+
+    public double getRps() {
+        return rps;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Map<Endpoint, Double> getMix() {
+        return mix;
+    }
+
+    public List<String> getQuestions() {
+        return questions;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public String getTenantSecret() {
+        return tenantSecret;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * 被压测的接口
+     */
+    public enum Endpoint {
+        CHAT, QUERY, UPLOAD
+    }
+}
@@ -0,0 +1,74 @@
+package com.fw.know.go.benchmark.quality;
+
+import com.fw.know.go.datasource.VectorDatasourceService;
+import com.fw.know.go.datasource.VectorDatasourceServiceImpl;
+import com.fw.know.go.datasource.local.LocalVectorStore;
+import org.springframework.ai.chroma.vectorstore.ChromaApi;
+import org.springframework.ai.chroma.vectorstore.ChromaVectorStore;
+import org.springframework.ai.embedding.EmbeddingModel;
+
+/**
+ * @Description 参与评测的向量检索后端，每个分块方案在后端上新建一个集合
+ * @Date 19/10/2026 下午9:10
+ * @Author Leo
+ */
+public interface RetrievalBackend {
+
+    /**
+     * 后端名称，显示在报告中
+     * @return 名称
+     */
+    String name();
+
+    /**
+     * 新建一个空集合并返回其上的数据源服务
+     * @param collection 集合名
+     * @param embeddingModel 向量模型
+     * @return 数据源服务
+     * @throws Exception 创建失败
+     */
+    VectorDatasourceService create(String collection, EmbeddingModel embeddingModel) throws Exception;
+
+    /**
+     * 进程内向量存储
+     * @return 后端
+     */
+    static RetrievalBackend local() {
+        return new RetrievalBackend() {
+            @Override
+            public String name() {
+                return "local";
+            }
+
+            @Override
+            public VectorDatasourceService create(String collection, EmbeddingModel embeddingModel) {
+                return new VectorDatasourceServiceImpl(new LocalVectorStore(embeddingModel));
+            }
+        };
+    }
+
+    /**
+     * 本地启动的Chroma（如 docker run -p 8000:8000 chromadb/chroma）
+     * @param baseUrl Chroma地址
+     * @return 后端
+     */
+    static RetrievalBackend chroma(String baseUrl) {
+        return new RetrievalBackend() {
+            @Override
+            public String name() {
+                return "chroma";
+            }
+
+            @Override
+            public VectorDatasourceService create(String collection, EmbeddingModel embeddingModel) throws Exception {
+                ChromaVectorStore store = ChromaVectorStore.builder(ChromaApi.builder().baseUrl(baseUrl).build(),
+                                embeddingModel)
+                        .collectionName(collection)
+                        .initializeSchema(true)
+                        .build();
+                store.afterPropertiesSet();
+                return new VectorDatasourceServiceImpl(store);
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.fw.know.go.benchmark.quality;
+
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import org.springframework.ai.document.Document;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @Description 带标注的检索评测集：文档和问题，每个问题标注相关的文档ID。
+ * 标注在文档粒度，切块后任一块命中即视为命中该文档，换分块方式不需要重新标注
+ * <pre>
+ * {"documents": [{"id": "d1", "text": "...", "metadata": {...}}],
+ *  "questions": [{"question": "...", "relevant": ["d1"]}]}
+ * </pre>
+ * @Date 19/10/2026 下午9:00
+ * @Author Leo
+ */
+public class RetrievalDataset {
+
+    /**
+     * 切块上记录来源文档ID的元数据
+     */
+    public static final String DOC_ID = "doc_id";
+
+    private final List<Document> documents;
+
+    private final List<LabeledQuestion> questions;
+
+    public RetrievalDataset(List<Document> documents, List<LabeledQuestion> questions) {
+        this.documents = documents;
+        this.questions = questions;
+    }
+
+    /**
+     * 解析JSON格式的评测集
+     * @param json 评测集内容
+     * @return 评测集
+     */
+    public static RetrievalDataset parse(String json) {
+        JSONObject root = JSONUtil.parseObj(json);
+        List<Document> documents = new ArrayList<>();
+        JSONArray docs = root.getJSONArray("documents");
+        for (int i = 0; i < docs.size(); i++) {
+            JSONObject doc = docs.getJSONObject(i);
+            Map<String, Object> metadata = new HashMap<>();
+            JSONObject meta = doc.getJSONObject("metadata");
+            if (meta != null) {
+                metadata.putAll(meta);
+            }
+            metadata.put(DOC_ID, doc.getStr("id"));
+            documents.add(new Document(doc.getStr("id"), doc.getStr("text"), metadata));
+        }
+        List<LabeledQuestion> questions = new ArrayList<>();
+        JSONArray qs = root.getJSONArray("questions");
+        for (int i = 0; i < qs.size(); i++) {
+            JSONObject q = qs.getJSONObject(i);
+            questions.add(new LabeledQuestion(q.getStr("question"),
+                    new LinkedHashSet<>(q.getJSONArray("relevant").toList(String.class))));
+        }
+        return new RetrievalDataset(documents, questions);
+    }
+
+    public List<Document> getDocuments() {
+        return documents;
+    }
+
+    public List<LabeledQuestion> getQuestions() {
+        return questions;
+    }
+
+    /**
+     * 标注过的问题
+     * @param question 问题
+     * @param relevant 相关文档ID
+     */
+    public record LabeledQuestion(String question, Set<String> relevant) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.fw.know.go.benchmark.quality;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @Description 检索质量指标，输入为按得分排序的检索结果对应的文档ID（同一文档的多个切块会重复出现）
+ * @Date 19/10/2026 下午9:05
+ * @Author Leo
+ */
+public final class RetrievalMetrics {
+
+    private RetrievalMetrics() {
+    }
+
+    /**
+     * 召回率：前k个结果覆盖的相关文档数占相关文档总数的比例
+     * @param ranked 检索结果的文档ID
+     * @param relevant 相关文档ID
+     * @param k 截取的结果数
+     * @return 召回率
+     */
+    public static double recallAt(List<String> ranked, Set<String> relevant, int k) {
+        if (relevant.isEmpty()) {
+            return 1.0;
+        }
+        Set<String> found = new HashSet<>();
+        for (int i = 0; i < Math.min(k, ranked.size()); i++) {
+            if (relevant.contains(ranked.get(i))) {
+                found.add(ranked.get(i));
+            }
+        }
+        return (double) found.size() / relevant.size();
+    }
+
+    /**
+     * 倒数排名：第一个相关结果排名的倒数，没有相关结果时为0
+     * @param ranked 检索结果的文档ID
+     * @param relevant 相关文档ID
+     * @return 倒数排名
+     */
+    public static double reciprocalRank(List<String> ranked, Set<String> relevant) {
+        for (int i = 0; i < ranked.size(); i++) {
+            if (relevant.contains(ranked.get(i))) {
+                return 1.0 / (i + 1);
+            }
+        }
+        return 0.0;
+    }
+}
@@ -0,0 +1,156 @@
+package com.fw.know.go.benchmark.quality;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.io.resource.ResourceUtil;
+import com.fw.know.go.ai.configuration.LoadTestModelProperties;
+import com.fw.know.go.ai.loadtest.HashEmbeddingModel;
+import com.fw.know.go.benchmark.load.LatencyRecorder;
+import com.fw.know.go.datasource.VectorDatasourceService;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.transformer.splitter.TokenTextSplitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @Description 检索质量与速度评测：对每个 后端×分块大小×相似度阈值 的组合，
+ * 用标注集计算 recall@k、MRR 和检索延迟分位数，并排输出，便于比较改动带来的取舍。
+ * 默认使用本地哈希向量模型和进程内存储，完全离线；指定 --chroma 时同时评测本地Chroma
+ * 用法：java -cp KnowGo-benchmark/target/benchmarks.jar com.fw.know.go.benchmark.quality.RetrievalQualityBench
+ * --dataset my-dataset.json --k 1,3,5,10 --chunk-sizes 0,256,512 --thresholds 0,0.3
+ * @Date 19/10/2026 下午9:20
+ * @Author Leo
+ */
+public class RetrievalQualityBench {
+
+    private static final String SAMPLE_DATASET = "datasets/knowgo-sample.json";
+
+    private final RetrievalDataset dataset;
+
+    private final int[] ks;
+
+    private final int[] chunkSizes;
+
+    private final double[] thresholds;
+
+    private final int repeat;
+
+    private final EmbeddingModel embeddingModel;
+
+    public RetrievalQualityBench(RetrievalDataset dataset, int[] ks, int[] chunkSizes, double[] thresholds,
+                                 int repeat, EmbeddingModel embeddingModel) {
+        this.dataset = dataset;
+        this.ks = ks;
+        this.chunkSizes = chunkSizes;
+        this.thresholds = thresholds;
+        this.repeat = repeat;
+        this.embeddingModel = embeddingModel;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String datasetPath = null;
+        int[] ks = {1, 3, 5, 10};
+        int[] chunkSizes = {0, 256, 512};
+        double[] thresholds = {0.0, 0.3};
+        int repeat = 5;
+        int dimensions = 1536;
+        List<RetrievalBackend> backends = new ArrayList<>(List.of(RetrievalBackend.local()));
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--dataset" -> datasetPath = value;
+                case "--k" -> ks = Arrays.stream(value.split(",")).mapToInt(v -> Integer.parseInt(v.trim())).toArray();
+                case "--chunk-sizes" -> chunkSizes = Arrays.stream(value.split(","))
+                        .mapToInt(v -> Integer.parseInt(v.trim())).toArray();
+                case "--thresholds" -> thresholds = Arrays.stream(value.split(","))
+                        .mapToDouble(v -> Double.parseDouble(v.trim())).toArray();
+                case "--repeat" -> repeat = Integer.parseInt(value);
+                case "--dimensions" -> dimensions = Integer.parseInt(value);
+                case "--chroma" -> backends.add(RetrievalBackend.chroma(value));
+                default -> throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+        String json = datasetPath == null ? ResourceUtil.readUtf8Str(SAMPLE_DATASET) : FileUtil.readUtf8String(datasetPath);
+        RetrievalDataset dataset = RetrievalDataset.parse(json);
+        LoadTestModelProperties.Embedding embedding = new LoadTestModelProperties.Embedding();
+        embedding.setDimensions(dimensions);
+        embedding.setLatency(Duration.ZERO);
+        RetrievalQualityBench bench = new RetrievalQualityBench(dataset, ks, chunkSizes, thresholds,
+                Math.max(1, repeat), new HashEmbeddingModel(embedding));
+        System.out.printf("dataset: %d documents, %d questions, embedding=%s%n%n", dataset.getDocuments().size(),
+                dataset.getQuestions().size(), bench.embeddingModel);
+        bench.printHeader();
+        for (RetrievalBackend backend : backends) {
+            bench.run(backend);
+        }
+    }
+
+    /**
+     * 在一个后端上评测所有分块大小和阈值的组合
+     * @param backend 后端
+     */
+    public void run(RetrievalBackend backend) throws Exception {
+        int maxK = Arrays.stream(ks).max().orElse(10);
+        for (int chunkSize : chunkSizes) {
+            List<Document> chunks = this.chunk(chunkSize);
+            VectorDatasourceService service = backend.create("quality_" + chunkSize + "_" + System.currentTimeMillis(),
+                    embeddingModel);
+            service.addDocuments(chunks);
+            for (double threshold : thresholds) {
+                double[] recall = new double[ks.length];
+                double reciprocalRank = 0;
+                LatencyRecorder latency = new LatencyRecorder();
+                for (RetrievalDataset.LabeledQuestion question : dataset.getQuestions()) {
+                    List<Document> results = null;
+                    // 质量按第一次检索计算，重复检索只用于稳定延迟统计
+                    for (int r = 0; r < repeat; r++) {
+                        long start = System.nanoTime();
+                        List<Document> found = service.similaritySearch(question.question(), maxK, threshold);
+                        latency.record(System.nanoTime() - start, LatencyRecorder.Outcome.SUCCEEDED);
+                        if (results == null) {
+                            results = found;
+                        }
+                    }
+                    List<String> ranked = results.stream()
+                            .map(d -> String.valueOf(d.getMetadata().get(RetrievalDataset.DOC_ID)))
+                            .toList();
+                    for (int i = 0; i < ks.length; i++) {
+                        recall[i] += RetrievalMetrics.recallAt(ranked, question.relevant(), ks[i]);
+                    }
+                    reciprocalRank += RetrievalMetrics.reciprocalRank(ranked, question.relevant());
+                }
+                int n = dataset.getQuestions().size();
+                StringBuilder row = new StringBuilder(String.format("%-8s %6s %7d %5.2f", backend.name(),
+                        chunkSize == 0 ? "none" : String.valueOf(chunkSize), chunks.size(), threshold));
+                for (double r : recall) {
+                    row.append(String.format(" %9.3f", r / n));
+                }
+                row.append(String.format(" %7.3f %9.3f %9.3f %9.3f", reciprocalRank / n, latency.percentileMillis(0.50),
+                        latency.percentileMillis(0.95), latency.percentileMillis(0.99)));
+                System.out.println(row);
+            }
+        }
+    }
+
+    private void printHeader() {
+        StringBuilder header = new StringBuilder(String.format("%-8s %6s %7s %5s", "backend", "chunk", "chunks", "thr"));
+        for (int k : ks) {
+            header.append(String.format(" %9s", "recall@" + k));
+        }
+        header.append(String.format(" %7s %9s %9s %9s", "MRR", "p50(ms)", "p95(ms)", "p99(ms)"));
+        System.out.println(header);
+    }
+
+    /**
+     * 按token数分块，0表示不分块；切块继承来源文档的元数据，包括 doc_id
+     */
+    private List<Document> chunk(int chunkSize) {
+        if (chunkSize <= 0) {
+            return dataset.getDocuments();
+        }
+        return new TokenTextSplitter(chunkSize, 50, 5, 10000, true).apply(dataset.getDocuments());
+    }
+}
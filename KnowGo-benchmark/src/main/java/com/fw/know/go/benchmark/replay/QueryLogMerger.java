@@ -0,0 +1,77 @@
+package com.fw.know.go.benchmark.replay;
+
+import com.fw.know.go.base.querylog.QueryLogReader;
+import com.fw.know.go.base.querylog.QueryLogRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * @Description 按时间合并多个查询日志文件（多实例、多次切换的文件），逐条读取，不整体载入内存
+ * @Date 19/10/2026 下午8:00
+ * @Author Leo
+ */
+public class QueryLogMerger implements Closeable {
+
+    private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparingLong(h -> h.record.timestampMillis()));
+
+    private final List<QueryLogReader> readers = new ArrayList<>();
+
+    /**
+     * @param input 查询日志文件，或包含 .qlog 文件的目录
+     * @throws IOException 读取失败
+     */
+    public QueryLogMerger(Path input) throws IOException {
+        List<Path> files;
+        if (Files.isDirectory(input)) {
+            try (Stream<Path> stream = Files.list(input)) {
+                files = stream.filter(p -> p.getFileName().toString().endsWith(".qlog")).sorted().toList();
+            }
+        } else {
+            files = List.of(input);
+        }
+        for (Path file : files) {
+            QueryLogReader reader = new QueryLogReader(Files.newInputStream(file));
+            readers.add(reader);
+            QueryLogRecord first = reader.next();
+            if (first != null) {
+                heads.add(new Head(reader, first));
+            }
+        }
+    }
+
+    /**
+     * 下一条记录
+     * @return 时间最早的记录，全部读完时返回空
+     * @throws IOException 读取失败
+     */
+    public QueryLogRecord next() throws IOException {
+        Head head = heads.poll();
+        if (head == null) {
+            return null;
+        }
+        QueryLogRecord record = head.record;
+        QueryLogRecord following = head.reader.next();
+        if (following != null) {
+            heads.add(new Head(head.reader, following));
+        }
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (QueryLogReader reader : readers) {
+            reader.close();
+        }
+    }
+
+    private record Head(QueryLogReader reader, QueryLogRecord record) {
+    }
+}
@@ -0,0 +1,234 @@
+package com.fw.know.go.benchmark.replay;
+
+import com.fw.know.go.base.context.TenantSignature;
+import com.fw.know.go.base.querylog.QueryLogRecord;
+import com.fw.know.go.benchmark.load.LatencyRecorder;
+import com.fw.know.go.benchmark.load.LoadOptions;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @Description 回放采集的查询日志：按原始时间间隔（可按倍速缩放）向目标实例发送请求，
+ * 输出各路径的延迟分位数，并从目标实例的 /actuator/prometheus 读取回放期间的问答缓存命中率
+ * 用法：java -cp KnowGo-benchmark/target/benchmarks.jar com.fw.know.go.benchmark.replay.QueryReplayer
+ * --input /tmp/knowgo-querylog --target http://localhost:8003 --speed 2
+ * @Date 19/10/2026 下午8:10
+ * @Author Leo
+ */
+public class QueryReplayer {
+
+    private static final String USAGE = """
+            usage: QueryReplayer --input <file|dir> [options]
+              --target   http://localhost:8003   被测实例地址
+              --speed    1                       回放倍速，2表示间隔缩短一半，0表示不等待尽快发送
+              --limit    0                       最多回放的条数，0表示不限
+              --timeout  60s                     单个请求超时
+              --tenant-secret                    租户签名密钥，缺省取环境变量 TENANT_SIGNING_SECRET
+            """;
+
+    private static final String CHAT_COUNTER = "rag_chat_requests_total";
+
+    private final URI target;
+
+    private final double speed;
+
+    private final long limit;
+
+    private final Duration timeout;
+
+    private final HttpClient httpClient;
+
+    /**
+     * 未配置签名密钥时为空，请求只带租户请求头
+     */
+    private final TenantSignature tenantSignature;
+
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+
+    public QueryReplayer(URI target, double speed, long limit, Duration timeout, String tenantSecret) {
+        this.target = target;
+        this.tenantSignature = tenantSecret == null || tenantSecret.isBlank()
+                ? null : new TenantSignature(tenantSecret, Duration.ZERO);
+        this.speed = speed;
+        this.limit = limit;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path input = null;
+        URI target = URI.create("http://localhost:8003");
+        double speed = 1;
+        long limit = 0;
+        Duration timeout = Duration.ofSeconds(60);
+        String tenantSecret = System.getenv("TENANT_SIGNING_SECRET");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--input" -> input = Path.of(args[i + 1]);
+                case "--target" -> target = URI.create(args[i + 1]);
+                case "--speed" -> speed = Double.parseDouble(args[i + 1]);
+                case "--limit" -> limit = Long.parseLong(args[i + 1]);
+                case "--timeout" -> timeout = LoadOptions.parseDuration(args[i + 1]);
+                case "--tenant-secret" -> tenantSecret = args[i + 1];
+                default -> {
+                    System.err.println("unknown option " + args[i]);
+                    System.err.println(USAGE);
+                    System.exit(2);
+                }
+            }
+        }
+        if (input == null || speed < 0) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        new QueryReplayer(target, speed, limit, timeout, tenantSecret).replay(input);
+    }
+
+    /**
+     * 回放并输出报告
+     * @param input 查询日志文件或目录
+     */
+    public void replay(Path input) throws Exception {
+        Map<String, Double> before = this.scrapeChatOutcomes();
+        long replayStart = System.nanoTime();
+        long sent = 0;
+        try (QueryLogMerger merger = new QueryLogMerger(input);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            QueryLogRecord first = null;
+            QueryLogRecord record;
+            while ((record = merger.next()) != null && (limit <= 0 || sent < limit)) {
+                if (first == null) {
+                    first = record;
+                }
+                long scheduledAt = replayStart;
+                if (speed > 0) {
+                    scheduledAt += (long) ((record.timestampMillis() - first.timestampMillis()) * 1_000_000L / speed);
+                    long wait = scheduledAt - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                } else {
+                    scheduledAt = System.nanoTime();
+                }
+                QueryLogRecord current = record;
+                long intended = scheduledAt;
+                executor.execute(() -> this.send(current, intended));
+                sent++;
+            }
+            executor.shutdown();
+            executor.awaitTermination(timeout.toSeconds() + 5, TimeUnit.SECONDS);
+        }
+        double seconds = (System.nanoTime() - replayStart) / 1_000_000_000.0;
+        this.report(sent, seconds);
+        this.reportCacheHits(before, this.scrapeChatOutcomes());
+    }
+
+    private void send(QueryLogRecord record, long scheduledAt) {
+        LatencyRecorder.Outcome outcome;
+        try {
+            String uri = target + record.path() + (record.query().isEmpty() ? "" : "?" + record.query());
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(uri)).timeout(timeout);
+            if (!record.tenant().isEmpty()) {
+                builder.header(TenantSignature.TENANT_HEADER, record.tenant());
+                if (tenantSignature != null) {
+                    long now = System.currentTimeMillis();
+                    builder.header(TenantSignature.TIMESTAMP_HEADER, String.valueOf(now))
+                            .header(TenantSignature.SIGNATURE_HEADER, tenantSignature.sign(record.tenant(), now));
+                }
+            }
+            if (record.body().isEmpty()) {
+                builder.method(record.method(), HttpRequest.BodyPublishers.noBody());
+            } else {
+                builder.header("Content-Type", "application/json")
+                        .method(record.method(), HttpRequest.BodyPublishers.ofString(record.body(), StandardCharsets.UTF_8));
+            }
+            HttpResponse<String> response = httpClient.send(builder.build(),
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            if (response.statusCode() != 200) {
+                outcome = LatencyRecorder.Outcome.FAILED;
+            } else {
+                outcome = response.body().contains("\"code\":\"DEGRADED\"")
+                        ? LatencyRecorder.Outcome.DEGRADED : LatencyRecorder.Outcome.SUCCEEDED;
+            }
+        } catch (Exception e) {
+            outcome = LatencyRecorder.Outcome.FAILED;
+        }
+        recorders.computeIfAbsent(record.method() + " " + record.path(), k -> new LatencyRecorder())
+                .record(System.nanoTime() - scheduledAt, outcome);
+    }
+
+    private void report(long sent, double seconds) {
+        System.out.printf("replayed %d requests in %.1fs (speed=%s)%n%n", sent, seconds, speed == 0 ? "max" : speed);
+        System.out.printf("%-28s %8s %8s %8s %10s %10s %10s %10s%n", "endpoint", "count", "degraded", "failed",
+                "req/s", "p50(ms)", "p95(ms)", "p99(ms)");
+        new TreeMap<>(recorders).forEach((endpoint, recorder) -> System.out.printf(
+                "%-28s %8d %8d %8d %10.1f %10.1f %10.1f %10.1f%n", endpoint, recorder.count(), recorder.degraded(),
+                recorder.failed(), recorder.count() / seconds, recorder.percentileMillis(0.50),
+                recorder.percentileMillis(0.95), recorder.percentileMillis(0.99)));
+    }
+
+    private void reportCacheHits(Map<String, Double> before, Map<String, Double> after) {
+        if (before.isEmpty() || after.isEmpty()) {
+            System.out.println("\ncache hit ratio unavailable: /actuator/prometheus not reachable");
+            return;
+        }
+        double total = 0;
+        double hits = 0;
+        for (Map.Entry<String, Double> entry : after.entrySet()) {
+            double delta = entry.getValue() - before.getOrDefault(entry.getKey(), 0.0);
+            total += delta;
+            if ("cache_hit".equals(entry.getKey())) {
+                hits = delta;
+            }
+        }
+        System.out.printf("%nchat outcomes during replay: total=%.0f cache_hit=%.0f ratio=%.1f%%%n", total, hits,
+                total == 0 ? 0 : hits * 100 / total);
+    }
+
+    /**
+     * 读取目标实例上按结果划分的问答计数
+     */
+    private Map<String, Double> scrapeChatOutcomes() {
+        Map<String, Double> outcomes = new TreeMap<>();
+        try {
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(
+                    URI.create(target + "/actuator/prometheus")).timeout(timeout).GET().build(),
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            if (response.statusCode() != 200) {
+                return outcomes;
+            }
+            for (String line : response.body().split("\n")) {
+                if (!line.startsWith(CHAT_COUNTER + "{")) {
+                    continue;
+                }
+                int start = line.indexOf("outcome=\"");
+                int valueStart = line.lastIndexOf(' ');
+                if (start < 0 || valueStart < 0) {
+                    continue;
+                }
+                start += "outcome=\"".length();
+                String outcome = line.substring(start, line.indexOf('"', start));
+                outcomes.merge(outcome, Double.parseDouble(line.substring(valueStart + 1)), Double::sum);
+            }
+        } catch (Exception e) {
+            outcomes.clear();
+        }
+        return outcomes;
+    }
+}
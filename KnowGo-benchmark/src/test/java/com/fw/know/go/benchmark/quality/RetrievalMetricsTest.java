@@ -0,0 +1,30 @@
+package com.fw.know.go.benchmark.quality;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @Description 检索质量指标测试
+ * @Date 19/10/2026 下午9:30
+ * @Author Leo
+ */
+public class RetrievalMetricsTest {
+
+    @Test
+    public void recallCountsDocumentsNotChunks() {
+        List<String> ranked = List.of("a", "a", "b", "c");
+        assertEquals(0.5, RetrievalMetrics.recallAt(ranked, Set.of("a", "c"), 2));
+        assertEquals(1.0, RetrievalMetrics.recallAt(ranked, Set.of("a", "c"), 4));
+        assertEquals(0.0, RetrievalMetrics.recallAt(List.of(), Set.of("a"), 3));
+    }
+
+    @Test
+    public void reciprocalRankOfFirstRelevant() {
+        assertEquals(1.0 / 3, RetrievalMetrics.reciprocalRank(List.of("x", "y", "b", "a"), Set.of("a", "b")), 1e-9);
+        assertEquals(0.0, RetrievalMetrics.reciprocalRank(List.of("x"), Set.of("a")));
+    }
+}
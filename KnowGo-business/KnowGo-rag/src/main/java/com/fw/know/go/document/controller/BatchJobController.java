@@ -0,0 +1,100 @@
+package com.fw.know.go.document.controller;
+
+import com.fw.know.go.document.domain.batch.BatchJob;
+import com.fw.know.go.document.domain.service.BatchQaService;
+import com.fw.know.go.document.infrastructure.exception.RagErrorCode;
+import com.fw.know.go.document.infrastructure.exception.RagException;
+import com.fw.know.go.web.vo.Result;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * @Description 批量问答任务接口，用于离线评测和FAQ生成
+ * @Date 20/10/2026 下午4:20
+ * @Author Leo
+ */
+@Slf4j
+@RestController
+@RequestMapping("/rag/batch")
+@RequiredArgsConstructor
+public class BatchJobController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final BatchQaService batchQaService;
+
+    /**
+     * 创建任务，问题文件为UTF-8文本，每行一个问题
+     */
+    @PostMapping("/jobs")
+    public Result<BatchJob> submit(@RequestParam("file") MultipartFile file,
+                                   @RequestParam(value = "model", required = false) String model) {
+        if (file.isEmpty()) {
+            throw new RagException(RagErrorCode.BATCH_FILE_EMPTY);
+        }
+        return Result.success(batchQaService.submit(file, model));
+    }
+
+    /**
+     * 查询任务进度
+     */
+    @GetMapping("/jobs/{jobId}")
+    public Result<BatchJob> get(@PathVariable("jobId") String jobId) {
+        return Result.success(batchQaService.get(jobId));
+    }
+
+    /**
+     * 取消任务
+     */
+    @PostMapping("/jobs/{jobId}/cancel")
+    public Result<BatchJob> cancel(@PathVariable("jobId") String jobId) {
+        return Result.success(batchQaService.cancel(jobId));
+    }
+
+    /**
+     * 下载结果，JSON Lines 格式，每行一个问题的结果，顺序与输入不一定相同；
+     * 执行中下载时只包含请求时已写出的结果
+     */
+    @GetMapping("/jobs/{jobId}/results")
+    public ResponseEntity<StreamingResponseBody> results(@PathVariable("jobId") String jobId) throws IOException {
+        Path file = batchQaService.resultFile(jobId);
+        long length = Files.exists(file) ? Files.size(file) : 0;
+        StreamingResponseBody body = out -> {
+            if (length == 0) {
+                return;
+            }
+            try (InputStream in = Files.newInputStream(file)) {
+                byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                long remaining = length;
+                int read;
+                while (remaining > 0 && (read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining))) > 0) {
+                    out.write(buffer, 0, read);
+                    remaining -= read;
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .contentLength(length)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + jobId + ".jsonl\"")
+                .body(body);
+    }
+}
@@ -1,6 +1,13 @@
 package com.fw.know.go.document.controller;
 
+import com.fw.know.go.base.exception.DeadlineExceededException;
+import com.fw.know.go.document.domain.model.DocumentHit;
+import com.fw.know.go.document.domain.model.DocumentPage;
+import com.fw.know.go.document.domain.retrieval.DocumentProjection;
+import com.fw.know.go.document.domain.retrieval.DocumentProjector;
+import com.fw.know.go.document.domain.service.DocumentPageService;
 import com.fw.know.go.document.domain.service.DocumentService;
+import com.fw.know.go.document.param.DocumentPageParam;
 import com.fw.know.go.web.vo.Result;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +17,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
+import static com.fw.know.go.base.exception.BaseErrorCode.DEADLINE_EXCEEDED;
 import static com.fw.know.go.document.infrastructure.exception.RagErrorCode.DOCUMENT_EMPTY;
 
 /**
@@ -26,6 +34,15 @@ public class DocumentController {
 
     private final DocumentService documentService;
 
+    private final DocumentProjector documentProjector;
+
+    private final DocumentPageService documentPageService;
+
+    /**
+     * 分页查询的默认相似度阈值，与 /query 一致
+     */
+    private static final double DEFAULT_SIMILARITY_THRESHOLD = 0.7;
+
     @PostMapping("/upload")
     public Result<Boolean> uploadDocument(@RequestParam("file") MultipartFile file) {
         if (file.isEmpty()){
@@ -35,11 +52,65 @@ public class DocumentController {
         return Result.success(result);
     }
 
+    /**
+     * 查询文档，未指定topK时由自适应检索策略决定返回的文档数，返回完整的文档
+     */
     @GetMapping("/query")
     public Result<List<Document>> queryDocument(@RequestParam("query") String query,
-                                                @RequestParam(value = "topK", required = false, defaultValue = "5") int topK,
+                                                @RequestParam(value = "topK", required = false) Integer topK,
                                                 @RequestParam(value = "similarityThreshold", required = false, defaultValue = "0.7f") double similarityThreshold) {
-        List<Document> result = documentService.queryDocument(query, topK, similarityThreshold);
-        return Result.success(result);
+        try {
+            return Result.success(search(query, topK, similarityThreshold));
+        } catch (DeadlineExceededException e) {
+            log.warn("document query exceeded deadline");
+            return Result.degraded(List.of(), DEADLINE_EXCEEDED.getMessage());
+        }
+    }
+
+    /**
+     * 查询文档并按字段投影，检索方式与 /query 相同
+     * <p>
+     * 默认只返回ID、得分和高亮摘要，fields 可选 id、score、snippet、metadata、text，
+     * metadataKeys 指定返回的元数据键，全文仅在 fields 包含 text 时返回
+     */
+    @GetMapping("/v2/query")
+    public Result<List<DocumentHit>> queryDocumentHits(@RequestParam("query") String query,
+                                                       @RequestParam(value = "topK", required = false) Integer topK,
+                                                       @RequestParam(value = "similarityThreshold", required = false, defaultValue = "0.7f") double similarityThreshold,
+                                                       @RequestParam(value = "fields", required = false) List<String> fields,
+                                                       @RequestParam(value = "metadataKeys", required = false) List<String> metadataKeys,
+                                                       @RequestParam(value = "snippetLength", required = false) Integer snippetLength) {
+        DocumentProjection projection = documentProjector.projection(fields, metadataKeys, snippetLength);
+        try {
+            return Result.success(documentProjector.project(search(query, topK, similarityThreshold), query, projection));
+        } catch (DeadlineExceededException e) {
+            log.warn("document query exceeded deadline");
+            return Result.degraded(List.of(), DEADLINE_EXCEEDED.getMessage());
+        }
+    }
+
+    /**
+     * 分页查询文档，首页传 query 和 pageSize，后续页再传上一页返回的 nextCursor；
+     * 后续页从首页检索的候选列表中截取，不再重复向量化和检索
+     */
+    @GetMapping("/query/page")
+    public Result<DocumentPage> queryDocumentPage(DocumentPageParam param) {
+        DocumentProjection projection = documentProjector.projection(param.getFields(), param.getMetadataKeys(),
+                param.getSnippetLength());
+        double similarityThreshold = param.getSimilarityThreshold() == null
+                ? DEFAULT_SIMILARITY_THRESHOLD : param.getSimilarityThreshold();
+        try {
+            return Result.success(documentPageService.queryPage(param.getQuery(), param.getPageSize(),
+                    similarityThreshold, param.getCursor(), projection));
+        } catch (DeadlineExceededException e) {
+            log.warn("document page query exceeded deadline");
+            return Result.degraded(new DocumentPage(List.of(), null, 0), DEADLINE_EXCEEDED.getMessage());
+        }
+    }
+
+    private List<Document> search(String query, Integer topK, double similarityThreshold) {
+        return topK == null
+                ? documentService.queryDocument(query)
+                : documentService.queryDocument(query, topK, similarityThreshold);
     }
 }
@@ -1,6 +1,7 @@
 package com.fw.know.go.document.controller;
 
 import cn.hutool.core.util.StrUtil;
+import com.fw.know.go.document.domain.model.RagChatAnswer;
 import com.fw.know.go.document.domain.service.RagChatService;
 import com.fw.know.go.document.infrastructure.exception.RagErrorCode;
 import com.fw.know.go.document.infrastructure.exception.RagException;
@@ -14,6 +15,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
+import java.util.regex.Pattern;
+
+import static com.fw.know.go.base.exception.BaseErrorCode.DEADLINE_EXCEEDED;
 
 /**
  * @Description RagChatController 问答接口
@@ -26,6 +30,8 @@ import javax.validation.Valid;
 @RequiredArgsConstructor
 public class RagChatController {
 
+    private static final Pattern CONVERSATION_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
     private final RagChatService ragChatService;
 
     /**
@@ -39,7 +45,14 @@ public class RagChatController {
         if (StrUtil.isBlank(question)) {
             throw new RagException(RagErrorCode.QUESTION_EMPTY);
         }
-        String result = ragChatService.chatWithKnowledgeBase(param.getQuestion(), param.getModel());
-        return Result.success(result);
+        String conversationId = param.getConversationId();
+        if (conversationId != null && !CONVERSATION_ID.matcher(conversationId).matches()) {
+            throw new RagException(RagErrorCode.CONVERSATION_ID_INVALID);
+        }
+        RagChatAnswer answer = ragChatService.chatWithKnowledgeBase(question, param.getModel(), conversationId);
+        if (answer.isDegraded()) {
+            return Result.degraded(answer.getContent(), DEADLINE_EXCEEDED.getMessage());
+        }
+        return Result.success(answer.getContent());
     }
 }
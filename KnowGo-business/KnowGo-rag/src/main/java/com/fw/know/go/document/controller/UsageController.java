@@ -0,0 +1,67 @@
+package com.fw.know.go.document.controller;
+
+import com.fw.know.go.ai.configuration.UsageProperties;
+import com.fw.know.go.ai.usage.TokenUsageService;
+import com.fw.know.go.ai.usage.UsageReport;
+import com.fw.know.go.base.context.RequestContext;
+import com.fw.know.go.document.infrastructure.exception.RagException;
+import com.fw.know.go.web.vo.Result;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static com.fw.know.go.document.infrastructure.exception.RagErrorCode.USAGE_RANGE_INVALID;
+import static com.fw.know.go.document.infrastructure.exception.RagErrorCode.USAGE_TENANT_FORBIDDEN;
+
+/**
+ * @Description 用量查询接口，按模型、租户、接口查看token用量和费用
+ * @Date 19/10/2026 上午11:30
+ * @Author Leo
+ */
+@RestController
+@RequestMapping("/usage")
+@RequiredArgsConstructor
+public class UsageController {
+
+    /**
+     * 单次查询最多跨越的天数
+     */
+    private static final long MAX_RANGE_DAYS = 92;
+
+    private final TokenUsageService tokenUsageService;
+
+    private final UsageProperties usageProperties;
+
+    /**
+     * 查询用量，日期默认为当天，其余条件为空表示不过滤；管理租户以外只能查询自己的用量
+     */
+    @GetMapping
+    public Result<List<UsageReport>> query(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "tenant", required = false) String tenant,
+            @RequestParam(value = "model", required = false) String model,
+            @RequestParam(value = "endpoint", required = false) String endpoint) {
+        LocalDate today = LocalDate.now(usageProperties.getZone());
+        LocalDate end = to == null ? today : to;
+        LocalDate start = from == null ? end : from;
+        if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            throw new RagException(USAGE_RANGE_INVALID);
+        }
+        String caller = RequestContext.current().getTenantId();
+        if (!usageProperties.getAdminTenants().contains(caller)) {
+            if (tenant != null && !tenant.equals(caller)) {
+                throw new RagException(USAGE_TENANT_FORBIDDEN);
+            }
+            tenant = caller;
+        }
+        return Result.success(tokenUsageService.query(start, end, tenant, model, endpoint));
+    }
+}
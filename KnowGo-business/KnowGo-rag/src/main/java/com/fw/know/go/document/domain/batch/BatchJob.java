@@ -0,0 +1,90 @@
+package com.fw.know.go.document.domain.batch;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/**
+ * @Description 批量问答任务，保存在任务目录的 job.json 中；进度以结果文件为准，恢复时从结果文件重新统计
+ * @Date 20/10/2026 下午3:05
+ * @Author Leo
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BatchJob {
+
+    /**
+     * 任务ID
+     */
+    private String id;
+
+    /**
+     * 提交任务的租户
+     */
+    private String tenantId;
+
+    /**
+     * 模型，为空时由模型路由选择
+     */
+    private String model;
+
+    private BatchJobStatus status;
+
+    /**
+     * 问题总数
+     */
+    private int total;
+
+    /**
+     * 已回答的问题数
+     */
+    private int completed;
+
+    /**
+     * 重试后仍失败的问题数
+     */
+    private int failed;
+
+    /**
+     * 创建时间，毫秒时间戳
+     */
+    private long createdAt;
+
+    /**
+     * 最后更新时间，毫秒时间戳
+     */
+    private long updatedAt;
+
+    /**
+     * 任务失败的原因
+     */
+    private String error;
+
+    /**
+     * 已处理（含失败）的问题数
+     * @return 问题数
+     */
+    public int getProcessed() {
+        return completed + failed;
+    }
+
+    /**
+     * 复制一份，执行中的任务对外返回副本
+     * @return 副本
+     */
+    public BatchJob copy() {
+        BatchJob copy = new BatchJob();
+        copy.setId(id);
+        copy.setTenantId(tenantId);
+        copy.setModel(model);
+        copy.setStatus(status);
+        copy.setTotal(total);
+        copy.setCompleted(completed);
+        copy.setFailed(failed);
+        copy.setCreatedAt(createdAt);
+        copy.setUpdatedAt(updatedAt);
+        copy.setError(error);
+        return copy;
+    }
+}
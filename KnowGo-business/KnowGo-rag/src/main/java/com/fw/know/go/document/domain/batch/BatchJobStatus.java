@@ -0,0 +1,34 @@
+package com.fw.know.go.document.domain.batch;
+
+/**
+ * @Description 批量问答任务状态
+ * @Date 20/10/2026 下午3:00
+ * @Author Leo
+ */
+public enum BatchJobStatus {
+
+    /**
+     * 执行中，实例重启后继续执行
+     */
+    RUNNING,
+
+    /**
+     * 全部问题已处理
+     */
+    COMPLETED,
+
+    /**
+     * 已取消
+     */
+    CANCELLED,
+
+    /**
+     * 执行失败，如输出文件无法写入
+     */
+    FAILED,
+    ;
+
+    public boolean isFinished() {
+        return this != RUNNING;
+    }
+}
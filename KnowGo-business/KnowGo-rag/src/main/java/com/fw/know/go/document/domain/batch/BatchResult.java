@@ -0,0 +1,31 @@
+package com.fw.know.go.document.domain.batch;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * @Description 批量问答的单条结果，结果文件中每行一条
+ * @param index 问题在输入文件中的序号，从0开始；并行处理时结果不按序号顺序写出
+ * @param question 问题
+ * @param answer 回答，失败时为空
+ * @param degraded 是否为降级回答
+ * @param error 重试后仍失败的原因
+ * @Date 20/10/2026 下午3:10
+ * @Author Leo
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchResult(int index, String question, String answer, boolean degraded, String error) {
+
+    public static BatchResult answered(int index, String question, String answer, boolean degraded) {
+        return new BatchResult(index, question, answer, degraded, null);
+    }
+
+    public static BatchResult failed(int index, String question, String error) {
+        return new BatchResult(index, question, null, false, error);
+    }
+
+    @JsonIgnore
+    public boolean isFailed() {
+        return error != null;
+    }
+}
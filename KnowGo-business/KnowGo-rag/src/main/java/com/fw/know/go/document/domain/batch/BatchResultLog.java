@@ -0,0 +1,151 @@
+package com.fw.know.go.document.domain.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * @Description 批量问答的结果文件，JSON Lines 格式，每处理完一个问题追加一行并刷出；
+ * 结果文件同时是任务的检查点：重新打开时跳过已有结果的问题，宕机时写了一半的最后一行被截掉
+ * @Date 20/10/2026 下午3:15
+ * @Author Leo
+ */
+public final class BatchResultLog implements Closeable {
+
+    private final ObjectMapper objectMapper;
+
+    private final BufferedWriter writer;
+
+    private final BitSet processed;
+
+    private int completed;
+
+    private int failed;
+
+    private BatchResultLog(ObjectMapper objectMapper, BufferedWriter writer, BitSet processed) {
+        this.objectMapper = objectMapper;
+        this.writer = writer;
+        this.processed = processed;
+    }
+
+    /**
+     * 打开结果文件，不存在时创建；读入已有结果，截掉末尾不完整或损坏的行后继续追加
+     * @param file 结果文件
+     * @param objectMapper JSON序列化
+     * @return 结果文件
+     * @throws IOException 读写失败
+     */
+    public static BatchResultLog open(Path file, ObjectMapper objectMapper) throws IOException {
+        BitSet processed = new BitSet();
+        int completed = 0;
+        int failed = 0;
+        long validLength = 0;
+        if (Files.exists(file)) {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+                ByteArrayOutputStream line = new ByteArrayOutputStream();
+                long position = 0;
+                int b;
+                while ((b = in.read()) != -1) {
+                    position++;
+                    if (b != '\n') {
+                        line.write(b);
+                        continue;
+                    }
+                    BatchResult result = parse(objectMapper, line.toByteArray());
+                    line.reset();
+                    if (result == null) {
+                        break;
+                    }
+                    if (!processed.get(result.index())) {
+                        processed.set(result.index());
+                        if (result.isFailed()) {
+                            failed++;
+                        } else {
+                            completed++;
+                        }
+                    }
+                    validLength = position;
+                }
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                if (channel.size() > validLength) {
+                    channel.truncate(validLength);
+                }
+            }
+        }
+        BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        BatchResultLog log = new BatchResultLog(objectMapper, writer, processed);
+        log.completed = completed;
+        log.failed = failed;
+        return log;
+    }
+
+    /**
+     * 问题是否已有结果
+     * @param index 问题序号
+     * @return 是否已处理
+     */
+    public synchronized boolean isProcessed(int index) {
+        return processed.get(index);
+    }
+
+    /**
+     * 追加一条结果并刷出到文件，同一问题只记录一次
+     * @param result 结果
+     * @throws IOException 写入失败
+     */
+    public synchronized void append(BatchResult result) throws IOException {
+        if (processed.get(result.index())) {
+            return;
+        }
+        writer.write(objectMapper.writeValueAsString(result));
+        writer.write('\n');
+        writer.flush();
+        processed.set(result.index());
+        if (result.isFailed()) {
+            failed++;
+        } else {
+            completed++;
+        }
+    }
+
+    public synchronized int getCompleted() {
+        return completed;
+    }
+
+    public synchronized int getFailed() {
+        return failed;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * 解析一行结果，空行或无法解析时返回null，其后的内容不再可信
+     */
+    private static BatchResult parse(ObjectMapper objectMapper, byte[] line) {
+        if (line.length == 0) {
+            return null;
+        }
+        try {
+            BatchResult result = objectMapper.readValue(line, BatchResult.class);
+            return result.index() < 0 ? null : result;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.fw.know.go.document.domain.batch;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+/**
+ * @Description 上限可变的并发闸门，批量任务用它把在途的模型调用数控制在限流器当前的并发上限以内：
+ * 限流器因限流收缩上限时批量任务随之减少在途调用，不在限流队列中排队，也不占用被拒绝的重试
+ * @Date 20/10/2026 下午3:25
+ * @Author Leo
+ */
+public final class ConcurrencyGate {
+
+    /**
+     * 上限只在释放时通知，等待方定期重读上限以感知上限增长
+     */
+    private static final long RECHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final IntSupplier limit;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition available = lock.newCondition();
+
+    private int inFlight;
+
+    /**
+     * @param limit 当前并发上限，不小于1
+     */
+    public ConcurrencyGate(IntSupplier limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * 获取一个许可，在途数达到上限时等待
+     * @throws InterruptedException 等待时被中断
+     */
+    public void acquire() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (inFlight >= Math.max(1, limit.getAsInt())) {
+                available.awaitNanos(RECHECK_NANOS);
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 释放许可
+     */
+    public void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 当前在途数
+     * @return 在途数
+     */
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.fw.know.go.document.domain.conversation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * @Description 会话记忆，不可变：滚动摘要 + 最近若干轮对话的窗口；滑出窗口的对话先进入待摘要队列，
+ * 由后台合并进摘要后移除，提示词的大小只取决于窗口长度和摘要长度，与会话轮数无关
+ * <p>
+ * 编码为紧凑的二进制格式（长度前缀的UTF-8字符串），整体存成一个Redis值
+ * @Date 20/10/2026 下午1:15
+ * @Author Leo
+ */
+public final class ConversationMemory {
+
+    private static final byte FORMAT = 1;
+
+    private static final ConversationMemory EMPTY = new ConversationMemory("", List.of(), List.of());
+
+    private final String summary;
+
+    private final List<ConversationTurn> turns;
+
+    private final List<ConversationTurn> pending;
+
+    private ConversationMemory(String summary, List<ConversationTurn> turns, List<ConversationTurn> pending) {
+        this.summary = summary;
+        this.turns = Collections.unmodifiableList(turns);
+        this.pending = Collections.unmodifiableList(pending);
+    }
+
+    public static ConversationMemory empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 追加一轮对话，超出窗口的最早几轮移入待摘要队列，队列超过上限时丢弃最早的
+     * @param turn 对话
+     * @param windowTurns 窗口内保留的轮数
+     * @param maxPendingTurns 待摘要队列的上限
+     * @return 新的会话记忆
+     */
+    public ConversationMemory append(ConversationTurn turn, int windowTurns, int maxPendingTurns) {
+        List<ConversationTurn> nextTurns = new ArrayList<>(turns);
+        List<ConversationTurn> nextPending = new ArrayList<>(pending);
+        nextTurns.add(turn);
+        while (nextTurns.size() > Math.max(1, windowTurns)) {
+            nextPending.add(nextTurns.remove(0));
+        }
+        while (nextPending.size() > Math.max(0, maxPendingTurns)) {
+            nextPending.remove(0);
+        }
+        return new ConversationMemory(summary, nextTurns, nextPending);
+    }
+
+    /**
+     * 用新摘要替换旧摘要，并移除已合并进摘要的待摘要对话；
+     * 若摘要已被其他实例更新，说明这批对话已被合并过，不做修改
+     * @param baseSummary 生成新摘要时基于的旧摘要
+     * @param newSummary 新摘要
+     * @param merged 合并进摘要的待摘要对话数
+     * @return 新的会话记忆
+     */
+    public ConversationMemory summarized(String baseSummary, String newSummary, int merged) {
+        if (!Objects.equals(summary, baseSummary)) {
+            return this;
+        }
+        List<ConversationTurn> nextPending = new ArrayList<>(pending.subList(Math.min(merged, pending.size()),
+                pending.size()));
+        return new ConversationMemory(newSummary == null ? "" : newSummary, new ArrayList<>(turns), nextPending);
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public List<ConversationTurn> getTurns() {
+        return turns;
+    }
+
+    public List<ConversationTurn> getPending() {
+        return pending;
+    }
+
+    /**
+     * 是否没有任何历史
+     * @return 是否为空
+     */
+    public boolean isEmpty() {
+        return summary.isEmpty() && turns.isEmpty() && pending.isEmpty();
+    }
+
+    /**
+     * 编码为二进制
+     * @return 编码结果
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT);
+            writeString(out, summary);
+            writeTurns(out, turns);
+            writeTurns(out, pending);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 从二进制解码，格式不符时返回空记忆
+     * @param bytes 编码结果，为空时返回空记忆
+     * @return 会话记忆
+     */
+    public static ConversationMemory decode(byte[] bytes) {
+        if (bytes == null || bytes.length == 0 || bytes[0] != FORMAT) {
+            return EMPTY;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1))) {
+            String summary = readString(in);
+            List<ConversationTurn> turns = readTurns(in);
+            List<ConversationTurn> pending = readTurns(in);
+            return new ConversationMemory(summary, turns, pending);
+        } catch (IOException | RuntimeException e) {
+            return EMPTY;
+        }
+    }
+
+    private static void writeTurns(DataOutputStream out, List<ConversationTurn> turns) throws IOException {
+        out.writeShort(turns.size());
+        for (ConversationTurn turn : turns) {
+            writeString(out, turn.question());
+            writeString(out, turn.answer());
+        }
+    }
+
+    private static List<ConversationTurn> readTurns(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        List<ConversationTurn> turns = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            turns.add(new ConversationTurn(readString(in), readString(in)));
+        }
+        return turns;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,11 @@
+package com.fw.know.go.document.domain.conversation;
+
+/**
+ * @Description 一轮对话
+ * @param question 问题
+ * @param answer 回答，保存时按长度上限截断
+ * @Date 20/10/2026 下午1:10
+ * @Author Leo
+ */
+public record ConversationTurn(String question, String answer) {
+}
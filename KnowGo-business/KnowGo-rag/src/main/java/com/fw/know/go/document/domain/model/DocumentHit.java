@@ -0,0 +1,41 @@
+package com.fw.know.go.document.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * @Description 文档查询结果投影，只序列化请求的字段，未请求的字段为null且不输出
+ * @Date 19/10/2026 下午3:12
+ * @Author Leo
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DocumentHit {
+
+    /**
+     * 文档分块ID
+     */
+    private String id;
+
+    /**
+     * 相似度得分
+     */
+    private Double score;
+
+    /**
+     * 高亮摘要，长度有上限，HTML已转义
+     */
+    private String snippet;
+
+    /**
+     * 选中的元数据
+     */
+    private Map<String, Object> metadata;
+
+    /**
+     * 分块全文，仅在显式请求时返回
+     */
+    private String text;
+}
@@ -0,0 +1,33 @@
+package com.fw.know.go.document.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * @Description 文档分页查询结果
+ * @Date 19/10/2026 下午8:45
+ * @Author Leo
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DocumentPage {
+
+    /**
+     * 当前页的文档
+     */
+    private final List<DocumentHit> items;
+
+    /**
+     * 下一页的游标，没有更多结果时为空
+     */
+    private final String nextCursor;
+
+    /**
+     * 候选文档总数，翻页深度不超过该值
+     */
+    private final int total;
+}
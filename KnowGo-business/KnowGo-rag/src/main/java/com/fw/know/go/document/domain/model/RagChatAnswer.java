@@ -0,0 +1,32 @@
+package com.fw.know.go.document.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * @Description 问答结果
+ * @Date 20/10/2026 下午2:40
+ * @Author Leo
+ */
+@Getter
+@AllArgsConstructor
+public class RagChatAnswer {
+
+    /**
+     * 回答内容
+     */
+    private final String content;
+
+    /**
+     * 是否为降级回答（超过截止时间，内容不完整）
+     */
+    private final boolean degraded;
+
+    public static RagChatAnswer of(String content) {
+        return new RagChatAnswer(content, false);
+    }
+
+    public static RagChatAnswer degraded(String content) {
+        return new RagChatAnswer(content, true);
+    }
+}
@@ -0,0 +1,128 @@
+package com.fw.know.go.document.domain.retrieval;
+
+import com.fw.know.go.document.infrastructure.configuration.RetrievalProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * @Description 自适应检索策略：在预取的候选集上按得分分布决定返回的文档数
+ * <p>
+ * 1. 断崖截断：在相邻得分落差最大处截断（落差需不小于 minScoreGap）
+ * 2. 累计相关度截断：以超出最低相似度的部分作为相关度，累计达到总相关度的 cumulativeRelevance 即停止
+ * 3. 取两者较小值，再按 [minK, maxK] 和 token 预算裁剪
+ * @Date 19/10/2026 上午10:20
+ * @Author Leo
+ */
+@Slf4j
+@Component
+public class AdaptiveRetrievalPolicy {
+
+    private final RetrievalProperties properties;
+
+    public AdaptiveRetrievalPolicy(RetrievalProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 预取的候选文档数
+     * @return 候选文档数
+     */
+    public int candidateK() {
+        return Math.max(properties.getCandidateK(), properties.getMaxK());
+    }
+
+    /**
+     * 候选文档的最低相似度
+     * @return 最低相似度
+     */
+    public double floorThreshold() {
+        return properties.getFloorThreshold();
+    }
+
+    /**
+     * 从候选文档中选出最终参与回答的文档
+     * @param candidates 带得分的候选文档
+     * @return 选中的文档，按得分降序
+     */
+    public List<Document> select(List<Document> candidates) {
+        if (candidates == null || candidates.isEmpty()) {
+            return List.of();
+        }
+        List<Document> sorted = new ArrayList<>(candidates);
+        sorted.sort(Comparator.comparingDouble(AdaptiveRetrievalPolicy::scoreOf).reversed());
+
+        int upper = Math.min(sorted.size(), Math.max(properties.getMaxK(), 1));
+        int lower = Math.min(upper, Math.max(properties.getMinK(), 1));
+
+        int gapK = this.cutAtLargestGap(sorted, upper);
+        int cumulativeK = this.cutAtCumulativeRelevance(sorted, upper);
+        int k = Math.max(lower, Math.min(gapK, cumulativeK));
+
+        int budgetK = 0;
+        int tokens = 0;
+        for (int i = 0; i < k; i++) {
+            int docTokens = TokenEstimator.estimate(sorted.get(i).getText());
+            if (budgetK > 0 && tokens + docTokens > properties.getTokenBudget()) {
+                break;
+            }
+            tokens += docTokens;
+            budgetK++;
+        }
+
+        log.info("adaptive retrieval: candidates={}, gapK={}, cumulativeK={}, chosenK={}, tokens={}",
+                sorted.size(), gapK, cumulativeK, budgetK, tokens);
+        return sorted.subList(0, budgetK);
+    }
+
+    /**
+     * 在最大得分断崖处截断
+     */
+    private int cutAtLargestGap(List<Document> sorted, int upper) {
+        int cut = upper;
+        double largestGap = properties.getMinScoreGap();
+        for (int i = 1; i < upper; i++) {
+            double gap = scoreOf(sorted.get(i - 1)) - scoreOf(sorted.get(i));
+            if (gap >= largestGap) {
+                largestGap = gap;
+                cut = i;
+            }
+        }
+        return cut;
+    }
+
+    /**
+     * 累计相关度达到目标比例时截断
+     */
+    private int cutAtCumulativeRelevance(List<Document> sorted, int upper) {
+        double total = 0;
+        for (int i = 0; i < upper; i++) {
+            total += this.relevanceOf(sorted.get(i));
+        }
+        if (total <= 0) {
+            return upper;
+        }
+        double target = total * properties.getCumulativeRelevance();
+        double cumulative = 0;
+        for (int i = 0; i < upper; i++) {
+            cumulative += this.relevanceOf(sorted.get(i));
+            if (cumulative >= target) {
+                return i + 1;
+            }
+        }
+        return upper;
+    }
+
+    private double relevanceOf(Document document) {
+        return Math.max(0, scoreOf(document) - properties.getFloorThreshold());
+    }
+
+    private static double scoreOf(Document document) {
+        Double score = document.getScore();
+        return score == null ? 0 : score;
+    }
+}
@@ -0,0 +1,50 @@
+package com.fw.know.go.document.domain.retrieval;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * @Description 文档查询结果可投影的字段
+ * @Date 19/10/2026 下午3:14
+ * @Author Leo
+ */
+public enum DocumentField {
+
+    ID,
+
+    SCORE,
+
+    SNIPPET,
+
+    METADATA,
+
+    TEXT;
+
+    /**
+     * 解析字段名，忽略大小写和空白，未知字段名忽略
+     * @param names 字段名，单个元素内可以用逗号分隔
+     * @return 字段集合
+     */
+    public static Set<DocumentField> parse(Collection<String> names) {
+        Set<DocumentField> fields = EnumSet.noneOf(DocumentField.class);
+        if (names == null) {
+            return fields;
+        }
+        for (String name : names) {
+            if (name == null) {
+                continue;
+            }
+            for (String part : name.split(",")) {
+                String trimmed = part.trim().toUpperCase(Locale.ROOT);
+                for (DocumentField field : values()) {
+                    if (field.name().equals(trimmed)) {
+                        fields.add(field);
+                    }
+                }
+            }
+        }
+        return fields;
+    }
+}
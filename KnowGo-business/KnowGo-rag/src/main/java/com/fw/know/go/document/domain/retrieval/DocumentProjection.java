@@ -0,0 +1,19 @@
+package com.fw.know.go.document.domain.retrieval;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @Description 文档查询结果投影：返回的字段、元数据键和摘要长度
+ * @param fields 返回的字段
+ * @param metadataKeys 返回的元数据键，为空时返回全部元数据
+ * @param snippetLength 摘要长度
+ * @Date 19/10/2026 下午3:16
+ * @Author Leo
+ */
+public record DocumentProjection(Set<DocumentField> fields, List<String> metadataKeys, int snippetLength) {
+
+    public boolean includes(DocumentField field) {
+        return fields.contains(field);
+    }
+}
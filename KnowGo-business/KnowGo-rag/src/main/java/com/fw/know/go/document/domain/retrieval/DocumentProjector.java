@@ -0,0 +1,110 @@
+package com.fw.know.go.document.domain.retrieval;
+
+import com.fw.know.go.document.domain.model.DocumentHit;
+import com.fw.know.go.document.infrastructure.configuration.ProjectionProperties;
+import org.springframework.ai.document.Document;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @Description 文档查询结果投影：按请求的字段裁剪文档，默认只返回ID、得分和高亮摘要，全文和元数据按需返回
+ * @Date 19/10/2026 下午3:40
+ * @Author Leo
+ */
+@Component
+public class DocumentProjector {
+
+    private final ProjectionProperties properties;
+
+    private final SnippetExtractor snippetExtractor;
+
+    public DocumentProjector(ProjectionProperties properties) {
+        this.properties = properties;
+        this.snippetExtractor = new SnippetExtractor(properties.getHighlightPre(), properties.getHighlightPost());
+    }
+
+    /**
+     * 根据请求参数构建投影
+     * @param fields 请求的字段，为空时使用默认字段
+     * @param metadataKeys 请求的元数据键，非空时隐含返回元数据
+     * @param snippetLength 摘要长度，为空时使用默认长度，超过上限时按上限截断
+     * @return 投影
+     */
+    public DocumentProjection projection(Collection<String> fields, List<String> metadataKeys, Integer snippetLength) {
+        Set<DocumentField> selected = DocumentField.parse(fields);
+        if (selected.isEmpty()) {
+            selected = DocumentField.parse(properties.getDefaultFields());
+        }
+        List<String> keys = new ArrayList<>();
+        if (metadataKeys != null) {
+            for (String key : metadataKeys) {
+                for (String part : key.split(",")) {
+                    if (!part.isBlank()) {
+                        keys.add(part.trim());
+                    }
+                }
+            }
+        }
+        if (!keys.isEmpty()) {
+            selected.add(DocumentField.METADATA);
+        }
+        int length = snippetLength == null ? properties.getSnippetLength() : snippetLength;
+        length = Math.max(0, Math.min(length, properties.getMaxSnippetLength()));
+        return new DocumentProjection(selected, keys, length);
+    }
+
+    /**
+     * 投影查询结果
+     * @param documents 查询到的文档
+     * @param query 查询字符串，用于高亮
+     * @param projection 投影
+     * @return 投影后的结果，顺序不变
+     */
+    public List<DocumentHit> project(List<Document> documents, String query, DocumentProjection projection) {
+        List<DocumentHit> hits = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            hits.add(project(document, query, projection));
+        }
+        return hits;
+    }
+
+    private DocumentHit project(Document document, String query, DocumentProjection projection) {
+        DocumentHit hit = new DocumentHit();
+        if (projection.includes(DocumentField.ID)) {
+            hit.setId(document.getId());
+        }
+        if (projection.includes(DocumentField.SCORE)) {
+            hit.setScore(document.getScore());
+        }
+        if (projection.includes(DocumentField.SNIPPET)) {
+            hit.setSnippet(snippetExtractor.extract(document.getText(), query, projection.snippetLength()));
+        }
+        if (projection.includes(DocumentField.METADATA)) {
+            hit.setMetadata(selectMetadata(document.getMetadata(), projection.metadataKeys()));
+        }
+        if (projection.includes(DocumentField.TEXT)) {
+            hit.setText(document.getText());
+        }
+        return hit;
+    }
+
+    private static Map<String, Object> selectMetadata(Map<String, Object> metadata, List<String> keys) {
+        if (keys.isEmpty()) {
+            return metadata;
+        }
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (String key : keys) {
+            Object value = metadata.get(key);
+            if (value != null) {
+                selected.put(key, value);
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,112 @@
+package com.fw.know.go.document.domain.retrieval;
+
+import org.springframework.ai.document.Document;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @Description 分页查询的候选列表，按得分降序、ID升序排列，缓存后供后续页截取
+ * @Date 19/10/2026 下午8:55
+ * @Author Leo
+ */
+public class SearchCandidates implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final Comparator<Candidate> ORDER = Comparator.comparingDouble(Candidate::score).reversed()
+            .thenComparing(Candidate::id);
+
+    /**
+     * 所属租户，游标不能跨租户使用
+     */
+    private final String tenantId;
+
+    private final int queryHash;
+
+    private final List<Candidate> candidates;
+
+    private SearchCandidates(String tenantId, int queryHash, List<Candidate> candidates) {
+        this.tenantId = tenantId;
+        this.queryHash = queryHash;
+        this.candidates = candidates;
+    }
+
+    /**
+     * 由检索结果构建候选列表
+     * @param tenantId 租户
+     * @param queryHash 查询字符串的哈希
+     * @param documents 检索结果
+     * @return 候选列表
+     */
+    public static SearchCandidates of(String tenantId, int queryHash, List<Document> documents) {
+        List<Candidate> candidates = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            candidates.add(new Candidate(document.getId(), document.getText(), new HashMap<>(document.getMetadata()),
+                    document.getScore() == null ? 0 : document.getScore()));
+        }
+        candidates.sort(ORDER);
+        return new SearchCandidates(tenantId, queryHash, candidates);
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public int getQueryHash() {
+        return queryHash;
+    }
+
+    public int size() {
+        return candidates.size();
+    }
+
+    /**
+     * 水位线之后第一个候选的位置
+     * @param score 水位线得分
+     * @param id 水位线文档ID
+     * @return 位置，水位线之后没有候选时为 size()
+     */
+    public int indexAfter(double score, String id) {
+        Candidate watermark = new Candidate(id, null, null, score);
+        for (int i = 0; i < candidates.size(); i++) {
+            if (ORDER.compare(candidates.get(i), watermark) > 0) {
+                return i;
+            }
+        }
+        return candidates.size();
+    }
+
+    /**
+     * 截取一页
+     * @param from 起始位置
+     * @param size 数量
+     * @return 文档
+     */
+    public List<Document> slice(int from, int size) {
+        int to = Math.min(candidates.size(), from + size);
+        List<Document> page = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            Candidate candidate = candidates.get(i);
+            page.add(Document.builder()
+                    .id(candidate.id())
+                    .text(candidate.text())
+                    .metadata(candidate.metadata())
+                    .score(candidate.score())
+                    .build());
+        }
+        return page;
+    }
+
+    /**
+     * 候选文档
+     */
+    public record Candidate(String id, String text, Map<String, Object> metadata, double score) implements Serializable {
+    }
+}
@@ -0,0 +1,119 @@
+package com.fw.know.go.document.domain.retrieval;
+
+import com.fw.know.go.document.infrastructure.exception.RagErrorCode;
+import com.fw.know.go.document.infrastructure.exception.RagException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * @Description 分页游标：候选列表ID、查询指纹、相似度阈值、每页数量，以及上一页最后一个文档的得分和ID作为水位线
+ * <p>
+ * 候选列表仍在缓存中时从水位线之后截取下一页；已过期时按原阈值重新检索，仍从水位线之后继续，不会重复或遗漏。
+ * 游标末尾附带对内容和租户的 HMAC-SHA256 签名（截取前16字节），伪造或篡改的候选列表ID、水位线，以及其他租户的游标都会被拒绝
+ * @param candidateId 候选列表ID
+ * @param queryHash 查询字符串的哈希，用于校验游标与查询是否匹配
+ * @param similarityThreshold 相似度阈值
+ * @param pageSize 每页数量
+ * @param score 水位线得分
+ * @param id 水位线文档ID
+ * @Date 19/10/2026 下午8:50
+ * @Author Leo
+ */
+public record SearchCursor(String candidateId, int queryHash, double similarityThreshold, int pageSize,
+                           double score, String id) {
+
+    private static final byte VERSION = 2;
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final int MAC_BYTES = 16;
+
+    /**
+     * 编码为签名的URL安全字符串
+     * @param secret 签名密钥
+     * @param tenantId 游标所属的租户
+     * @return 游标字符串
+     */
+    public String encode(byte[] secret, String tenantId) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(candidateId);
+            out.writeInt(queryHash);
+            out.writeDouble(similarityThreshold);
+            out.writeShort(pageSize);
+            out.writeDouble(score);
+            out.writeUTF(id);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] payload = bytes.toByteArray();
+        byte[] signed = Arrays.copyOf(payload, payload.length + MAC_BYTES);
+        System.arraycopy(mac(secret, payload, tenantId), 0, signed, payload.length, MAC_BYTES);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(signed);
+    }
+
+    /**
+     * 校验签名并解析游标字符串
+     * @param cursor 游标字符串
+     * @param secret 签名密钥
+     * @param tenantId 当前租户
+     * @return 游标
+     */
+    public static SearchCursor decode(String cursor, byte[] secret, String tenantId) {
+        byte[] signed;
+        try {
+            signed = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new RagException(e, RagErrorCode.CURSOR_INVALID);
+        }
+        if (signed.length <= MAC_BYTES) {
+            throw new RagException(RagErrorCode.CURSOR_INVALID);
+        }
+        byte[] payload = Arrays.copyOf(signed, signed.length - MAC_BYTES);
+        byte[] expected = Arrays.copyOf(mac(secret, payload, tenantId), MAC_BYTES);
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(signed, payload.length, signed.length))) {
+            throw new RagException(RagErrorCode.CURSOR_INVALID);
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            if (in.readByte() != VERSION) {
+                throw new RagException(RagErrorCode.CURSOR_INVALID);
+            }
+            return new SearchCursor(in.readUTF(), in.readInt(), in.readDouble(), in.readUnsignedShort(),
+                    in.readDouble(), in.readUTF());
+        } catch (IOException | IllegalArgumentException e) {
+            throw new RagException(e, RagErrorCode.CURSOR_INVALID);
+        }
+    }
+
+    private static byte[] mac(byte[] secret, byte[] payload, String tenantId) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret, ALGORITHM));
+            mac.update(payload);
+            return mac.doFinal(tenantId.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " unavailable", e);
+        }
+    }
+
+    /**
+     * 查询字符串的哈希
+     * @param query 查询字符串
+     * @return 哈希
+     */
+    public static int hashQuery(String query) {
+        return query == null ? 0 : query.strip().hashCode();
+    }
+}
@@ -0,0 +1,237 @@
+package com.fw.know.go.document.domain.retrieval;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * @Description 高亮摘要提取：在分块文本中找出命中查询词最密集的窗口，截取不超过指定长度的片段并高亮命中部分
+ * <p>
+ * 查询词切分：拉丁字母和数字按单词切分（至少2个字符），中日韩字符按二元组切分，命中区间重叠或相邻时合并高亮。
+ * 文本中的连续空白压缩为一个空格，输出的文本部分做HTML转义，高亮标签原样输出
+ * @Date 19/10/2026 下午3:20
+ * @Author Leo
+ */
+public class SnippetExtractor {
+
+    private static final String ELLIPSIS = "…";
+
+    private final String highlightPre;
+
+    private final String highlightPost;
+
+    public SnippetExtractor(String highlightPre, String highlightPost) {
+        this.highlightPre = highlightPre == null ? "" : highlightPre;
+        this.highlightPost = highlightPost == null ? "" : highlightPost;
+    }
+
+    /**
+     * 提取高亮摘要
+     * @param text 分块文本
+     * @param query 查询字符串
+     * @param maxLength 摘要长度上限（字符数，不含高亮标签和省略号）
+     * @return 高亮摘要
+     */
+    public String extract(String text, String query, int maxLength) {
+        if (text == null || text.isEmpty() || maxLength <= 0) {
+            return "";
+        }
+        String normalized = collapseWhitespace(text);
+        int length = normalized.length();
+        List<int[]> matches = matches(normalized, terms(query));
+
+        int start = 0;
+        if (length > maxLength && !matches.isEmpty()) {
+            start = windowStart(matches, maxLength, length);
+        }
+        int end = Math.min(length, start + maxLength);
+        // 不切断代理对
+        if (start > 0 && Character.isLowSurrogate(normalized.charAt(start))) {
+            start++;
+        }
+        if (end < length && end > start && Character.isHighSurrogate(normalized.charAt(end - 1))) {
+            end--;
+        }
+
+        StringBuilder snippet = new StringBuilder(end - start + 16);
+        if (start > 0) {
+            snippet.append(ELLIPSIS);
+        }
+        int cursor = start;
+        for (int[] match : matches) {
+            int matchStart = Math.max(match[0], start);
+            int matchEnd = Math.min(match[1], end);
+            if (matchStart >= matchEnd) {
+                continue;
+            }
+            escape(normalized, cursor, matchStart, snippet);
+            snippet.append(highlightPre);
+            escape(normalized, matchStart, matchEnd, snippet);
+            snippet.append(highlightPost);
+            cursor = matchEnd;
+        }
+        escape(normalized, cursor, end, snippet);
+        if (end < length) {
+            snippet.append(ELLIPSIS);
+        }
+        return snippet.toString();
+    }
+
+    /**
+     * 切分查询词，按长度降序
+     * @param query 查询字符串
+     * @return 小写的查询词
+     */
+    static List<String> terms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        String lower = query.toLowerCase(Locale.ROOT);
+        int i = 0;
+        while (i < lower.length()) {
+            char c = lower.charAt(i);
+            if (isCjk(c)) {
+                int runStart = i;
+                while (i < lower.length() && isCjk(lower.charAt(i))) {
+                    i++;
+                }
+                if (i - runStart == 1) {
+                    terms.add(lower.substring(runStart, i));
+                }
+                for (int j = runStart; j + 2 <= i; j++) {
+                    terms.add(lower.substring(j, j + 2));
+                }
+            } else if (Character.isLetterOrDigit(c)) {
+                int runStart = i;
+                while (i < lower.length() && Character.isLetterOrDigit(lower.charAt(i)) && !isCjk(lower.charAt(i))) {
+                    i++;
+                }
+                if (i - runStart >= 2) {
+                    terms.add(lower.substring(runStart, i));
+                }
+            } else {
+                i++;
+            }
+        }
+        List<String> sorted = new ArrayList<>(terms);
+        sorted.sort((a, b) -> b.length() - a.length());
+        return sorted;
+    }
+
+    /**
+     * 找出文本中所有命中区间，重叠或相邻的命中合并为一个区间
+     * @param text 文本
+     * @param terms 查询词
+     * @return 按位置升序的命中区间 [start, end)
+     */
+    private static List<int[]> matches(String text, List<String> terms) {
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        int length = text.length();
+        boolean[] covered = new boolean[length];
+        boolean any = false;
+        for (int i = 0; i < length; i++) {
+            for (String term : terms) {
+                if (text.regionMatches(true, i, term, 0, term.length())) {
+                    for (int k = i; k < i + term.length(); k++) {
+                        covered[k] = true;
+                    }
+                    any = true;
+                    break;
+                }
+            }
+        }
+        if (!any) {
+            return List.of();
+        }
+        List<int[]> runs = new ArrayList<>();
+        int i = 0;
+        while (i < length) {
+            if (!covered[i]) {
+                i++;
+                continue;
+            }
+            int runStart = i;
+            while (i < length && covered[i]) {
+                i++;
+            }
+            runs.add(new int[]{runStart, i});
+        }
+        return runs;
+    }
+
+    /**
+     * 选出命中字符数最多的窗口，并让命中部分在窗口内居中
+     */
+    private static int windowStart(List<int[]> matches, int maxLength, int length) {
+        int bestFirst = 0;
+        int bestLast = 0;
+        long bestCovered = -1;
+        long covered = 0;
+        int last = -1;
+        for (int first = 0; first < matches.size(); first++) {
+            if (last < first) {
+                last = first;
+                covered = matches.get(first)[1] - matches.get(first)[0];
+            }
+            while (last + 1 < matches.size() && matches.get(last + 1)[1] - matches.get(first)[0] <= maxLength) {
+                last++;
+                covered += matches.get(last)[1] - matches.get(last)[0];
+            }
+            if (covered > bestCovered) {
+                bestCovered = covered;
+                bestFirst = first;
+                bestLast = last;
+            }
+            covered -= matches.get(first)[1] - matches.get(first)[0];
+        }
+        int spanStart = matches.get(bestFirst)[0];
+        int spanEnd = matches.get(bestLast)[1];
+        int slack = maxLength - (spanEnd - spanStart);
+        int start = slack > 0 ? spanStart - slack / 2 : spanStart;
+        return Math.max(0, Math.min(start, length - maxLength));
+    }
+
+    private static String collapseWhitespace(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                space = builder.length() > 0;
+            } else {
+                if (space) {
+                    builder.append(' ');
+                    space = false;
+                }
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static void escape(String text, int from, int to, StringBuilder out) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private static boolean isCjk(char c) {
+        return Character.isIdeographic(c)
+                || Character.UnicodeBlock.of(c) == Character.UnicodeBlock.HANGUL_SYLLABLES
+                || Character.UnicodeScript.of(c) == Character.UnicodeScript.HIRAGANA
+                || Character.UnicodeScript.of(c) == Character.UnicodeScript.KATAKANA;
+    }
+}
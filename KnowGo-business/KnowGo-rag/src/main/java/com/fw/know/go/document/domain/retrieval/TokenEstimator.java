@@ -0,0 +1,36 @@
+package com.fw.know.go.document.domain.retrieval;
+
+/**
+ * @Description token数估算工具，中日韩字符按1个token计，其余字符按4个字符1个token计
+ * @Date 19/10/2026 上午10:12
+ * @Author Leo
+ */
+public final class TokenEstimator {
+
+    private static final int LATIN_CHARS_PER_TOKEN = 4;
+
+    private TokenEstimator() {
+    }
+
+    /**
+     * 估算文本的token数
+     * @param text 文本
+     * @return 估算的token数
+     */
+    public static int estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int cjk = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isIdeographic(c) || Character.UnicodeBlock.of(c) == Character.UnicodeBlock.HANGUL_SYLLABLES) {
+                cjk++;
+            } else {
+                other++;
+            }
+        }
+        return cjk + (other + LATIN_CHARS_PER_TOKEN - 1) / LATIN_CHARS_PER_TOKEN;
+    }
+}
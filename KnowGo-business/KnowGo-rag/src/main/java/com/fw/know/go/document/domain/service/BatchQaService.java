@@ -0,0 +1,475 @@
+package com.fw.know.go.document.domain.service;
+
+import cn.hutool.core.util.IdUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fw.know.go.ai.cache.CachingEmbeddingModel;
+import com.fw.know.go.ai.limiter.AiOperation;
+import com.fw.know.go.ai.limiter.ConcurrencyLimiterRegistry;
+import com.fw.know.go.ai.limiter.Workload;
+import com.fw.know.go.ai.limiter.WorkloadContext;
+import com.fw.know.go.ai.router.ModelRouter;
+import com.fw.know.go.base.context.ContextSnapshot;
+import com.fw.know.go.base.context.RequestContext;
+import com.fw.know.go.document.domain.batch.BatchJob;
+import com.fw.know.go.document.domain.batch.BatchJobStatus;
+import com.fw.know.go.document.domain.batch.BatchResult;
+import com.fw.know.go.document.domain.batch.BatchResultLog;
+import com.fw.know.go.document.domain.batch.ConcurrencyGate;
+import com.fw.know.go.document.domain.model.RagChatAnswer;
+import com.fw.know.go.document.infrastructure.configuration.BatchJobProperties;
+import com.fw.know.go.document.infrastructure.exception.RagErrorCode;
+import com.fw.know.go.document.infrastructure.exception.RagException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * @Description 批量问答服务：上传问题文件创建任务，后台按批处理，每批问题合并成一次向量化请求并并行检索，
+ * 模型调用以批量负载执行，在途数不超过限流器当前的并发上限；结果逐条追加到结果文件，
+ * 实例重启后从结果文件恢复进度，跳过已处理的问题继续执行
+ * @Date 20/10/2026 下午3:40
+ * @Author Leo
+ */
+@Slf4j
+@Service
+public class BatchQaService {
+
+    private static final String JOB_FILE = "job.json";
+
+    private static final String QUESTIONS_FILE = "questions.txt";
+
+    private static final String RESULTS_FILE = "results.jsonl";
+
+    private static final String LOCK_FILE = "job.lock";
+
+    /**
+     * 任务ID为32位十六进制，校验后才拼接路径
+     */
+    private static final Pattern JOB_ID = Pattern.compile("[0-9a-f]{32}");
+
+    /**
+     * 后台执行时的接口维度，用量统计归到提交任务的接口
+     */
+    private static final String ENDPOINT = "POST /rag/batch/jobs";
+
+    private final RagChatService ragChatService;
+
+    private final EmbeddingModel embeddingModel;
+
+    private final ConcurrencyLimiterRegistry limiterRegistry;
+
+    private final ModelRouter modelRouter;
+
+    private final BatchJobProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final Path root;
+
+    /**
+     * 本实例正在执行的任务
+     */
+    private final Map<String, BatchJob> running = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public BatchQaService(RagChatService ragChatService, EmbeddingModel embeddingModel,
+                          ObjectProvider<ConcurrencyLimiterRegistry> limiterRegistry, ModelRouter modelRouter,
+                          BatchJobProperties properties, ObjectProvider<ObjectMapper> objectMapper) {
+        this.ragChatService = ragChatService;
+        this.embeddingModel = embeddingModel;
+        this.limiterRegistry = limiterRegistry.getIfAvailable();
+        this.modelRouter = modelRouter;
+        this.properties = properties;
+        this.objectMapper = objectMapper.getIfAvailable(ObjectMapper::new);
+        this.root = Paths.get(properties.getDirectory());
+    }
+
+    /**
+     * 创建批量问答任务，问题文件为UTF-8文本，每行一个问题，空行忽略
+     * @param file 问题文件
+     * @param model 模型，为空时由模型路由选择，只能是路由配置中出现的模型
+     * @return 任务
+     */
+    public BatchJob submit(MultipartFile file, String model) {
+        modelRouter.checkRequestedModel(model);
+        List<String> questions = this.readQuestions(file);
+        long now = System.currentTimeMillis();
+        BatchJob job = new BatchJob();
+        job.setId(IdUtil.simpleUUID());
+        job.setTenantId(RequestContext.current().getTenantId());
+        job.setModel(model);
+        job.setStatus(BatchJobStatus.RUNNING);
+        job.setTotal(questions.size());
+        job.setCreatedAt(now);
+        job.setUpdatedAt(now);
+        Path directory = root.resolve(job.getId());
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve(QUESTIONS_FILE), questions, StandardCharsets.UTF_8);
+            this.saveJob(directory, job);
+        } catch (IOException e) {
+            throw new RagException(e, RagErrorCode.BATCH_JOB_CREATE_FAILED);
+        }
+        log.info("batch job {} created with {} questions", job.getId(), job.getTotal());
+        this.start(job);
+        return job.copy();
+    }
+
+    /**
+     * 查询任务进度
+     * @param jobId 任务ID
+     * @return 任务
+     */
+    public BatchJob get(String jobId) {
+        BatchJob job = this.find(jobId);
+        synchronized (job) {
+            return job.copy();
+        }
+    }
+
+    /**
+     * 取消任务，在途的问题处理完后停止，已写出的结果保留
+     * @param jobId 任务ID
+     * @return 任务
+     */
+    public BatchJob cancel(String jobId) {
+        BatchJob job = this.find(jobId);
+        synchronized (job) {
+            if (!job.getStatus().isFinished()) {
+                job.setStatus(BatchJobStatus.CANCELLED);
+                job.setUpdatedAt(System.currentTimeMillis());
+                try {
+                    this.saveJob(root.resolve(jobId), job);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("save batch job failed", e);
+                }
+            }
+            return job.copy();
+        }
+    }
+
+    /**
+     * 任务的结果文件，执行中也可读取已写出的结果
+     * @param jobId 任务ID
+     * @return 结果文件，尚未开始写出时不存在
+     */
+    public Path resultFile(String jobId) {
+        this.find(jobId);
+        return root.resolve(jobId).resolve(RESULTS_FILE);
+    }
+
+    /**
+     * 启动完成后继续执行未完成的任务
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> directories = Files.list(root)) {
+            directories.filter(Files::isDirectory).forEach(directory -> {
+                BatchJob job = this.loadJob(directory);
+                if (job != null && job.getStatus() == BatchJobStatus.RUNNING) {
+                    log.info("resume batch job {}", job.getId());
+                    this.start(job);
+                }
+            });
+        } catch (IOException e) {
+            log.warn("list batch job directory {} failed", root, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 中断在途的任务，未写出结果的问题在重启后重新处理
+        executor.shutdownNow();
+    }
+
+    private void start(BatchJob job) {
+        if (running.putIfAbsent(job.getId(), job) == null) {
+            executor.execute(() -> this.run(job));
+        }
+    }
+
+    private void run(BatchJob job) {
+        Path directory = root.resolve(job.getId());
+        try (FileChannel lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+             FileLock lock = lockChannel.tryLock()) {
+            if (lock == null) {
+                log.info("batch job {} is running on another instance", job.getId());
+                return;
+            }
+            RequestContext.set(new RequestContext(job.getTenantId(), ENDPOINT));
+            WorkloadContext.callAs(Workload.BULK, () -> {
+                this.process(job, directory);
+                return null;
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("batch job {} interrupted", job.getId());
+        } catch (Exception e) {
+            log.error("batch job {} failed", job.getId(), e);
+            synchronized (job) {
+                job.setStatus(BatchJobStatus.FAILED);
+                job.setError(e.getMessage());
+            }
+            this.saveQuietly(directory, job);
+        } finally {
+            RequestContext.clear();
+            running.remove(job.getId());
+        }
+    }
+
+    /**
+     * 按批处理问题：一批问题先合并向量化、并行检索，再逐个提交生成，生成的在途数受闸门限制
+     */
+    private void process(BatchJob job, Path directory) throws Exception {
+        List<String> questions = Files.readAllLines(directory.resolve(QUESTIONS_FILE), StandardCharsets.UTF_8);
+        ConcurrencyGate gate = new ConcurrencyGate(this::generationLimit);
+        ContextSnapshot context = ContextSnapshot.capture();
+        AtomicReference<IOException> writeFailure = new AtomicReference<>();
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        try (BatchResultLog results = BatchResultLog.open(directory.resolve(RESULTS_FILE), objectMapper)) {
+            this.saveProgress(job, directory, results);
+            try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int start = 0; start < questions.size(); start += chunkSize) {
+                    if (this.isCancelled(job) || writeFailure.get() != null) {
+                        break;
+                    }
+                    List<Integer> pending = new ArrayList<>(chunkSize);
+                    for (int i = start; i < Math.min(start + chunkSize, questions.size()); i++) {
+                        if (!results.isProcessed(i)) {
+                            pending.add(i);
+                        }
+                    }
+                    if (pending.isEmpty()) {
+                        continue;
+                    }
+                    Map<String, float[]> vectors = this.embed(pending.stream().map(questions::get).toList());
+                    List<Future<List<Document>>> retrievals = new ArrayList<>(pending.size());
+                    for (int index : pending) {
+                        retrievals.add(workers.submit(context.wrap(() -> CachingEmbeddingModel.callWithVectors(vectors,
+                                () -> ragChatService.retrieve(questions.get(index))))));
+                    }
+                    for (int i = 0; i < pending.size(); i++) {
+                        int index = pending.get(i);
+                        Future<List<Document>> retrieval = retrievals.get(i);
+                        gate.acquire();
+                        workers.submit(context.wrap(() -> {
+                            try {
+                                results.append(this.answer(job, index, questions.get(index), retrieval, vectors));
+                            } catch (IOException e) {
+                                writeFailure.compareAndSet(null, e);
+                            } finally {
+                                gate.release();
+                            }
+                            return null;
+                        }));
+                    }
+                    this.saveProgress(job, directory, results);
+                }
+            }
+            if (writeFailure.get() != null) {
+                throw writeFailure.get();
+            }
+            synchronized (job) {
+                if (!job.getStatus().isFinished()) {
+                    job.setStatus(BatchJobStatus.COMPLETED);
+                }
+            }
+            this.saveProgress(job, directory, results);
+            log.info("batch job {} {}, completed={}, failed={}", job.getId(), job.getStatus(),
+                    results.getCompleted(), results.getFailed());
+        }
+    }
+
+    /**
+     * 回答一个问题，失败时重新检索并重试，用完尝试次数后记为失败
+     */
+    private BatchResult answer(BatchJob job, int index, String question, Future<List<Document>> retrieval,
+                               Map<String, float[]> vectors) throws InterruptedException {
+        Exception failure = null;
+        int maxAttempts = Math.max(1, properties.getMaxAttempts());
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                List<Document> documents = attempt == 1 ? retrieval.get()
+                        : CachingEmbeddingModel.callWithVectors(vectors, () -> ragChatService.retrieve(question));
+                RagChatAnswer answer = ragChatService.generate(question, documents, job.getModel());
+                return BatchResult.answered(index, question, answer.getContent(), answer.isDegraded());
+            } catch (ExecutionException e) {
+                failure = e.getCause() instanceof Exception cause ? cause : e;
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                failure = e;
+            }
+            if (attempt < maxAttempts) {
+                Thread.sleep(properties.getRetryBackoff().toMillis() * attempt);
+            }
+        }
+        log.warn("batch job {} question {} failed after {} attempts", job.getId(), index, maxAttempts, failure);
+        return BatchResult.failed(index, question, failure.getMessage() == null
+                ? failure.getClass().getSimpleName() : failure.getMessage());
+    }
+
+    /**
+     * 一批问题合并成一次向量化请求，检索时直接使用这些向量，不写入在线请求共用的查询向量缓存，
+     * 批量任务不会把在线热点挤出缓存；向量化失败或未启用缓存时逐个向量化，同样不经过缓存
+     */
+    private Map<String, float[]> embed(List<String> questions) {
+        if (!(embeddingModel instanceof CachingEmbeddingModel)) {
+            return Map.of();
+        }
+        List<String> distinct = questions.stream().distinct().toList();
+        try {
+            List<float[]> embeddings = embeddingModel.embed(distinct);
+            Map<String, float[]> vectors = new HashMap<>(distinct.size() * 2);
+            for (int i = 0; i < distinct.size(); i++) {
+                vectors.put(distinct.get(i), embeddings.get(i));
+            }
+            return vectors;
+        } catch (RuntimeException e) {
+            log.debug("batch embeddings failed, fall back to single embeddings", e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * 生成阶段的并发上限，取配置上限和批量负载限流器当前上限的较小值
+     */
+    private int generationLimit() {
+        int max = Math.max(1, properties.getMaxConcurrency());
+        if (limiterRegistry == null || !limiterRegistry.isEnabled()) {
+            return max;
+        }
+        return Math.min(max, limiterRegistry.get(AiOperation.CHAT, Workload.BULK).getLimit());
+    }
+
+    private List<String> readQuestions(MultipartFile file) {
+        List<String> questions = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream(),
+                StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String question = line.strip();
+                if (question.isEmpty()) {
+                    continue;
+                }
+                if (question.length() > properties.getMaxQuestionChars()
+                        || questions.size() >= properties.getMaxQuestions()) {
+                    throw new RagException(RagErrorCode.BATCH_FILE_TOO_LARGE);
+                }
+                questions.add(question);
+            }
+        } catch (IOException e) {
+            throw new RagException(e, RagErrorCode.BATCH_JOB_CREATE_FAILED);
+        }
+        if (questions.isEmpty()) {
+            throw new RagException(RagErrorCode.BATCH_FILE_EMPTY);
+        }
+        return questions;
+    }
+
+    /**
+     * 查找当前租户的任务，执行中的任务取内存中的进度，其余从任务文件读取
+     */
+    private BatchJob find(String jobId) {
+        if (jobId == null || !JOB_ID.matcher(jobId).matches()) {
+            throw new RagException(RagErrorCode.BATCH_JOB_NOT_FOUND);
+        }
+        BatchJob job = running.get(jobId);
+        if (job == null) {
+            job = this.loadJob(root.resolve(jobId));
+        }
+        if (job == null || !RequestContext.current().getTenantId().equals(job.getTenantId())) {
+            throw new RagException(RagErrorCode.BATCH_JOB_NOT_FOUND);
+        }
+        return job;
+    }
+
+    private boolean isCancelled(BatchJob job) {
+        synchronized (job) {
+            return job.getStatus() == BatchJobStatus.CANCELLED;
+        }
+    }
+
+    /**
+     * 保存进度；其他实例取消了任务时（共享目录）以任务文件中的状态为准
+     */
+    private void saveProgress(BatchJob job, Path directory, BatchResultLog results) throws IOException {
+        BatchJob stored = this.loadJob(directory);
+        synchronized (job) {
+            if (stored != null && stored.getStatus() == BatchJobStatus.CANCELLED) {
+                job.setStatus(BatchJobStatus.CANCELLED);
+            }
+            job.setCompleted(results.getCompleted());
+            job.setFailed(results.getFailed());
+            job.setUpdatedAt(System.currentTimeMillis());
+            this.saveJob(directory, job);
+        }
+    }
+
+    private void saveQuietly(Path directory, BatchJob job) {
+        try {
+            synchronized (job) {
+                job.setUpdatedAt(System.currentTimeMillis());
+                this.saveJob(directory, job);
+            }
+        } catch (IOException e) {
+            log.warn("save batch job {} failed", job.getId(), e);
+        }
+    }
+
+    private void saveJob(Path directory, BatchJob job) throws IOException {
+        Path tmp = directory.resolve(JOB_FILE + ".tmp");
+        Files.write(tmp, objectMapper.writeValueAsBytes(job));
+        Files.move(tmp, directory.resolve(JOB_FILE), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private BatchJob loadJob(Path directory) {
+        Path file = directory.resolve(JOB_FILE);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(file.toFile(), BatchJob.class);
+        } catch (IOException e) {
+            log.warn("read batch job {} failed", file, e);
+            return null;
+        }
+    }
+}
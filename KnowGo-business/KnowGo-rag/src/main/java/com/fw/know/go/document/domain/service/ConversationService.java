@@ -0,0 +1,253 @@
+package com.fw.know.go.document.domain.service;
+
+import com.fw.know.go.ai.limiter.Workload;
+import com.fw.know.go.ai.limiter.WorkloadContext;
+import com.fw.know.go.base.context.DeadlineContext;
+import com.fw.know.go.base.context.RequestContext;
+import com.fw.know.go.base.exception.DeadlineExceededException;
+import com.fw.know.go.document.domain.conversation.ConversationMemory;
+import com.fw.know.go.document.domain.conversation.ConversationTurn;
+import com.fw.know.go.document.infrastructure.configuration.ConversationProperties;
+import com.fw.know.go.document.infrastructure.conversation.RedisConversationStore;
+import com.fw.know.go.document.infrastructure.metrics.RagMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * @Description 多轮对话服务：提问前把追问改写成不依赖上下文的独立问题，回答后记录本轮对话，
+ * 滑出窗口的对话在后台合并进滚动摘要，不占用请求线程
+ * @Date 20/10/2026 下午1:40
+ * @Author Leo
+ */
+@Slf4j
+@Service
+public class ConversationService {
+
+    private final RedisConversationStore conversationStore;
+
+    private final ChatClient chatClient;
+
+    private final ConversationProperties properties;
+
+    private final RagMetrics ragMetrics;
+
+    /**
+     * 正在生成摘要的会话，同一会话同时只有一个摘要任务
+     */
+    private final Set<String> summarizing = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService summaryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ConversationService(RedisConversationStore conversationStore, ChatClient chatClient,
+                               ConversationProperties properties, RagMetrics ragMetrics) {
+        this.conversationStore = conversationStore;
+        this.chatClient = chatClient;
+        this.properties = properties;
+        this.ragMetrics = ragMetrics;
+    }
+
+    /**
+     * 是否按多轮对话处理
+     * @param conversationId 会话ID
+     * @return 是否启用
+     */
+    public boolean isActive(String conversationId) {
+        return properties.isEnabled() && conversationId != null;
+    }
+
+    /**
+     * 读取当前租户的会话记忆，读取失败时按新会话处理
+     * @param conversationId 会话ID
+     * @return 会话记忆
+     */
+    public ConversationMemory load(String conversationId) {
+        try {
+            return conversationStore.load(RequestContext.current().getTenantId(), conversationId);
+        } catch (RuntimeException e) {
+            log.warn("load conversation failed, conversationId={}", conversationId, e);
+            return ConversationMemory.empty();
+        }
+    }
+
+    /**
+     * 结合会话历史把问题改写为独立问题，用于检索和回答；没有历史、超时或失败时使用原问题
+     * @param memory 会话记忆
+     * @param question 用户问题
+     * @return 独立问题
+     */
+    public String condense(ConversationMemory memory, String question) {
+        if (memory.isEmpty()) {
+            return question;
+        }
+        try {
+            String condensed = DeadlineContext.callWithin(RagMetrics.STAGE_CONDENSE,
+                    () -> ragMetrics.record(RagMetrics.STAGE_CONDENSE,
+                            () -> this.call(this.buildCondensePrompt(memory, question), properties.getCondenseModel())));
+            if (condensed == null || condensed.isBlank()) {
+                return question;
+            }
+            return truncate(condensed.strip(), properties.getMaxQueryChars());
+        } catch (DeadlineExceededException e) {
+            log.warn("condense exceeded deadline, question length={}", question.length());
+            return question;
+        } catch (RuntimeException e) {
+            log.warn("condense question failed, use original question", e);
+            return question;
+        }
+    }
+
+    /**
+     * 记录一轮对话，窗口溢出时在后台生成摘要；写入失败只记录日志，不影响本次回答
+     * @param conversationId 会话ID
+     * @param question 用户问题
+     * @param answer 回答
+     */
+    public void record(String conversationId, String question, String answer) {
+        RequestContext context = RequestContext.current();
+        String tenantId = context.getTenantId();
+        int maxChars = properties.getMaxTurnChars();
+        ConversationTurn turn = new ConversationTurn(truncate(question, maxChars), truncate(answer, maxChars));
+        try {
+            ConversationMemory memory = conversationStore.update(tenantId, conversationId,
+                    current -> current.append(turn, properties.getWindowTurns(), properties.getMaxPendingTurns()));
+            if (memory != null && !memory.getPending().isEmpty()) {
+                this.scheduleSummary(context, conversationId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("record conversation turn failed, conversationId={}", conversationId, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        summaryExecutor.shutdown();
+    }
+
+    /**
+     * 在后台生成摘要，任务在提交对话的租户上下文中执行，摘要调用的用量和限流排队都归到该租户
+     */
+    private void scheduleSummary(RequestContext context, String conversationId) {
+        String tenantId = context.getTenantId();
+        String key = tenantId + ":" + conversationId;
+        if (!summarizing.add(key)) {
+            return;
+        }
+        try {
+            summaryExecutor.execute(() -> this.runSummary(context, conversationId, key));
+        } catch (RejectedExecutionException e) {
+            // 停机后不再生成摘要，待摘要的对话保留在会话中，下次写入时再触发
+            summarizing.remove(key);
+        }
+    }
+
+    private void runSummary(RequestContext context, String conversationId, String key) {
+        String tenantId = context.getTenantId();
+        boolean drained = false;
+        RequestContext.set(context);
+        try {
+            drained = WorkloadContext.callAs(Workload.BULK, () -> this.summarize(tenantId, conversationId));
+        } catch (Exception e) {
+            log.warn("summarize conversation failed, conversationId={}", conversationId, e);
+        } finally {
+            summarizing.remove(key);
+            RequestContext.clear();
+        }
+        // 摘要循环退出后、移除标记前追加的对话看到标记仍在，不会触发摘要，移除标记后再检查一次
+        if (drained && this.hasPending(tenantId, conversationId)) {
+            this.scheduleSummary(context, conversationId);
+        }
+    }
+
+    /**
+     * 把待摘要的对话合并进滚动摘要；生成期间有新对话滑出窗口时继续下一批
+     * @return 待摘要的对话是否已全部合并，生成失败或会话已不存在时返回 false
+     */
+    private boolean summarize(String tenantId, String conversationId) {
+        ConversationMemory memory = conversationStore.load(tenantId, conversationId);
+        while (!memory.getPending().isEmpty()) {
+            String baseSummary = memory.getSummary();
+            List<ConversationTurn> batch = memory.getPending();
+            String summary = this.call(this.buildSummaryPrompt(baseSummary, batch), properties.getSummaryModel());
+            if (summary == null) {
+                return false;
+            }
+            String newSummary = truncate(summary.strip(), properties.getMaxSummaryChars());
+            memory = conversationStore.update(tenantId, conversationId,
+                    current -> current.summarized(baseSummary, newSummary, batch.size()));
+            if (memory == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasPending(String tenantId, String conversationId) {
+        try {
+            return !conversationStore.load(tenantId, conversationId).getPending().isEmpty();
+        } catch (RuntimeException e) {
+            log.warn("check pending conversation turns failed, conversationId={}", conversationId, e);
+            return false;
+        }
+    }
+
+    private String call(String prompt, String model) {
+        ChatClient.ChatClientRequestSpec request = chatClient.prompt().user(prompt);
+        if (model != null && !model.isBlank()) {
+            request = request.options(ChatOptions.builder().model(model).build());
+        }
+        return request.call().content();
+    }
+
+    private String buildCondensePrompt(ConversationMemory memory, String question) {
+        return String.format("""
+            请结合对话历史，把用户的最新问题改写成一个无需上下文即可理解的独立问题，补全其中的指代和省略。
+            只输出改写后的问题，不要回答问题。如果最新问题本身已经完整，原样输出。
+            
+            对话摘要：
+            %s
+            
+            最近对话：
+            %s
+            
+            最新问题：%s
+            """, memory.getSummary().isEmpty() ? "无" : memory.getSummary(), formatTurns(memory.getTurns()), question);
+    }
+
+    private String buildSummaryPrompt(String summary, List<ConversationTurn> turns) {
+        return String.format("""
+            请把以下对话内容合并进已有摘要，保留用户关心的主题、关键事实和结论，输出新的摘要，不超过%d字。
+            
+            已有摘要：
+            %s
+            
+            新增对话：
+            %s
+            """, properties.getMaxSummaryChars(), summary.isEmpty() ? "无" : summary, formatTurns(turns));
+    }
+
+    private static String formatTurns(List<ConversationTurn> turns) {
+        StringBuilder sb = new StringBuilder();
+        for (ConversationTurn turn : turns) {
+            sb.append("用户：").append(turn.question()).append('\n')
+                    .append("助手：").append(turn.answer()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String truncate(String text, int maxChars) {
+        if (text == null) {
+            return "";
+        }
+        return text.length() > maxChars ? text.substring(0, maxChars) : text;
+    }
+}
@@ -0,0 +1,144 @@
+package com.fw.know.go.document.domain.service;
+
+import cn.hutool.core.util.IdUtil;
+import com.alicp.jetcache.Cache;
+import com.alicp.jetcache.CacheManager;
+import com.alicp.jetcache.anno.CacheType;
+import com.alicp.jetcache.template.QuickConfig;
+import com.fw.know.go.base.context.RequestContext;
+import com.fw.know.go.document.domain.model.DocumentPage;
+import com.fw.know.go.document.domain.retrieval.DocumentProjection;
+import com.fw.know.go.document.domain.retrieval.DocumentProjector;
+import com.fw.know.go.document.domain.retrieval.SearchCandidates;
+import com.fw.know.go.document.domain.retrieval.SearchCursor;
+import com.fw.know.go.document.infrastructure.configuration.PaginationProperties;
+import com.fw.know.go.document.infrastructure.exception.RagErrorCode;
+import com.fw.know.go.document.infrastructure.exception.RagException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.List;
+
+/**
+ * @Description 文档分页查询：首页检索一次候选列表并缓存，后续页凭游标从缓存中截取，不再重复向量化和检索
+ * @Date 19/10/2026 下午9:00
+ * @Author Leo
+ */
+@Slf4j
+@Service
+public class DocumentPageService {
+
+    private final DocumentService documentService;
+
+    private final DocumentProjector documentProjector;
+
+    private final PaginationProperties properties;
+
+    private final CacheManager cacheManager;
+
+    /**
+     * 游标签名密钥
+     */
+    private final byte[] cursorSecret;
+
+    /**
+     * 候选列表缓存，缓存键为候选列表ID；两级缓存，翻页请求落到其他实例时也能命中
+     */
+    private Cache<String, SearchCandidates> candidateCache;
+
+    public DocumentPageService(DocumentService documentService, DocumentProjector documentProjector,
+                               PaginationProperties properties, CacheManager cacheManager) {
+        this.documentService = documentService;
+        this.documentProjector = documentProjector;
+        this.properties = properties;
+        this.cacheManager = cacheManager;
+        if (properties.getCursorSecret() == null || properties.getCursorSecret().isBlank()) {
+            log.warn("rag.pagination.cursor-secret is not set, cursors are only valid on this instance");
+            this.cursorSecret = new byte[32];
+            new SecureRandom().nextBytes(this.cursorSecret);
+        } else {
+            this.cursorSecret = properties.getCursorSecret().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        QuickConfig qc = QuickConfig.newBuilder(":search:candidates:")
+                .cacheType(CacheType.BOTH)
+                .expire(properties.getCandidateTtl())
+                .localExpire(properties.getCandidateTtl())
+                .localLimit(1000)
+                .build();
+        candidateCache = cacheManager.getOrCreateCache(qc);
+    }
+
+    /**
+     * 分页查询
+     * @param query 查询字符串
+     * @param pageSize 每页数量，为空或不大于0时使用默认值
+     * @param similarityThreshold 相似度阈值，仅首页生效，后续页沿用游标中的阈值
+     * @param cursor 上一页返回的游标，为空时查询首页
+     * @param projection 结果投影
+     * @return 当前页
+     */
+    public DocumentPage queryPage(String query, Integer pageSize, double similarityThreshold, String cursor,
+                                  DocumentProjection projection) {
+        String tenantId = RequestContext.current().getTenantId();
+        int queryHash = SearchCursor.hashQuery(query);
+        if (cursor == null || cursor.isBlank()) {
+            int size = this.pageSize(pageSize);
+            String candidateId = IdUtil.simpleUUID();
+            SearchCandidates candidates = this.search(query, similarityThreshold, tenantId, queryHash);
+            candidateCache.put(candidateId, candidates);
+            return this.page(query, candidates, 0, size, candidateId, similarityThreshold, projection, tenantId);
+        }
+
+        SearchCursor position = SearchCursor.decode(cursor, cursorSecret, tenantId);
+        if (position.queryHash() != queryHash) {
+            throw new RagException(RagErrorCode.CURSOR_INVALID);
+        }
+        int size = this.pageSize(pageSize == null || pageSize <= 0 ? position.pageSize() : pageSize);
+        SearchCandidates candidates = candidateCache.get(position.candidateId());
+        if (candidates == null) {
+            // 候选列表已过期，按原阈值重新检索，仍从水位线之后继续
+            log.debug("search candidates {} expired, searching again", position.candidateId());
+            candidates = this.search(query, position.similarityThreshold(), tenantId, queryHash);
+            candidateCache.put(position.candidateId(), candidates);
+        } else if (!tenantId.equals(candidates.getTenantId()) || candidates.getQueryHash() != queryHash) {
+            throw new RagException(RagErrorCode.CURSOR_INVALID);
+        }
+        int from = candidates.indexAfter(position.score(), position.id());
+        return this.page(query, candidates, from, size, position.candidateId(), position.similarityThreshold(),
+                projection, tenantId);
+    }
+
+    private SearchCandidates search(String query, double similarityThreshold, String tenantId, int queryHash) {
+        List<Document> documents = documentService.queryDocument(query, properties.getMaxCandidates(),
+                similarityThreshold);
+        return SearchCandidates.of(tenantId, queryHash, documents);
+    }
+
+    private DocumentPage page(String query, SearchCandidates candidates, int from, int size, String candidateId,
+                              double similarityThreshold, DocumentProjection projection, String tenantId) {
+        List<Document> documents = candidates.slice(from, size);
+        String nextCursor = null;
+        if (from + documents.size() < candidates.size() && !documents.isEmpty()) {
+            Document last = documents.getLast();
+            nextCursor = new SearchCursor(candidateId, SearchCursor.hashQuery(query), similarityThreshold, size,
+                    last.getScore(), last.getId()).encode(cursorSecret, tenantId);
+        }
+        return new DocumentPage(documentProjector.project(documents, query, projection), nextCursor,
+                candidates.size());
+    }
+
+    private int pageSize(Integer pageSize) {
+        if (pageSize == null || pageSize <= 0) {
+            return properties.getDefaultPageSize();
+        }
+        return Math.min(pageSize, properties.getMaxPageSize());
+    }
+}
@@ -4,10 +4,19 @@ import java.util.List;
 import java.util.Map;
 
 import cn.hutool.core.util.IdUtil;
+import com.fw.know.go.ai.exception.AiException;
+import com.fw.know.go.ai.limiter.Workload;
+import com.fw.know.go.ai.limiter.WorkloadContext;
+import com.fw.know.go.base.context.DeadlineContext;
+import com.fw.know.go.base.jfr.ParseEvent;
 import com.fw.know.go.datasource.VectorDatasourceService;
+import com.fw.know.go.document.domain.retrieval.AdaptiveRetrievalPolicy;
+import com.fw.know.go.document.domain.retrieval.TokenEstimator;
 import com.fw.know.go.document.infrastructure.exception.RagErrorCode;
 import com.fw.know.go.document.infrastructure.exception.RagException;
+import com.fw.know.go.document.infrastructure.metrics.RagMetrics;
 import com.fw.know.go.file.FileService;
+import com.fw.know.go.skywalking.TraceSpans;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
 import org.springframework.stereotype.Service;
@@ -26,9 +35,16 @@ public class DocumentService{
 
     private final FileService fileService;
 
-    public DocumentService(VectorDatasourceService vectorDatasourceService, FileService fileService) {
+    private final AdaptiveRetrievalPolicy retrievalPolicy;
+
+    private final RagMetrics ragMetrics;
+
+    public DocumentService(VectorDatasourceService vectorDatasourceService, FileService fileService,
+                           AdaptiveRetrievalPolicy retrievalPolicy, RagMetrics ragMetrics) {
         this.vectorDatasourceService = vectorDatasourceService;
         this.fileService = fileService;
+        this.retrievalPolicy = retrievalPolicy;
+        this.ragMetrics = ragMetrics;
     }
 
     /**
@@ -37,17 +53,53 @@ public class DocumentService{
      * @return 是否上传成功
      */
     public Boolean uploadDocument(MultipartFile file) {
+        boolean success = false;
         try {
             // 从文件中提取内容文本
-            String text = fileService.extractText(file.getInputStream());
+            String text = ragMetrics.call(RagMetrics.STAGE_PARSE, () -> this.extractText(file));
             // 从文本中提取元数据
-            Map<String, Object> metadata = fileService.extractMetadata(file.getInputStream());
-            // 向向量数据库添加文档
-            vectorDatasourceService.addDocument(IdUtil.simpleUUID(), text, metadata);
-            return true;
+            Map<String, Object> metadata = ragMetrics.call(RagMetrics.STAGE_METADATA,
+                    () -> fileService.extractMetadata(file.getInputStream()));
+            // 向向量数据库添加文档，入库的向量化调用走批量并发池，不挤占问答的并发
+            Boolean result = ragMetrics.call(RagMetrics.STAGE_INDEX, () -> WorkloadContext.callAs(Workload.BULK, () -> {
+                TraceSpans.tag("tokens", TokenEstimator.estimate(text));
+                vectorDatasourceService.addDocument(IdUtil.simpleUUID(), text, metadata);
+                return true;
+            }));
+            success = true;
+            return result;
+        } catch (AiException e) {
+            throw e;
         } catch (Exception e) {
             log.error("upload document error", e);
             throw new RagException(RagErrorCode.PARSE_ERROR);
+        } finally {
+            ragMetrics.countIngest(file.getSize(), success);
+        }
+    }
+
+    /**
+     * 提取文件文本，记录链路标签和JFR解析事件
+     * @param file 文档文件
+     * @return 文本
+     */
+    private String extractText(MultipartFile file) throws Exception {
+        TraceSpans.tag("bytes", file.getSize());
+        ParseEvent event = new ParseEvent();
+        event.begin();
+        String text = null;
+        try {
+            text = fileService.extractText(file.getInputStream());
+            TraceSpans.tag("chars", text == null ? 0 : text.length());
+            return text;
+        } finally {
+            if (event.shouldCommit()) {
+                event.contentType = file.getContentType();
+                event.bytes = file.getSize();
+                event.chars = text == null ? 0 : text.length();
+                event.success = text != null;
+                event.commit();
+            }
         }
     }
 
@@ -59,7 +111,8 @@ public class DocumentService{
      * @return 符合查询条件的文档列表
      */
     public List<Document> queryDocument(String query, int topK, double similarityThreshold) {
-        return vectorDatasourceService.similaritySearch(query, topK, similarityThreshold);
+        return DeadlineContext.callWithin("retrieval",
+                () -> vectorDatasourceService.similaritySearch(query, topK, similarityThreshold));
     }
 
      /**
@@ -69,6 +122,20 @@ public class DocumentService{
      * @return 符合查询条件的文档列表
      */
     public List<Document> queryDocument(String query, int topK) {
-        return vectorDatasourceService.similaritySearch(query, topK);
+        return DeadlineContext.callWithin("retrieval", () -> vectorDatasourceService.similaritySearch(query, topK));
+    }
+
+    /**
+     * 查询文档，返回的文档数由自适应检索策略决定
+     * @param query 查询字符串
+     * @return 符合查询条件的文档列表
+     */
+    public List<Document> queryDocument(String query) {
+        List<Document> candidates = DeadlineContext.callWithin(RagMetrics.STAGE_RETRIEVAL,
+                () -> ragMetrics.record(RagMetrics.STAGE_RETRIEVAL, () -> vectorDatasourceService
+                        .similaritySearch(query, retrievalPolicy.candidateK(), retrievalPolicy.floorThreshold())));
+        List<Document> selected = retrievalPolicy.select(candidates);
+        ragMetrics.recordRetrieved(candidates.size(), selected.size());
+        return selected;
     }
 }
@@ -4,19 +4,38 @@ import com.alicp.jetcache.Cache;
 import com.alicp.jetcache.CacheManager;
 import com.alicp.jetcache.anno.CacheType;
 import com.alicp.jetcache.template.QuickConfig;
+import com.fw.know.go.ai.cache.ChatCacheKeyBuilder;
+import com.fw.know.go.ai.cache.TenantQuotaCache;
+import com.fw.know.go.ai.router.ModelRouter;
+import com.fw.know.go.ai.router.RoutingDecision;
+import com.fw.know.go.base.context.DeadlineContext;
+import com.fw.know.go.base.context.RequestContext;
+import com.fw.know.go.base.exception.DeadlineExceededException;
+import com.fw.know.go.base.jfr.ChatRequestEvent;
 import com.fw.know.go.datasource.VectorDatasourceService;
+import com.fw.know.go.document.domain.conversation.ConversationMemory;
+import com.fw.know.go.document.domain.model.RagChatAnswer;
+import com.fw.know.go.document.domain.retrieval.AdaptiveRetrievalPolicy;
+import com.fw.know.go.document.domain.retrieval.TokenEstimator;
+import com.fw.know.go.document.infrastructure.configuration.LlmCacheProperties;
+import com.fw.know.go.document.infrastructure.metrics.RagMetrics;
+import com.fw.know.go.document.infrastructure.warmup.TopQueryTracker;
+import com.fw.know.go.skywalking.TraceSpans;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.stereotype.Service;
-import org.springframework.util.DigestUtils;
 
-import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -37,32 +56,265 @@ public class RagChatService {
 
     private final CacheManager cacheManager;
 
+    private final AdaptiveRetrievalPolicy retrievalPolicy;
+
+    private final ModelRouter modelRouter;
+
+    private final RagMetrics ragMetrics;
+
+    private final TopQueryTracker topQueryTracker;
+
+    private final ConversationService conversationService;
+
+    private final LlmCacheProperties llmCacheProperties;
+
+    private static final String DEGRADED_NO_CONTEXT = "当前请求处理超时，请稍后再试";
+
+    private static final String DEGRADED_EXCERPT_PREFIX = "回答生成超时，以下是与问题最相关的资料摘要：";
+
+    private static final int EXCERPT_LENGTH = 200;
+
     /**
-     * LLM 缓存，缓存键为问题字符串，值为模型生成的结果
+     * LLM 远程缓存，缓存键为 租户:问题和文档的摘要，值为模型生成的结果
      */
     private Cache<String, String> llmCache;
 
+    /**
+     * LLM 本地缓存，每个租户一个按字节限额的分区，一个租户的大量问题不会把其他租户的热点挤出本地缓存
+     */
+    private TenantQuotaCache<String> localLlmCache;
+
     @PostConstruct
     public void init(){
         QuickConfig llmQc = QuickConfig.newBuilder(":llm:cache:id:")
-                .cacheType(CacheType.BOTH)
-                .expire(Duration.ofHours(24))
-                .localExpire(Duration.ofHours(1))
-                .localLimit(5000)
-                .syncLocal(true)
+                .cacheType(CacheType.REMOTE)
+                .expire(llmCacheProperties.getExpire())
                 .build();
         llmCache = cacheManager.getOrCreateCache(llmQc);
+        Map<String, Long> tenantQuotas = new HashMap<>();
+        llmCacheProperties.getTenantQuotas().forEach((tenant, quota) -> tenantQuotas.put(tenant, quota.toBytes()));
+        localLlmCache = new TenantQuotaCache<>(llmCacheProperties.getTenantQuota().toBytes(), tenantQuotas,
+                llmCacheProperties.getMaxLocalSize().toBytes(), llmCacheProperties.getLocalExpire(),
+                value -> 2L * value.length(), System::nanoTime);
+    }
+
+    /**
+     * 基于知识库问答，检索和模型调用都受请求截止时间约束，超时返回降级回答
+     * @param question 问题
+     * @param model 模型
+     * @return 问答结果
+     */
+    public RagChatAnswer chatWithKnowledgeBase(String question, String model){
+        topQueryTracker.record(question);
+        ChatRequestEvent event = new ChatRequestEvent();
+        event.begin();
+        RagChatAnswer answer = null;
+        try {
+            answer = this.answer(question, model, event);
+            return answer;
+        } finally {
+            commit(event, answer);
+        }
+    }
+
+    /**
+     * 多轮问答：先结合会话历史把问题改写为独立问题，检索和回答都只使用独立问题，
+     * 提示词大小与单轮问答相同；正常回答后记录本轮对话
+     * @param question 问题
+     * @param model 模型
+     * @param conversationId 会话ID，为空时按单轮问答处理
+     * @return 问答结果
+     */
+    public RagChatAnswer chatWithKnowledgeBase(String question, String model, String conversationId) {
+        modelRouter.checkRequestedModel(model);
+        if (!conversationService.isActive(conversationId)) {
+            return this.chatWithKnowledgeBase(question, model);
+        }
+        ConversationMemory memory = conversationService.load(conversationId);
+        String standalone = conversationService.condense(memory, question);
+        RagChatAnswer answer = this.chatWithKnowledgeBase(standalone, model);
+        if (!answer.isDegraded()) {
+            conversationService.record(conversationId, question, answer.getContent());
+        }
+        return answer;
+    }
+
+    /**
+     * 批量任务的检索阶段：预取候选文档并按得分分布选取，不受请求截止时间约束
+     * @param question 问题
+     * @return 选取的文档
+     */
+    public List<Document> retrieve(String question) {
+        List<Document> candidates = ragMetrics.record(RagMetrics.STAGE_RETRIEVAL, () -> vectorDatasourceService
+                .similaritySearch(question, retrievalPolicy.candidateK(), retrievalPolicy.floorThreshold()));
+        List<Document> selected = ragMetrics.record(RagMetrics.STAGE_SELECT, () -> retrievalPolicy.select(candidates));
+        ragMetrics.recordRetrieved(candidates.size(), selected.size());
+        return selected;
+    }
+
+    /**
+     * 批量任务的生成阶段：基于已检索的文档回答，不计入热门问题统计
+     * @param question 问题
+     * @param documents {@link #retrieve(String)} 选取的文档
+     * @param model 模型
+     * @return 问答结果
+     */
+    public RagChatAnswer generate(String question, List<Document> documents, String model) {
+        ChatRequestEvent event = new ChatRequestEvent();
+        event.begin();
+        event.selected = documents.size();
+        RagChatAnswer answer = null;
+        try {
+            answer = this.generateAnswer(question, model, documents, event);
+            return answer;
+        } finally {
+            commit(event, answer);
+        }
+    }
+
+    /**
+     * 启动预热：走一遍检索和缓存查找，填充查询向量缓存并把远程缓存中的回答加载到本地缓存，不调用大模型
+     * @param question 问题
+     * @return 是否命中回答缓存
+     */
+    public boolean warm(String question) {
+        List<Document> candidates = vectorDatasourceService.similaritySearch(question, retrievalPolicy.candidateK(),
+                retrievalPolicy.floorThreshold());
+        List<Document> selected = retrievalPolicy.select(candidates);
+        this.buildPrompt(question, selected);
+        RoutingDecision decision = modelRouter.route(question, null);
+        ChatOptions options = ChatOptions.builder().model(decision.getModel()).build();
+        return this.getCachedAnswer(ChatCacheKeyBuilder.build(question, selected, options)) != null;
     }
 
-    public String chatWithKnowledgeBase(String question, String model){
-        // 1. 从向量数据库中查询相关文档(最相似的3个文档)
-        List<Document> similarDocuments = vectorDatasourceService.similaritySearch(question, 3, 0.75f);
+    /**
+     * 问答流程，各阶段的数据记入JFR事件
+     */
+    private RagChatAnswer answer(String question, String model, ChatRequestEvent event) {
+        // 1. 从向量数据库中预取候选文档，再按得分分布自适应选取
+        List<Document> similarDocuments;
+        try {
+            List<Document> candidates = DeadlineContext.callWithin(RagMetrics.STAGE_RETRIEVAL,
+                    () -> ragMetrics.record(RagMetrics.STAGE_RETRIEVAL, () -> vectorDatasourceService
+                            .similaritySearch(question, retrievalPolicy.candidateK(), retrievalPolicy.floorThreshold())));
+            similarDocuments = ragMetrics.record(RagMetrics.STAGE_SELECT, () -> {
+                List<Document> selected = retrievalPolicy.select(candidates);
+                TraceSpans.tag("candidates", candidates.size());
+                TraceSpans.tag("selected", selected.size());
+                return selected;
+            });
+            ragMetrics.recordRetrieved(candidates.size(), similarDocuments.size());
+            event.candidates = candidates.size();
+            event.selected = similarDocuments.size();
+        } catch (DeadlineExceededException e) {
+            log.warn("retrieval exceeded deadline, question length={}", question.length());
+            ragMetrics.countChat(RagMetrics.OUTCOME_DEGRADED);
+            return RagChatAnswer.degraded(DEGRADED_NO_CONTEXT);
+        }
+        return this.generateAnswer(question, model, similarDocuments, event);
+    }
+
+    /**
+     * 生成流程：构建提示词、查缓存、调用模型
+     */
+    private RagChatAnswer generateAnswer(String question, String model, List<Document> similarDocuments,
+                                         ChatRequestEvent event) {
         // 2. 构建提示模板
-        String context = similarDocuments.stream()
+        String prompt = ragMetrics.record(RagMetrics.STAGE_PROMPT, () -> {
+            String built = this.buildPrompt(question, similarDocuments);
+            event.promptTokens = TokenEstimator.estimate(built);
+            TraceSpans.tag("prompt_tokens", event.promptTokens);
+            return built;
+        });
+        // 3. 选择模型并构建缓存Key
+        RoutingDecision decision = modelRouter.route(question, model);
+        event.model = decision.getModel();
+        ChatOptions options = ChatOptions.builder().model(decision.getModel()).build();
+        String cacheKey = ChatCacheKeyBuilder.build(question, similarDocuments, options);
+        // 4. 从缓存中获取模型生成的结果
+        String cachedResult = ragMetrics.record(RagMetrics.STAGE_CACHE_GET, () -> {
+            String cached = this.getCachedAnswer(cacheKey);
+            TraceSpans.tag("hit", cached != null);
+            TraceSpans.tag("chars", cached == null ? 0 : cached.length());
+            return cached;
+        });
+        if (cachedResult != null) {
+            log.debug("从缓存中获取模型生成的结果, length={}", cachedResult.length());
+            ragMetrics.countChat(RagMetrics.OUTCOME_CACHE_HIT);
+            event.cacheHit = true;
+            return RagChatAnswer.of(cachedResult);
+        }
+        // 5. 调用 LLM 模型，主模型失败或过慢时由路由切换到备用模型
+        ModelAnswer modelAnswer;
+        try {
+            modelAnswer = ragMetrics.record(RagMetrics.STAGE_LLM, () -> modelRouter.execute(decision,
+                    routedModel -> new ModelAnswer(routedModel, this.callModel(prompt, routedModel))));
+        } catch (DeadlineExceededException e) {
+            log.warn("llm exceeded deadline, model={}", decision.getModel());
+            ragMetrics.countChat(RagMetrics.OUTCOME_DEGRADED);
+            return RagChatAnswer.degraded(this.buildExcerptAnswer(similarDocuments));
+        }
+        String content = modelAnswer.content();
+        event.model = modelAnswer.model();
+        // 6. 缓存模型生成的结果，缓存键按实际回答的模型构建，备用模型的回答不会被当作主模型的回答命中
+        String answeredKey = Objects.equals(modelAnswer.model(), decision.getModel()) ? cacheKey
+                : ChatCacheKeyBuilder.build(question, similarDocuments,
+                ChatOptions.builder().model(modelAnswer.model()).build());
+        ragMetrics.record(RagMetrics.STAGE_CACHE_PUT, () -> {
+            TraceSpans.tag("chars", content == null ? 0 : content.length());
+            this.putCachedAnswer(answeredKey, content);
+            return null;
+        });
+        ragMetrics.countChat(RagMetrics.OUTCOME_ANSWERED);
+        return RagChatAnswer.of(content);
+    }
+
+    /**
+     * 先查当前租户的本地分区，未命中再查远程缓存并回填本地
+     * @param cacheKey 缓存键
+     * @return 缓存的回答
+     */
+    private String getCachedAnswer(String cacheKey) {
+        String tenant = RequestContext.current().getTenantId();
+        String cached = localLlmCache.get(tenant, cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        cached = llmCache.get(tenant + ":" + cacheKey);
+        if (cached != null) {
+            localLlmCache.put(tenant, cacheKey, cached);
+        }
+        return cached;
+    }
+
+    private void putCachedAnswer(String cacheKey, String content) {
+        if (content == null) {
+            return;
+        }
+        String tenant = RequestContext.current().getTenantId();
+        llmCache.put(tenant + ":" + cacheKey, content);
+        localLlmCache.put(tenant, cacheKey, content);
+    }
+
+    private static void commit(ChatRequestEvent event, RagChatAnswer answer) {
+        if (event.shouldCommit()) {
+            event.answerChars = answer == null || answer.getContent() == null ? 0 : answer.getContent().length();
+            event.degraded = answer != null && answer.isDegraded();
+            event.commit();
+        }
+    }
+
+    /**
+     * 构建提示词
+     * @param question 用户问题
+     * @param documents 相关文档
+     * @return 提示词
+     */
+    private String buildPrompt(String question, List<Document> documents) {
+        String context = documents.stream()
                 .map(Document::getText)
                 .collect(Collectors.joining("\n\n"));
-        // 3. 调用 LLM 模型
-        String prompt = String.format("""
+        return String.format("""
             请根据以下上下文信息回答用户的问题。如果上下文没有相关信息，直接说"我不知道"。
             
             上下文：
@@ -70,65 +322,51 @@ public class RagChatService {
             
             用户问题：%s
             """, context, question);
-        // 4. 构建缓存Key
-        ChatOptions options = ChatOptions.builder().model(model).build();
-        String cacheKey = buildCacheKey(question, similarDocuments, options);
-        // 5. 从缓存中获取模型生成的结果
-        String cachedResult = llmCache.get(cacheKey);
-        if (cachedResult != null) {
-            log.info("从缓存中获取模型生成的结果: {}", cachedResult);
-            return cachedResult;
-        }
-        // 6. 返回模型生成的结果
-        String content = chatClient.prompt().user(prompt).options(options).call().content();
-        // 7. 缓存模型生成的结果
-        llmCache.put(cacheKey, content);
-        return content;
     }
 
     /**
-     * 构建缓存Key
-     * @param question 用户问题
-     * @param documents 相关文档
-     * @param chatOptions 聊天选项
-     * @return 缓存Key
+     * 调用指定模型，每次调用（含对冲和降级调用）各生成一个链路Span
+     * @param prompt 提示词
+     * @param model 模型
+     * @return 模型生成的结果
      */
-    private String buildCacheKey(String question, List<Document> documents, ChatOptions chatOptions){
-        // 1. 查询归一化
-        String normalizedQuestion = question.trim().toLowerCase().replaceAll("\\s+", "");
-        // 2. 生成上下文指纹
-        String contextFingerprint = this.generateContextFingerprint(documents);
-        // 3. 生成LLM参数签名
-        String llmSignature = this.generateLlmSignature(chatOptions);
-        // 4. 拼接哈希
-        return DigestUtils.md5DigestAsHex((normalizedQuestion + "|" + contextFingerprint + "|" + llmSignature).getBytes());
+    private String callModel(String prompt, String model) {
+        return TraceSpans.trace("LLM/chat", () -> {
+            TraceSpans.tag("model", model);
+            ChatResponse response = chatClient.prompt().user(prompt)
+                    .options(ChatOptions.builder().model(model).build()).call().chatResponse();
+            if (response == null || response.getResult() == null) {
+                return null;
+            }
+            Usage usage = response.getMetadata().getUsage();
+            if (usage != null) {
+                TraceSpans.tag("prompt_tokens", usage.getPromptTokens());
+                TraceSpans.tag("completion_tokens", usage.getCompletionTokens());
+            }
+            return response.getResult().getOutput().getText();
+        });
     }
 
     /**
-     * 生成上下文指纹
-     * @param retrievedDocs 检索到的文档
-     * @return 上下文指纹
+     * 模型超时时，以检索到的文档摘要作为降级回答
+     * @param documents 检索到的文档
+     * @return 降级回答
      */
-    private String generateContextFingerprint(List<Document> retrievedDocs) {
-        StringBuilder sb = new StringBuilder();
-        for (Document doc : retrievedDocs) {
-            String contentSub = doc.getFormattedContent().length() > 200 ? doc.getFormattedContent().substring(0,
-                    200) : doc.getFormattedContent();
-            sb.append(doc.getId()).append("_").append(contentSub).append("|");
+    private String buildExcerptAnswer(List<Document> documents) {
+        if (documents.isEmpty()) {
+            return DEGRADED_NO_CONTEXT;
         }
-        return DigestUtils.md5DigestAsHex(sb.toString().getBytes());
+        StringBuilder sb = new StringBuilder(DEGRADED_EXCERPT_PREFIX);
+        for (Document document : documents) {
+            String text = document.getText() == null ? "" : document.getText();
+            sb.append("\n- ").append(text.length() > EXCERPT_LENGTH ? text.substring(0, EXCERPT_LENGTH) + "..." : text);
+        }
+        return sb.toString();
     }
 
     /**
-     * 生成LLM参数签名
-     * @param options LLM参数
-     * @return LLM参数签名
+     * 模型回答及实际回答的模型
      */
-    private String generateLlmSignature(ChatOptions options) {
-        return String.format("%s|%.1f|%d",
-                options.getModel(),
-                options.getTemperature(),
-                options.getMaxTokens());
+    private record ModelAnswer(String model, String content) {
     }
-
 }
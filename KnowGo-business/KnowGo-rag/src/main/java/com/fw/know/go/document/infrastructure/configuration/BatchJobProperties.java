@@ -0,0 +1,53 @@
+package com.fw.know.go.document.infrastructure.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @Description 批量问答任务配置属性，任务的输入、进度和结果保存在本地目录，实例重启后继续执行未完成的任务
+ * @Date 20/10/2026 下午3:00
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = BatchJobProperties.PREFIX)
+public class BatchJobProperties {
+
+    public static final String PREFIX = "rag.batch";
+
+    /**
+     * 任务目录，每个任务一个子目录；多实例共享目录时由文件锁保证同一任务只在一个实例上执行
+     */
+    private String directory = "/tmp/knowgo-batch";
+
+    /**
+     * 每批问题数，一批问题合并成一次向量化请求并并行检索，不超过向量模型的单次请求上限
+     */
+    private int chunkSize = 10;
+
+    /**
+     * 单个任务在途的模型调用上限，实际上限还受批量负载限流器当前上限的约束
+     */
+    private int maxConcurrency = 8;
+
+    /**
+     * 单个任务的最大问题数
+     */
+    private int maxQuestions = 50000;
+
+    /**
+     * 单个问题的最大字符数
+     */
+    private int maxQuestionChars = 2000;
+
+    /**
+     * 单个问题的最大尝试次数，用完后记为失败
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * 重试前的等待时间，按尝试次数线性增长
+     */
+    private Duration retryBackoff = Duration.ofSeconds(2);
+}
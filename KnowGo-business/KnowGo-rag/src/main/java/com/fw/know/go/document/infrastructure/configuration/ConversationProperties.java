@@ -0,0 +1,63 @@
+package com.fw.know.go.document.infrastructure.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @Description 多轮对话配置属性，会话只保留最近若干轮原文和一段滚动摘要，提示词大小不随轮数增长
+ * @Date 20/10/2026 下午1:05
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = ConversationProperties.PREFIX)
+public class ConversationProperties {
+
+    public static final String PREFIX = "rag.conversation";
+
+    /**
+     * 是否启用多轮对话，关闭时忽略会话ID按单轮问答处理
+     */
+    private boolean enabled = true;
+
+    /**
+     * 窗口内保留原文的轮数
+     */
+    private int windowTurns = 6;
+
+    /**
+     * 每轮保存的问题和回答的最大字符数，超出截断
+     */
+    private int maxTurnChars = 1000;
+
+    /**
+     * 滚动摘要的最大字符数
+     */
+    private int maxSummaryChars = 800;
+
+    /**
+     * 等待合并进摘要的对话上限，摘要跟不上时丢弃最早的
+     */
+    private int maxPendingTurns = 20;
+
+    /**
+     * 独立问题的最大字符数
+     */
+    private int maxQueryChars = 500;
+
+    /**
+     * 会话空闲过期时间
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * 改写独立问题使用的模型，为空时使用默认模型
+     */
+    private String condenseModel;
+
+    /**
+     * 生成摘要使用的模型，为空时使用默认模型
+     */
+    private String summaryModel;
+}
@@ -0,0 +1,55 @@
+package com.fw.know.go.document.infrastructure.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * @Description JFR录制配置属性，录制由 /actuator/flightrecorder 按需开启；
+ * 端点只在独立的管理端口上注册，请求需携带访问令牌
+ * @Date 21/10/2026 下午2:00
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = FlightRecorderProperties.PREFIX)
+public class FlightRecorderProperties {
+
+    public static final String PREFIX = "rag.jfr";
+
+    /**
+     * 是否启用录制端点，默认关闭；启用时还需配置独立的 management.server.port
+     */
+    private boolean enabled = false;
+
+    /**
+     * 访问令牌，请求头 Authorization: Bearer 令牌；未配置时拒绝所有请求
+     */
+    private String accessToken;
+
+    /**
+     * 录制文件的输出目录
+     */
+    private String dumpDirectory = System.getProperty("java.io.tmpdir");
+
+    /**
+     * 输出目录中保留的录制文件数，超出时删除最旧的文件
+     */
+    private int maxDumpFiles = 3;
+
+    /**
+     * JDK自带的录制配置名，default 开销约1%，profile 采样更细
+     */
+    private String settings = "default";
+
+    /**
+     * 录制保留的最长时间，超出的旧数据被丢弃
+     */
+    private Duration maxAge = Duration.ofMinutes(10);
+
+    /**
+     * 录制保留的最大数据量
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+}
@@ -1,7 +1,9 @@
 package com.fw.know.go.document.infrastructure.configuration;
 
+import com.fw.know.go.ai.audit.AsyncAuditAdvisor;
+import com.fw.know.go.ai.limiter.ConcurrencyLimitAdvisor;
+import com.fw.know.go.ai.metrics.TokenUsageMetricsAdvisor;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -63,7 +65,10 @@ public class LLMConfiguration {
 //    }
 
     @Bean
-    public ChatClient chatClient(ChatModel dashScopeApi){
-        return ChatClient.builder(dashScopeApi).defaultAdvisors(new SimpleLoggerAdvisor()).build();
+    public ChatClient chatClient(ChatModel dashScopeApi, ConcurrencyLimitAdvisor concurrencyLimitAdvisor,
+                                 TokenUsageMetricsAdvisor tokenUsageMetricsAdvisor, AsyncAuditAdvisor asyncAuditAdvisor){
+        return ChatClient.builder(dashScopeApi)
+                .defaultAdvisors(asyncAuditAdvisor, tokenUsageMetricsAdvisor, concurrencyLimitAdvisor)
+                .build();
     }
 }
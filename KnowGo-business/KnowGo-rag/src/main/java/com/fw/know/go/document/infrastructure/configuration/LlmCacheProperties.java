@@ -0,0 +1,47 @@
+package com.fw.know.go.document.infrastructure.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @Description 大模型回答缓存配置属性：远程缓存按租户分区，本地缓存按字节限额，
+ * 配置了配额的租户各有一个分区，其余租户共用一个分区
+ * @Date 20/10/2026 下午5:30
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = LlmCacheProperties.PREFIX)
+public class LlmCacheProperties {
+
+    public static final String PREFIX = "rag.llm-cache";
+
+    /**
+     * 远程缓存的过期时间
+     */
+    private Duration expire = Duration.ofHours(24);
+
+    /**
+     * 本地缓存的过期时间
+     */
+    private Duration localExpire = Duration.ofHours(1);
+
+    /**
+     * 未单独配置配额的租户共用的本地缓存配额
+     */
+    private DataSize tenantQuota = DataSize.ofMegabytes(4);
+
+    /**
+     * 有独立本地缓存分区的租户及其配额
+     */
+    private Map<String, DataSize> tenantQuotas = new HashMap<>();
+
+    /**
+     * 所有租户合计的本地缓存上限
+     */
+    private DataSize maxLocalSize = DataSize.ofMegabytes(64);
+}
@@ -0,0 +1,43 @@
+package com.fw.know.go.document.infrastructure.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @Description 文档查询分页配置属性
+ * @Date 19/10/2026 下午8:40
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = PaginationProperties.PREFIX)
+public class PaginationProperties {
+
+    public static final String PREFIX = "rag.pagination";
+
+    /**
+     * 首页检索的候选文档数，后续页从候选列表中截取，翻页深度不超过该值
+     */
+    private int maxCandidates = 200;
+
+    /**
+     * 候选列表的缓存时间，过期后按游标中的水位线重新检索
+     */
+    private Duration candidateTtl = Duration.ofMinutes(5);
+
+    /**
+     * 默认每页数量
+     */
+    private int defaultPageSize = 20;
+
+    /**
+     * 每页数量上限
+     */
+    private int maxPageSize = 100;
+
+    /**
+     * 游标签名密钥，多实例须配置相同的值；为空时每个实例启动时随机生成，游标只在签发的实例上有效
+     */
+    private String cursorSecret;
+}
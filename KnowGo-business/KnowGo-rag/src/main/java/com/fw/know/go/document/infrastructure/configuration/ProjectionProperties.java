@@ -0,0 +1,44 @@
+package com.fw.know.go.document.infrastructure.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Description 文档查询结果投影配置属性
+ * @Date 19/10/2026 下午3:10
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = ProjectionProperties.PREFIX)
+public class ProjectionProperties {
+
+    public static final String PREFIX = "rag.projection";
+
+    /**
+     * 未指定fields时返回的字段，可选 id、score、snippet、metadata、text
+     */
+    private List<String> defaultFields = new ArrayList<>(List.of("id", "score", "snippet"));
+
+    /**
+     * 默认摘要长度（字符数，不含高亮标签）
+     */
+    private int snippetLength = 200;
+
+    /**
+     * 摘要长度上限，防止客户端通过参数取回全文
+     */
+    private int maxSnippetLength = 1000;
+
+    /**
+     * 高亮起始标签
+     */
+    private String highlightPre = "<em>";
+
+    /**
+     * 高亮结束标签
+     */
+    private String highlightPost = "</em>";
+}
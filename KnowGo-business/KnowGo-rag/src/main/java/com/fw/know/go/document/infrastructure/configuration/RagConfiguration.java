@@ -0,0 +1,16 @@
+package com.fw.know.go.document.infrastructure.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @Description RAG模块配置
+ * @Date 19/10/2026 上午10:31
+ * @Author Leo
+ */
+@Configuration
+@EnableConfigurationProperties({RetrievalProperties.class, FlightRecorderProperties.class,
+        ProjectionProperties.class, PaginationProperties.class, WarmupProperties.class,
+        ConversationProperties.class, BatchJobProperties.class, LlmCacheProperties.class})
+public class RagConfiguration {
+}
@@ -0,0 +1,51 @@
+package com.fw.know.go.document.infrastructure.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @Description 自适应检索配置属性
+ * @Date 19/10/2026 上午10:05
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = RetrievalProperties.PREFIX)
+public class RetrievalProperties {
+
+    public static final String PREFIX = "rag.retrieval";
+
+    /**
+     * 预取的候选文档数，自适应裁剪在候选集上进行
+     */
+    private int candidateK = 10;
+
+    /**
+     * 候选文档的最低相似度，自适应裁剪只在达到该相似度的候选中决定使用多少篇
+     */
+    private double floorThreshold = 0.75;
+
+    /**
+     * 最少返回的文档数
+     */
+    private int minK = 1;
+
+    /**
+     * 最多返回的文档数
+     */
+    private int maxK = 8;
+
+    /**
+     * 相邻得分的最小断崖，小于该值的落差不作为截断点
+     */
+    private double minScoreGap = 0.05;
+
+    /**
+     * 累计相关度目标，占候选集总得分的比例
+     */
+    private double cumulativeRelevance = 0.9;
+
+    /**
+     * 上下文的token预算
+     */
+    private int tokenBudget = 3000;
+}
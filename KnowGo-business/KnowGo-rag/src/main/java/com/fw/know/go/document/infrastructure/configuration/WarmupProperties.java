@@ -0,0 +1,117 @@
+package com.fw.know.go.document.infrastructure.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Description 启动预热配置属性，预热在就绪探针返回UP之前执行，每个阶段和总体都有时间预算，超时的阶段被中断并跳过
+ * @Date 20/10/2026 上午9:40
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = WarmupProperties.PREFIX)
+public class WarmupProperties {
+
+    public static final String PREFIX = "rag.warmup";
+
+    /**
+     * 是否启用启动预热
+     */
+    private boolean enabled = true;
+
+    /**
+     * 预热的总时间预算，用完后剩余阶段跳过
+     */
+    private Duration totalBudget = Duration.ofSeconds(90);
+
+    /**
+     * 文档解析器预热
+     */
+    private Tika tika = new Tika();
+
+    /**
+     * 连接池预热
+     */
+    private Connections connections = new Connections();
+
+    /**
+     * 热门问题回放
+     */
+    private Replay replay = new Replay();
+
+    /**
+     * 合成请求预热热点代码
+     */
+    private Synthetic synthetic = new Synthetic();
+
+    @Data
+    public static class Tika {
+
+        private boolean enabled = true;
+
+        private Duration budget = Duration.ofSeconds(15);
+    }
+
+    @Data
+    public static class Connections {
+
+        private boolean enabled = true;
+
+        private Duration budget = Duration.ofSeconds(10);
+
+        /**
+         * 预先建立连接的地址，对每个地址并发发起请求，响应状态不影响预热
+         */
+        private List<String> urls = new ArrayList<>();
+
+        /**
+         * 每个地址建立的连接数
+         */
+        private int connectionsPerUrl = 4;
+    }
+
+    @Data
+    public static class Replay {
+
+        private boolean enabled = true;
+
+        private Duration budget = Duration.ofSeconds(45);
+
+        /**
+         * 回放的热门问题数
+         */
+        private int queries = 50;
+
+        /**
+         * 统计热门问题的天数，包括当天
+         */
+        private int lookbackDays = 2;
+
+        /**
+         * 回放并发数
+         */
+        private int concurrency = 4;
+
+        /**
+         * 记录的问题长度上限，更长的问题不计入热门问题
+         */
+        private int maxQueryLength = 500;
+    }
+
+    @Data
+    public static class Synthetic {
+
+        private boolean enabled = true;
+
+        private Duration budget = Duration.ofSeconds(20);
+
+        /**
+         * 合成请求的次数
+         */
+        private int iterations = 2000;
+    }
+}
@@ -0,0 +1,76 @@
+package com.fw.know.go.document.infrastructure.conversation;
+
+import com.fw.know.go.document.domain.conversation.ConversationMemory;
+import com.fw.know.go.document.infrastructure.configuration.ConversationProperties;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.function.UnaryOperator;
+
+/**
+ * @Description Redis会话存储，每个会话一个键，值为编码后的会话记忆；
+ * 更新通过比较并交换完成，同一会话的并发写入和后台摘要不会互相覆盖
+ * @Date 20/10/2026 下午1:25
+ * @Author Leo
+ */
+@Component
+public class RedisConversationStore {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final RedissonClient redissonClient;
+
+    private final ConversationProperties properties;
+
+    private final String keyPrefix;
+
+    public RedisConversationStore(RedissonClient redissonClient, ConversationProperties properties,
+                                  @Value("${spring.application.name}") String applicationName) {
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+        this.keyPrefix = applicationName + ":conversation:";
+    }
+
+    /**
+     * 读取会话记忆
+     * @param tenantId 租户
+     * @param conversationId 会话ID
+     * @return 会话记忆，不存在时为空记忆
+     */
+    public ConversationMemory load(String tenantId, String conversationId) {
+        return ConversationMemory.decode(this.bucket(tenantId, conversationId).get());
+    }
+
+    /**
+     * 更新会话记忆并刷新过期时间，并发冲突时重读重试
+     * @param tenantId 租户
+     * @param conversationId 会话ID
+     * @param update 更新函数，可能被调用多次
+     * @return 更新后的会话记忆，重试用完时为null
+     */
+    public ConversationMemory update(String tenantId, String conversationId, UnaryOperator<ConversationMemory> update) {
+        RBucket<byte[]> bucket = this.bucket(tenantId, conversationId);
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            byte[] current = bucket.get();
+            ConversationMemory next = update.apply(ConversationMemory.decode(current));
+            byte[] encoded = next.encode();
+            if (current != null && Arrays.equals(current, encoded)) {
+                bucket.expire(properties.getTtl());
+                return next;
+            }
+            if (bucket.compareAndSet(current, encoded)) {
+                bucket.expire(properties.getTtl());
+                return next;
+            }
+        }
+        return null;
+    }
+
+    private RBucket<byte[]> bucket(String tenantId, String conversationId) {
+        return redissonClient.getBucket(keyPrefix + tenantId + ":" + conversationId, ByteArrayCodec.INSTANCE);
+    }
+}
@@ -23,6 +23,46 @@ public enum RagErrorCode implements ErrorCode {
      * 问题为空
      */
     QUESTION_EMPTY("QUESTION_EMPTY", "提问的问题为空"),
+
+    /**
+     * 用量查询的日期区间不合法
+     */
+    USAGE_RANGE_INVALID("USAGE_RANGE_INVALID", "用量查询的日期区间不合法"),
+
+    /**
+     * 无权查询其他租户的用量
+     */
+    USAGE_TENANT_FORBIDDEN("USAGE_TENANT_FORBIDDEN", "只能查询当前租户的用量"),
+
+    /**
+     * 分页游标不合法
+     */
+    CURSOR_INVALID("CURSOR_INVALID", "分页游标不合法或与查询不匹配"),
+
+    /**
+     * 会话ID不合法
+     */
+    CONVERSATION_ID_INVALID("CONVERSATION_ID_INVALID", "会话ID只能包含字母、数字、下划线和短横线，长度不超过64"),
+
+    /**
+     * 批量问答文件为空
+     */
+    BATCH_FILE_EMPTY("BATCH_FILE_EMPTY", "问题文件为空"),
+
+    /**
+     * 批量问答文件超出限制
+     */
+    BATCH_FILE_TOO_LARGE("BATCH_FILE_TOO_LARGE", "问题数或单个问题的长度超出限制"),
+
+    /**
+     * 批量问答任务不存在
+     */
+    BATCH_JOB_NOT_FOUND("BATCH_JOB_NOT_FOUND", "批量问答任务不存在"),
+
+    /**
+     * 批量问答任务创建失败
+     */
+    BATCH_JOB_CREATE_FAILED("BATCH_JOB_CREATE_FAILED", "批量问答任务创建失败"),
     ;
 
     private final String code;
@@ -0,0 +1,45 @@
+package com.fw.know.go.document.infrastructure.jfr;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * @Description JFR录制端点的访问控制，请求头需携带 Authorization: Bearer 访问令牌，未配置令牌时拒绝所有请求
+ * @Date 21/10/2026 下午3:10
+ * @Author Leo
+ */
+@Slf4j
+public class FlightRecorderAccessFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final byte[] accessToken;
+
+    public FlightRecorderAccessFilter(String accessToken) {
+        this.accessToken = accessToken == null || accessToken.isBlank()
+                ? null : accessToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (accessToken == null || authorization == null || !authorization.startsWith(BEARER)
+                || !MessageDigest.isEqual(accessToken,
+                authorization.substring(BEARER.length()).trim().getBytes(StandardCharsets.UTF_8))) {
+            log.warn("rejected flight recorder request from {}", request.getRemoteAddr());
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,171 @@
+package com.fw.know.go.document.infrastructure.jfr;
+
+import com.fw.know.go.document.infrastructure.configuration.FlightRecorderProperties;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.autoconfigure.web.server.ConditionalOnManagementPort;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * @Description JFR录制端点，在运行中的实例上开启、停止和导出录制
+ * <p>
+ * GET /actuator/flightrecorder 查看状态；POST 开启录制（可选参数 settings、maxAge、maxSize）；
+ * GET /actuator/flightrecorder/dump 导出当前录制的快照；DELETE 停止录制并写出文件。
+ * 未录制时自定义事件只有一次 isEnabled 判断的开销
+ * <p>
+ * 录制内容可能带出进程环境，只在独立的管理端口上注册并由 {@link FlightRecorderAccessFilter} 校验访问令牌，
+ * 录制时关闭记录环境变量、系统属性和启动参数的事件；输出目录只保留最近的若干个文件
+ * @Date 21/10/2026 下午2:10
+ * @Author Leo
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = FlightRecorderEndpoint.ID)
+@ConditionalOnProperty(prefix = FlightRecorderProperties.PREFIX, name = "enabled", havingValue = "true")
+@ConditionalOnManagementPort(ManagementPortType.DIFFERENT)
+public class FlightRecorderEndpoint {
+
+    public static final String ID = "flightrecorder";
+
+    private static final String RECORDING_NAME = "knowgo-rag";
+
+    /**
+     * 会记录环境变量（含API密钥）、系统属性和JVM启动参数的事件，录制时关闭
+     */
+    private static final List<String> SENSITIVE_EVENTS = List.of("jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private static final String FILE_SUFFIX = ".jfr";
+
+    private static final String DUMP = "dump";
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final FlightRecorderProperties properties;
+
+    private Recording recording;
+
+    public FlightRecorderEndpoint(FlightRecorderProperties properties) {
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NOT_RECORDING");
+            return status;
+        }
+        status.put("state", recording.getState());
+        status.put("name", recording.getName());
+        status.put("startTime", recording.getStartTime());
+        status.put("maxAge", recording.getMaxAge());
+        status.put("maxSize", recording.getMaxSize());
+        status.put("size", recording.getSize());
+        return status;
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable String settings, @Nullable Duration maxAge,
+                                                  @Nullable DataSize maxSize) throws Exception {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return this.status();
+        }
+        this.closeRecording();
+        Configuration configuration = Configuration.getConfiguration(settings == null ? properties.getSettings() : settings);
+        Recording newRecording = new Recording(configuration);
+        SENSITIVE_EVENTS.forEach(newRecording::disable);
+        newRecording.setName(RECORDING_NAME);
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(maxAge == null ? properties.getMaxAge() : maxAge);
+        newRecording.setMaxSize((maxSize == null ? properties.getMaxSize() : maxSize).toBytes());
+        newRecording.start();
+        recording = newRecording;
+        log.info("flight recording started, settings={}, maxAge={}, maxSize={}", configuration.getName(),
+                newRecording.getMaxAge(), newRecording.getMaxSize());
+        return this.status();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump(@Selector String action) throws IOException {
+        if (!DUMP.equals(action)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = this.newDumpFile();
+        recording.dump(file);
+        log.info("flight recording dumped to {}", file);
+        return new WebEndpointResponse<>(new FileSystemResource(file));
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            result.put("state", "NOT_RECORDING");
+            return result;
+        }
+        Path file = this.newDumpFile();
+        recording.stop();
+        recording.dump(file);
+        this.closeRecording();
+        log.info("flight recording stopped, dumped to {}", file);
+        result.put("state", "STOPPED");
+        result.put("file", file.toString());
+        return result;
+    }
+
+    /**
+     * 新的录制文件，先删除最旧的文件，使写入后的文件数不超过上限
+     */
+    private Path newDumpFile() throws IOException {
+        Path directory = Path.of(properties.getDumpDirectory());
+        Files.createDirectories(directory);
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(directory)) {
+            dumps = files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(RECORDING_NAME + "-") && name.endsWith(FILE_SUFFIX);
+            }).sorted().toList();
+        }
+        int keep = Math.max(0, properties.getMaxDumpFiles() - 1);
+        for (int i = 0; i < dumps.size() - keep; i++) {
+            Files.deleteIfExists(dumps.get(i));
+        }
+        return directory.resolve(RECORDING_NAME + "-" + LocalDateTime.now().format(FILE_TIME) + FILE_SUFFIX);
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
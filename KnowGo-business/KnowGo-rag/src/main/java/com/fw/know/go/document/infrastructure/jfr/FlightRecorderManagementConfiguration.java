@@ -0,0 +1,29 @@
+package com.fw.know.go.document.infrastructure.jfr;
+
+import com.fw.know.go.document.infrastructure.configuration.FlightRecorderProperties;
+import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointProperties;
+import org.springframework.boot.actuate.autoconfigure.web.ManagementContextConfiguration;
+import org.springframework.boot.actuate.autoconfigure.web.ManagementContextType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * @Description 管理端口上下文的配置，为JFR录制端点注册访问控制过滤器，只作用于独立的管理端口
+ * @Date 21/10/2026 下午3:15
+ * @Author Leo
+ */
+@ManagementContextConfiguration(value = ManagementContextType.CHILD, proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = FlightRecorderProperties.PREFIX, name = "enabled", havingValue = "true")
+public class FlightRecorderManagementConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<FlightRecorderAccessFilter> flightRecorderAccessFilter(
+            FlightRecorderProperties flightRecorderProperties, WebEndpointProperties webEndpointProperties) {
+        String path = webEndpointProperties.getBasePath() + "/" + FlightRecorderEndpoint.ID;
+        FilterRegistrationBean<FlightRecorderAccessFilter> registration = new FilterRegistrationBean<>(
+                new FlightRecorderAccessFilter(flightRecorderProperties.getAccessToken()));
+        registration.addUrlPatterns(path, path + "/*");
+        return registration;
+    }
+}
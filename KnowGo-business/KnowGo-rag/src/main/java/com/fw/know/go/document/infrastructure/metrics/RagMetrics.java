@@ -0,0 +1,161 @@
+package com.fw.know.go.document.infrastructure.metrics;
+
+import com.fw.know.go.skywalking.TraceSpans;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * @Description 问答和入库流程的分阶段指标，标签只使用固定取值的阶段名和结果，避免高基数
+ * <p>
+ * 通过 {@link #record(String, Supplier)} 执行的阶段同时生成名为 RAG/阶段名 的链路Span，阶段内可用 {@link TraceSpans#tag(String, Object)} 打标签
+ * @Date 20/10/2026 下午5:10
+ * @Author Leo
+ */
+@Component
+public class RagMetrics {
+
+    public static final String STAGE_CONDENSE = "condense";
+
+    public static final String STAGE_RETRIEVAL = "retrieval";
+
+    public static final String STAGE_SELECT = "select";
+
+    public static final String STAGE_PROMPT = "prompt";
+
+    public static final String STAGE_CACHE_GET = "cache_get";
+
+    public static final String STAGE_LLM = "llm";
+
+    public static final String STAGE_CACHE_PUT = "cache_put";
+
+    public static final String STAGE_PARSE = "parse";
+
+    public static final String STAGE_METADATA = "metadata";
+
+    public static final String STAGE_INDEX = "index";
+
+    private static final String SPAN_PREFIX = "RAG/";
+
+    public static final String OUTCOME_ANSWERED = "answered";
+
+    public static final String OUTCOME_CACHE_HIT = "cache_hit";
+
+    public static final String OUTCOME_DEGRADED = "degraded";
+
+    private final MeterRegistry meterRegistry;
+
+    private final DistributionSummary candidateDocuments;
+
+    private final DistributionSummary selectedDocuments;
+
+    private final Counter ingestBytes;
+
+    public RagMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.candidateDocuments = DistributionSummary.builder("rag.retrieval.documents")
+                .description("检索得到的文档数")
+                .tag("phase", "candidate")
+                .register(meterRegistry);
+        this.selectedDocuments = DistributionSummary.builder("rag.retrieval.documents")
+                .description("检索得到的文档数")
+                .tag("phase", "selected")
+                .register(meterRegistry);
+        this.ingestBytes = Counter.builder("rag.ingest.bytes")
+                .description("入库的文件字节数")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 开始计时
+     * @return 计时样本
+     */
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * 结束计时并记入阶段耗时
+     * @param sample 计时样本
+     * @param stage 阶段
+     */
+    public void stop(Timer.Sample sample, String stage) {
+        sample.stop(Timer.builder("rag.stage")
+                .description("问答和入库各阶段耗时")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    /**
+     * 执行并记录阶段耗时
+     * @param stage 阶段
+     * @param call 调用
+     * @return 调用结果
+     */
+    public <T> T record(String stage, Supplier<T> call) {
+        Timer.Sample sample = this.start();
+        try {
+            return TraceSpans.trace(SPAN_PREFIX + stage, call);
+        } finally {
+            this.stop(sample, stage);
+        }
+    }
+
+    /**
+     * 执行并记录阶段耗时，允许抛出受检异常
+     * @param stage 阶段
+     * @param call 调用
+     * @return 调用结果
+     */
+    public <T> T call(String stage, Callable<T> call) throws Exception {
+        Timer.Sample sample = this.start();
+        try {
+            return TraceSpans.call(SPAN_PREFIX + stage, call);
+        } finally {
+            this.stop(sample, stage);
+        }
+    }
+
+    /**
+     * 记录检索得到的候选文档数和最终选中的文档数
+     */
+    public void recordRetrieved(int candidates, int selected) {
+        candidateDocuments.record(candidates);
+        selectedDocuments.record(selected);
+    }
+
+    /**
+     * 问答请求计数
+     * @param outcome 结果：answered / cache_hit / degraded
+     */
+    public void countChat(String outcome) {
+        Counter.builder("rag.chat.requests")
+                .description("问答请求数")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 入库文档计数
+     * @param bytes 文件字节数
+     * @param success 是否成功
+     */
+    public void countIngest(long bytes, boolean success) {
+        Counter.builder("rag.ingest.documents")
+                .description("入库的文档数")
+                .tag("outcome", success ? "success" : "error")
+                .register(meterRegistry)
+                .increment();
+        if (success) {
+            ingestBytes.increment(bytes);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.fw.know.go.document.infrastructure.usage;
+
+import com.fw.know.go.ai.configuration.UsageProperties;
+import com.fw.know.go.ai.usage.TokenUsageStore;
+import com.fw.know.go.ai.usage.UsageKey;
+import com.fw.know.go.ai.usage.UsageTotals;
+import org.redisson.api.RBatch;
+import org.redisson.api.RMapAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.codec.CompositeCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @Description Redis用量存储，每天一个Hash，字段为 维度编码|指标，多实例的增量通过 HINCRBY 合并
+ * @Date 19/10/2026 上午11:10
+ * @Author Leo
+ */
+@Component
+public class RedisTokenUsageStore implements TokenUsageStore {
+
+    private static final Codec CODEC = new CompositeCodec(StringCodec.INSTANCE, LongCodec.INSTANCE);
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String REQUESTS = "r";
+
+    private static final String PROMPT_TOKENS = "p";
+
+    private static final String COMPLETION_TOKENS = "c";
+
+    private final RedissonClient redissonClient;
+
+    private final UsageProperties properties;
+
+    private final String keyPrefix;
+
+    public RedisTokenUsageStore(RedissonClient redissonClient, UsageProperties properties,
+                                @Value("${spring.application.name}") String applicationName) {
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+        this.keyPrefix = applicationName + ":usage:";
+    }
+
+    @Override
+    public void add(LocalDate date, Map<UsageKey, UsageTotals> deltas) {
+        String key = keyPrefix + DAY.format(date);
+        RBatch batch = redissonClient.createBatch();
+        RMapAsync<String, Long> day = batch.getMap(key, CODEC);
+        deltas.forEach((usageKey, totals) -> {
+            String field = usageKey.encode();
+            increment(day, field + "|" + REQUESTS, totals.getRequests());
+            increment(day, field + "|" + PROMPT_TOKENS, totals.getPromptTokens());
+            increment(day, field + "|" + COMPLETION_TOKENS, totals.getCompletionTokens());
+        });
+        day.expireAsync(properties.getRetention());
+        batch.execute();
+    }
+
+    @Override
+    public Map<UsageKey, UsageTotals> load(LocalDate date) {
+        Map<String, Long> fields = redissonClient.<String, Long>getMap(keyPrefix + DAY.format(date), CODEC).readAllMap();
+        Map<UsageKey, UsageTotals> result = new HashMap<>();
+        fields.forEach((field, value) -> {
+            int split = field.lastIndexOf('|');
+            if (split < 0 || value == null) {
+                return;
+            }
+            UsageKey usageKey = UsageKey.decode(field.substring(0, split));
+            if (usageKey == null) {
+                return;
+            }
+            UsageTotals totals = result.computeIfAbsent(usageKey, k -> new UsageTotals());
+            switch (field.substring(split + 1)) {
+                case REQUESTS -> totals.setRequests(totals.getRequests() + value);
+                case PROMPT_TOKENS -> totals.setPromptTokens(totals.getPromptTokens() + value);
+                case COMPLETION_TOKENS -> totals.setCompletionTokens(totals.getCompletionTokens() + value);
+                default -> {
+                }
+            }
+        });
+        return result;
+    }
+
+    private static void increment(RMapAsync<String, Long> day, String field, long delta) {
+        if (delta != 0) {
+            day.addAndGetAsync(field, delta);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.fw.know.go.document.infrastructure.warmup;
+
+import com.fw.know.go.document.infrastructure.configuration.WarmupProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+/**
+ * @Description 对Chroma、DashScope等下游并发发起请求，在共享连接池中预先建立连接并完成TLS握手；
+ * 请求经过与业务调用相同的 {@link ClientHttpRequestFactory}，建立的连接留在池中供后续请求复用
+ * @Date 20/10/2026 上午10:30
+ * @Author Leo
+ */
+@Slf4j
+@Component
+@Order(20)
+public class ConnectionWarmupTask implements WarmupTask {
+
+    private final WarmupProperties properties;
+
+    private final ClientHttpRequestFactory requestFactory;
+
+    public ConnectionWarmupTask(WarmupProperties properties, ObjectProvider<ClientHttpRequestFactory> requestFactory) {
+        this.properties = properties;
+        this.requestFactory = requestFactory.getIfUnique(JdkClientHttpRequestFactory::new);
+    }
+
+    @Override
+    public String name() {
+        return "connections";
+    }
+
+    @Override
+    public boolean enabled() {
+        return properties.getConnections().isEnabled() && !properties.getConnections().getUrls().isEmpty();
+    }
+
+    @Override
+    public Duration budget() {
+        return properties.getConnections().getBudget();
+    }
+
+    @Override
+    public void run(BooleanSupplier expired) throws Exception {
+        WarmupProperties.Connections connections = properties.getConnections();
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String url : connections.getUrls()) {
+                URI uri = URI.create(url);
+                // 同一地址的请求同时在途，连接池才会为每个请求各建一个连接
+                for (int i = 0; i < connections.getConnectionsPerUrl(); i++) {
+                    futures.add(executor.submit(() -> {
+                        this.touch(uri);
+                        return null;
+                    }));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    private void touch(URI uri) {
+        try (ClientHttpResponse response = requestFactory.createRequest(uri, HttpMethod.GET).execute()) {
+            response.getStatusCode();
+        } catch (Exception e) {
+            log.debug("warm-up connection to {} failed", uri, e);
+        }
+    }
+}
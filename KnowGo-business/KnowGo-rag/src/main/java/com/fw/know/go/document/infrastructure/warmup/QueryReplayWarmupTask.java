@@ -0,0 +1,97 @@
+package com.fw.know.go.document.infrastructure.warmup;
+
+import com.fw.know.go.base.context.RequestContext;
+import com.fw.know.go.document.domain.service.RagChatService;
+import com.fw.know.go.document.infrastructure.configuration.WarmupProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * @Description 回放最近的热门问题：向量化并检索，填充查询向量缓存，把远程缓存中的回答加载到本地缓存，
+ * 同时让检索和缓存路径被JIT编译；不调用大模型。每个问题在提问租户的上下文中回放，加载的是该租户的缓存分区
+ * @Date 20/10/2026 上午10:40
+ * @Author Leo
+ */
+@Slf4j
+@Component
+@Order(30)
+public class QueryReplayWarmupTask implements WarmupTask {
+
+    private final RagChatService ragChatService;
+
+    private final TopQueryTracker topQueryTracker;
+
+    private final WarmupProperties properties;
+
+    public QueryReplayWarmupTask(RagChatService ragChatService, TopQueryTracker topQueryTracker,
+                                 WarmupProperties properties) {
+        this.ragChatService = ragChatService;
+        this.topQueryTracker = topQueryTracker;
+        this.properties = properties;
+    }
+
+    @Override
+    public String name() {
+        return "replay";
+    }
+
+    @Override
+    public boolean enabled() {
+        return properties.getReplay().isEnabled() && properties.getReplay().getQueries() > 0;
+    }
+
+    @Override
+    public Duration budget() {
+        return properties.getReplay().getBudget();
+    }
+
+    @Override
+    public void run(BooleanSupplier expired) throws Exception {
+        WarmupProperties.Replay replay = properties.getReplay();
+        List<TopQueryTracker.TopQuery> queries = topQueryTracker.top(replay.getQueries(), replay.getLookbackDays());
+        Semaphore permits = new Semaphore(Math.max(1, replay.getConcurrency()));
+        AtomicInteger hits = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(queries.size());
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (TopQueryTracker.TopQuery query : queries) {
+                permits.acquire();
+                if (expired.getAsBoolean()) {
+                    permits.release();
+                    break;
+                }
+                futures.add(executor.submit(() -> {
+                    RequestContext.set(new RequestContext(query.tenant(), RequestContext.NO_ENDPOINT));
+                    try {
+                        if (ragChatService.warm(query.question())) {
+                            hits.incrementAndGet();
+                        }
+                    } catch (RuntimeException e) {
+                        log.debug("replay query failed", e);
+                    } finally {
+                        RequestContext.clear();
+                        permits.release();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            // 被编排器中断时不等待仍在检索的问题，避免超出预热预算
+            executor.shutdownNow();
+        }
+        log.info("replayed {} top queries, {} answers loaded into local cache", futures.size(), hits.get());
+    }
+}
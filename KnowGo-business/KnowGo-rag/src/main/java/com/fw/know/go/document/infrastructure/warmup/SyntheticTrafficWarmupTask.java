@@ -0,0 +1,113 @@
+package com.fw.know.go.document.infrastructure.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fw.know.go.ai.cache.ChatCacheKeyBuilder;
+import com.fw.know.go.datasource.scoring.VectorKernels;
+import com.fw.know.go.document.domain.model.DocumentHit;
+import com.fw.know.go.document.domain.retrieval.AdaptiveRetrievalPolicy;
+import com.fw.know.go.document.domain.retrieval.DocumentProjection;
+import com.fw.know.go.document.domain.retrieval.DocumentProjector;
+import com.fw.know.go.document.domain.retrieval.TokenEstimator;
+import com.fw.know.go.document.infrastructure.configuration.WarmupProperties;
+import com.fw.know.go.web.vo.Result;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+/**
+ * @Description 用合成数据反复执行不依赖下游的热点代码：自适应选取、摘要高亮、缓存Key、token估算、向量打分和JSON序列化，
+ * 使其在接流量前被JIT编译
+ * @Date 20/10/2026 上午10:50
+ * @Author Leo
+ */
+@Component
+@Order(40)
+public class SyntheticTrafficWarmupTask implements WarmupTask {
+
+    private static final int DOCUMENTS = 20;
+
+    private static final int DIMENSIONS = 1536;
+
+    private static final String QUERY = "KnowGo 如何处理文档上传和向量检索";
+
+    private static final String TEXT = "KnowGo 使用 Spring AI 构建检索增强生成流程，文档上传后经 Tika 解析，"
+            + "分块并向量化写入 Chroma。问答时先向量检索相关文档，再按得分分布自适应选取上下文，"
+            + "拼接提示词后调用大模型生成回答，回答按问题、上下文和模型参数缓存。";
+
+    private final AdaptiveRetrievalPolicy retrievalPolicy;
+
+    private final DocumentProjector documentProjector;
+
+    private final ObjectMapper objectMapper;
+
+    private final WarmupProperties properties;
+
+    public SyntheticTrafficWarmupTask(AdaptiveRetrievalPolicy retrievalPolicy, DocumentProjector documentProjector,
+                                      ObjectProvider<ObjectMapper> objectMapper, WarmupProperties properties) {
+        this.retrievalPolicy = retrievalPolicy;
+        this.documentProjector = documentProjector;
+        this.objectMapper = objectMapper.getIfAvailable(ObjectMapper::new);
+        this.properties = properties;
+    }
+
+    @Override
+    public String name() {
+        return "synthetic";
+    }
+
+    @Override
+    public boolean enabled() {
+        return properties.getSynthetic().isEnabled() && properties.getSynthetic().getIterations() > 0;
+    }
+
+    @Override
+    public Duration budget() {
+        return properties.getSynthetic().getBudget();
+    }
+
+    @Override
+    public void run(BooleanSupplier expired) throws Exception {
+        Random random = new Random(20261020L);
+        List<Document> candidates = new ArrayList<>(DOCUMENTS);
+        float[][] vectors = new float[DOCUMENTS][];
+        for (int i = 0; i < DOCUMENTS; i++) {
+            candidates.add(Document.builder()
+                    .id("warmup-" + i)
+                    .text(TEXT.substring(i % 10) + TEXT)
+                    .metadata(Map.of("source", "warmup", "index", i))
+                    .score(1.0 - i * 0.03)
+                    .build());
+            vectors[i] = randomVector(random);
+        }
+        float[] query = randomVector(random);
+        float[] scores = new float[DOCUMENTS];
+        DocumentProjection projection = documentProjector.projection(null, List.of("source"), null);
+        ChatOptions options = ChatOptions.builder().model("warmup").build();
+        int iterations = properties.getSynthetic().getIterations();
+        for (int i = 0; i < iterations && !expired.getAsBoolean(); i++) {
+            List<Document> selected = retrievalPolicy.select(candidates);
+            List<DocumentHit> hits = documentProjector.project(selected, QUERY, projection);
+            objectMapper.writeValueAsBytes(Result.success(hits));
+            ChatCacheKeyBuilder.build(QUERY + i, selected, options);
+            TokenEstimator.estimate(TEXT);
+            VectorKernels.dotAll(query, vectors, scores);
+        }
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = random.nextFloat() - 0.5f;
+        }
+        return vector;
+    }
+}
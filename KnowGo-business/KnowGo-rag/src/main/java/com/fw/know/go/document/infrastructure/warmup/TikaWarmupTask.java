@@ -0,0 +1,65 @@
+package com.fw.know.go.document.infrastructure.warmup;
+
+import com.fw.know.go.document.infrastructure.configuration.WarmupProperties;
+import com.fw.know.go.file.FileService;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * @Description 解析几种小文档，触发Tika加载解析器注册表、MIME类型库和各解析器的类
+ * @Date 20/10/2026 上午10:20
+ * @Author Leo
+ */
+@Component
+@Order(10)
+public class TikaWarmupTask implements WarmupTask {
+
+    private static final List<String> SAMPLES = List.of(
+            "KnowGo 预热文档，用于加载文档解析器。",
+            "<html><head><title>KnowGo</title></head><body><p>KnowGo 预热文档</p></body></html>",
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?><doc><title>KnowGo</title><body>预热文档</body></doc>",
+            "{\"title\": \"KnowGo\", \"body\": \"预热文档\"}",
+            "id,title\n1,KnowGo\n2,预热文档\n");
+
+    private final FileService fileService;
+
+    private final WarmupProperties properties;
+
+    public TikaWarmupTask(FileService fileService, WarmupProperties properties) {
+        this.fileService = fileService;
+        this.properties = properties;
+    }
+
+    @Override
+    public String name() {
+        return "tika";
+    }
+
+    @Override
+    public boolean enabled() {
+        return properties.getTika().isEnabled();
+    }
+
+    @Override
+    public Duration budget() {
+        return properties.getTika().getBudget();
+    }
+
+    @Override
+    public void run(BooleanSupplier expired) throws Exception {
+        for (String sample : SAMPLES) {
+            if (expired.getAsBoolean()) {
+                return;
+            }
+            byte[] bytes = sample.getBytes(StandardCharsets.UTF_8);
+            fileService.extractText(new ByteArrayInputStream(bytes));
+            fileService.extractMetadata(new ByteArrayInputStream(bytes));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.fw.know.go.document.infrastructure.warmup;
+
+import com.fw.know.go.base.context.RequestContext;
+import com.fw.know.go.document.infrastructure.configuration.WarmupProperties;
+import com.fw.know.go.web.capture.QueryAnonymizer;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RScoredSortedSetAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.ScoredEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * @Description 热门问题统计，每天一个有序集合，租户和问题为成员、提问次数为分数，多实例通过 ZINCRBY 合并；
+ * 新实例启动预热时在各自租户下回放最近几天的热门问题。包含个人信息的问题不记录，Redis中不保存需要脱敏的原文
+ * @Date 20/10/2026 上午10:10
+ * @Author Leo
+ */
+@Slf4j
+@Component
+public class TopQueryTracker {
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+
+    /**
+     * 成员中租户和问题的分隔符，租户标识不含换行
+     */
+    private static final char SEPARATOR = '\n';
+
+    private final RedissonClient redissonClient;
+
+    private final WarmupProperties properties;
+
+    private final String keyPrefix;
+
+    public TopQueryTracker(RedissonClient redissonClient, WarmupProperties properties,
+                           @Value("${spring.application.name}") String applicationName) {
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+        this.keyPrefix = applicationName + ":warmup:queries:";
+    }
+
+    /**
+     * 记录当前租户的一次提问，异步写入，失败只记录日志
+     * @param question 问题
+     */
+    public void record(String question) {
+        // 包含个人信息的问题多是一次性的，脱敏后的文本又对不上原问题的缓存，回放没有意义，直接不记录
+        if (question == null || question.isBlank()
+                || question.length() > properties.getReplay().getMaxQueryLength()
+                || QueryAnonymizer.containsPersonalData(question)) {
+            return;
+        }
+        String key = keyPrefix + DAY.format(LocalDate.now(ZONE));
+        RBatch batch = redissonClient.createBatch();
+        RScoredSortedSetAsync<String> day = batch.getScoredSortedSet(key, StringCodec.INSTANCE);
+        day.addScoreAsync(RequestContext.current().getTenantId() + SEPARATOR + question, 1);
+        day.expireAsync(Duration.ofDays(properties.getReplay().getLookbackDays() + 1L));
+        batch.executeAsync().whenComplete((result, e) -> {
+            if (e != null) {
+                log.debug("record top query failed", e);
+            }
+        });
+    }
+
+    /**
+     * 最近几天提问次数最多的问题
+     * @param limit 问题数
+     * @param days 天数，包括当天
+     * @return 租户和问题，按提问次数降序
+     */
+    public List<TopQuery> top(int limit, int days) {
+        Map<String, Double> counts = new HashMap<>();
+        LocalDate today = LocalDate.now(ZONE);
+        for (int i = 0; i < days; i++) {
+            String key = keyPrefix + DAY.format(today.minusDays(i));
+            for (ScoredEntry<String> entry : redissonClient.<String>getScoredSortedSet(key, StringCodec.INSTANCE)
+                    .entryRangeReversed(0, limit - 1)) {
+                counts.merge(entry.getValue(), entry.getScore(), Double::sum);
+            }
+        }
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(entry -> TopQuery.decode(entry.getKey()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * 热门问题
+     * @param tenant 提问的租户
+     * @param question 问题
+     */
+    public record TopQuery(String tenant, String question) {
+
+        private static TopQuery decode(String member) {
+            int split = member.indexOf(SEPARATOR);
+            return split <= 0 ? null : new TopQuery(member.substring(0, split), member.substring(split + 1));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.fw.know.go.document.infrastructure.warmup;
+
+import com.fw.know.go.document.infrastructure.configuration.WarmupProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * @Description 启动预热编排：按顺序执行各预热阶段，每个阶段不超过自己的预算和剩余的总预算
+ * <p>
+ * 作为 {@link ApplicationRunner} 执行，Spring Boot在所有Runner返回后才把就绪状态置为 ACCEPTING_TRAFFIC，
+ * 预热期间 /actuator/health/readiness 返回 OUT_OF_SERVICE，流量不会进入冷实例；预热失败或超时只记录日志，不阻止启动
+ * @Date 20/10/2026 上午10:00
+ * @Author Leo
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class WarmupOrchestrator implements ApplicationRunner {
+
+    private static final String OUTCOME_SUCCESS = "success";
+
+    private static final String OUTCOME_TIMEOUT = "timeout";
+
+    private static final String OUTCOME_ERROR = "error";
+
+    private static final String OUTCOME_SKIPPED = "skipped";
+
+    private final WarmupProperties properties;
+
+    private final List<WarmupTask> tasks;
+
+    private final MeterRegistry meterRegistry;
+
+    public WarmupOrchestrator(WarmupProperties properties, List<WarmupTask> tasks,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.tasks = tasks;
+        this.meterRegistry = meterRegistry.getIfAvailable();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        this.warmUp();
+    }
+
+    /**
+     * 依次执行各预热阶段
+     */
+    public void warmUp() {
+        long start = System.nanoTime();
+        long totalDeadline = start + properties.getTotalBudget().toNanos();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (WarmupTask task : tasks) {
+                long remaining = totalDeadline - System.nanoTime();
+                if (!task.enabled() || remaining <= 0) {
+                    this.record(task, OUTCOME_SKIPPED, 0);
+                    continue;
+                }
+                long budget = Math.min(task.budget().toNanos(), remaining);
+                this.runTask(executor, task, budget);
+            }
+        } finally {
+            // 不用 close()：它会等待忽略中断的任务结束，总预算就不再是硬上限；超时的任务已被中断，留给它自己退出
+            executor.shutdownNow();
+        }
+        log.info("warm-up finished in {} ms", Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private void runTask(ExecutorService executor, WarmupTask task, long budgetNanos) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        Future<?> future = executor.submit(() -> {
+            task.run(() -> System.nanoTime() - deadline >= 0);
+            return null;
+        });
+        String outcome;
+        try {
+            future.get(budgetNanos, TimeUnit.NANOSECONDS);
+            outcome = OUTCOME_SUCCESS;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            outcome = OUTCOME_TIMEOUT;
+            log.warn("warm-up task {} exceeded budget {} ms", task.name(), TimeUnit.NANOSECONDS.toMillis(budgetNanos));
+        } catch (ExecutionException e) {
+            outcome = OUTCOME_ERROR;
+            log.warn("warm-up task {} failed", task.name(), e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            outcome = OUTCOME_ERROR;
+        }
+        long elapsed = System.nanoTime() - start;
+        this.record(task, outcome, elapsed);
+        log.info("warm-up task {} {} in {} ms", task.name(), outcome, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private void record(WarmupTask task, String outcome, long nanos) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Timer.builder("rag.warmup")
+                .description("启动预热各阶段的耗时")
+                .tag("task", task.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
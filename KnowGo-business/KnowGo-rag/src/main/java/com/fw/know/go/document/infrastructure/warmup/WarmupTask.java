@@ -0,0 +1,37 @@
+package com.fw.know.go.document.infrastructure.warmup;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+/**
+ * @Description 启动预热的一个阶段，按 {@link org.springframework.core.annotation.Order} 顺序执行
+ * @Date 20/10/2026 上午9:50
+ * @Author Leo
+ */
+public interface WarmupTask {
+
+    /**
+     * 阶段名称，用于日志和指标
+     * @return 名称
+     */
+    String name();
+
+    /**
+     * 是否启用
+     * @return 是否启用
+     */
+    boolean enabled();
+
+    /**
+     * 时间预算
+     * @return 时间预算
+     */
+    Duration budget();
+
+    /**
+     * 执行预热；超出预算时线程被中断，循环类的预热还应检查 expired 尽早退出
+     * @param expired 预算是否已用完
+     * @throws Exception 预热失败，不影响启动
+     */
+    void run(BooleanSupplier expired) throws Exception;
+}
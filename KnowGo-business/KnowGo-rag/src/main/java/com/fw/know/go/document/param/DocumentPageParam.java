@@ -0,0 +1,51 @@
+package com.fw.know.go.document.param;
+
+import com.fw.know.go.base.request.PageRequest;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.util.List;
+
+/**
+ * @Description 文档分页查询参数，首页传 query，后续页同时传上一页返回的 cursor
+ * @Date 19/10/2026 下午8:42
+ * @Author Leo
+ */
+@Getter
+@Setter
+public class DocumentPageParam extends PageRequest {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 查询字符串
+     */
+    private String query;
+
+    /**
+     * 相似度阈值
+     */
+    private Double similarityThreshold;
+
+    /**
+     * 上一页返回的游标，为空时查询首页
+     */
+    private String cursor;
+
+    /**
+     * 返回的字段
+     */
+    private List<String> fields;
+
+    /**
+     * 返回的元数据键
+     */
+    private List<String> metadataKeys;
+
+    /**
+     * 摘要长度
+     */
+    private Integer snippetLength;
+}
@@ -18,7 +18,12 @@ public class RagChatParam {
     private String question;
 
      /**
-      * 模型
+      * 模型，只能是模型路由配置中出现的模型，为空时由路由选择
       */
     private String model;
+
+    /**
+     * 会话ID，由调用方生成并在后续追问中携带，为空时按单轮问答处理
+     */
+    private String conversationId;
 }
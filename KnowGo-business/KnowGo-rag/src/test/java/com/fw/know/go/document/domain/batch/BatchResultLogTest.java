@@ -0,0 +1,56 @@
+package com.fw.know.go.document.domain.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 批量问答结果文件测试
+ * @Date 20/10/2026 下午4:40
+ * @Author Leo
+ */
+public class BatchResultLogTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void reopenSkipsProcessedAndTruncatesTornLine() throws IOException {
+        Path file = directory.resolve("results.jsonl");
+        try (BatchResultLog log = BatchResultLog.open(file, objectMapper)) {
+            log.append(BatchResult.answered(2, "问题2", "回答2", false));
+            log.append(BatchResult.failed(0, "问题0", "timeout"));
+            // 同一问题只记录一次
+            log.append(BatchResult.answered(2, "问题2", "重复", false));
+        }
+        // 模拟宕机时写了一半的行
+        Files.writeString(file, "{\"index\":1,\"question\":\"问", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (BatchResultLog log = BatchResultLog.open(file, objectMapper)) {
+            assertTrue(log.isProcessed(0));
+            assertFalse(log.isProcessed(1));
+            assertTrue(log.isProcessed(2));
+            assertEquals(1, log.getCompleted());
+            assertEquals(1, log.getFailed());
+            log.append(BatchResult.answered(1, "问题1", "回答1", true));
+        }
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        BatchResult last = objectMapper.readValue(lines.get(2), BatchResult.class);
+        assertEquals(BatchResult.answered(1, "问题1", "回答1", true), last);
+    }
+}
@@ -0,0 +1,47 @@
+package com.fw.know.go.document.domain.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 并发闸门测试
+ * @Date 20/10/2026 下午4:50
+ * @Author Leo
+ */
+public class ConcurrencyGateTest {
+
+    @Test
+    public void waitsUntilReleasedOrLimitRaised() throws InterruptedException {
+        AtomicInteger limit = new AtomicInteger(1);
+        ConcurrencyGate gate = new ConcurrencyGate(limit::get);
+        gate.acquire();
+        Thread first = Thread.ofVirtual().start(() -> acquire(gate));
+        Thread second = Thread.ofVirtual().start(() -> acquire(gate));
+        first.join(300);
+        assertTrue(first.isAlive() && second.isAlive());
+
+        // 上限增长时等待方重读上限后放行一个
+        limit.set(2);
+        Thread.sleep(500);
+        assertEquals(2, gate.inFlight());
+
+        gate.release();
+        first.join(2000);
+        second.join(2000);
+        assertFalse(first.isAlive() || second.isAlive());
+        assertEquals(2, gate.inFlight());
+    }
+
+    private static void acquire(ConcurrencyGate gate) {
+        try {
+            gate.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
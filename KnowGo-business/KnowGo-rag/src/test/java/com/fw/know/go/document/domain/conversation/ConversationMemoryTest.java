@@ -0,0 +1,58 @@
+package com.fw.know.go.document.domain.conversation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 会话记忆测试
+ * @Date 20/10/2026 下午2:10
+ * @Author Leo
+ */
+public class ConversationMemoryTest {
+
+    private static ConversationTurn turn(int i) {
+        return new ConversationTurn("问题" + i, "回答" + i);
+    }
+
+    @Test
+    public void windowOverflowMovesToPending() {
+        ConversationMemory memory = ConversationMemory.empty();
+        for (int i = 0; i < 5; i++) {
+            memory = memory.append(turn(i), 2, 2);
+        }
+        assertEquals(List.of(turn(3), turn(4)), memory.getTurns());
+        // 待摘要队列超出上限时丢弃最早的
+        assertEquals(List.of(turn(1), turn(2)), memory.getPending());
+    }
+
+    @Test
+    public void summarizedAppliesOnlyOnMatchingBase() {
+        ConversationMemory memory = ConversationMemory.empty();
+        for (int i = 0; i < 4; i++) {
+            memory = memory.append(turn(i), 2, 10);
+        }
+        ConversationMemory summarized = memory.summarized("", "摘要", 1);
+        assertEquals("摘要", summarized.getSummary());
+        assertEquals(List.of(turn(1)), summarized.getPending());
+        assertEquals(memory.getTurns(), summarized.getTurns());
+        // 摘要已被其他实例更新
+        assertSame(summarized, summarized.summarized("", "另一份摘要", 1));
+    }
+
+    @Test
+    public void encodeRoundTrip() {
+        ConversationMemory memory = ConversationMemory.empty().append(turn(0), 1, 5).append(turn(1), 1, 5)
+                .summarized("", "讨论了 RAG 检索", 0);
+        ConversationMemory decoded = ConversationMemory.decode(memory.encode());
+        assertEquals("讨论了 RAG 检索", decoded.getSummary());
+        assertEquals(List.of(turn(1)), decoded.getTurns());
+        assertEquals(List.of(turn(0)), decoded.getPending());
+        assertTrue(ConversationMemory.decode(null).isEmpty());
+        assertTrue(ConversationMemory.decode(new byte[]{9, 1, 2}).isEmpty());
+    }
+}
@@ -0,0 +1,71 @@
+package com.fw.know.go.document.domain.retrieval;
+
+import com.fw.know.go.document.infrastructure.configuration.RetrievalProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 自适应检索策略测试
+ * @Date 19/10/2026 上午11:02
+ * @Author Leo
+ */
+public class AdaptiveRetrievalPolicyTest {
+
+    private RetrievalProperties properties;
+
+    private AdaptiveRetrievalPolicy policy;
+
+    @BeforeEach
+    public void setup() {
+        properties = new RetrievalProperties();
+        policy = new AdaptiveRetrievalPolicy(properties);
+    }
+
+    @Test
+    public void cutsAtLargestScoreGap() {
+        List<Document> selected = policy.select(docs("短文本", 0.92, 0.90, 0.62, 0.60, 0.58));
+        assertEquals(2, selected.size());
+        assertEquals("d0", selected.getFirst().getId());
+    }
+
+    @Test
+    public void keepsFlatDistributionUpToCumulativeTarget() {
+        List<Document> selected = policy.select(docs("短文本", 0.80, 0.79, 0.78, 0.77, 0.76, 0.75, 0.74, 0.73));
+        assertTrue(selected.size() >= 6, "得分平缓时应保留较多文档");
+    }
+
+    @Test
+    public void clampsByTokenBudget() {
+        properties.setTokenBudget(250);
+        String text = "知".repeat(100);
+        List<Document> selected = policy.select(docs(text, 0.80, 0.79, 0.78, 0.77));
+        assertEquals(2, selected.size());
+    }
+
+    @Test
+    public void keepsAtLeastOneDocumentBeyondBudget() {
+        properties.setTokenBudget(10);
+        List<Document> selected = policy.select(docs("知".repeat(100), 0.9));
+        assertEquals(1, selected.size());
+    }
+
+    @Test
+    public void returnsEmptyForNoCandidates() {
+        assertTrue(policy.select(List.of()).isEmpty());
+    }
+
+    private static List<Document> docs(String text, double... scores) {
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < scores.length; i++) {
+            documents.add(Document.builder().id("d" + i).text(text).score(scores[i]).build());
+        }
+        return documents;
+    }
+}
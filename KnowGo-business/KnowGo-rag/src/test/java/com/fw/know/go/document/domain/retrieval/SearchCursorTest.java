@@ -0,0 +1,72 @@
+package com.fw.know.go.document.domain.retrieval;
+
+import com.fw.know.go.document.infrastructure.exception.RagException;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @Description 分页游标和候选列表测试
+ * @Date 19/10/2026 下午9:20
+ * @Author Leo
+ */
+public class SearchCursorTest {
+
+    private static final byte[] SECRET = "cursor-secret".getBytes(StandardCharsets.UTF_8);
+
+    private final SearchCursor cursor = new SearchCursor("9f1c2d7a3b8e4f60", SearchCursor.hashQuery("向量数据库"),
+            0.7, 20, 0.8123, "doc-42");
+
+    @Test
+    public void roundTrip() {
+        assertEquals(cursor, SearchCursor.decode(cursor.encode(SECRET, "t1"), SECRET, "t1"));
+    }
+
+    @Test
+    public void rejectsMalformedCursor() {
+        assertThrows(RagException.class, () -> SearchCursor.decode("not-a-cursor!", SECRET, "t1"));
+        assertThrows(RagException.class, () -> SearchCursor.decode("AAAA", SECRET, "t1"));
+    }
+
+    @Test
+    public void rejectsForgedOrForeignCursor() {
+        String encoded = cursor.encode(SECRET, "t1");
+        byte[] bytes = Base64.getUrlDecoder().decode(encoded);
+        bytes[3] ^= 1;
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        assertThrows(RagException.class, () -> SearchCursor.decode(tampered, SECRET, "t1"));
+        assertThrows(RagException.class, () -> SearchCursor.decode(encoded, SECRET, "t2"));
+        assertThrows(RagException.class, () -> SearchCursor.decode(encoded,
+                "other-secret".getBytes(StandardCharsets.UTF_8), "t1"));
+    }
+
+    @Test
+    public void pagesAfterWatermarkWithoutGapsOrDuplicates() {
+        List<Document> documents = new ArrayList<>();
+        double[] scores = {0.9, 0.8, 0.8, 0.8, 0.7, 0.6, 0.5};
+        for (int i = 0; i < scores.length; i++) {
+            documents.add(Document.builder().id("d" + i).text("t" + i).metadata(Map.of()).score(scores[i]).build());
+        }
+        SearchCandidates candidates = SearchCandidates.of("default", 1, documents);
+
+        List<String> seen = new ArrayList<>();
+        int from = 0;
+        while (from < candidates.size()) {
+            List<Document> page = candidates.slice(from, 3);
+            page.forEach(document -> seen.add(document.getId()));
+            Document last = page.getLast();
+            from = candidates.indexAfter(last.getScore(), last.getId());
+        }
+        assertEquals(List.of("d0", "d1", "d2", "d3", "d4", "d5", "d6"), seen);
+        // 相同得分按ID排序，水位线落在并列得分中间时从下一个ID继续
+        assertEquals(3, candidates.indexAfter(0.8, "d2"));
+    }
+}
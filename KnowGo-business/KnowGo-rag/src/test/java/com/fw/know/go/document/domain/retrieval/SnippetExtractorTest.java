@@ -0,0 +1,51 @@
+package com.fw.know.go.document.domain.retrieval;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 高亮摘要提取测试
+ * @Date 19/10/2026 下午4:05
+ * @Author Leo
+ */
+public class SnippetExtractorTest {
+
+    private final SnippetExtractor extractor = new SnippetExtractor("<em>", "</em>");
+
+    @Test
+    public void splitsLatinWordsAndCjkBigrams() {
+        List<String> terms = SnippetExtractor.terms("Chroma 向量库 a");
+        assertTrue(terms.contains("chroma"));
+        assertTrue(terms.contains("向量"));
+        assertTrue(terms.contains("量库"));
+        assertFalse(terms.contains("a"));
+    }
+
+    @Test
+    public void centersWindowOnDensestMatches() {
+        String text = "前言 ".repeat(100) + "KnowGo 使用 Chroma 向量数据库存储文档分块" + " 后记".repeat(100);
+        String snippet = extractor.extract(text, "向量数据库 chroma", 60);
+        assertTrue(snippet.startsWith("…"));
+        assertTrue(snippet.endsWith("…"));
+        assertTrue(snippet.contains("<em>Chroma</em> <em>向量数据库</em>"));
+        String plain = snippet.replace("<em>", "").replace("</em>", "").replace("…", "");
+        assertEquals(60, plain.length());
+    }
+
+    @Test
+    public void fallsBackToHeadWithoutMatches() {
+        assertEquals("abcde…", extractor.extract("abcdefgh", "xyz", 5));
+        assertEquals("short text", extractor.extract("short\n\n  text", "none", 60));
+    }
+
+    @Test
+    public void escapesHtmlAndKeepsSurrogatePairs() {
+        assertEquals("&lt;b&gt;<em>rag</em>&lt;/b&gt;", extractor.extract("<b>rag</b>", "RAG", 100));
+        assertEquals("ab …", extractor.extract("ab 😀cd", "zz", 4));
+    }
+}
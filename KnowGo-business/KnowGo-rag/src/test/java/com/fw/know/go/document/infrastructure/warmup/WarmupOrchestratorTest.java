@@ -0,0 +1,118 @@
+package com.fw.know.go.document.infrastructure.warmup;
+
+import com.fw.know.go.document.infrastructure.configuration.WarmupProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 启动预热编排测试
+ * @Date 20/10/2026 上午11:00
+ * @Author Leo
+ */
+public class WarmupOrchestratorTest {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void slowAndFailingTasksDoNotBlockLaterTasks() {
+        WarmupProperties properties = new WarmupProperties();
+        properties.setTotalBudget(Duration.ofSeconds(5));
+        List<WarmupTask> tasks = List.of(
+                new FakeTask("slow", Duration.ofMillis(100), expired -> {
+                    try {
+                        Thread.sleep(10_000);
+                        events.add("slow-finished");
+                    } catch (InterruptedException e) {
+                        events.add("slow-interrupted");
+                    }
+                }),
+                new FakeTask("failing", Duration.ofSeconds(1), expired -> {
+                    throw new IllegalStateException("boom");
+                }),
+                new FakeTask("loop", Duration.ofMillis(100), expired -> {
+                    while (!expired.getAsBoolean()) {
+                        Thread.onSpinWait();
+                    }
+                    events.add("loop-expired");
+                }),
+                new FakeTask("fast", Duration.ofSeconds(1), expired -> events.add("fast")));
+
+        long start = System.nanoTime();
+        orchestrator(properties, tasks).warmUp();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 2_000, "elapsed " + elapsedMillis);
+        assertTrue(events.contains("slow-interrupted"));
+        assertTrue(events.contains("loop-expired"));
+        assertTrue(events.contains("fast"));
+    }
+
+    @Test
+    public void totalBudgetSkipsRemainingTasks() {
+        WarmupProperties properties = new WarmupProperties();
+        properties.setTotalBudget(Duration.ofMillis(100));
+        List<WarmupTask> tasks = List.of(
+                new FakeTask("first", Duration.ofSeconds(10), expired -> {
+                    while (!expired.getAsBoolean()) {
+                        Thread.onSpinWait();
+                    }
+                    events.add("first");
+                }),
+                new FakeTask("second", Duration.ofSeconds(10), expired -> events.add("second")));
+
+        orchestrator(properties, tasks).warmUp();
+
+        assertEquals(List.of("first"), events);
+    }
+
+    @Test
+    public void totalBudgetHoldsWhenTaskIgnoresInterrupts() {
+        WarmupProperties properties = new WarmupProperties();
+        properties.setTotalBudget(Duration.ofMillis(200));
+        List<WarmupTask> tasks = List.of(new FakeTask("stubborn", Duration.ofSeconds(10), expired -> {
+            long until = System.nanoTime() + Duration.ofSeconds(3).toNanos();
+            while (System.nanoTime() < until) {
+                Thread.onSpinWait();
+            }
+            events.add("stubborn-finished");
+        }));
+
+        long start = System.nanoTime();
+        orchestrator(properties, tasks).warmUp();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 1_000, "elapsed " + elapsedMillis);
+        assertTrue(events.isEmpty());
+    }
+
+    private static WarmupOrchestrator orchestrator(WarmupProperties properties, List<WarmupTask> tasks) {
+        return new WarmupOrchestrator(properties, tasks,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+
+    private interface Body {
+        void run(BooleanSupplier expired) throws Exception;
+    }
+
+    private record FakeTask(String name, Duration budget, Body body) implements WarmupTask {
+
+        @Override
+        public boolean enabled() {
+            return true;
+        }
+
+        @Override
+        public void run(BooleanSupplier expired) throws Exception {
+            body.run(expired);
+        }
+    }
+}
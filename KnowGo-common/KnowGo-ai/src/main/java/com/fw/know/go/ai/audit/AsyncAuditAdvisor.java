@@ -0,0 +1,138 @@
+package com.fw.know.go.ai.audit;
+
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.core.Ordered;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @Description 异步采样的审计Advisor，替代 SimpleLoggerAdvisor
+ * <p>
+ * 请求线程上只做采样判断和入队，不格式化、不写日志；未被采样的调用不产生任何审计开销
+ * @Date 21/10/2026 下午3:40
+ * @Author Leo
+ */
+public class AsyncAuditAdvisor implements CallAdvisor, StreamAdvisor {
+
+    private static final String MODE_CALL = "call";
+
+    private static final String MODE_STREAM = "stream";
+
+    private final AuditEventWriter writer;
+
+    public AsyncAuditAdvisor(AuditEventWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest chatClientRequest, CallAdvisorChain callAdvisorChain) {
+        if (!writer.isEnabled()) {
+            return callAdvisorChain.nextCall(chatClientRequest);
+        }
+        boolean sampled = writer.sample();
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            ChatClientResponse response = callAdvisorChain.nextCall(chatClientRequest);
+            if (sampled) {
+                ChatResponse chatResponse = response.chatResponse();
+                writer.publish(this.buildEvent(MODE_CALL, chatClientRequest, timestamp, start,
+                        textOf(chatResponse), chatResponse, null));
+            }
+            return response;
+        } catch (RuntimeException e) {
+            if (sampled || writer.isAlwaysLogErrors()) {
+                writer.publish(this.buildEvent(MODE_CALL, chatClientRequest, timestamp, start, null, null, e));
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest chatClientRequest, StreamAdvisorChain streamAdvisorChain) {
+        if (!writer.isEnabled()) {
+            return streamAdvisorChain.nextStream(chatClientRequest);
+        }
+        return Flux.defer(() -> {
+            boolean sampled = writer.sample();
+            if (!sampled && !writer.isAlwaysLogErrors()) {
+                return streamAdvisorChain.nextStream(chatClientRequest);
+            }
+            long timestamp = System.currentTimeMillis();
+            long start = System.nanoTime();
+            // 只有被采样的流式调用才拼接回答
+            StringBuilder text = sampled ? new StringBuilder() : null;
+            AtomicReference<ChatResponse> last = new AtomicReference<>();
+            return streamAdvisorChain.nextStream(chatClientRequest)
+                    .doOnNext(response -> {
+                        ChatResponse chatResponse = response.chatResponse();
+                        if (chatResponse == null) {
+                            return;
+                        }
+                        if (text != null) {
+                            String chunk = textOf(chatResponse);
+                            if (chunk != null) {
+                                text.append(chunk);
+                            }
+                        }
+                        if (chatResponse.getMetadata() != null && chatResponse.getMetadata().getUsage() != null) {
+                            last.set(chatResponse);
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        if (sampled) {
+                            writer.publish(this.buildEvent(MODE_STREAM, chatClientRequest, timestamp, start,
+                                    text.toString(), last.get(), null));
+                        }
+                    })
+                    .doOnError(e -> writer.publish(this.buildEvent(MODE_STREAM, chatClientRequest, timestamp, start,
+                            text == null ? null : text.toString(), last.get(), e)));
+        });
+    }
+
+    private AuditEvent buildEvent(String mode, ChatClientRequest request, long timestamp, long start,
+                                  String responseText, ChatResponse response, Throwable error) {
+        Usage usage = response == null || response.getMetadata() == null ? null : response.getMetadata().getUsage();
+        return new AuditEvent(timestamp, mode, modelOf(request, response),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                request.prompt().getContents(), responseText,
+                usage == null ? null : usage.getPromptTokens(),
+                usage == null ? null : usage.getCompletionTokens(),
+                error == null ? null : error.getClass().getSimpleName() + ": " + error.getMessage());
+    }
+
+    private static String modelOf(ChatClientRequest request, ChatResponse response) {
+        ChatOptions options = request.prompt().getOptions();
+        if (options != null && options.getModel() != null) {
+            return options.getModel();
+        }
+        return response == null || response.getMetadata() == null ? null : response.getMetadata().getModel();
+    }
+
+    private static String textOf(ChatResponse response) {
+        if (response == null || response.getResult() == null || response.getResult().getOutput() == null) {
+            return null;
+        }
+        return response.getResult().getOutput().getText();
+    }
+
+    @Override
+    public String getName() {
+        return AsyncAuditAdvisor.class.getSimpleName();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 3000;
+    }
+}
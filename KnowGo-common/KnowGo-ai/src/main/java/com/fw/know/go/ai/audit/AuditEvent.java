@@ -0,0 +1,59 @@
+package com.fw.know.go.ai.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * @Description 一次大模型调用的审计事件，提示词和回答以原始引用保存，截断和格式化都在后台写线程完成
+ * @Date 21/10/2026 下午3:15
+ * @Author Leo
+ */
+@Getter
+@AllArgsConstructor
+public class AuditEvent {
+
+    /**
+     * 调用开始时间（毫秒时间戳）
+     */
+    private final long timestamp;
+
+    /**
+     * 调用方式：call / stream
+     */
+    private final String mode;
+
+    /**
+     * 模型
+     */
+    private final String model;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private final long durationMillis;
+
+    /**
+     * 提示词
+     */
+    private final String prompt;
+
+    /**
+     * 回答
+     */
+    private final String response;
+
+    /**
+     * 提示词token数
+     */
+    private final Integer promptTokens;
+
+    /**
+     * 回答token数
+     */
+    private final Integer completionTokens;
+
+    /**
+     * 错误信息，成功时为空
+     */
+    private final String error;
+}
@@ -0,0 +1,196 @@
+package com.fw.know.go.ai.audit;
+
+import cn.hutool.json.JSONUtil;
+import com.fw.know.go.ai.configuration.AuditProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @Description 审计事件的异步写出器
+ * <p>
+ * 请求线程只做采样判断和一次无锁入队，队列满时丢弃事件；后台线程负责截断、JSON格式化和写日志
+ * @Date 21/10/2026 下午3:20
+ * @Author Leo
+ */
+@Slf4j
+public class AuditEventWriter implements AutoCloseable {
+
+    private static final String TRUNCATED_SUFFIX = "...[truncated %d chars]";
+
+    private final AuditProperties properties;
+
+    private final Logger auditLogger;
+
+    private final MpscRingBuffer<AuditEvent> buffer;
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder written = new LongAdder();
+
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    public AuditEventWriter(AuditProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.auditLogger = LoggerFactory.getLogger(properties.getLoggerName());
+        this.buffer = new MpscRingBuffer<>(properties.getBufferSize());
+        if (meterRegistry != null) {
+            FunctionCounter.builder("ai.audit.events", written, LongAdder::sum)
+                    .description("写出的审计事件数")
+                    .tag("result", "written")
+                    .register(meterRegistry);
+            FunctionCounter.builder("ai.audit.events", dropped, LongAdder::sum)
+                    .description("写出的审计事件数")
+                    .tag("result", "dropped")
+                    .register(meterRegistry);
+            Gauge.builder("ai.audit.queued", buffer, MpscRingBuffer::size)
+                    .description("等待写出的审计事件数")
+                    .register(meterRegistry);
+        }
+        this.worker = Thread.ofPlatform().name("ai-audit-writer").daemon(true).unstarted(this::drainLoop);
+        if (properties.isEnabled()) {
+            this.worker.start();
+        }
+    }
+
+    /**
+     * 是否启用
+     * @return 是否启用
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled() && running;
+    }
+
+    /**
+     * 按采样率决定是否记录本次调用
+     * @return 是否记录
+     */
+    public boolean sample() {
+        double rate = properties.getSampleRate();
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    /**
+     * 失败的调用是否不经采样全部记录
+     * @return 是否全部记录
+     */
+    public boolean isAlwaysLogErrors() {
+        return properties.isAlwaysLogErrors();
+    }
+
+    /**
+     * 提交审计事件，队列满时丢弃
+     * @param event 审计事件
+     * @return 是否提交成功
+     */
+    public boolean publish(AuditEvent event) {
+        if (!running || !buffer.offer(event)) {
+            dropped.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 被丢弃的事件数
+     * @return 事件数
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * 已写出的事件数
+     * @return 事件数
+     */
+    public long getWritten() {
+        return written.sum();
+    }
+
+    private void drainLoop() {
+        long idleNanos = properties.getDrainInterval().toNanos();
+        while (running) {
+            if (this.drain() == 0) {
+                LockSupport.parkNanos(this, idleNanos);
+            }
+        }
+        this.drain();
+    }
+
+    private int drain() {
+        int count = 0;
+        AuditEvent event;
+        while ((event = buffer.poll()) != null) {
+            try {
+                auditLogger.info(this.format(event));
+                written.increment();
+            } catch (RuntimeException e) {
+                log.warn("write audit event failed", e);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 格式化为一行JSON
+     * @param event 审计事件
+     * @return JSON
+     */
+    String format(AuditEvent event) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("time", Instant.ofEpochMilli(event.getTimestamp()).toString());
+        json.put("mode", event.getMode());
+        json.put("model", event.getModel());
+        json.put("durationMs", event.getDurationMillis());
+        json.put("promptChars", length(event.getPrompt()));
+        json.put("responseChars", length(event.getResponse()));
+        json.put("promptTokens", event.getPromptTokens());
+        json.put("completionTokens", event.getCompletionTokens());
+        if (properties.isIncludeContent()) {
+            json.put("prompt", this.truncate(event.getPrompt()));
+            json.put("response", this.truncate(event.getResponse()));
+        }
+        if (event.getError() != null) {
+            json.put("error", this.truncate(event.getError()));
+        }
+        return JSONUtil.toJsonStr(json);
+    }
+
+    private String truncate(String text) {
+        int max = properties.getMaxContentLength();
+        if (text == null || max <= 0 || text.length() <= max) {
+            return text;
+        }
+        return text.substring(0, max) + String.format(TRUNCATED_SUFFIX, text.length() - max);
+    }
+
+    private static int length(String text) {
+        return text == null ? 0 : text.length();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (worker.isAlive()) {
+            LockSupport.unpark(worker);
+            try {
+                worker.join(properties.getDrainInterval().toMillis() * 10 + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.fw.know.go.ai.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * @Description 有界无锁的多生产者单消费者环形队列
+ * <p>
+ * 每个槽位带一个序号：序号等于写位置时可写，等于写位置+1时可读。生产者通过CAS抢占写位置，
+ * 队列满时 {@link #offer(Object)} 立即返回false，不阻塞请求线程
+ * @Date 21/10/2026 下午3:00
+ * @Author Leo
+ */
+public class MpscRingBuffer<E> {
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> elements;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong producerIndex = new AtomicLong();
+
+    /**
+     * 只有消费者线程读写
+     */
+    private volatile long consumerIndex;
+
+    /**
+     * @param capacity 容量，向上取整为2的幂
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 入队，队列满时返回false
+     * @param element 元素
+     * @return 是否入队成功
+     */
+    public boolean offer(E element) {
+        while (true) {
+            long index = producerIndex.get();
+            int slot = (int) (index & mask);
+            long sequence = sequences.get(slot);
+            if (sequence == index) {
+                if (producerIndex.compareAndSet(index, index + 1)) {
+                    elements.lazySet(slot, element);
+                    sequences.set(slot, index + 1);
+                    return true;
+                }
+            } else if (sequence < index) {
+                // 槽位上一轮的元素还未被消费，队列已满
+                return false;
+            }
+            // sequence > index：其他生产者已抢占该位置，重读写位置
+        }
+    }
+
+    /**
+     * 出队，只能由单个消费者线程调用
+     * @return 元素，队列为空时返回空
+     */
+    public E poll() {
+        long index = consumerIndex;
+        int slot = (int) (index & mask);
+        if (sequences.get(slot) != index + 1) {
+            return null;
+        }
+        E element = elements.get(slot);
+        elements.lazySet(slot, null);
+        sequences.set(slot, index + mask + 1);
+        consumerIndex = index + 1;
+        return element;
+    }
+
+    /**
+     * 容量
+     * @return 容量
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * 近似的元素个数
+     * @return 元素个数
+     */
+    public int size() {
+        return (int) Math.max(0, producerIndex.get() - consumerIndex);
+    }
+}
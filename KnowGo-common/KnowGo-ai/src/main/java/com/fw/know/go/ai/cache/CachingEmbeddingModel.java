@@ -0,0 +1,159 @@
+package com.fw.know.go.ai.cache;
+
+import com.fw.know.go.base.context.ContextSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.LongSupplier;
+
+/**
+ * @Description 缓存单条文本向量的向量模型，检索查询都是单条文本，重复的问题不再调用模型；
+ * 批量向量化（文档入库）不经过缓存；批量问答任务自己一次向量化一批问题，通过 {@link #callWithVectors(Map, Callable)}
+ * 把向量交给检索使用，不读写在线请求共用的缓存
+ * @Date 20/10/2026 上午9:20
+ * @Author Leo
+ */
+public class CachingEmbeddingModel implements EmbeddingModel {
+
+    /**
+     * 调用方提供的向量，存在时单条向量化只查这里，未提供的文本直接调用模型，都不经过缓存
+     */
+    private static final ThreadLocal<Map<String, float[]>> PROVIDED = new ThreadLocal<>();
+
+    static {
+        ContextSnapshot.register(PROVIDED);
+    }
+
+    private final EmbeddingModel delegate;
+
+    private final int maxSize;
+
+    private final long ttlNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final Map<String, Entry> entries;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    /**
+     * @param delegate 向量模型
+     * @param maxSize 最多缓存的文本数
+     * @param ttl 缓存时间
+     * @param nanoClock 纳秒时钟
+     * @param meterRegistry 指标注册表，为空时不上报指标
+     */
+    public CachingEmbeddingModel(EmbeddingModel delegate, int maxSize, Duration ttl, LongSupplier nanoClock,
+                                 MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > CachingEmbeddingModel.this.maxSize;
+            }
+        };
+        this.hits = meterRegistry == null ? null : Counter.builder("ai.embedding.cache")
+                .description("查询向量缓存的命中情况").tag("result", "hit").register(meterRegistry);
+        this.misses = meterRegistry == null ? null : Counter.builder("ai.embedding.cache")
+                .description("查询向量缓存的命中情况").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * 在给定的向量下执行任务，期间的单条向量化优先使用给定的向量，未给定的文本直接调用模型，都不读写缓存
+     * @param vectors 文本及其向量
+     * @param task 任务
+     * @return 任务结果
+     */
+    public static <T> T callWithVectors(Map<String, float[]> vectors, Callable<T> task) throws Exception {
+        Map<String, float[]> previous = PROVIDED.get();
+        PROVIDED.set(vectors);
+        try {
+            return task.call();
+        } finally {
+            if (previous == null) {
+                PROVIDED.remove();
+            } else {
+                PROVIDED.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public float[] embed(String text) {
+        Map<String, float[]> provided = PROVIDED.get();
+        if (provided != null) {
+            float[] vector = provided.get(text);
+            return vector == null ? delegate.embed(text) : vector.clone();
+        }
+        long now = nanoClock.getAsLong();
+        Entry cached;
+        synchronized (entries) {
+            cached = entries.get(text);
+            if (cached != null && now - cached.createdNanos() > ttlNanos) {
+                entries.remove(text);
+                cached = null;
+            }
+        }
+        if (cached != null) {
+            increment(hits);
+            return cached.vector().clone();
+        }
+        increment(misses);
+        float[] vector = delegate.embed(text);
+        synchronized (entries) {
+            entries.put(text, new Entry(vector.clone(), now));
+        }
+        return vector;
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        return delegate.call(request);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return delegate.embed(document);
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+
+    /**
+     * 当前缓存的文本数
+     * @return 文本数
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public EmbeddingModel getDelegate() {
+        return delegate;
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private record Entry(float[] vector, long createdNanos) {
+    }
+}
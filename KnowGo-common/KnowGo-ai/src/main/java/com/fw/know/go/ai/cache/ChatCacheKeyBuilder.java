@@ -0,0 +1,72 @@
+package com.fw.know.go.ai.cache;
+
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.document.Document;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * @Description 问答结果缓存Key，由归一化问题、上下文指纹和模型参数签名组成
+ * @Date 19/10/2026 下午2:10
+ * @Author Leo
+ */
+public final class ChatCacheKeyBuilder {
+
+    /**
+     * 上下文指纹中每篇文档截取的字符数
+     */
+    private static final int FINGERPRINT_CONTENT_LENGTH = 200;
+
+    private ChatCacheKeyBuilder() {
+    }
+
+    /**
+     * 构建缓存Key
+     * @param question 用户问题
+     * @param documents 相关文档
+     * @param chatOptions 聊天选项
+     * @return 缓存Key
+     */
+    public static String build(String question, List<Document> documents, ChatOptions chatOptions) {
+        // 1. 查询归一化
+        String normalizedQuestion = question.trim().toLowerCase().replaceAll("\\s+", "");
+        // 2. 生成上下文指纹
+        String contextFingerprint = contextFingerprint(documents);
+        // 3. 生成LLM参数签名
+        String llmSignature = llmSignature(chatOptions);
+        // 4. 拼接哈希
+        return DigestUtils.md5DigestAsHex((normalizedQuestion + "|" + contextFingerprint + "|" + llmSignature)
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 生成上下文指纹
+     * @param retrievedDocs 检索到的文档
+     * @return 上下文指纹
+     */
+    public static String contextFingerprint(List<Document> retrievedDocs) {
+        StringBuilder sb = new StringBuilder();
+        for (Document doc : retrievedDocs) {
+            // 格式化内容每次调用都会重新拼接元数据，只取一次
+            String content = doc.getFormattedContent();
+            String contentSub = content.length() > FINGERPRINT_CONTENT_LENGTH
+                    ? content.substring(0, FINGERPRINT_CONTENT_LENGTH) : content;
+            sb.append(doc.getId()).append("_").append(contentSub).append("|");
+        }
+        return DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 生成LLM参数签名
+     * @param options LLM参数
+     * @return LLM参数签名
+     */
+    public static String llmSignature(ChatOptions options) {
+        return String.format("%s|%.1f|%d",
+                options.getModel(),
+                options.getTemperature(),
+                options.getMaxTokens());
+    }
+}
@@ -0,0 +1,189 @@
+package com.fw.know.go.ai.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * @Description 按租户分区的本地缓存，每个分区一个LRU，按估算的字节数而不是条目数限额：
+ * 租户写满自己的配额只会淘汰自己分区的条目，不会把其他租户的热点挤出缓存；
+ * 所有分区合计超过总上限时，从占用最多的分区淘汰
+ * <p>
+ * 只有配置了配额的租户有独立分区，其余租户共用一个按默认配额限额的共享分区（条目键带租户，互相读不到），
+ * 不断更换租户标识也只能占满共享分区，挤不掉已配置租户的条目
+ * @Date 20/10/2026 下午5:20
+ * @Author Leo
+ */
+public class TenantQuotaCache<V> {
+
+    /**
+     * 每个条目除键值外的估算开销：Map节点、条目对象和两个字符串对象头
+     */
+    private static final long ENTRY_OVERHEAD = 96;
+
+    /**
+     * 未配置配额的租户共用的分区，租户标识不含该字符，不会与已配置的租户冲突
+     */
+    static final String SHARED_PARTITION = "*";
+
+    private final long defaultQuotaBytes;
+
+    private final Map<String, Long> tenantQuotaBytes;
+
+    private final long maxBytes;
+
+    private final long ttlNanos;
+
+    private final ToLongFunction<V> weigher;
+
+    private final LongSupplier nanoClock;
+
+    private final Map<String, Partition<V>> partitions = new HashMap<>();
+
+    private long totalBytes;
+
+    /**
+     * @param defaultQuotaBytes 共享分区的配额，未单独配置的租户共用
+     * @param tenantQuotaBytes 有独立分区的租户及其配额
+     * @param maxBytes 所有租户合计的上限
+     * @param ttl 条目的存活时间
+     * @param weigher 值的字节数估算
+     * @param nanoClock 纳秒时钟
+     */
+    public TenantQuotaCache(long defaultQuotaBytes, Map<String, Long> tenantQuotaBytes, long maxBytes, Duration ttl,
+                            ToLongFunction<V> weigher, LongSupplier nanoClock) {
+        this.defaultQuotaBytes = defaultQuotaBytes;
+        this.tenantQuotaBytes = tenantQuotaBytes;
+        this.maxBytes = maxBytes;
+        this.ttlNanos = ttl.toNanos();
+        this.weigher = weigher;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 读取缓存，过期的条目被移除
+     * @param tenant 租户
+     * @param key 键
+     * @return 值，不存在或已过期时为null
+     */
+    public synchronized V get(String tenant, String key) {
+        String name = this.partitionOf(tenant);
+        Partition<V> partition = partitions.get(name);
+        if (partition == null) {
+            return null;
+        }
+        String entryKey = this.entryKey(name, tenant, key);
+        Entry<V> entry = partition.entries.get(entryKey);
+        if (entry == null) {
+            return null;
+        }
+        if (nanoClock.getAsLong() - entry.createdNanos > ttlNanos) {
+            this.remove(name, partition, entryKey);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * 写入缓存，超过租户配额时淘汰该租户最久未访问的条目；单个条目超过配额时不缓存
+     * @param tenant 租户
+     * @param key 键
+     * @param value 值
+     */
+    public synchronized void put(String tenant, String key, V value) {
+        String name = this.partitionOf(tenant);
+        String entryKey = this.entryKey(name, tenant, key);
+        long weight = ENTRY_OVERHEAD + 2L * entryKey.length() + weigher.applyAsLong(value);
+        long quota = this.quotaOf(name);
+        Partition<V> partition = partitions.get(name);
+        if (partition != null) {
+            this.remove(name, partition, entryKey);
+        }
+        if (weight > quota || weight > maxBytes) {
+            return;
+        }
+        partition = partitions.computeIfAbsent(name, ignored -> new Partition<>());
+        partition.entries.put(entryKey, new Entry<>(value, weight, nanoClock.getAsLong()));
+        partition.bytes += weight;
+        totalBytes += weight;
+        while (partition.bytes > quota) {
+            this.evictEldest(name, partition);
+        }
+        while (totalBytes > maxBytes) {
+            String largest = null;
+            for (Map.Entry<String, Partition<V>> candidate : partitions.entrySet()) {
+                if (largest == null || candidate.getValue().bytes > partitions.get(largest).bytes) {
+                    largest = candidate.getKey();
+                }
+            }
+            this.evictEldest(largest, partitions.get(largest));
+        }
+    }
+
+    /**
+     * 租户所在分区当前占用的字节数，未配置配额的租户返回共享分区的字节数
+     * @param tenant 租户
+     * @return 字节数
+     */
+    public synchronized long bytes(String tenant) {
+        Partition<V> partition = partitions.get(this.partitionOf(tenant));
+        return partition == null ? 0 : partition.bytes;
+    }
+
+    /**
+     * 所有租户合计占用的字节数
+     * @return 字节数
+     */
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private String partitionOf(String tenant) {
+        return tenantQuotaBytes.containsKey(tenant) ? tenant : SHARED_PARTITION;
+    }
+
+    private String entryKey(String partition, String tenant, String key) {
+        return SHARED_PARTITION.equals(partition) ? tenant + ':' + key : key;
+    }
+
+    private long quotaOf(String partition) {
+        Long quota = tenantQuotaBytes.get(partition);
+        return quota == null ? defaultQuotaBytes : quota;
+    }
+
+    private void evictEldest(String tenant, Partition<V> partition) {
+        Iterator<Map.Entry<String, Entry<V>>> iterator = partition.entries.entrySet().iterator();
+        Entry<V> eldest = iterator.next().getValue();
+        iterator.remove();
+        this.onRemoved(tenant, partition, eldest);
+    }
+
+    private void remove(String tenant, Partition<V> partition, String key) {
+        Entry<V> removed = partition.entries.remove(key);
+        if (removed != null) {
+            this.onRemoved(tenant, partition, removed);
+        }
+    }
+
+    private void onRemoved(String tenant, Partition<V> partition, Entry<V> entry) {
+        partition.bytes -= entry.weight;
+        totalBytes -= entry.weight;
+        if (partition.entries.isEmpty()) {
+            partitions.remove(tenant);
+        }
+    }
+
+    private static final class Partition<V> {
+
+        private final LinkedHashMap<String, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        private long bytes;
+    }
+
+    private record Entry<V>(V value, long weight, long createdNanos) {
+    }
+}
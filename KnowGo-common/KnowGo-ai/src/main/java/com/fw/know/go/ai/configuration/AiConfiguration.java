@@ -0,0 +1,120 @@
+package com.fw.know.go.ai.configuration;
+
+import com.fw.know.go.ai.audit.AsyncAuditAdvisor;
+import com.fw.know.go.ai.audit.AuditEventWriter;
+import com.fw.know.go.ai.limiter.ConcurrencyLimitAdvisor;
+import com.fw.know.go.ai.limiter.ConcurrencyLimiterRegistry;
+import com.fw.know.go.ai.limiter.EmbeddingModelLimiterPostProcessor;
+import com.fw.know.go.ai.metrics.TokenUsageMetricsAdvisor;
+import com.fw.know.go.ai.router.ModelLatencyTracker;
+import com.fw.know.go.ai.router.ModelRouter;
+import com.fw.know.go.ai.usage.InMemoryTokenUsageStore;
+import com.fw.know.go.ai.usage.TokenUsageAccumulator;
+import com.fw.know.go.ai.usage.TokenUsageFlusher;
+import com.fw.know.go.ai.usage.TokenUsageService;
+import com.fw.know.go.ai.usage.TokenUsageStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @Description 大模型模块配置类
+ * @Date 19/10/2026 下午4:20
+ * @Author Leo
+ */
+@Configuration
+@EnableConfigurationProperties({ConcurrencyLimiterProperties.class, ModelRouterProperties.class, AuditProperties.class,
+        UsageProperties.class, EmbeddingCacheProperties.class})
+public class AiConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ConcurrencyLimiterRegistry concurrencyLimiterRegistry(ConcurrencyLimiterProperties properties,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ConcurrencyLimiterRegistry(properties, meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ConcurrencyLimitAdvisor concurrencyLimitAdvisor(ConcurrencyLimiterRegistry concurrencyLimiterRegistry) {
+        return new ConcurrencyLimitAdvisor(concurrencyLimiterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ModelLatencyTracker modelLatencyTracker(ModelRouterProperties properties,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ModelLatencyTracker(properties.getLatencyWindow(), properties.knownModels(),
+                meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ModelRouter modelRouter(ModelRouterProperties properties, ModelLatencyTracker modelLatencyTracker,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ModelRouter(properties, modelLatencyTracker, meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public static EmbeddingModelLimiterPostProcessor embeddingModelLimiterPostProcessor(
+            ObjectProvider<ConcurrencyLimiterRegistry> concurrencyLimiterRegistry,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ObjectProvider<TokenUsageAccumulator> tokenUsageAccumulator,
+            ObjectProvider<EmbeddingCacheProperties> embeddingCacheProperties) {
+        return new EmbeddingModelLimiterPostProcessor(concurrencyLimiterRegistry, meterRegistry, tokenUsageAccumulator,
+                embeddingCacheProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenUsageMetricsAdvisor tokenUsageMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                             ObjectProvider<TokenUsageAccumulator> tokenUsageAccumulator) {
+        return new TokenUsageMetricsAdvisor(meterRegistry.getIfAvailable(), tokenUsageAccumulator.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = UsageProperties.PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TokenUsageAccumulator tokenUsageAccumulator(UsageProperties usageProperties) {
+        return new TokenUsageAccumulator(usageProperties.getTenants());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = UsageProperties.PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TokenUsageStore tokenUsageStore() {
+        return new InMemoryTokenUsageStore();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = UsageProperties.PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TokenUsageFlusher tokenUsageFlusher(TokenUsageAccumulator tokenUsageAccumulator,
+                                               TokenUsageStore tokenUsageStore, UsageProperties properties) {
+        return new TokenUsageFlusher(tokenUsageAccumulator, tokenUsageStore, properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = UsageProperties.PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TokenUsageService tokenUsageService(TokenUsageAccumulator tokenUsageAccumulator,
+                                               TokenUsageStore tokenUsageStore, UsageProperties properties) {
+        return new TokenUsageService(tokenUsageAccumulator, tokenUsageStore, properties);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public AuditEventWriter auditEventWriter(AuditProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new AuditEventWriter(properties, meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AsyncAuditAdvisor asyncAuditAdvisor(AuditEventWriter auditEventWriter) {
+        return new AsyncAuditAdvisor(auditEventWriter);
+    }
+}
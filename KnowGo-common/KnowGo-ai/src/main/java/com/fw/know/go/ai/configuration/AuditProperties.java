@@ -0,0 +1,58 @@
+package com.fw.know.go.ai.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @Description 大模型调用审计日志配置属性
+ * @Date 21/10/2026 下午3:10
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = AuditProperties.PREFIX)
+public class AuditProperties {
+
+    public static final String PREFIX = "know.go.ai.audit";
+
+    /**
+     * 是否启用审计日志
+     */
+    private boolean enabled = true;
+
+    /**
+     * 采样率，取值 0~1
+     */
+    private double sampleRate = 0.1;
+
+    /**
+     * 失败的调用是否不经采样全部记录
+     */
+    private boolean alwaysLogErrors = true;
+
+    /**
+     * 提示词和回答的最大记录长度，超出部分截断
+     */
+    private int maxContentLength = 2000;
+
+    /**
+     * 是否记录提示词和回答的内容，关闭后只记录长度和用量
+     */
+    private boolean includeContent = true;
+
+    /**
+     * 环形队列容量，队列满时丢弃新事件
+     */
+    private int bufferSize = 4096;
+
+    /**
+     * 队列为空时后台写线程的等待间隔
+     */
+    private Duration drainInterval = Duration.ofMillis(50);
+
+    /**
+     * 审计日志使用的Logger名称，可在日志配置中单独输出到文件
+     */
+    private String loggerName = "knowgo.ai.audit";
+}
@@ -0,0 +1,131 @@
+package com.fw.know.go.ai.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @Description 大模型调用并发限制配置属性
+ * @Date 19/10/2026 下午3:22
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = ConcurrencyLimiterProperties.PREFIX)
+public class ConcurrencyLimiterProperties {
+
+    public static final String PREFIX = "know.go.ai.limiter";
+
+    /**
+     * 是否启用并发限制
+     */
+    private boolean enabled = true;
+
+    /**
+     * 默认的并发池配置
+     */
+    private Pool defaults = Pool.defaults();
+
+    /**
+     * 按并发池名称覆盖的配置，名称如 chat-interactive、embedding-bulk；未配置的字段取 defaults 中的值
+     */
+    private Map<String, Pool> pools = new HashMap<>();
+
+    /**
+     * 单独排队的租户及其权重，排队时租户之间按权重分享许可；未配置的租户合并为一个权重为1的共享租户
+     */
+    private Map<String, Double> tenantWeights = new HashMap<>();
+
+    /**
+     * 获取并发池配置，池中未配置的字段取默认配置
+     * @param name 并发池名称
+     * @return 并发池配置
+     */
+    public Pool getPool(String name) {
+        Pool pool = pools.get(name);
+        return pool == null ? defaults : pool.withDefaults(defaults);
+    }
+
+    /**
+     * 并发池配置，字段为空表示未配置
+     */
+    @Data
+    public static class Pool {
+
+        /**
+         * 初始并发上限
+         */
+        private Integer initialLimit;
+
+        /**
+         * 最小并发上限
+         */
+        private Integer minLimit;
+
+        /**
+         * 最大并发上限
+         */
+        private Integer maxLimit;
+
+        /**
+         * 被限流或超时后的乘性回退比例
+         */
+        private Double backoffRatio;
+
+        /**
+         * 单次调用的耗时阈值，超过视为服务过载，为空表示只按限流判断
+         */
+        private Duration latencyThreshold;
+
+        /**
+         * 排队等待的最长时间
+         */
+        private Duration maxQueueWait;
+
+        /**
+         * 最大排队数
+         */
+        private Integer maxQueued;
+
+        /**
+         * 单个租户的最大排队数，为0时不单独限制
+         */
+        private Integer maxQueuedPerTenant;
+
+        /**
+         * 内置的默认配置
+         * @return 并发池配置
+         */
+        public static Pool defaults() {
+            Pool pool = new Pool();
+            pool.setInitialLimit(8);
+            pool.setMinLimit(1);
+            pool.setMaxLimit(64);
+            pool.setBackoffRatio(0.9);
+            pool.setMaxQueueWait(Duration.ofSeconds(2));
+            pool.setMaxQueued(100);
+            pool.setMaxQueuedPerTenant(0);
+            return pool;
+        }
+
+        /**
+         * 用默认配置补全未配置的字段
+         * @param defaults 默认配置
+         * @return 补全后的并发池配置，不修改当前对象
+         */
+        public Pool withDefaults(Pool defaults) {
+            Pool merged = new Pool();
+            merged.setInitialLimit(initialLimit != null ? initialLimit : defaults.getInitialLimit());
+            merged.setMinLimit(minLimit != null ? minLimit : defaults.getMinLimit());
+            merged.setMaxLimit(maxLimit != null ? maxLimit : defaults.getMaxLimit());
+            merged.setBackoffRatio(backoffRatio != null ? backoffRatio : defaults.getBackoffRatio());
+            merged.setLatencyThreshold(latencyThreshold != null ? latencyThreshold : defaults.getLatencyThreshold());
+            merged.setMaxQueueWait(maxQueueWait != null ? maxQueueWait : defaults.getMaxQueueWait());
+            merged.setMaxQueued(maxQueued != null ? maxQueued : defaults.getMaxQueued());
+            merged.setMaxQueuedPerTenant(maxQueuedPerTenant != null ? maxQueuedPerTenant : defaults.getMaxQueuedPerTenant());
+            return merged;
+        }
+    }
+}
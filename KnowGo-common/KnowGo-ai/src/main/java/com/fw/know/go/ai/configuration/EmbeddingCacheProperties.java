@@ -0,0 +1,33 @@
+package com.fw.know.go.ai.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @Description 查询向量缓存配置属性
+ * @Date 20/10/2026 上午9:10
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = EmbeddingCacheProperties.PREFIX)
+public class EmbeddingCacheProperties {
+
+    public static final String PREFIX = "know.go.ai.embedding-cache";
+
+    /**
+     * 是否缓存单条文本（检索查询）的向量
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最多缓存的文本数，超出时淘汰最久未使用的
+     */
+    private int maxSize = 10000;
+
+    /**
+     * 缓存时间
+     */
+    private Duration ttl = Duration.ofHours(1);
+}
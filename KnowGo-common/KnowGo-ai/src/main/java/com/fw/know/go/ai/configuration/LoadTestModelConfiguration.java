@@ -0,0 +1,34 @@
+package com.fw.know.go.ai.configuration;
+
+import com.fw.know.go.ai.loadtest.HashEmbeddingModel;
+import com.fw.know.go.ai.loadtest.SimulatedChatModel;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * @Description 压测用本地模型配置，know.go.ai.loadtest.enabled=true 时生效，不访问DashScope
+ * @Date 19/10/2026 下午4:40
+ * @Author Leo
+ */
+@Configuration
+@EnableConfigurationProperties(LoadTestModelProperties.class)
+@ConditionalOnProperty(prefix = LoadTestModelProperties.PREFIX, name = "enabled", havingValue = "true")
+public class LoadTestModelConfiguration {
+
+    @Bean
+    @Primary
+    public EmbeddingModel hashEmbeddingModel(LoadTestModelProperties properties) {
+        return new HashEmbeddingModel(properties.getEmbedding());
+    }
+
+    @Bean
+    @Primary
+    public ChatModel simulatedChatModel(LoadTestModelProperties properties) {
+        return new SimulatedChatModel(properties.getChat(), properties.getSeed());
+    }
+}
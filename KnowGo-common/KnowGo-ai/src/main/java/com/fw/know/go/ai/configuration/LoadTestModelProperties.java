@@ -0,0 +1,76 @@
+package com.fw.know.go.ai.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @Description 压测用本地模型配置属性，启用后以本地实现替代DashScope的对话和向量模型
+ * @Date 19/10/2026 下午4:10
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = LoadTestModelProperties.PREFIX)
+public class LoadTestModelProperties {
+
+    public static final String PREFIX = "know.go.ai.loadtest";
+
+    /**
+     * 是否启用本地模型
+     */
+    private boolean enabled = false;
+
+    /**
+     * 随机种子，相同种子下延迟抖动序列相同
+     */
+    private long seed = 20261019L;
+
+    /**
+     * 向量模型配置
+     */
+    private Embedding embedding = new Embedding();
+
+    /**
+     * 对话模型配置
+     */
+    private Chat chat = new Chat();
+
+    @Data
+    public static class Embedding {
+
+        /**
+         * 向量维度，与 text-embedding-v1 一致
+         */
+        private int dimensions = 1536;
+
+        /**
+         * 每次调用的固定延迟
+         */
+        private Duration latency = Duration.ofMillis(20);
+    }
+
+    @Data
+    public static class Chat {
+
+        /**
+         * 首个token的延迟
+         */
+        private Duration firstTokenLatency = Duration.ofMillis(500);
+
+        /**
+         * 每秒生成的token数
+         */
+        private int tokensPerSecond = 50;
+
+        /**
+         * 每次回答生成的token数
+         */
+        private int completionTokens = 200;
+
+        /**
+         * 延迟的随机抖动比例，0.2表示在±20%内浮动
+         */
+        private double jitter = 0.2;
+    }
+}
@@ -0,0 +1,137 @@
+package com.fw.know.go.ai.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @Description 模型路由配置属性
+ * @Date 20/10/2026 上午10:02
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = ModelRouterProperties.PREFIX)
+public class ModelRouterProperties {
+
+    public static final String PREFIX = "know.go.ai.router";
+
+    /**
+     * 是否启用路由，关闭时直接使用请求指定的模型
+     */
+    private boolean enabled = true;
+
+    /**
+     * 请求未指定模型且没有规则命中时使用的模型
+     */
+    private String defaultModel;
+
+    /**
+     * 请求指定了模型时是否仍按规则改写
+     */
+    private boolean overrideRequestedModel = false;
+
+    /**
+     * 请求还可以指定的模型；默认模型、规则和备用模型中出现的模型始终可以指定，其余模型拒绝
+     */
+    private Set<String> allowedModels = new HashSet<>();
+
+    /**
+     * 路由规则，按顺序匹配，第一个命中的规则生效
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    /**
+     * 主模型对应的备用模型
+     */
+    private Map<String, String> fallbacks = new HashMap<>();
+
+    /**
+     * 没有单独配置备用模型时使用的备用模型
+     */
+    private String defaultFallback;
+
+    /**
+     * 主模型超过该耗时仍未返回时切换到备用模型
+     */
+    private Duration slo = Duration.ofSeconds(20);
+
+    /**
+     * 对冲请求配置
+     */
+    private Hedge hedge = new Hedge();
+
+    /**
+     * 延迟直方图的统计窗口
+     */
+    private Duration latencyWindow = Duration.ofMinutes(1);
+
+    /**
+     * 配置中出现的全部模型：默认模型、规则、备用模型和 allowedModels
+     * @return 模型名称
+     */
+    public Set<String> knownModels() {
+        Set<String> models = new HashSet<>(allowedModels);
+        models.add(defaultModel);
+        models.add(defaultFallback);
+        rules.forEach(rule -> models.add(rule.getModel()));
+        models.addAll(fallbacks.keySet());
+        models.addAll(fallbacks.values());
+        models.removeIf(model -> model == null || model.isBlank());
+        return Set.copyOf(models);
+    }
+
+    @Data
+    public static class Rule {
+
+        /**
+         * 问题最大长度（字符数），为空表示不限制
+         */
+        private Integer maxQuestionLength;
+
+        /**
+         * 问题需匹配的正则，为空表示不限制
+         */
+        private String pattern;
+
+        /**
+         * 命中后使用的模型
+         */
+        private String model;
+    }
+
+    @Data
+    public static class Hedge {
+
+        /**
+         * 是否启用对冲请求
+         */
+        private boolean enabled = false;
+
+        /**
+         * 主模型耗时超过该分位仍未返回时向备用模型发出对冲请求
+         */
+        private double quantile = 0.95;
+
+        /**
+         * 计算分位所需的最少样本数，不足时使用 maxDelay
+         */
+        private long minSamples = 20;
+
+        /**
+         * 对冲延迟下限
+         */
+        private Duration minDelay = Duration.ofMillis(500);
+
+        /**
+         * 对冲延迟上限
+         */
+        private Duration maxDelay = Duration.ofSeconds(10);
+    }
+}
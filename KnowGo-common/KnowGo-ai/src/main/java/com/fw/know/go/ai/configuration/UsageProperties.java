@@ -0,0 +1,78 @@
+package com.fw.know.go.ai.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @Description token用量统计配置属性
+ * @Date 19/10/2026 上午10:30
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = UsageProperties.PREFIX)
+public class UsageProperties {
+
+    public static final String PREFIX = "know.go.ai.usage";
+
+    /**
+     * 是否启用用量统计
+     */
+    private boolean enabled = true;
+
+    /**
+     * 内存增量写入存储的间隔
+     */
+    private Duration flushInterval = Duration.ofSeconds(30);
+
+    /**
+     * 按天归集用量使用的时区
+     */
+    private ZoneId zone = ZoneId.of("Asia/Shanghai");
+
+    /**
+     * 用量数据的保留时间
+     */
+    private Duration retention = Duration.ofDays(90);
+
+    /**
+     * 计价货币
+     */
+    private String currency = "CNY";
+
+    /**
+     * 单独统计用量的租户，其余租户的用量合并计入共享租户 *
+     */
+    private Set<String> tenants = new HashSet<>();
+
+    /**
+     * 可以查询所有租户用量的管理租户，其余租户只能查询自己的用量
+     */
+    private Set<String> adminTenants = new HashSet<>();
+
+    /**
+     * 按模型配置的单价，未配置的模型不计费用
+     */
+    private Map<String, Price> prices = new HashMap<>();
+
+    @Data
+    public static class Price {
+
+        /**
+         * 每千个提示词（输入）token的价格
+         */
+        private BigDecimal promptPer1k = BigDecimal.ZERO;
+
+        /**
+         * 每千个生成（输出）token的价格
+         */
+        private BigDecimal completionPer1k = BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,46 @@
+package com.fw.know.go.ai.exception;
+
+import com.fw.know.go.base.exception.ErrorCode;
+
+/**
+ * @Description 大模型模块错误码
+ * @Date 19/10/2026 下午3:10
+ * @Author Leo
+ */
+public enum AiErrorCode implements ErrorCode {
+
+    /**
+     * 并发已满，排队超时或队列已满
+     */
+    CONCURRENCY_LIMIT_EXCEEDED("AI_CONCURRENCY_LIMIT_EXCEEDED", "当前请求过多，请稍后再试"),
+
+    /**
+     * 模型调用失败
+     */
+    MODEL_CALL_FAILED("AI_MODEL_CALL_FAILED", "模型调用失败"),
+
+    /**
+     * 请求指定的模型不在路由配置中
+     */
+    MODEL_NOT_ALLOWED("AI_MODEL_NOT_ALLOWED", "不支持的模型"),
+    ;
+
+    private final String code;
+
+    private final String message;
+
+    AiErrorCode(String code, String message) {
+        this.code = code;
+        this.message = message;
+    }
+
+    @Override
+    public String getCode() {
+        return this.code;
+    }
+
+    @Override
+    public String getMessage() {
+        return this.message;
+    }
+}
@@ -0,0 +1,28 @@
+package com.fw.know.go.ai.exception;
+
+import com.fw.know.go.base.exception.ErrorCode;
+import com.fw.know.go.base.exception.SystemException;
+
+/**
+ * @Description 大模型模块异常
+ * @Date 19/10/2026 下午3:10
+ * @Author Leo
+ */
+public class AiException extends SystemException {
+
+    public AiException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+
+    public AiException(String message, ErrorCode errorCode) {
+        super(message, errorCode);
+    }
+
+    public AiException(Throwable cause, ErrorCode errorCode) {
+        super(cause, errorCode);
+    }
+
+    public AiException(String message, Throwable cause, ErrorCode errorCode) {
+        super(message, cause, errorCode);
+    }
+}
@@ -0,0 +1,387 @@
+package com.fw.know.go.ai.limiter;
+
+import com.fw.know.go.ai.configuration.ConcurrencyLimiterProperties;
+import com.fw.know.go.ai.exception.AiErrorCode;
+import com.fw.know.go.ai.exception.AiException;
+import com.fw.know.go.base.context.DeadlineContext;
+import com.fw.know.go.base.context.RequestContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * @Description AIMD自适应并发限制器
+ * <p>
+ * 调用成功且并发接近上限时上限加性增长（每轮 +1），被限流(429)或超过耗时阈值时上限乘性回退，
+ * 并发已满的请求在有界队列中等待，超时或队列已满直接拒绝，吞吐最终稳定在服务端的实际容量附近
+ * <p>
+ * 排队按租户加权公平调度（起始时间公平排队）：每个排队请求按所属租户上一个请求的结束标签和系统虚拟时间
+ * 取得起始标签，空出的许可总是交给起始标签最小的请求，租户之间按权重分享许可，
+ * 一个租户的突发请求只会排在自己的队尾，不会挤占其他租户；每个租户的排队数另有上限。
+ * 只有配置了权重的租户单独排队，其余租户合并为一个共享租户，不断更换租户标识也只能占到一个租户的份额
+ * @Date 19/10/2026 下午3:30
+ * @Author Leo
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * 未配置权重的租户共用的排队标识，租户标识不含该字符，不会与已配置的租户冲突
+     */
+    static final String SHARED_TENANT = "*";
+
+    private final String name;
+
+    private final ConcurrencyLimiterProperties.Pool config;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final Map<String, Double> tenantWeights;
+
+    /**
+     * 排队中的请求，按起始标签、到达顺序排列
+     */
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+            Comparator.comparingDouble(Waiter::startTag).thenComparingLong(Waiter::sequence));
+
+    /**
+     * 有请求排队的租户：上一个请求的结束标签
+     */
+    private final Map<String, Double> finishTags = new HashMap<>();
+
+    /**
+     * 有请求排队的租户：排队数
+     */
+    private final Map<String, Integer> queuedByTenant = new HashMap<>();
+
+    private double limit;
+
+    private int inFlight;
+
+    /**
+     * 系统虚拟时间，即最近一个获得许可的排队请求的起始标签
+     */
+    private double virtualTime;
+
+    private long sequence;
+
+    public AdaptiveConcurrencyLimiter(String name, ConcurrencyLimiterProperties.Pool config) {
+        this(name, config, Map.of());
+    }
+
+    /**
+     * @param name 并发池名称
+     * @param config 并发池配置
+     * @param tenantWeights 单独排队的租户及其权重，其余租户合并为权重1的共享租户
+     */
+    public AdaptiveConcurrencyLimiter(String name, ConcurrencyLimiterProperties.Pool config,
+                                      Map<String, Double> tenantWeights) {
+        this.name = name;
+        this.config = config;
+        this.tenantWeights = tenantWeights;
+        this.limit = Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), config.getInitialLimit()));
+    }
+
+    /**
+     * 在并发限制内执行调用
+     * @param call 调用
+     * @return 调用结果
+     */
+    public <T> T execute(Supplier<T> call) {
+        Permit permit = this.acquire();
+        try {
+            T result = call.get();
+            permit.onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            if (ThrottlingClassifier.isThrottled(e)) {
+                permit.onDropped();
+            } else {
+                permit.onIgnore();
+            }
+            throw e;
+        } catch (Error e) {
+            permit.onIgnore();
+            throw e;
+        }
+    }
+
+    /**
+     * 获取许可，并发已满时有界等待，等待时间不超过当前请求的剩余时间
+     * @return 许可
+     */
+    public Permit acquire() {
+        long maxWaitNanos = config.getMaxQueueWait().toNanos();
+        Duration remaining = DeadlineContext.remaining();
+        if (remaining != null) {
+            maxWaitNanos = Math.min(maxWaitNanos, remaining.toNanos());
+        }
+        return this.acquire(maxWaitNanos);
+    }
+
+    /**
+     * 获取许可，并发已满时最多等待指定时间
+     * @param maxWaitNanos 最长等待时间
+     * @return 许可
+     */
+    public Permit acquire(long maxWaitNanos) {
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && inFlight < currentLimit()) {
+                inFlight++;
+                return new Permit();
+            }
+            String tenant = this.bucketOf(RequestContext.current().getTenantId());
+            if (waiters.size() >= config.getMaxQueued() || maxWaitNanos <= 0) {
+                throw this.reject("queue full");
+            }
+            if (queuedByTenant.getOrDefault(tenant, 0) >= this.maxQueuedPerTenant()) {
+                throw this.reject("tenant queue full");
+            }
+            Waiter waiter = this.enqueue(tenant);
+            try {
+                long remaining = Math.min(maxWaitNanos, config.getMaxQueueWait().toNanos());
+                while (!waiter.granted) {
+                    if (remaining <= 0) {
+                        this.dequeue(waiter);
+                        throw this.reject("queue wait timeout");
+                    }
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+                return new Permit();
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    // 许可已交给本请求，归还后转给下一个排队请求
+                    inFlight--;
+                    this.grantWaiters();
+                } else {
+                    this.dequeue(waiter);
+                }
+                Thread.currentThread().interrupt();
+                throw this.reject("interrupted");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 排队：起始标签取系统虚拟时间和该租户上一个请求的结束标签中的较大值，结束标签按权重递增
+     */
+    private Waiter enqueue(String tenant) {
+        double startTag = Math.max(virtualTime, finishTags.getOrDefault(tenant, 0.0));
+        finishTags.put(tenant, startTag + 1.0 / this.weight(tenant));
+        queuedByTenant.merge(tenant, 1, Integer::sum);
+        Waiter waiter = new Waiter(tenant, startTag, sequence++, lock.newCondition());
+        waiters.add(waiter);
+        return waiter;
+    }
+
+    private void dequeue(Waiter waiter) {
+        if (waiters.remove(waiter)) {
+            this.onDequeued(waiter);
+        }
+    }
+
+    private void onDequeued(Waiter waiter) {
+        queuedByTenant.computeIfPresent(waiter.tenant, (tenant, count) -> count > 1 ? count - 1 : null);
+        if (waiters.isEmpty()) {
+            // 没有排队请求时各租户重新起步，标签不累积
+            finishTags.clear();
+        }
+    }
+
+    /**
+     * 把空出的许可依次交给起始标签最小的排队请求
+     */
+    private void grantWaiters() {
+        while (!waiters.isEmpty() && inFlight < currentLimit()) {
+            Waiter waiter = waiters.poll();
+            this.onDequeued(waiter);
+            virtualTime = Math.max(virtualTime, waiter.startTag);
+            waiter.granted = true;
+            inFlight++;
+            waiter.condition.signal();
+        }
+    }
+
+    private String bucketOf(String tenant) {
+        return tenantWeights.containsKey(tenant) ? tenant : SHARED_TENANT;
+    }
+
+    private double weight(String tenant) {
+        Double weight = tenantWeights.get(tenant);
+        return weight == null || weight <= 0 ? 1.0 : weight;
+    }
+
+    private int maxQueuedPerTenant() {
+        return config.getMaxQueuedPerTenant() > 0 ? config.getMaxQueuedPerTenant() : config.getMaxQueued();
+    }
+
+    private void release(long latencyNanos, Outcome outcome) {
+        lock.lock();
+        try {
+            int before = currentLimit();
+            if (outcome == Outcome.SUCCESS && config.getLatencyThreshold() != null
+                    && latencyNanos > config.getLatencyThreshold().toNanos()) {
+                outcome = Outcome.DROPPED;
+            }
+            if (outcome == Outcome.SUCCESS) {
+                // 只有并发用到一半以上时才增长，避免低负载下上限无意义地膨胀
+                if (inFlight * 2 >= before) {
+                    limit = Math.min(config.getMaxLimit(), limit + 1.0 / limit);
+                }
+            } else if (outcome == Outcome.DROPPED) {
+                limit = Math.max(config.getMinLimit(), limit * config.getBackoffRatio());
+                log.warn("concurrency limiter [{}] backoff, limit={}, inFlight={}", name, currentLimit(), inFlight);
+            }
+            inFlight--;
+            this.grantWaiters();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private AiException reject(String reason) {
+        rejected.increment();
+        log.warn("concurrency limiter [{}] rejected: {}, limit={}, inFlight={}, queued={}",
+                name, reason, currentLimit(), inFlight, waiters.size());
+        return new AiException(AiErrorCode.CONCURRENCY_LIMIT_EXCEEDED);
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * 排队中的请求，许可由释放方直接交给它
+     */
+    private static final class Waiter {
+
+        private final String tenant;
+
+        private final double startTag;
+
+        private final long sequence;
+
+        private final Condition condition;
+
+        private boolean granted;
+
+        private Waiter(String tenant, double startTag, long sequence, Condition condition) {
+            this.tenant = tenant;
+            this.startTag = startTag;
+            this.sequence = sequence;
+            this.condition = condition;
+        }
+
+        private double startTag() {
+            return startTag;
+        }
+
+        private long sequence() {
+            return sequence;
+        }
+    }
+
+    private enum Outcome {
+        SUCCESS, DROPPED, IGNORED
+    }
+
+    /**
+     * 并发许可，必须且只能释放一次
+     */
+    public final class Permit {
+
+        private final long startNanos = System.nanoTime();
+
+        private boolean released;
+
+        private Permit() {
+        }
+
+        /**
+         * 调用成功
+         */
+        public void onSuccess() {
+            this.release(Outcome.SUCCESS);
+        }
+
+        /**
+         * 调用被限流或超时，触发回退
+         */
+        public void onDropped() {
+            this.release(Outcome.DROPPED);
+        }
+
+        /**
+         * 调用失败但与服务端容量无关，不影响上限
+         */
+        public void onIgnore() {
+            this.release(Outcome.IGNORED);
+        }
+
+        /**
+         * 许可持有时长
+         * @param unit 时间单位
+         * @return 持有时长
+         */
+        public long elapsed(TimeUnit unit) {
+            return unit.convert(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private synchronized void release(Outcome outcome) {
+            if (released) {
+                return;
+            }
+            released = true;
+            AdaptiveConcurrencyLimiter.this.release(System.nanoTime() - startNanos, outcome);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.fw.know.go.ai.limiter;
+
+/**
+ * @Description 大模型调用类型
+ * @Date 19/10/2026 下午3:15
+ * @Author Leo
+ */
+public enum AiOperation {
+
+    /**
+     * 对话
+     */
+    CHAT("chat"),
+
+    /**
+     * 向量化
+     */
+    EMBEDDING("embedding"),
+    ;
+
+    private final String value;
+
+    AiOperation(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * 并发池名称，如 chat-interactive、embedding-bulk
+     * @param workload 负载类型
+     * @return 并发池名称
+     */
+    public String poolName(Workload workload) {
+        return value + "-" + workload.getValue();
+    }
+}
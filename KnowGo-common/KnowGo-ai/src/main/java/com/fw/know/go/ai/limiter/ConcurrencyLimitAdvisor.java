@@ -0,0 +1,63 @@
+package com.fw.know.go.ai.limiter;
+
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.core.Ordered;
+import reactor.core.publisher.Flux;
+
+/**
+ * @Description 对话调用的并发限制Advisor，排在调用链末端，只限制真正发往模型的调用
+ * @Date 19/10/2026 下午4:02
+ * @Author Leo
+ */
+public class ConcurrencyLimitAdvisor implements CallAdvisor, StreamAdvisor {
+
+    private final ConcurrencyLimiterRegistry registry;
+
+    public ConcurrencyLimitAdvisor(ConcurrencyLimiterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest chatClientRequest, CallAdvisorChain callAdvisorChain) {
+        if (!registry.isEnabled()) {
+            return callAdvisorChain.nextCall(chatClientRequest);
+        }
+        return registry.get(AiOperation.CHAT).execute(() -> callAdvisorChain.nextCall(chatClientRequest));
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest chatClientRequest, StreamAdvisorChain streamAdvisorChain) {
+        if (!registry.isEnabled()) {
+            return streamAdvisorChain.nextStream(chatClientRequest);
+        }
+        AdaptiveConcurrencyLimiter limiter = registry.get(AiOperation.CHAT);
+        return Flux.defer(() -> {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+            return streamAdvisorChain.nextStream(chatClientRequest)
+                    .doOnComplete(permit::onSuccess)
+                    .doOnCancel(permit::onIgnore)
+                    .doOnError(e -> {
+                        if (ThrottlingClassifier.isThrottled(e)) {
+                            permit.onDropped();
+                        } else {
+                            permit.onIgnore();
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public String getName() {
+        return ConcurrencyLimitAdvisor.class.getSimpleName();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 1000;
+    }
+}
@@ -0,0 +1,48 @@
+package com.fw.know.go.ai.limiter;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+/**
+ * @Description 带并发限制的向量模型，入库等批量任务与检索使用不同的并发池
+ * @Date 19/10/2026 下午4:10
+ * @Author Leo
+ */
+public class ConcurrencyLimitedEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+
+    private final ConcurrencyLimiterRegistry registry;
+
+    public ConcurrencyLimitedEmbeddingModel(EmbeddingModel delegate, ConcurrencyLimiterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        if (!registry.isEnabled()) {
+            return delegate.call(request);
+        }
+        return registry.get(AiOperation.EMBEDDING).execute(() -> delegate.call(request));
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        if (!registry.isEnabled()) {
+            return delegate.embed(document);
+        }
+        return registry.get(AiOperation.EMBEDDING).execute(() -> delegate.embed(document));
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+
+    public EmbeddingModel getDelegate() {
+        return delegate;
+    }
+}
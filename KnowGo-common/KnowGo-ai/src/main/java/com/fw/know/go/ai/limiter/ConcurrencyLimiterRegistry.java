@@ -0,0 +1,71 @@
+package com.fw.know.go.ai.limiter;
+
+import com.fw.know.go.ai.configuration.ConcurrencyLimiterProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @Description 并发限制器注册中心，按 调用类型-负载类型 维护独立的并发池，池内排队按租户加权公平调度
+ * @Date 19/10/2026 下午3:50
+ * @Author Leo
+ */
+public class ConcurrencyLimiterRegistry {
+
+    private final ConcurrencyLimiterProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimiterRegistry(ConcurrencyLimiterProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 获取当前线程负载类型对应的限制器
+     * @param operation 调用类型
+     * @return 限制器
+     */
+    public AdaptiveConcurrencyLimiter get(AiOperation operation) {
+        return this.get(operation, WorkloadContext.current());
+    }
+
+    /**
+     * 获取限制器
+     * @param operation 调用类型
+     * @param workload 负载类型
+     * @return 限制器
+     */
+    public AdaptiveConcurrencyLimiter get(AiOperation operation, Workload workload) {
+        return limiters.computeIfAbsent(operation.poolName(workload), this::create);
+    }
+
+    /**
+     * 是否启用并发限制
+     * @return 是否启用
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    private AdaptiveConcurrencyLimiter create(String name) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(name, properties.getPool(name),
+                properties.getTenantWeights());
+        if (meterRegistry != null) {
+            Gauge.builder("ai.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("pool", name).description("当前并发上限").register(meterRegistry);
+            Gauge.builder("ai.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("pool", name).description("执行中的调用数").register(meterRegistry);
+            Gauge.builder("ai.limiter.queued", limiter, AdaptiveConcurrencyLimiter::getQueued)
+                    .tag("pool", name).description("排队中的调用数").register(meterRegistry);
+            FunctionCounter.builder("ai.limiter.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                    .tag("pool", name).description("被拒绝的调用数").register(meterRegistry);
+        }
+        return limiter;
+    }
+}
@@ -0,0 +1,55 @@
+package com.fw.know.go.ai.limiter;
+
+import com.fw.know.go.ai.cache.CachingEmbeddingModel;
+import com.fw.know.go.ai.configuration.EmbeddingCacheProperties;
+import com.fw.know.go.ai.metrics.MeteredEmbeddingModel;
+import com.fw.know.go.ai.usage.TokenUsageAccumulator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * @Description 为容器中的向量模型统一加上并发限制和调用指标，启用查询向量缓存时在最外层加缓存，无需修改各处的注入点
+ * @Date 19/10/2026 下午4:15
+ * @Author Leo
+ */
+public class EmbeddingModelLimiterPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<ConcurrencyLimiterRegistry> registryProvider;
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final ObjectProvider<TokenUsageAccumulator> accumulatorProvider;
+
+    private final ObjectProvider<EmbeddingCacheProperties> cachePropertiesProvider;
+
+    public EmbeddingModelLimiterPostProcessor(ObjectProvider<ConcurrencyLimiterRegistry> registryProvider,
+                                              ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                              ObjectProvider<TokenUsageAccumulator> accumulatorProvider,
+                                              ObjectProvider<EmbeddingCacheProperties> cachePropertiesProvider) {
+        this.registryProvider = registryProvider;
+        this.meterRegistryProvider = meterRegistryProvider;
+        this.accumulatorProvider = accumulatorProvider;
+        this.cachePropertiesProvider = cachePropertiesProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof EmbeddingModel embeddingModel && !(bean instanceof ConcurrencyLimitedEmbeddingModel)
+                && !(bean instanceof CachingEmbeddingModel)) {
+            // 指标包在并发限制内层，只统计真正发往模型的调用，排队时间由并发池指标体现
+            MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+            TokenUsageAccumulator accumulator = accumulatorProvider.getIfAvailable();
+            EmbeddingModel delegate = meterRegistry == null && accumulator == null ? embeddingModel
+                    : new MeteredEmbeddingModel(embeddingModel, meterRegistry, accumulator);
+            EmbeddingModel limited = new ConcurrencyLimitedEmbeddingModel(delegate, registryProvider.getObject());
+            // 缓存在并发限制外层，命中时不占用并发配额
+            EmbeddingCacheProperties cache = cachePropertiesProvider.getIfAvailable();
+            return cache == null || !cache.isEnabled() ? limited : new CachingEmbeddingModel(limited,
+                    cache.getMaxSize(), cache.getTtl(), System::nanoTime, meterRegistry);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,58 @@
+package com.fw.know.go.ai.limiter;
+
+import org.springframework.web.client.RestClientResponseException;
+
+import java.net.SocketTimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * @Description 判断异常是否由服务端限流或过载引起：按HTTP状态码（429、503）和读超时判断，
+ * 连接失败等其他IO异常不计入
+ * @Date 19/10/2026 下午3:45
+ * @Author Leo
+ */
+public final class ThrottlingClassifier {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    /**
+     * Spring AI 响应错误处理器抛出的异常消息以状态码开头，如 "429 - {...}"
+     */
+    private static final Pattern STATUS_PREFIX = Pattern.compile("^(\\d{3}) - ");
+
+    private ThrottlingClassifier() {
+    }
+
+    /**
+     * 是否为限流或过载异常
+     * @param throwable 异常
+     * @return 是否为限流或过载
+     */
+    public static boolean isThrottled(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof SocketTimeoutException) {
+                return true;
+            }
+            int status = statusOf(t);
+            if (status == TOO_MANY_REQUESTS || status == SERVICE_UNAVAILABLE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int statusOf(Throwable t) {
+        if (t instanceof RestClientResponseException e) {
+            return e.getStatusCode().value();
+        }
+        String message = t.getMessage();
+        if (message == null) {
+            return -1;
+        }
+        Matcher matcher = STATUS_PREFIX.matcher(message);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+}
@@ -0,0 +1,30 @@
+package com.fw.know.go.ai.limiter;
+
+/**
+ * @Description 调用负载类型，不同负载使用独立的并发池
+ * @Date 19/10/2026 下午3:15
+ * @Author Leo
+ */
+public enum Workload {
+
+    /**
+     * 交互式请求，如问答、检索
+     */
+    INTERACTIVE("interactive"),
+
+    /**
+     * 批量任务，如文档入库
+     */
+    BULK("bulk"),
+    ;
+
+    private final String value;
+
+    Workload(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,51 @@
+package com.fw.know.go.ai.limiter;
+
+import com.fw.know.go.base.context.ContextSnapshot;
+
+import java.util.concurrent.Callable;
+
+/**
+ * @Description 当前线程的负载类型，默认为交互式
+ * @Date 19/10/2026 下午3:18
+ * @Author Leo
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    static {
+        ContextSnapshot.register(CURRENT);
+    }
+
+    private WorkloadContext() {
+    }
+
+    /**
+     * 当前线程的负载类型
+     * @return 负载类型
+     */
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload == null ? Workload.INTERACTIVE : workload;
+    }
+
+    /**
+     * 以指定负载类型执行任务
+     * @param workload 负载类型
+     * @param task 任务
+     * @return 任务结果
+     */
+    public static <T> T callAs(Workload workload, Callable<T> task) throws Exception {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        try {
+            return task.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
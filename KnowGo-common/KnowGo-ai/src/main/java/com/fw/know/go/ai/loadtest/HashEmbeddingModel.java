@@ -0,0 +1,116 @@
+package com.fw.know.go.ai.loadtest;
+
+import com.fw.know.go.ai.configuration.LoadTestModelProperties;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.embedding.EmbeddingResponseMetadata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @Description 基于特征哈希的本地向量模型，同一文本总是得到同一向量，字词重合越多的文本越相近
+ * @Date 19/10/2026 下午4:20
+ * @Author Leo
+ */
+public class HashEmbeddingModel implements EmbeddingModel {
+
+    public static final String MODEL = "hash-embedding";
+
+    private final int dimensions;
+
+    private final long latencyNanos;
+
+    public HashEmbeddingModel(LoadTestModelProperties.Embedding properties) {
+        this.dimensions = properties.getDimensions();
+        this.latencyNanos = properties.getLatency().toNanos();
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+        List<Embedding> embeddings = new ArrayList<>(request.getInstructions().size());
+        int tokens = 0;
+        for (int i = 0; i < request.getInstructions().size(); i++) {
+            String text = request.getInstructions().get(i);
+            embeddings.add(new Embedding(this.vectorize(text), i));
+            tokens += text.length();
+        }
+        return new EmbeddingResponse(embeddings, new EmbeddingResponseMetadata(MODEL, new DefaultUsage(tokens, 0)));
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return this.vectorize(document.getText() == null ? "" : document.getText());
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * 把单字和相邻两字哈希到向量的各维度，正负由哈希的一位决定，最后归一化
+     * @param text 文本
+     * @return 单位向量
+     */
+    float[] vectorize(String text) {
+        float[] vector = new float[dimensions];
+        String normalized = text.toLowerCase();
+        int previous = -1;
+        for (int i = 0; i < normalized.length(); ) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (!Character.isLetterOrDigit(codePoint)) {
+                previous = -1;
+                continue;
+            }
+            this.accumulate(vector, mix(codePoint), 1f);
+            if (previous >= 0) {
+                this.accumulate(vector, mix(previous * 31L + codePoint), 2f);
+            }
+            previous = codePoint;
+        }
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm == 0) {
+            vector[0] = 1f;
+            return vector;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+
+    private void accumulate(float[] vector, long hash, float weight) {
+        int index = (int) Long.remainderUnsigned(hash, dimensions);
+        vector[index] += (hash & (1L << 63)) == 0 ? weight : -weight;
+    }
+
+    /**
+     * SplitMix64 的混合函数
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public String toString() {
+        return MODEL + "(" + dimensions + ", latency=" + TimeUnit.NANOSECONDS.toMillis(latencyNanos) + "ms)";
+    }
+}
@@ -0,0 +1,117 @@
+package com.fw.know.go.ai.loadtest;
+
+import com.fw.know.go.ai.configuration.LoadTestModelProperties;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @Description 模拟对话模型，按首token延迟和生成速率等待后返回固定格式的回答，用量按字符数估算
+ * @Date 19/10/2026 下午4:30
+ * @Author Leo
+ */
+public class SimulatedChatModel implements ChatModel {
+
+    public static final String MODEL = "simulated";
+
+    /**
+     * 流式输出时每个分片包含的token数
+     */
+    private static final int TOKENS_PER_CHUNK = 10;
+
+    private final LoadTestModelProperties.Chat properties;
+
+    private final SplittableRandom seedRandom;
+
+    public SimulatedChatModel(LoadTestModelProperties.Chat properties, long seed) {
+        this.properties = properties;
+        this.seedRandom = new SplittableRandom(seed);
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        SplittableRandom random = this.split();
+        LockSupport.parkNanos(this.jittered(properties.getFirstTokenLatency().toNanos(), random)
+                + this.jittered(this.generationNanos(properties.getCompletionTokens()), random));
+        return this.response(prompt, this.answer(prompt, properties.getCompletionTokens()),
+                properties.getCompletionTokens());
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        SplittableRandom random = this.split();
+        int total = properties.getCompletionTokens();
+        int chunks = Math.max(1, (total + TOKENS_PER_CHUNK - 1) / TOKENS_PER_CHUNK);
+        Duration first = Duration.ofNanos(this.jittered(properties.getFirstTokenLatency().toNanos(), random));
+        Duration interval = Duration.ofNanos(Math.max(1, this.jittered(this.generationNanos(TOKENS_PER_CHUNK), random)));
+        String answer = this.answer(prompt, total);
+        int chunkChars = Math.max(1, (answer.length() + chunks - 1) / chunks);
+        return Flux.range(0, chunks)
+                .delayElements(interval)
+                .delaySubscription(first)
+                .map(i -> {
+                    String text = answer.substring(Math.min(answer.length(), i * chunkChars),
+                            Math.min(answer.length(), (i + 1) * chunkChars));
+                    // 用量只放在最后一个分片上，与DashScope的流式响应一致
+                    return i == chunks - 1 ? this.response(prompt, text, total)
+                            : new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+                });
+    }
+
+    private ChatResponse response(Prompt prompt, String text, int completionTokens) {
+        String model = prompt.getOptions() == null || prompt.getOptions().getModel() == null
+                ? MODEL : prompt.getOptions().getModel();
+        ChatResponseMetadata metadata = ChatResponseMetadata.builder()
+                .model(model)
+                .usage(new DefaultUsage(estimateTokens(prompt.getContents()), completionTokens))
+                .build();
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))), metadata);
+    }
+
+    /**
+     * 回答内容由提示词的哈希决定，同一提示词得到同一回答
+     */
+    private String answer(Prompt prompt, int tokens) {
+        String contents = prompt.getContents();
+        StringBuilder sb = new StringBuilder("[simulated ").append(Integer.toHexString(contents.hashCode())).append("] ");
+        while (sb.length() < tokens * 2) {
+            sb.append("根据上下文，这是一个模拟回答。");
+        }
+        return sb.substring(0, tokens * 2);
+    }
+
+    private long generationNanos(int tokens) {
+        return properties.getTokensPerSecond() <= 0 ? 0 : tokens * 1_000_000_000L / properties.getTokensPerSecond();
+    }
+
+    private long jittered(long nanos, SplittableRandom random) {
+        double jitter = properties.getJitter();
+        if (jitter <= 0 || nanos <= 0) {
+            return Math.max(0, nanos);
+        }
+        return (long) (nanos * (1 + jitter * (random.nextDouble() * 2 - 1)));
+    }
+
+    private SplittableRandom split() {
+        synchronized (seedRandom) {
+            return seedRandom.split();
+        }
+    }
+
+    /**
+     * 粗略估算token数，中文约一字一token、英文约四字符一token，这里取两字符一token的折中
+     */
+    private static int estimateTokens(String text) {
+        return text == null ? 0 : Math.max(1, text.length() / 2);
+    }
+}
@@ -0,0 +1,142 @@
+package com.fw.know.go.ai.metrics;
+
+import com.fw.know.go.ai.usage.TokenUsageAccumulator;
+import com.fw.know.go.ai.usage.UsageKind;
+import com.fw.know.go.base.jfr.EmbeddingEvent;
+import com.fw.know.go.skywalking.TraceSpans;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * @Description 记录向量化耗时和批量大小的向量模型，每次调用同时生成一个链路Span和一个JFR事件，并计入用量账本
+ * @Date 20/10/2026 下午4:12
+ * @Author Leo
+ */
+public class MeteredEmbeddingModel implements EmbeddingModel {
+
+    private static final String SPAN_NAME = "Embedding/embed";
+
+    private final EmbeddingModel delegate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final DistributionSummary batchSize;
+
+    private final TokenUsageAccumulator accumulator;
+
+    /**
+     * @param delegate 向量模型
+     * @param meterRegistry 指标注册表，为空时不上报指标
+     * @param accumulator 用量累加器，为空时不计入用量账本
+     */
+    public MeteredEmbeddingModel(EmbeddingModel delegate, MeterRegistry meterRegistry,
+                                 TokenUsageAccumulator accumulator) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.accumulator = accumulator;
+        this.batchSize = meterRegistry == null ? null : DistributionSummary.builder("ai.embedding.batch.size")
+                .description("单次向量化的文本数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        int chars = request.getInstructions().stream().mapToInt(String::length).sum();
+        EmbeddingResponse response = this.observe(request.getInstructions().size(), chars,
+                () -> delegate.call(request), MeteredEmbeddingModel::tokensOf);
+        if (accumulator != null) {
+            accumulator.record(UsageKind.EMBEDDING, modelOf(request, response), tokensOf(response), 0);
+        }
+        return response;
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        int chars = document.getText() == null ? 0 : document.getText().length();
+        float[] vector = this.observe(1, chars, () -> delegate.embed(document), result -> 0);
+        if (accumulator != null) {
+            // 单文档向量化的返回值不带用量，只计调用次数
+            accumulator.record(UsageKind.EMBEDDING, null, 0, 0);
+        }
+        return vector;
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+
+    /**
+     * 记录指标、链路Span和JFR事件
+     * @param inputs 文本数
+     * @param chars 字符数
+     * @param call 调用
+     * @param tokens 从结果中读取token数
+     * @return 调用结果
+     */
+    private <T> T observe(int inputs, int chars, Supplier<T> call, ToIntFunction<T> tokens) {
+        if (batchSize != null) {
+            batchSize.record(inputs);
+        }
+        EmbeddingEvent event = new EmbeddingEvent();
+        event.begin();
+        Timer.Sample sample = meterRegistry == null ? null : Timer.start(meterRegistry);
+        String outcome = "error";
+        int usedTokens = 0;
+        try {
+            T result = TraceSpans.trace(SPAN_NAME, () -> {
+                TraceSpans.tag("inputs", inputs);
+                TraceSpans.tag("chars", chars);
+                T response = call.get();
+                TraceSpans.tag("tokens", tokens.applyAsInt(response));
+                return response;
+            });
+            usedTokens = tokens.applyAsInt(result);
+            outcome = "success";
+            return result;
+        } finally {
+            if (sample != null) {
+                sample.stop(Timer.builder("ai.embedding.latency")
+                        .description("向量化调用耗时")
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+            if (event.shouldCommit()) {
+                event.inputs = inputs;
+                event.chars = chars;
+                event.tokens = usedTokens;
+                event.success = "success".equals(outcome);
+                event.commit();
+            }
+        }
+    }
+
+    private static String modelOf(EmbeddingRequest request, EmbeddingResponse response) {
+        if (response != null && response.getMetadata() != null && response.getMetadata().getModel() != null
+                && !response.getMetadata().getModel().isEmpty()) {
+            return response.getMetadata().getModel();
+        }
+        return request.getOptions() == null ? null : request.getOptions().getModel();
+    }
+
+    private static int tokensOf(EmbeddingResponse response) {
+        if (response == null || response.getMetadata() == null || response.getMetadata().getUsage() == null) {
+            return 0;
+        }
+        Integer promptTokens = response.getMetadata().getUsage().getPromptTokens();
+        return promptTokens == null ? 0 : promptTokens;
+    }
+
+    public EmbeddingModel getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,124 @@
+package com.fw.know.go.ai.metrics;
+
+import com.fw.know.go.ai.usage.TokenUsageAccumulator;
+import com.fw.know.go.ai.usage.UsageKind;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.core.Ordered;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @Description 按模型统计提示词和生成的token数，并计入按模型、租户、接口归集的用量账本
+ * @Date 20/10/2026 下午4:05
+ * @Author Leo
+ */
+public class TokenUsageMetricsAdvisor implements CallAdvisor, StreamAdvisor {
+
+    private static final String UNKNOWN_MODEL = "unknown";
+
+    private final MeterRegistry meterRegistry;
+
+    private final TokenUsageAccumulator accumulator;
+
+    /**
+     * @param meterRegistry 指标注册表，为空时不上报指标
+     * @param accumulator 用量累加器，为空时不计入用量账本
+     */
+    public TokenUsageMetricsAdvisor(MeterRegistry meterRegistry, TokenUsageAccumulator accumulator) {
+        this.meterRegistry = meterRegistry;
+        this.accumulator = accumulator;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest chatClientRequest, CallAdvisorChain callAdvisorChain) {
+        if (meterRegistry == null && accumulator == null) {
+            return callAdvisorChain.nextCall(chatClientRequest);
+        }
+        ChatClientResponse response = callAdvisorChain.nextCall(chatClientRequest);
+        this.record(chatClientRequest, response.chatResponse());
+        return response;
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest chatClientRequest, StreamAdvisorChain streamAdvisorChain) {
+        if (meterRegistry == null && accumulator == null) {
+            return streamAdvisorChain.nextStream(chatClientRequest);
+        }
+        // 流式响应的用量在最后一个带用量的分片上
+        AtomicReference<ChatResponse> last = new AtomicReference<>();
+        return streamAdvisorChain.nextStream(chatClientRequest)
+                .doOnNext(response -> {
+                    ChatResponse chatResponse = response.chatResponse();
+                    if (chatResponse != null && chatResponse.getMetadata().getUsage() != null) {
+                        last.set(chatResponse);
+                    }
+                })
+                .doOnComplete(() -> this.record(chatClientRequest, last.get()));
+    }
+
+    private void record(ChatClientRequest request, ChatResponse response) {
+        if (response == null || response.getMetadata() == null) {
+            return;
+        }
+        Usage usage = response.getMetadata().getUsage();
+        if (usage == null) {
+            return;
+        }
+        String model = modelOf(request, response);
+        if (accumulator != null) {
+            accumulator.record(UsageKind.CHAT, model, valueOf(usage.getPromptTokens()),
+                    valueOf(usage.getCompletionTokens()));
+        }
+        this.increment(model, "prompt", usage.getPromptTokens());
+        this.increment(model, "completion", usage.getCompletionTokens());
+    }
+
+    private static long valueOf(Integer tokens) {
+        return tokens == null ? 0 : tokens;
+    }
+
+    private void increment(String model, String type, Integer tokens) {
+        if (meterRegistry == null || tokens == null || tokens <= 0) {
+            return;
+        }
+        Counter.builder("ai.tokens")
+                .description("大模型调用消耗的token数")
+                .tag("model", model)
+                .tag("type", type)
+                .register(meterRegistry)
+                .increment(tokens);
+    }
+
+    /**
+     * 以请求指定的模型为准，避免服务端返回的带版本号的模型名放大标签基数
+     */
+    private static String modelOf(ChatClientRequest request, ChatResponse response) {
+        ChatOptions options = request.prompt().getOptions();
+        if (options != null && options.getModel() != null) {
+            return options.getModel();
+        }
+        String model = response.getMetadata().getModel();
+        return model == null || model.isEmpty() ? UNKNOWN_MODEL : model;
+    }
+
+    @Override
+    public String getName() {
+        return TokenUsageMetricsAdvisor.class.getSimpleName();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 2000;
+    }
+}
@@ -0,0 +1,138 @@
+package com.fw.know.go.ai.router;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @Description 滑动窗口延迟直方图，桶边界按1.2倍指数增长（1ms ~ 约100s），
+ * 统计最近两个窗口的数据，保证分位数既反映实时状况又不会在窗口切换时归零
+ * @Date 20/10/2026 上午9:40
+ * @Author Leo
+ */
+public class LatencyHistogram {
+
+    private static final long MIN_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final double GROWTH = 1.2;
+
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+
+    private static final int BUCKETS = 64;
+
+    private static final long[] UPPER_BOUNDS = new long[BUCKETS];
+
+    static {
+        double bound = MIN_NANOS;
+        for (int i = 0; i < BUCKETS; i++) {
+            UPPER_BOUNDS[i] = (long) bound;
+            bound *= GROWTH;
+        }
+    }
+
+    private final long windowNanos;
+
+    private volatile Window current;
+
+    private volatile Window previous;
+
+    public LatencyHistogram(long window, TimeUnit unit) {
+        this.windowNanos = unit.toNanos(window);
+        long now = System.nanoTime();
+        this.current = new Window(now);
+        this.previous = new Window(now - windowNanos);
+    }
+
+    /**
+     * 记录一次耗时
+     * @param nanos 耗时（纳秒）
+     */
+    public void record(long nanos) {
+        this.rotateIfNeeded().counts.incrementAndGet(bucketOf(nanos));
+    }
+
+    /**
+     * 计算分位数
+     * @param quantile 分位，如0.95
+     * @param minSamples 最少样本数，不足时返回-1
+     * @return 分位数对应的耗时上界（纳秒）
+     */
+    public long quantile(double quantile, long minSamples) {
+        Window cur = this.rotateIfNeeded();
+        Window prev = previous;
+        long[] merged = new long[BUCKETS + 1];
+        long total = 0;
+        for (int i = 0; i <= BUCKETS; i++) {
+            merged[i] = cur.counts.get(i) + prev.counts.get(i);
+            total += merged[i];
+        }
+        if (total == 0 || total < minSamples) {
+            return -1;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long cumulative = 0;
+        for (int i = 0; i <= BUCKETS; i++) {
+            cumulative += merged[i];
+            if (cumulative >= rank) {
+                return i < BUCKETS ? UPPER_BOUNDS[i] : Long.MAX_VALUE;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * 最近两个窗口内的样本数
+     * @return 样本数
+     */
+    public long count() {
+        Window cur = this.rotateIfNeeded();
+        Window prev = previous;
+        long total = 0;
+        for (int i = 0; i <= BUCKETS; i++) {
+            total += cur.counts.get(i) + prev.counts.get(i);
+        }
+        return total;
+    }
+
+    private Window rotateIfNeeded() {
+        Window cur = current;
+        long now = System.nanoTime();
+        if (now - cur.startNanos < windowNanos) {
+            return cur;
+        }
+        synchronized (this) {
+            cur = current;
+            if (now - cur.startNanos >= windowNanos) {
+                // 超过两个窗口没有数据时，上一个窗口也已过期
+                previous = now - cur.startNanos >= 2 * windowNanos ? new Window(now - windowNanos) : cur;
+                current = new Window(now);
+            }
+            return current;
+        }
+    }
+
+    private static int bucketOf(long nanos) {
+        if (nanos <= MIN_NANOS) {
+            return 0;
+        }
+        int index = (int) Math.ceil(Math.log((double) nanos / MIN_NANOS) / LOG_GROWTH);
+        // 浮点误差修正
+        while (index > 0 && index < BUCKETS && UPPER_BOUNDS[index - 1] >= nanos) {
+            index--;
+        }
+        while (index < BUCKETS && UPPER_BOUNDS[index] < nanos) {
+            index++;
+        }
+        return Math.min(index, BUCKETS);
+    }
+
+    private static final class Window {
+
+        private final long startNanos;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS + 1);
+
+        private Window(long startNanos) {
+            this.startNanos = startNanos;
+        }
+    }
+}
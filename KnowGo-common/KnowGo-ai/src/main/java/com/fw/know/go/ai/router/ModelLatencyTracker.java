@@ -0,0 +1,74 @@
+package com.fw.know.go.ai.router;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description 按模型统计调用延迟，路由据此计算对冲延迟；只为配置中的模型保留延迟直方图，
+ * 模型名由调用方归并为有限的取值后再记录，避免指标维度随请求参数膨胀
+ * @Date 20/10/2026 上午10:15
+ * @Author Leo
+ */
+public class ModelLatencyTracker {
+
+    private final Map<String, LatencyHistogram> histograms;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param window 延迟直方图的统计窗口
+     * @param models 需要统计延迟分位的模型，即路由配置中的模型
+     * @param meterRegistry 指标注册表，可为空
+     */
+    public ModelLatencyTracker(Duration window, Set<String> models, MeterRegistry meterRegistry) {
+        Map<String, LatencyHistogram> byModel = new HashMap<>();
+        for (String model : models) {
+            byModel.put(model, new LatencyHistogram(window.toNanos(), TimeUnit.NANOSECONDS));
+        }
+        this.histograms = Map.copyOf(byModel);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 记录一次调用耗时
+     * @param model 模型
+     * @param nanos 耗时（纳秒）
+     * @param success 是否成功
+     */
+    public void record(String model, long nanos, boolean success) {
+        LatencyHistogram histogram = histograms.get(model);
+        if (success && histogram != null) {
+            histogram.record(nanos);
+        }
+        if (meterRegistry != null) {
+            Timer.builder("ai.model.latency")
+                    .tag("model", model)
+                    .tag("outcome", success ? "success" : "error")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 模型延迟分位数
+     * @param model 模型
+     * @param quantile 分位
+     * @param minSamples 最少样本数
+     * @return 分位延迟，样本不足时返回空
+     */
+    public Duration quantile(String model, double quantile, long minSamples) {
+        LatencyHistogram histogram = histograms.get(model);
+        if (histogram == null) {
+            return null;
+        }
+        long nanos = histogram.quantile(quantile, minSamples);
+        return nanos < 0 ? null : Duration.ofNanos(nanos);
+    }
+}
@@ -0,0 +1,290 @@
+package com.fw.know.go.ai.router;
+
+import cn.hutool.core.util.StrUtil;
+import com.fw.know.go.ai.configuration.ModelRouterProperties;
+import com.fw.know.go.ai.exception.AiErrorCode;
+import com.fw.know.go.ai.exception.AiException;
+import com.fw.know.go.base.context.ContextSnapshot;
+import com.fw.know.go.base.context.Deadline;
+import com.fw.know.go.base.context.DeadlineContext;
+import com.fw.know.go.base.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * @Description 模型路由：按规则为问题选择模型，主模型调用失败或超过SLO时切换到备用模型，
+ * 可选在主模型耗时超过其p95后向备用模型发出对冲请求，取先返回的结果；限流拒绝和超过截止时间不切换。
+ * 请求只能指定路由配置中出现的模型
+ * @Date 20/10/2026 上午10:40
+ * @Author Leo
+ */
+@Slf4j
+public class ModelRouter implements AutoCloseable {
+
+    private static final String DEFAULT_MODEL_TAG = "default";
+
+    /**
+     * 配置之外的模型在指标中归为一类
+     */
+    private static final String OTHER_MODEL_TAG = "other";
+
+    private final ModelRouterProperties properties;
+
+    private final ModelLatencyTracker latencyTracker;
+
+    private final List<CompiledRule> rules;
+
+    private final Set<String> knownModels;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Counter hedgeCounter;
+
+    private final Counter failoverCounter;
+
+    public ModelRouter(ModelRouterProperties properties, ModelLatencyTracker latencyTracker, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.latencyTracker = latencyTracker;
+        this.rules = properties.getRules().stream()
+                .map(rule -> new CompiledRule(rule.getMaxQuestionLength(),
+                        StrUtil.isBlank(rule.getPattern()) ? null : Pattern.compile(rule.getPattern()),
+                        rule.getModel()))
+                .toList();
+        this.knownModels = properties.knownModels();
+        this.hedgeCounter = meterRegistry == null ? null : meterRegistry.counter("ai.router.hedged");
+        this.failoverCounter = meterRegistry == null ? null : meterRegistry.counter("ai.router.failover");
+    }
+
+    /**
+     * 校验请求指定的模型，只能指定路由配置中出现的模型
+     * @param requestedModel 请求指定的模型，为空表示由路由选择
+     */
+    public void checkRequestedModel(String requestedModel) {
+        if (!StrUtil.isBlank(requestedModel) && !knownModels.contains(requestedModel)) {
+            throw new AiException("model not allowed: " + StrUtil.maxLength(requestedModel, 64),
+                    AiErrorCode.MODEL_NOT_ALLOWED);
+        }
+    }
+
+    /**
+     * 为问题选择模型
+     * @param question 问题
+     * @param requestedModel 请求指定的模型，只能是路由配置中出现的模型
+     * @return 路由结果
+     */
+    public RoutingDecision route(String question, String requestedModel) {
+        this.checkRequestedModel(requestedModel);
+        if (!properties.isEnabled()) {
+            return new RoutingDecision(requestedModel, null);
+        }
+        String model = StrUtil.isBlank(requestedModel) ? properties.getDefaultModel() : requestedModel;
+        if (StrUtil.isBlank(requestedModel) || properties.isOverrideRequestedModel()) {
+            for (CompiledRule rule : rules) {
+                if (rule.matches(question)) {
+                    model = rule.model();
+                    break;
+                }
+            }
+        }
+        String fallback = properties.getFallbacks().getOrDefault(model, properties.getDefaultFallback());
+        if (Objects.equals(model, fallback)) {
+            fallback = null;
+        }
+        return new RoutingDecision(model, fallback);
+    }
+
+    /**
+     * 按路由结果调用模型，整体等待时间不超过当前请求的截止时间
+     * @param decision 路由结果
+     * @param invoker 以模型名调用模型的函数
+     * @return 调用结果
+     */
+    public <T> T execute(RoutingDecision decision, Function<String, T> invoker) {
+        Deadline deadline = DeadlineContext.current();
+        if (decision.getFallback() == null) {
+            return deadline == null ? this.timed(decision.getModel(), invoker)
+                    : this.await(this.submit(decision.getModel(), invoker), deadline);
+        }
+        ModelRouterProperties.Hedge hedge = properties.getHedge();
+        Duration firstWait = hedge.isEnabled() ? this.hedgeDelay(decision.getModel()) : properties.getSlo();
+        CompletableFuture<T> primary = this.submit(decision.getModel(), invoker);
+        if (deadline != null && deadline.remaining().compareTo(firstWait) <= 0) {
+            // 剩余时间不足以再发起备用请求，只等主模型
+            return this.await(primary, deadline);
+        }
+        try {
+            return primary.get(firstWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (hedge.isEnabled()) {
+                increment(hedgeCounter);
+                log.info("model [{}] slower than {}ms, hedging to [{}]", decision.getModel(), firstWait.toMillis(), decision.getFallback());
+            } else {
+                increment(failoverCounter);
+                log.warn("model [{}] exceeded slo {}ms, failing over to [{}]", decision.getModel(), firstWait.toMillis(), decision.getFallback());
+            }
+            return this.await(this.firstSuccessful(primary, this.submit(decision.getFallback(), invoker)), deadline);
+        } catch (ExecutionException e) {
+            if (!isFailover(e.getCause())) {
+                throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException
+                        : new AiException(e.getCause(), AiErrorCode.MODEL_CALL_FAILED);
+            }
+            increment(failoverCounter);
+            log.warn("model [{}] failed, failing over to [{}]: {}", decision.getModel(), decision.getFallback(), e.getCause().getMessage());
+            return deadline == null ? this.timed(decision.getFallback(), invoker)
+                    : this.await(this.submit(decision.getFallback(), invoker), deadline);
+        } catch (InterruptedException e) {
+            primary.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AiException(e, AiErrorCode.MODEL_CALL_FAILED);
+        }
+    }
+
+    /**
+     * 对冲延迟：主模型的延迟分位数，限制在 [minDelay, min(maxDelay, slo)] 内
+     */
+    private Duration hedgeDelay(String model) {
+        ModelRouterProperties.Hedge hedge = properties.getHedge();
+        Duration upper = hedge.getMaxDelay().compareTo(properties.getSlo()) < 0 ? hedge.getMaxDelay() : properties.getSlo();
+        Duration delay = latencyTracker.quantile(tagOf(model), hedge.getQuantile(), hedge.getMinSamples());
+        if (delay == null || delay.compareTo(upper) > 0) {
+            return upper;
+        }
+        return delay.compareTo(hedge.getMinDelay()) < 0 ? hedge.getMinDelay() : delay;
+    }
+
+    /**
+     * 在虚拟线程上发起调用，传递请求线程的上下文
+     */
+    private <T> CompletableFuture<T> submit(String model, Function<String, T> invoker) {
+        Callable<T> call = ContextSnapshot.capture().wrap(() -> this.timed(model, invoker));
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(call.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        // 结果被取消时中断仍在执行的调用
+        result.whenComplete((r, t) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 取两个调用中先成功的结果，都失败时返回后失败的异常，任一调用被限流或超时则直接返回该异常，结果完成后取消另一个调用
+     */
+    private <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> primary, CompletableFuture<T> backup) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> future : List.of(primary, backup)) {
+            future.whenComplete((r, t) -> {
+                if (t == null) {
+                    winner.complete(r);
+                } else if (!isFailover(t) || failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(t);
+                }
+            });
+        }
+        winner.whenComplete((r, t) -> {
+            primary.cancel(true);
+            backup.cancel(true);
+        });
+        return winner;
+    }
+
+    /**
+     * 等待调用结果，超过截止时间时取消调用并抛出 {@link DeadlineExceededException}
+     */
+    private <T> T await(CompletableFuture<T> future, Deadline deadline) {
+        try {
+            if (deadline == null) {
+                return future.get();
+            }
+            return future.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new DeadlineExceededException("llm");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new AiException(e.getCause(), AiErrorCode.MODEL_CALL_FAILED);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AiException(e, AiErrorCode.MODEL_CALL_FAILED);
+        }
+    }
+
+    /**
+     * 只有模型调用本身的错误才切换到备用模型：限流拒绝说明本服务已经过载，截止时间已到说明请求已经超时，
+     * 这两种情况换模型只会放大负载
+     */
+    private static boolean isFailover(Throwable cause) {
+        if (cause instanceof DeadlineExceededException) {
+            return false;
+        }
+        return !(cause instanceof AiException e && e.getErrorCode() == AiErrorCode.CONCURRENCY_LIMIT_EXCEEDED);
+    }
+
+    private <T> T timed(String model, Function<String, T> invoker) {
+        long start = System.nanoTime();
+        try {
+            T result = invoker.apply(model);
+            latencyTracker.record(tagOf(model), System.nanoTime() - start, true);
+            return result;
+        } catch (RuntimeException e) {
+            latencyTracker.record(tagOf(model), System.nanoTime() - start, false);
+            throw e;
+        }
+    }
+
+    private String tagOf(String model) {
+        if (StrUtil.isBlank(model)) {
+            return DEFAULT_MODEL_TAG;
+        }
+        return knownModels.contains(model) ? model : OTHER_MODEL_TAG;
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private record CompiledRule(Integer maxQuestionLength, Pattern pattern, String model) {
+
+        boolean matches(String question) {
+            if (maxQuestionLength != null && question.length() > maxQuestionLength) {
+                return false;
+            }
+            return pattern == null || pattern.matcher(question).find();
+        }
+    }
+}
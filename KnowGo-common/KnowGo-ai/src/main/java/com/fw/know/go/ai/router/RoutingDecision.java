@@ -0,0 +1,26 @@
+package com.fw.know.go.ai.router;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * @Description 路由结果
+ * @Date 20/10/2026 上午10:30
+ * @Author Leo
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class RoutingDecision {
+
+    /**
+     * 主模型，为空表示使用模型客户端的默认模型
+     */
+    private final String model;
+
+    /**
+     * 备用模型，为空表示不做故障切换和对冲
+     */
+    private final String fallback;
+}
@@ -0,0 +1,30 @@
+package com.fw.know.go.ai.usage;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @Description 内存用量存储，未配置外部存储时使用，重启后数据丢失
+ * @Date 19/10/2026 上午10:25
+ * @Author Leo
+ */
+public class InMemoryTokenUsageStore implements TokenUsageStore {
+
+    private final Map<LocalDate, Map<UsageKey, UsageTotals>> days = new ConcurrentHashMap<>();
+
+    @Override
+    public synchronized void add(LocalDate date, Map<UsageKey, UsageTotals> deltas) {
+        Map<UsageKey, UsageTotals> day = days.computeIfAbsent(date, d -> new HashMap<>());
+        deltas.forEach((key, totals) -> day.computeIfAbsent(key, k -> new UsageTotals()).add(totals));
+    }
+
+    @Override
+    public synchronized Map<UsageKey, UsageTotals> load(LocalDate date) {
+        Map<UsageKey, UsageTotals> copy = new HashMap<>();
+        days.getOrDefault(date, Map.of()).forEach((key, totals) ->
+                copy.put(key, new UsageTotals(totals.getRequests(), totals.getPromptTokens(), totals.getCompletionTokens())));
+        return copy;
+    }
+}
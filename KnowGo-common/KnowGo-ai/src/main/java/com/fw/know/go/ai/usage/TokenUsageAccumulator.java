@@ -0,0 +1,140 @@
+package com.fw.know.go.ai.usage;
+
+import com.fw.know.go.base.context.RequestContext;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @Description 内存中的用量累加器，按维度使用分段的 LongAdder 计数，请求线程上只有一次哈希查找和三次累加。
+ * 只有配置了的租户单独统计，其余租户合并为一个共享租户；一个写出周期内没有用量的维度会被移除，维度数量不会只增不减
+ * @Date 19/10/2026 上午10:10
+ * @Author Leo
+ */
+public class TokenUsageAccumulator {
+
+    private static final String UNKNOWN_MODEL = "unknown";
+
+    /**
+     * 未单独统计的租户共用的租户标识，租户标识不含该字符，不会与已配置的租户冲突
+     */
+    public static final String SHARED_TENANT = "*";
+
+    private final Set<String> tenants;
+
+    private final Map<UsageKey, Counters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * @param tenants 单独统计的租户，默认租户总是单独统计
+     */
+    public TokenUsageAccumulator(Set<String> tenants) {
+        this.tenants = Set.copyOf(tenants);
+    }
+
+    /**
+     * 记录一次调用的用量，租户和接口取自当前请求上下文
+     * @param kind 用量类型
+     * @param model 模型
+     * @param promptTokens 提示词token数
+     * @param completionTokens 生成token数
+     */
+    public void record(UsageKind kind, String model, long promptTokens, long completionTokens) {
+        RequestContext context = RequestContext.current();
+        UsageKey key = new UsageKey(kind, model == null || model.isEmpty() ? UNKNOWN_MODEL : model,
+                tenantOf(context.getTenantId()), context.getEndpoint());
+        add(key, new UsageTotals(1, Math.max(0, promptTokens), Math.max(0, completionTokens)));
+    }
+
+    /**
+     * 取出并清零自上次取出以来的增量
+     * @return 各维度的增量
+     */
+    public Map<UsageKey, UsageTotals> drain() {
+        Map<UsageKey, UsageTotals> deltas = new HashMap<>();
+        counters.forEach((key, counter) -> {
+            UsageTotals totals = counter.drain();
+            if (!totals.isEmpty()) {
+                deltas.put(key, totals);
+                return;
+            }
+            // 先标记再检查，检查之后才累加的请求线程一定能看到标记，自己把用量转走
+            counter.retired = true;
+            if (counter.requests.sum() == 0) {
+                counters.remove(key, counter);
+            } else {
+                counter.retired = false;
+            }
+        });
+        return deltas;
+    }
+
+    /**
+     * 查看尚未取出的增量，不清零
+     * @return 各维度的增量
+     */
+    public Map<UsageKey, UsageTotals> peek() {
+        Map<UsageKey, UsageTotals> pending = new HashMap<>();
+        counters.forEach((key, counter) -> {
+            UsageTotals totals = new UsageTotals(counter.requests.sum(),
+                    counter.promptTokens.sum(), counter.completionTokens.sum());
+            if (!totals.isEmpty()) {
+                pending.put(key, totals);
+            }
+        });
+        return pending;
+    }
+
+    /**
+     * 写出失败时把增量加回，下次再写
+     * @param deltas 增量
+     */
+    public void restore(Map<UsageKey, UsageTotals> deltas) {
+        deltas.forEach(this::add);
+    }
+
+    private void add(UsageKey key, UsageTotals totals) {
+        while (!totals.isEmpty()) {
+            Counters counter = counters.computeIfAbsent(key, k -> new Counters());
+            counter.requests.add(totals.getRequests());
+            counter.promptTokens.add(totals.getPromptTokens());
+            counter.completionTokens.add(totals.getCompletionTokens());
+            if (!counter.retired) {
+                return;
+            }
+            // 计数器在取到之后被 drain 移除了，把它上面的用量转到映射中新的计数器
+            totals = counter.drain();
+        }
+    }
+
+    /**
+     * 当前统计的维度数量
+     */
+    int size() {
+        return counters.size();
+    }
+
+    private String tenantOf(String tenant) {
+        return RequestContext.DEFAULT_TENANT.equals(tenant) || tenants.contains(tenant) ? tenant : SHARED_TENANT;
+    }
+
+    private static final class Counters {
+
+        private final LongAdder requests = new LongAdder();
+
+        private final LongAdder promptTokens = new LongAdder();
+
+        private final LongAdder completionTokens = new LongAdder();
+
+        /**
+         * 已从映射中移除，之后累加到这里的用量需要转走
+         */
+        private volatile boolean retired;
+
+        private UsageTotals drain() {
+            return new UsageTotals(requests.sumThenReset(), promptTokens.sumThenReset(), completionTokens.sumThenReset());
+        }
+    }
+}
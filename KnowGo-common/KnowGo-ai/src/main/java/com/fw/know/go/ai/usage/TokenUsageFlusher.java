@@ -0,0 +1,59 @@
+package com.fw.know.go.ai.usage;
+
+import com.fw.know.go.ai.configuration.UsageProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description 定时把内存中的用量增量写入存储，写入失败时增量加回累加器，不丢数据
+ * @Date 19/10/2026 上午10:40
+ * @Author Leo
+ */
+@Slf4j
+public class TokenUsageFlusher implements AutoCloseable {
+
+    private final TokenUsageAccumulator accumulator;
+
+    private final TokenUsageStore store;
+
+    private final UsageProperties properties;
+
+    private final ScheduledExecutorService scheduler;
+
+    public TokenUsageFlusher(TokenUsageAccumulator accumulator, TokenUsageStore store, UsageProperties properties) {
+        this.accumulator = accumulator;
+        this.store = store;
+        this.properties = properties;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("ai-usage-flusher").daemon(true).factory());
+        long interval = properties.getFlushInterval().toMillis();
+        this.scheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 写出当前增量
+     */
+    public synchronized void flush() {
+        Map<UsageKey, UsageTotals> deltas = accumulator.drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            store.add(LocalDate.now(properties.getZone()), deltas);
+        } catch (RuntimeException e) {
+            accumulator.restore(deltas);
+            log.warn("flush token usage failed, {} keys kept for next flush", deltas.size(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        this.flush();
+    }
+}
@@ -0,0 +1,95 @@
+package com.fw.know.go.ai.usage;
+
+import com.fw.know.go.ai.configuration.UsageProperties;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @Description 用量查询，合并存储中的数据和尚未写出的内存增量，并按模型单价计算费用
+ * @Date 19/10/2026 上午10:55
+ * @Author Leo
+ */
+public class TokenUsageService {
+
+    private static final BigDecimal THOUSAND = BigDecimal.valueOf(1000);
+
+    private static final int COST_SCALE = 6;
+
+    private final TokenUsageAccumulator accumulator;
+
+    private final TokenUsageStore store;
+
+    private final UsageProperties properties;
+
+    public TokenUsageService(TokenUsageAccumulator accumulator, TokenUsageStore store, UsageProperties properties) {
+        this.accumulator = accumulator;
+        this.store = store;
+        this.properties = properties;
+    }
+
+    /**
+     * 查询日期区间内的用量，条件为空表示不过滤
+     * @param from 开始日期（含）
+     * @param to 结束日期（含）
+     * @param tenantId 租户
+     * @param model 模型
+     * @param endpoint 接口
+     * @return 各维度的用量，按费用和token数降序
+     */
+    public List<UsageReport> query(LocalDate from, LocalDate to, String tenantId, String model, String endpoint) {
+        Map<UsageKey, UsageTotals> merged = new HashMap<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            store.load(date).forEach((key, totals) -> merged.computeIfAbsent(key, k -> new UsageTotals()).add(totals));
+        }
+        LocalDate today = LocalDate.now(properties.getZone());
+        if (!today.isBefore(from) && !today.isAfter(to)) {
+            accumulator.peek().forEach((key, totals) -> merged.computeIfAbsent(key, k -> new UsageTotals()).add(totals));
+        }
+        List<UsageReport> reports = new ArrayList<>();
+        merged.forEach((key, totals) -> {
+            if (matches(tenantId, key.getTenantId()) && matches(model, key.getModel())
+                    && matches(endpoint, key.getEndpoint())) {
+                reports.add(this.toReport(key, totals));
+            }
+        });
+        reports.sort(Comparator.comparing((UsageReport r) -> r.getCost() == null ? BigDecimal.ZERO : r.getCost())
+                .thenComparingLong(r -> r.getPromptTokens() + r.getCompletionTokens())
+                .reversed());
+        return reports;
+    }
+
+    private UsageReport toReport(UsageKey key, UsageTotals totals) {
+        UsageReport report = new UsageReport();
+        report.setKind(key.getKind());
+        report.setModel(key.getModel());
+        report.setTenantId(key.getTenantId());
+        report.setEndpoint(key.getEndpoint());
+        report.setRequests(totals.getRequests());
+        report.setPromptTokens(totals.getPromptTokens());
+        report.setCompletionTokens(totals.getCompletionTokens());
+        report.setCurrency(properties.getCurrency());
+        UsageProperties.Price price = properties.getPrices().get(key.getModel());
+        if (price != null) {
+            BigDecimal cost = price.getPromptPer1k().multiply(BigDecimal.valueOf(totals.getPromptTokens()))
+                    .add(price.getCompletionPer1k().multiply(BigDecimal.valueOf(totals.getCompletionTokens())))
+                    .divide(THOUSAND, COST_SCALE, RoundingMode.HALF_UP);
+            report.setCost(cost);
+            if (totals.getRequests() > 0) {
+                report.setCostPerRequest(cost.divide(BigDecimal.valueOf(totals.getRequests()), COST_SCALE,
+                        RoundingMode.HALF_UP));
+            }
+        }
+        return report;
+    }
+
+    private static boolean matches(String filter, String value) {
+        return filter == null || filter.isEmpty() || filter.equals(value);
+    }
+}
@@ -0,0 +1,26 @@
+package com.fw.know.go.ai.usage;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * @Description 用量的持久化存储，按天累加
+ * @Date 19/10/2026 上午10:20
+ * @Author Leo
+ */
+public interface TokenUsageStore {
+
+    /**
+     * 累加某天的用量
+     * @param date 日期
+     * @param deltas 各维度的增量
+     */
+    void add(LocalDate date, Map<UsageKey, UsageTotals> deltas);
+
+    /**
+     * 读取某天的用量
+     * @param date 日期
+     * @return 各维度的合计
+     */
+    Map<UsageKey, UsageTotals> load(LocalDate date);
+}
@@ -0,0 +1,51 @@
+package com.fw.know.go.ai.usage;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * @Description 用量统计维度：类型、模型、租户、接口
+ * @Date 19/10/2026 上午10:02
+ * @Author Leo
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class UsageKey {
+
+    private static final String SEPARATOR = "|";
+
+    private final UsageKind kind;
+
+    private final String model;
+
+    private final String tenantId;
+
+    private final String endpoint;
+
+    /**
+     * 编码为存储字段名
+     * @return 字段名
+     */
+    public String encode() {
+        return kind.name() + SEPARATOR + model + SEPARATOR + tenantId + SEPARATOR + endpoint;
+    }
+
+    /**
+     * 从存储字段名解码
+     * @param value 字段名
+     * @return 统计维度，格式不符时返回空
+     */
+    public static UsageKey decode(String value) {
+        String[] parts = value.split("\\|", 4);
+        if (parts.length != 4) {
+            return null;
+        }
+        try {
+            return new UsageKey(UsageKind.valueOf(parts[0]), parts[1], parts[2], parts[3]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.fw.know.go.ai.usage;
+
+/**
+ * @Description 用量类型
+ * @Date 19/10/2026 上午10:00
+ * @Author Leo
+ */
+public enum UsageKind {
+
+    /**
+     * 对话
+     */
+    CHAT,
+
+    /**
+     * 向量化
+     */
+    EMBEDDING,
+}
@@ -0,0 +1,40 @@
+package com.fw.know.go.ai.usage;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * @Description 用量查询结果
+ * @Date 19/10/2026 上午10:50
+ * @Author Leo
+ */
+@Data
+public class UsageReport {
+
+    private UsageKind kind;
+
+    private String model;
+
+    private String tenantId;
+
+    private String endpoint;
+
+    private long requests;
+
+    private long promptTokens;
+
+    private long completionTokens;
+
+    /**
+     * 按配置单价计算的费用，未配置单价的模型为空
+     */
+    private BigDecimal cost;
+
+    /**
+     * 平均每次调用的费用
+     */
+    private BigDecimal costPerRequest;
+
+    private String currency;
+}
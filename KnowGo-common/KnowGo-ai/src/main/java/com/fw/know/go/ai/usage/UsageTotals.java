@@ -0,0 +1,45 @@
+package com.fw.know.go.ai.usage;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @Description 用量合计
+ * @Date 19/10/2026 上午10:05
+ * @Author Leo
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsageTotals {
+
+    /**
+     * 调用次数
+     */
+    private long requests;
+
+    /**
+     * 提示词（输入）token数
+     */
+    private long promptTokens;
+
+    /**
+     * 生成（输出）token数
+     */
+    private long completionTokens;
+
+    /**
+     * 累加
+     * @param other 另一份合计
+     */
+    public void add(UsageTotals other) {
+        this.requests += other.requests;
+        this.promptTokens += other.promptTokens;
+        this.completionTokens += other.completionTokens;
+    }
+
+    public boolean isEmpty() {
+        return requests == 0 && promptTokens == 0 && completionTokens == 0;
+    }
+}
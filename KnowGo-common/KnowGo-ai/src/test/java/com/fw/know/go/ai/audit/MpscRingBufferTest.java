@@ -0,0 +1,74 @@
+package com.fw.know.go.ai.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 环形队列测试
+ * @Date 21/10/2026 下午4:00
+ * @Author Leo
+ */
+public class MpscRingBufferTest {
+
+    @Test
+    public void capacityRoundsUpToPowerOfTwo() {
+        assertEquals(8, new MpscRingBuffer<>(5).capacity());
+        assertEquals(4096, new MpscRingBuffer<>(4096).capacity());
+    }
+
+    @Test
+    public void offerFailsWhenFullInsteadOfBlocking() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(4));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, buffer.poll());
+        }
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    public void concurrentProducersLoseNothingThatWasAccepted() throws InterruptedException {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1024);
+        int producers = 4;
+        int perProducer = 50_000;
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    if (buffer.offer(base + i)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        Set<Integer> received = new HashSet<>();
+        while (done.getCount() > 0 || buffer.size() > 0) {
+            Integer value = buffer.poll();
+            if (value != null) {
+                assertTrue(received.add(value), "duplicate " + value);
+            }
+        }
+        Integer value;
+        while ((value = buffer.poll()) != null) {
+            assertTrue(received.add(value), "duplicate " + value);
+        }
+        assertEquals(accepted.get(), received.size());
+    }
+}
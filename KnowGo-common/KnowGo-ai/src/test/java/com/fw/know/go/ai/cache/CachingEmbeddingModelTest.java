@@ -0,0 +1,84 @@
+package com.fw.know.go.ai.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @Description 查询向量缓存测试
+ * @Date 20/10/2026 上午11:10
+ * @Author Leo
+ */
+public class CachingEmbeddingModelTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final EmbeddingModel model = new EmbeddingModel() {
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                calls.incrementAndGet();
+                embeddings.add(new Embedding(new float[]{request.getInstructions().get(i).length()}, i));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return new float[]{document.getText().length()};
+        }
+    };
+
+    @Test
+    public void cachesSingleTextUntilExpiredOrEvicted() {
+        AtomicLong clock = new AtomicLong();
+        CachingEmbeddingModel cached = new CachingEmbeddingModel(model, 2, Duration.ofSeconds(10), clock::get, null);
+
+        float[] first = cached.embed("abc");
+        first[0] = -1f;
+        assertArrayEquals(new float[]{3f}, cached.embed("abc"));
+        assertEquals(1, calls.get());
+
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        cached.embed("abc");
+        assertEquals(2, calls.get());
+
+        cached.embed("de");
+        cached.embed("f");
+        assertEquals(2, cached.size());
+        cached.embed("abc");
+        assertEquals(5, calls.get());
+
+        // 批量向量化不经过缓存
+        cached.embed(List.of("de", "de"));
+        assertEquals(7, calls.get());
+    }
+
+    @Test
+    public void providedVectorsBypassCache() throws Exception {
+        CachingEmbeddingModel cached = new CachingEmbeddingModel(model, 10, Duration.ofSeconds(10), () -> 0L, null);
+        float[] vector = CachingEmbeddingModel.callWithVectors(Map.of("bb", new float[]{42f}), () -> {
+            assertArrayEquals(new float[]{3f}, cached.embed("ccc"));
+            return cached.embed("bb");
+        });
+        assertArrayEquals(new float[]{42f}, vector);
+        assertEquals(1, calls.get());
+        assertEquals(0, cached.size());
+        assertArrayEquals(new float[]{2f}, cached.embed("bb"));
+        assertEquals(1, cached.size());
+    }
+}
@@ -0,0 +1,91 @@
+package com.fw.know.go.ai.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 按租户分区的本地缓存测试
+ * @Date 20/10/2026 下午5:50
+ * @Author Leo
+ */
+public class TenantQuotaCacheTest {
+
+    /**
+     * 键为1个字符、值为 n 个字符的条目占 96 + 2 + 2n 字节
+     */
+    private static String value(int chars) {
+        return "v".repeat(chars);
+    }
+
+    @Test
+    public void noisyTenantOnlyEvictsItsOwnEntries() {
+        TenantQuotaCache<String> cache = new TenantQuotaCache<>(1000,
+                Map.of("quiet", 1000L, "noisy", 1000L, "vip", 2000L), 10_000,
+                Duration.ofHours(1), v -> 2L * v.length(), () -> 0L);
+        cache.put("quiet", "a", value(100));
+        for (int i = 0; i < 50; i++) {
+            cache.put("noisy", String.valueOf((char) ('A' + i)), value(100));
+        }
+        assertNotNull(cache.get("quiet", "a"));
+        // 每条298字节，默认配额只容得下3条
+        assertEquals(3 * 298, cache.bytes("noisy"));
+        assertNull(cache.get("noisy", "A"));
+
+        for (int i = 0; i < 10; i++) {
+            cache.put("vip", String.valueOf(i), value(100));
+        }
+        assertEquals(6 * 298, cache.bytes("vip"));
+        assertEquals(cache.bytes("quiet") + cache.bytes("noisy") + cache.bytes("vip"), cache.totalBytes());
+
+        // 超过配额的单个条目不缓存
+        cache.put("quiet", "b", value(1000));
+        assertNull(cache.get("quiet", "b"));
+    }
+
+    @Test
+    public void globalLimitEvictsLargestPartitionAndEntriesExpire() {
+        AtomicLong clock = new AtomicLong();
+        TenantQuotaCache<String> cache = new TenantQuotaCache<>(1000, Map.of("a", 1000L, "b", 1000L), 1200,
+                Duration.ofSeconds(10), v -> 2L * v.length(), clock::get);
+        cache.put("a", "1", value(100));
+        cache.put("a", "2", value(100));
+        cache.put("a", "3", value(100));
+        cache.put("b", "1", value(100));
+        cache.put("b", "2", value(100));
+        assertEquals(2 * 298, cache.bytes("a"));
+        assertEquals(2 * 298, cache.bytes("b"));
+        assertNull(cache.get("a", "1"));
+
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertNull(cache.get("b", "2"));
+        assertEquals(298, cache.bytes("b"));
+    }
+
+    @Test
+    public void unknownTenantsShareOnePartition() {
+        TenantQuotaCache<String> cache = new TenantQuotaCache<>(1000, Map.of("known", 1000L), 10_000,
+                Duration.ofHours(1), v -> 2L * v.length(), () -> 0L);
+        cache.put("known", "a", value(100));
+        // 不断更换租户标识也只能占满共享分区
+        for (int i = 0; i < 50; i++) {
+            cache.put("rotating-" + i, "a", value(100));
+        }
+        assertNotNull(cache.get("known", "a"));
+        assertEquals(298, cache.bytes("known"));
+        assertEquals(cache.bytes("anyone"), cache.totalBytes() - 298);
+        assertTrue(cache.bytes("anyone") <= 1000);
+
+        // 共享分区里的条目按租户区分
+        cache.put("x", "k", "from-x");
+        assertEquals("from-x", cache.get("x", "k"));
+        assertNull(cache.get("y", "k"));
+    }
+}
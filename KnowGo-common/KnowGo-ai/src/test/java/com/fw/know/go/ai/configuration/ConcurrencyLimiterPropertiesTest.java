@@ -0,0 +1,45 @@
+package com.fw.know.go.ai.configuration;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @Description 并发限制配置测试
+ * @Date 20/10/2026 上午10:10
+ * @Author Leo
+ */
+public class ConcurrencyLimiterPropertiesTest {
+
+    @Test
+    public void poolInheritsUnsetFieldsFromDefaults() {
+        ConcurrencyLimiterProperties properties = new ConcurrencyLimiterProperties();
+        properties.getDefaults().setMaxQueuedPerTenant(50);
+        ConcurrencyLimiterProperties.Pool bulk = new ConcurrencyLimiterProperties.Pool();
+        bulk.setInitialLimit(2);
+        bulk.setMaxLimit(8);
+        bulk.setMaxQueueWait(Duration.ofSeconds(60));
+        properties.getPools().put("chat-bulk", bulk);
+
+        ConcurrencyLimiterProperties.Pool pool = properties.getPool("chat-bulk");
+        assertEquals(2, pool.getInitialLimit());
+        assertEquals(8, pool.getMaxLimit());
+        assertEquals(Duration.ofSeconds(60), pool.getMaxQueueWait());
+        assertEquals(50, pool.getMaxQueuedPerTenant());
+        assertEquals(1, pool.getMinLimit());
+        assertEquals(100, pool.getMaxQueued());
+        assertEquals(0.9, pool.getBackoffRatio());
+        assertNull(pool.getLatencyThreshold());
+        assertNull(bulk.getMaxQueued());
+    }
+
+    @Test
+    public void unknownPoolUsesDefaults() {
+        ConcurrencyLimiterProperties properties = new ConcurrencyLimiterProperties();
+        assertSame(properties.getDefaults(), properties.getPool("embedding-interactive"));
+    }
+}
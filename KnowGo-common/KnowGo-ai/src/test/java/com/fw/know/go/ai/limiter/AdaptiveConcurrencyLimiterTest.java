@@ -0,0 +1,166 @@
+package com.fw.know.go.ai.limiter;
+
+import com.fw.know.go.ai.configuration.ConcurrencyLimiterProperties;
+import com.fw.know.go.ai.exception.AiException;
+import com.fw.know.go.base.context.RequestContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 自适应并发限制器测试
+ * @Date 19/10/2026 下午4:40
+ * @Author Leo
+ */
+public class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    public void growsWhenSaturatedAndSuccessful() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", pool(2, 10, Duration.ZERO, 0));
+        for (int round = 0; round < 20; round++) {
+            AdaptiveConcurrencyLimiter.Permit first = limiter.acquire();
+            AdaptiveConcurrencyLimiter.Permit second = limiter.acquire();
+            first.onSuccess();
+            second.onSuccess();
+        }
+        assertTrue(limiter.getLimit() > 2, "并发打满且调用成功时上限应增长");
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void backsOffOnThrottling() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", pool(20, 64, Duration.ZERO, 0));
+        for (int i = 0; i < 10; i++) {
+            assertThrows(HttpClientErrorException.class, () -> limiter.execute(() -> {
+                throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Throttling", null, null, null);
+            }));
+        }
+        assertTrue(limiter.getLimit() < 20, "被限流后上限应回退");
+    }
+
+    @Test
+    public void ignoresNonCapacityFailures() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", pool(5, 64, Duration.ZERO, 0));
+        assertThrows(IllegalArgumentException.class, () -> limiter.execute(() -> {
+            throw new IllegalArgumentException("bad request");
+        }));
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    public void rejectsWhenQueueIsFull() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", pool(1, 1, Duration.ofMillis(50), 0));
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+        assertThrows(AiException.class, limiter::acquire);
+        assertEquals(1, limiter.getRejected());
+        permit.onSuccess();
+        limiter.acquire().onSuccess();
+    }
+
+    @Test
+    public void rejectsAfterQueueWaitTimeout() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", pool(1, 1, Duration.ofMillis(50), 10));
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+        long start = System.nanoTime();
+        assertThrows(AiException.class, limiter::acquire);
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(40).toNanos());
+        permit.onSuccess();
+    }
+
+    @Test
+    public void grantsQueuedPermitsFairlyAcrossTenants() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test",
+                pool(1, 1, Duration.ofSeconds(5), 10), Map.of("noisy", 1.0, "quiet", 1.0, "heavy", 2.0));
+        AdaptiveConcurrencyLimiter.Permit held = limiter.acquire();
+        List<String> granted = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        // noisy 先排入3个请求，quiet 和 heavy（权重2）随后各排入1个或2个
+        for (String name : List.of("noisy-1", "noisy-2", "noisy-3", "quiet-1", "heavy-1", "heavy-2")) {
+            int queued = limiter.getQueued();
+            threads.add(Thread.ofVirtual().start(() -> {
+                RequestContext.set(new RequestContext(name.substring(0, name.indexOf('-')), null));
+                AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+                synchronized (granted) {
+                    granted.add(name);
+                }
+                permit.onSuccess();
+            }));
+            while (limiter.getQueued() == queued) {
+                Thread.onSpinWait();
+            }
+        }
+        held.onSuccess();
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+        assertEquals(List.of("noisy-1", "quiet-1", "heavy-1", "heavy-2", "noisy-2", "noisy-3"), granted);
+    }
+
+    @Test
+    public void rejectsWhenTenantQueueIsFull() throws InterruptedException {
+        ConcurrencyLimiterProperties.Pool config = pool(1, 1, Duration.ofSeconds(5), 10);
+        config.setMaxQueuedPerTenant(1);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", config);
+        AdaptiveConcurrencyLimiter.Permit held = limiter.acquire();
+        Thread queued = Thread.ofVirtual().start(() -> limiter.acquire().onSuccess());
+        while (limiter.getQueued() == 0) {
+            Thread.onSpinWait();
+        }
+        // 同一租户已有1个排队，总队列未满也拒绝
+        assertThrows(AiException.class, limiter::acquire);
+        assertEquals(1, limiter.getRejected());
+        held.onSuccess();
+        queued.join(5000);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void unknownTenantsShareOneQueue() throws InterruptedException {
+        ConcurrencyLimiterProperties.Pool config = pool(1, 1, Duration.ofSeconds(5), 10);
+        config.setMaxQueuedPerTenant(2);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", config, Map.of("known", 1.0));
+        AdaptiveConcurrencyLimiter.Permit held = limiter.acquire();
+        List<Thread> threads = new ArrayList<>();
+        for (String tenant : List.of("rotating-1", "rotating-2", "known")) {
+            int queued = limiter.getQueued();
+            threads.add(Thread.ofVirtual().start(() -> {
+                RequestContext.set(new RequestContext(tenant, null));
+                limiter.acquire().onSuccess();
+            }));
+            while (limiter.getQueued() == queued) {
+                Thread.onSpinWait();
+            }
+        }
+        // 换一个未配置的租户标识仍计入共享租户的排队数
+        RequestContext.set(new RequestContext("rotating-3", null));
+        try {
+            assertThrows(AiException.class, limiter::acquire);
+        } finally {
+            RequestContext.clear();
+        }
+        assertEquals(1, limiter.getRejected());
+        held.onSuccess();
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private static ConcurrencyLimiterProperties.Pool pool(int initial, int max, Duration maxQueueWait, int maxQueued) {
+        ConcurrencyLimiterProperties.Pool pool = ConcurrencyLimiterProperties.Pool.defaults();
+        pool.setInitialLimit(initial);
+        pool.setMaxLimit(max);
+        pool.setMaxQueueWait(maxQueueWait);
+        pool.setMaxQueued(maxQueued);
+        return pool;
+    }
+}
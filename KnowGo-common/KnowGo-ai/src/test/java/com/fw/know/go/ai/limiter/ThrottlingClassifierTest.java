@@ -0,0 +1,47 @@
+package com.fw.know.go.ai.limiter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 限流异常判断测试
+ * @Date 20/10/2026 上午10:20
+ * @Author Leo
+ */
+public class ThrottlingClassifierTest {
+
+    @Test
+    public void classifyByStatusCode() {
+        assertTrue(ThrottlingClassifier.isThrottled(
+                HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Throttling", null, null, null)));
+        assertTrue(ThrottlingClassifier.isThrottled(
+                HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", null, null, null)));
+        assertFalse(ThrottlingClassifier.isThrottled(
+                HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "invalid model 429", null, null, null)));
+    }
+
+    @Test
+    public void classifyByStatusPrefixOnly() {
+        assertTrue(ThrottlingClassifier.isThrottled(new RuntimeException("429 - {\"code\":\"Throttling\"}")));
+        assertTrue(ThrottlingClassifier.isThrottled(new RuntimeException("wrapped", new IllegalStateException("503 - busy"))));
+        assertFalse(ThrottlingClassifier.isThrottled(new RuntimeException("400 - prompt contains 4290 tokens")));
+        assertFalse(ThrottlingClassifier.isThrottled(new RuntimeException("document 1429 not found")));
+    }
+
+    @Test
+    public void onlyReadTimeoutsCountAsOverload() {
+        assertTrue(ThrottlingClassifier.isThrottled(
+                new ResourceAccessException("I/O error", new SocketTimeoutException("Read timed out"))));
+        assertFalse(ThrottlingClassifier.isThrottled(
+                new ResourceAccessException("I/O error", new ConnectException("Connection refused"))));
+    }
+}
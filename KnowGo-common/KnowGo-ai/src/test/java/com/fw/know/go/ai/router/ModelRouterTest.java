@@ -0,0 +1,170 @@
+package com.fw.know.go.ai.router;
+
+import com.fw.know.go.ai.configuration.ModelRouterProperties;
+import com.fw.know.go.ai.exception.AiErrorCode;
+import com.fw.know.go.ai.exception.AiException;
+import com.fw.know.go.base.exception.DeadlineExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @Description 模型路由测试
+ * @Date 20/10/2026 上午11:20
+ * @Author Leo
+ */
+public class ModelRouterTest {
+
+    private ModelRouterProperties properties;
+
+    private ModelLatencyTracker tracker;
+
+    private ModelRouter router;
+
+    @BeforeEach
+    public void setup() {
+        properties = new ModelRouterProperties();
+        properties.setDefaultModel("qwen-plus");
+        ModelRouterProperties.Rule shortQuestion = new ModelRouterProperties.Rule();
+        shortQuestion.setMaxQuestionLength(10);
+        shortQuestion.setModel("qwen-turbo");
+        properties.setRules(List.of(shortQuestion));
+        properties.setFallbacks(Map.of("qwen-plus", "qwen-turbo", "qwen-max", "qwen-plus"));
+        properties.setSlo(Duration.ofMillis(200));
+        tracker = new ModelLatencyTracker(Duration.ofMinutes(1), properties.knownModels(), null);
+        router = new ModelRouter(properties, tracker, null);
+    }
+
+    @AfterEach
+    public void teardown() {
+        router.close();
+    }
+
+    @Test
+    public void routesShortQuestionToCheaperModel() {
+        RoutingDecision decision = router.route("你是谁", null);
+        assertEquals("qwen-turbo", decision.getModel());
+        assertNull(decision.getFallback());
+        assertEquals("qwen-plus", router.route("请详细介绍一下 Spring AI 的向量存储抽象", null).getModel());
+    }
+
+    @Test
+    public void keepsRequestedModel() {
+        RoutingDecision decision = router.route("你是谁", "qwen-max");
+        assertEquals("qwen-max", decision.getModel());
+        assertEquals("qwen-plus", decision.getFallback());
+    }
+
+    @Test
+    public void rejectsModelsOutsideConfiguration() {
+        AiException thrown = assertThrows(AiException.class, () -> router.route("你是谁", "gpt-unknown"));
+        assertEquals(AiErrorCode.MODEL_NOT_ALLOWED, thrown.getErrorCode());
+
+        properties.setAllowedModels(Set.of("qwen-long"));
+        ModelRouter allowing = new ModelRouter(properties, tracker, null);
+        try {
+            assertEquals("qwen-long", allowing.route("你是谁", "qwen-long").getModel());
+        } finally {
+            allowing.close();
+        }
+    }
+
+    @Test
+    public void tracksLatencyOnlyForConfiguredModels() {
+        for (String model : List.of("qwen-plus", "random-1", "random-2")) {
+            router.execute(new RoutingDecision(model, null), m -> m);
+        }
+        assertNotNull(tracker.quantile("qwen-plus", 0.5, 1));
+        assertNull(tracker.quantile("random-1", 0.5, 1));
+        assertNull(tracker.quantile("other", 0.5, 1));
+    }
+
+    @Test
+    public void failsOverOnError() {
+        RoutingDecision decision = new RoutingDecision("qwen-max", "qwen-plus");
+        String result = router.execute(decision, model -> {
+            if ("qwen-max".equals(model)) {
+                throw new IllegalStateException("boom");
+            }
+            return model;
+        });
+        assertEquals("qwen-plus", result);
+    }
+
+    @Test
+    public void doesNotFailOverOnLimiterRejection() {
+        AiException rejected = new AiException(AiErrorCode.CONCURRENCY_LIMIT_EXCEEDED);
+        AtomicBoolean fallbackCalled = new AtomicBoolean();
+        RoutingDecision decision = new RoutingDecision("qwen-max", "qwen-plus");
+        AiException thrown = assertThrows(AiException.class, () -> router.execute(decision, model -> {
+            if ("qwen-max".equals(model)) {
+                throw rejected;
+            }
+            fallbackCalled.set(true);
+            return model;
+        }));
+        assertSame(rejected, thrown);
+        assertFalse(fallbackCalled.get());
+    }
+
+    @Test
+    public void doesNotFailOverOnDeadline() {
+        AtomicBoolean fallbackCalled = new AtomicBoolean();
+        RoutingDecision decision = new RoutingDecision("qwen-max", "qwen-plus");
+        assertThrows(DeadlineExceededException.class, () -> router.execute(decision, model -> {
+            if ("qwen-max".equals(model)) {
+                throw new DeadlineExceededException("llm");
+            }
+            fallbackCalled.set(true);
+            return model;
+        }));
+        assertFalse(fallbackCalled.get());
+    }
+
+    @Test
+    public void failsOverWhenSloExceeded() {
+        RoutingDecision decision = new RoutingDecision("qwen-max", "qwen-plus");
+        String result = router.execute(decision, model -> {
+            if ("qwen-max".equals(model)) {
+                sleep(2_000);
+            }
+            return model;
+        });
+        assertEquals("qwen-plus", result);
+    }
+
+    @Test
+    public void hedgesAfterDelay() {
+        properties.getHedge().setEnabled(true);
+        properties.getHedge().setMinDelay(Duration.ofMillis(20));
+        properties.getHedge().setMaxDelay(Duration.ofMillis(50));
+        RoutingDecision decision = new RoutingDecision("qwen-max", "qwen-plus");
+        String result = router.execute(decision, model -> {
+            sleep("qwen-max".equals(model) ? 1_000 : 10);
+            return model;
+        });
+        assertEquals("qwen-plus", result);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
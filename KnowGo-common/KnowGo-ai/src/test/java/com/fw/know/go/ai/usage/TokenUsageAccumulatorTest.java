@@ -0,0 +1,111 @@
+package com.fw.know.go.ai.usage;
+
+import com.fw.know.go.ai.configuration.UsageProperties;
+import com.fw.know.go.base.context.RequestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 用量累加、写出和计费测试
+ * @Date 19/10/2026 上午11:40
+ * @Author Leo
+ */
+public class TokenUsageAccumulatorTest {
+
+    private final TokenUsageAccumulator accumulator = new TokenUsageAccumulator(Set.of("tenant-a"));
+
+    @AfterEach
+    public void clearContext() {
+        RequestContext.clear();
+    }
+
+    @Test
+    public void recordByTenantAndEndpoint() {
+        RequestContext.set(new RequestContext("tenant-a", "POST /rag/chat"));
+        accumulator.record(UsageKind.CHAT, "qwen-plus", 100, 20);
+        accumulator.record(UsageKind.CHAT, "qwen-plus", 50, 10);
+        RequestContext.clear();
+        accumulator.record(UsageKind.EMBEDDING, null, 30, 0);
+
+        Map<UsageKey, UsageTotals> deltas = accumulator.drain();
+        assertEquals(new UsageTotals(2, 150, 30),
+                deltas.get(new UsageKey(UsageKind.CHAT, "qwen-plus", "tenant-a", "POST /rag/chat")));
+        assertEquals(new UsageTotals(1, 30, 0), deltas.get(new UsageKey(UsageKind.EMBEDDING, "unknown",
+                RequestContext.DEFAULT_TENANT, RequestContext.NO_ENDPOINT)));
+        assertTrue(accumulator.drain().isEmpty());
+    }
+
+    @Test
+    public void unknownTenantsShareOneKey() {
+        for (int i = 0; i < 100; i++) {
+            RequestContext.set(new RequestContext("rotating-" + i, "POST /rag/chat"));
+            accumulator.record(UsageKind.CHAT, "qwen-plus", 10, 1);
+        }
+        Map<UsageKey, UsageTotals> deltas = accumulator.drain();
+        assertEquals(1, deltas.size());
+        assertEquals(new UsageTotals(100, 1000, 100), deltas.get(new UsageKey(UsageKind.CHAT, "qwen-plus",
+                TokenUsageAccumulator.SHARED_TENANT, "POST /rag/chat")));
+    }
+
+    @Test
+    public void dropKeysAfterEmptyDrain() {
+        accumulator.record(UsageKind.CHAT, "qwen-plus", 10, 1);
+        accumulator.drain();
+        assertEquals(1, accumulator.size());
+        assertTrue(accumulator.drain().isEmpty());
+        assertEquals(0, accumulator.size());
+        accumulator.record(UsageKind.CHAT, "qwen-plus", 10, 1);
+        assertEquals(new UsageTotals(1, 10, 1), accumulator.drain().values().iterator().next());
+    }
+
+    @Test
+    public void restoreAfterFailedFlush() {
+        accumulator.record(UsageKind.CHAT, "qwen-turbo", 10, 5);
+        Map<UsageKey, UsageTotals> deltas = accumulator.drain();
+        accumulator.restore(deltas);
+        accumulator.record(UsageKind.CHAT, "qwen-turbo", 10, 5);
+        assertEquals(new UsageTotals(2, 20, 10), accumulator.peek().values().iterator().next());
+    }
+
+    @Test
+    public void encodeAndDecodeKey() {
+        UsageKey key = new UsageKey(UsageKind.CHAT, "qwen-max", "t1", "GET /document/query");
+        assertEquals(key, UsageKey.decode(key.encode()));
+        assertNull(UsageKey.decode("broken"));
+    }
+
+    @Test
+    public void queryMergesStoreAndPendingWithCost() {
+        UsageProperties properties = new UsageProperties();
+        UsageProperties.Price price = new UsageProperties.Price();
+        price.setPromptPer1k(new BigDecimal("0.0008"));
+        price.setCompletionPer1k(new BigDecimal("0.002"));
+        properties.getPrices().put("qwen-plus", price);
+        InMemoryTokenUsageStore store = new InMemoryTokenUsageStore();
+        TokenUsageService service = new TokenUsageService(accumulator, store, properties);
+        LocalDate today = LocalDate.now(properties.getZone());
+
+        accumulator.record(UsageKind.CHAT, "qwen-plus", 1000, 500);
+        store.add(today, accumulator.drain());
+        accumulator.record(UsageKind.CHAT, "qwen-plus", 1000, 500);
+
+        List<UsageReport> reports = service.query(today, today, null, "qwen-plus", null);
+        assertEquals(1, reports.size());
+        UsageReport report = reports.get(0);
+        assertEquals(2, report.getRequests());
+        assertEquals(2000, report.getPromptTokens());
+        assertEquals(0, new BigDecimal("0.0036").compareTo(report.getCost()));
+        assertEquals(0, new BigDecimal("0.0018").compareTo(report.getCostPerRequest()));
+        assertTrue(service.query(today, today, "other", null, null).isEmpty());
+    }
+}
@@ -0,0 +1,103 @@
+package com.fw.know.go.base.context;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @Description 线程上下文快照，用于把请求线程上的上下文（截止时间、负载类型等）传递到子任务线程
+ * <p>
+ * 各上下文类在类加载时通过 {@link #register(ThreadLocal)} 注册自己的ThreadLocal；
+ * 无法以ThreadLocal形式读取的上下文（如链路追踪）通过 {@link #registerDecorator(TaskDecorator)} 包装任务
+ * @Date 20/10/2026 下午1:30
+ * @Author Leo
+ */
+public final class ContextSnapshot {
+
+    private static final List<ThreadLocal<Object>> REGISTERED = new CopyOnWriteArrayList<>();
+
+    private static final List<TaskDecorator> DECORATORS = new CopyOnWriteArrayList<>();
+
+    private final Object[] values;
+
+    private ContextSnapshot(Object[] values) {
+        this.values = values;
+    }
+
+    /**
+     * 注册需要传递的ThreadLocal
+     * @param threadLocal ThreadLocal
+     */
+    @SuppressWarnings("unchecked")
+    public static void register(ThreadLocal<?> threadLocal) {
+        REGISTERED.add((ThreadLocal<Object>) threadLocal);
+    }
+
+    /**
+     * 注册任务装饰器，装饰在调用 {@link #wrap(Callable)} 的线程上进行
+     * @param decorator 任务装饰器
+     */
+    public static void registerDecorator(TaskDecorator decorator) {
+        DECORATORS.add(decorator);
+    }
+
+    /**
+     * 捕获当前线程的上下文
+     * @return 上下文快照
+     */
+    public static ContextSnapshot capture() {
+        Object[] values = new Object[REGISTERED.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = REGISTERED.get(i).get();
+        }
+        return new ContextSnapshot(values);
+    }
+
+    /**
+     * 包装任务，执行时恢复快照中的上下文，结束后还原
+     * @param task 任务
+     * @return 包装后的任务
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+        Callable<T> restoring = () -> {
+            Object[] previous = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                ThreadLocal<Object> threadLocal = REGISTERED.get(i);
+                previous[i] = threadLocal.get();
+                set(threadLocal, values[i]);
+            }
+            try {
+                return task.call();
+            } finally {
+                for (int i = 0; i < values.length; i++) {
+                    set(REGISTERED.get(i), previous[i]);
+                }
+            }
+        };
+        for (TaskDecorator decorator : DECORATORS) {
+            restoring = decorator.decorate(restoring);
+        }
+        return restoring;
+    }
+
+    /**
+     * 任务装饰器
+     */
+    public interface TaskDecorator {
+
+        /**
+         * 装饰任务
+         * @param task 任务
+         * @return 装饰后的任务
+         */
+        <T> Callable<T> decorate(Callable<T> task);
+    }
+
+    private static void set(ThreadLocal<Object> threadLocal, Object value) {
+        if (value == null) {
+            threadLocal.remove();
+        } else {
+            threadLocal.set(value);
+        }
+    }
+}
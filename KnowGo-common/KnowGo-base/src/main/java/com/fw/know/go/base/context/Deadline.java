@@ -0,0 +1,42 @@
+package com.fw.know.go.base.context;
+
+import java.time.Duration;
+
+/**
+ * @Description 请求截止时间
+ * @Date 20/10/2026 下午1:36
+ * @Author Leo
+ */
+public final class Deadline {
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * 从当前时间起经过指定时长后到期
+     * @param timeout 时长
+     * @return 截止时间
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * 剩余时间，已到期时为0
+     * @return 剩余时间
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    /**
+     * 是否已到期
+     * @return 是否到期
+     */
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+}
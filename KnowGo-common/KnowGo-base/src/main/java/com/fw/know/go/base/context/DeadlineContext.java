@@ -0,0 +1,112 @@
+package com.fw.know.go.base.context;
+
+import com.fw.know.go.base.exception.DeadlineExceededException;
+import com.fw.know.go.base.exception.SystemException;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.fw.know.go.base.exception.BaseErrorCode.DEADLINE_EXCEEDED;
+import static com.fw.know.go.base.exception.BaseErrorCode.DOWNSTREAM_ERROR;
+
+/**
+ * @Description 当前请求的截止时间，下游调用据此限制等待时间
+ * @Date 20/10/2026 下午1:40
+ * @Author Leo
+ */
+public final class DeadlineContext {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 受截止时间约束的子任务在虚拟线程上执行，等待方超时后中断子任务
+     */
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    static {
+        ContextSnapshot.register(CURRENT);
+    }
+
+    private DeadlineContext() {
+    }
+
+    /**
+     * 当前截止时间
+     * @return 截止时间，未设置时为空
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 当前剩余时间
+     * @return 剩余时间，未设置截止时间时为空
+     */
+    public static Duration remaining() {
+        Deadline deadline = CURRENT.get();
+        return deadline == null ? null : deadline.remaining();
+    }
+
+    /**
+     * 设置当前截止时间
+     * @param deadline 截止时间
+     */
+    public static void set(Deadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    /**
+     * 清除当前截止时间
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 在当前截止时间内执行任务，超时则中断任务并抛出 {@link DeadlineExceededException}
+     * @param stage 阶段名称，用于错误信息
+     * @param task 任务
+     * @return 任务结果
+     */
+    public static <T> T callWithin(String stage, Callable<T> task) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return call(stage, task);
+        }
+        if (deadline.isExpired()) {
+            throw new DeadlineExceededException(stage);
+        }
+        Future<T> future = EXECUTOR.submit(ContextSnapshot.capture().wrap(task));
+        try {
+            return future.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new DeadlineExceededException(stage);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new SystemException(stage + " failed", e.getCause(), DOWNSTREAM_ERROR);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new SystemException(stage + " interrupted", e, DEADLINE_EXCEEDED);
+        }
+    }
+
+    private static <T> T call(String stage, Callable<T> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SystemException(stage + " failed", e, DOWNSTREAM_ERROR);
+        }
+    }
+}
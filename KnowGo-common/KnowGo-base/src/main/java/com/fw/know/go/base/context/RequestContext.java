@@ -0,0 +1,62 @@
+package com.fw.know.go.base.context;
+
+/**
+ * @Description 当前请求的租户和接口，用于用量统计等按租户、接口归集的场景
+ * @Date 19/10/2026 上午9:30
+ * @Author Leo
+ */
+public final class RequestContext {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    public static final String NO_ENDPOINT = "none";
+
+    private static final RequestContext DEFAULT = new RequestContext(DEFAULT_TENANT, NO_ENDPOINT);
+
+    private static final ThreadLocal<RequestContext> CURRENT = new ThreadLocal<>();
+
+    static {
+        ContextSnapshot.register(CURRENT);
+    }
+
+    private final String tenantId;
+
+    private final String endpoint;
+
+    public RequestContext(String tenantId, String endpoint) {
+        this.tenantId = tenantId == null || tenantId.isEmpty() ? DEFAULT_TENANT : tenantId;
+        this.endpoint = endpoint == null || endpoint.isEmpty() ? NO_ENDPOINT : endpoint;
+    }
+
+    /**
+     * 当前请求上下文，不在请求中时返回默认租户
+     * @return 请求上下文
+     */
+    public static RequestContext current() {
+        RequestContext context = CURRENT.get();
+        return context == null ? DEFAULT : context;
+    }
+
+    /**
+     * 设置当前请求上下文
+     * @param context 请求上下文
+     */
+    public static void set(RequestContext context) {
+        CURRENT.set(context);
+    }
+
+    /**
+     * 清除当前请求上下文
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
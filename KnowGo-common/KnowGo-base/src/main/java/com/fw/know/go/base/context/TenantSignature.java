@@ -0,0 +1,82 @@
+package com.fw.know.go.base.context;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * @Description 网关下发的租户签名，服务端据此确认租户标识来自网关而不是客户端
+ * <p>
+ * 网关认证调用方后丢弃客户端传入的租户请求头，重新设置租户、时间戳（毫秒）和签名三个请求头，
+ * 签名为 HMAC-SHA256(密钥, 租户 + "\n" + 时间戳) 的十六进制小写形式；时间戳与服务端时间相差超过允许的偏差时签名失效
+ * @Date 20/10/2026 下午7:10
+ * @Author Leo
+ */
+public final class TenantSignature {
+
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    public static final String TIMESTAMP_HEADER = "X-Tenant-Timestamp";
+
+    public static final String SIGNATURE_HEADER = "X-Tenant-Signature";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+
+    private final long maxSkewMillis;
+
+    public TenantSignature(String secret, Duration maxSkew) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("tenant signing secret must not be blank");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.maxSkewMillis = maxSkew.toMillis();
+    }
+
+    /**
+     * 计算签名
+     * @param tenant 租户标识
+     * @param timestampMillis 时间戳（毫秒）
+     * @return 签名
+     */
+    public String sign(String tenant, long timestampMillis) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return HexFormat.of().formatHex(mac.doFinal((tenant + "\n" + timestampMillis)
+                    .getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " unavailable", e);
+        }
+    }
+
+    /**
+     * 校验签名
+     * @param tenant 租户请求头
+     * @param timestamp 时间戳请求头
+     * @param signature 签名请求头
+     * @param nowMillis 当前时间（毫秒）
+     * @return 签名有效且未过期
+     */
+    public boolean verify(String tenant, String timestamp, String signature, long nowMillis) {
+        if (tenant == null || timestamp == null || signature == null) {
+            return false;
+        }
+        long timestampMillis;
+        try {
+            timestampMillis = Long.parseLong(timestamp.trim());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (Math.abs(nowMillis - timestampMillis) > maxSkewMillis) {
+            return false;
+        }
+        return MessageDigest.isEqual(this.sign(tenant, timestampMillis).getBytes(StandardCharsets.US_ASCII),
+                signature.trim().toLowerCase().getBytes(StandardCharsets.US_ASCII));
+    }
+}
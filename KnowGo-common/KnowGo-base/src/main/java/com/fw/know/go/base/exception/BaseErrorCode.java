@@ -0,0 +1,44 @@
+package com.fw.know.go.base.exception;
+
+/**
+ * @Description 通用错误码
+ * @Date 20/10/2026 下午1:45
+ * @Author Leo
+ */
+public enum BaseErrorCode implements ErrorCode {
+
+    /**
+     * 请求超过截止时间
+     */
+    DEADLINE_EXCEEDED("DEADLINE_EXCEEDED", "请求处理超时"),
+
+    /**
+     * 下游调用失败
+     */
+    DOWNSTREAM_ERROR("DOWNSTREAM_ERROR", "下游服务调用失败"),
+
+    /**
+     * 租户标识缺失或签名无效
+     */
+    TENANT_UNAUTHORIZED("TENANT_UNAUTHORIZED", "租户身份未认证"),
+    ;
+
+    private final String code;
+
+    private final String message;
+
+    BaseErrorCode(String code, String message) {
+        this.code = code;
+        this.message = message;
+    }
+
+    @Override
+    public String getCode() {
+        return this.code;
+    }
+
+    @Override
+    public String getMessage() {
+        return this.message;
+    }
+}
@@ -0,0 +1,22 @@
+package com.fw.know.go.base.exception;
+
+import lombok.Getter;
+
+/**
+ * @Description 请求超过截止时间异常
+ * @Date 20/10/2026 下午1:48
+ * @Author Leo
+ */
+@Getter
+public class DeadlineExceededException extends SystemException {
+
+    /**
+     * 超时发生的阶段
+     */
+    private final String stage;
+
+    public DeadlineExceededException(String stage) {
+        super("deadline exceeded at " + stage, BaseErrorCode.DEADLINE_EXCEEDED);
+        this.stage = stage;
+    }
+}
@@ -0,0 +1,13 @@
+package com.fw.know.go.base.exception;
+
+/**
+ * @Description 请求没有可信的租户标识
+ * @Date 20/10/2026 下午7:15
+ * @Author Leo
+ */
+public class TenantUnauthorizedException extends BizException {
+
+    public TenantUnauthorizedException(String message) {
+        super(message, BaseErrorCode.TENANT_UNAUTHORIZED);
+    }
+}
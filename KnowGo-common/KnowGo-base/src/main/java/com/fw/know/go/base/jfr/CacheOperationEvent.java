@@ -0,0 +1,40 @@
+package com.fw.know.go.base.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * @Description 缓存操作的JFR事件
+ * <p>
+ * 缓存框架在操作完成后才回调，事件本身为瞬时事件，操作耗时记在 durationMillis 中
+ * @Date 21/10/2026 上午11:12
+ * @Author Leo
+ */
+@Name("com.fw.knowgo.CacheOperation")
+@Label("Cache Operation")
+@Category({"KnowGo", "Cache"})
+@Description("一次缓存读写操作")
+@StackTrace(false)
+public class CacheOperationEvent extends Event {
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Tier")
+    public String tier;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Result")
+    public String result;
+
+    @Label("Operation Duration")
+    @Timespan(Timespan.MILLISECONDS)
+    public long durationMillis;
+}
@@ -0,0 +1,43 @@
+package com.fw.know.go.base.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * @Description 问答请求的JFR事件，覆盖从检索到返回的整个请求
+ * @Date 21/10/2026 上午11:00
+ * @Author Leo
+ */
+@Name("com.fw.knowgo.ChatRequest")
+@Label("Chat Request")
+@Category({"KnowGo", "RAG"})
+@Description("一次知识库问答请求")
+@StackTrace(false)
+public class ChatRequestEvent extends Event {
+
+    @Label("Model")
+    public String model;
+
+    @Label("Candidate Documents")
+    public int candidates;
+
+    @Label("Selected Documents")
+    public int selected;
+
+    @Label("Prompt Tokens")
+    @Description("按字符估算的提示词token数")
+    public int promptTokens;
+
+    @Label("Answer Chars")
+    public int answerChars;
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    @Label("Degraded")
+    public boolean degraded;
+}
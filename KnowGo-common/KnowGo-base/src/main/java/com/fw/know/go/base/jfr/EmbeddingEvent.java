@@ -0,0 +1,33 @@
+package com.fw.know.go.base.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * @Description 向量化调用的JFR事件，只包含发往模型的调用时间，不含并发池排队
+ * @Date 21/10/2026 上午11:08
+ * @Author Leo
+ */
+@Name("com.fw.knowgo.Embedding")
+@Label("Embedding Call")
+@Category({"KnowGo", "AI"})
+@Description("一次向量模型调用")
+@StackTrace(false)
+public class EmbeddingEvent extends Event {
+
+    @Label("Inputs")
+    public int inputs;
+
+    @Label("Input Chars")
+    public int chars;
+
+    @Label("Tokens")
+    public int tokens;
+
+    @Label("Success")
+    public boolean success;
+}
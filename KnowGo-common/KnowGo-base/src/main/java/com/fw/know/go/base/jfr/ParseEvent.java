@@ -0,0 +1,35 @@
+package com.fw.know.go.base.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * @Description 文档解析的JFR事件
+ * @Date 21/10/2026 上午11:10
+ * @Author Leo
+ */
+@Name("com.fw.knowgo.Parse")
+@Label("Document Parse")
+@Category({"KnowGo", "RAG"})
+@Description("一次文档文本提取")
+@StackTrace(false)
+public class ParseEvent extends Event {
+
+    @Label("Content Type")
+    public String contentType;
+
+    @Label("File Size")
+    @DataAmount(DataAmount.BYTES)
+    public long bytes;
+
+    @Label("Text Chars")
+    public int chars;
+
+    @Label("Success")
+    public boolean success;
+}
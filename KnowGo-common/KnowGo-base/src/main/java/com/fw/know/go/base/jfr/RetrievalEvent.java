@@ -0,0 +1,36 @@
+package com.fw.know.go.base.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * @Description 向量检索的JFR事件，耗时包含查询文本的向量化
+ * @Date 21/10/2026 上午11:05
+ * @Author Leo
+ */
+@Name("com.fw.knowgo.Retrieval")
+@Label("Vector Retrieval")
+@Category({"KnowGo", "Vector Store"})
+@Description("一次向量数据库相似性搜索")
+@StackTrace(false)
+public class RetrievalEvent extends Event {
+
+    @Label("Top K")
+    public int topK;
+
+    @Label("Similarity Threshold")
+    public double similarityThreshold;
+
+    @Label("Query Chars")
+    public int queryChars;
+
+    @Label("Hits")
+    public int hits;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,75 @@
+package com.fw.know.go.base.querylog;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @Description 查询日志文件格式：文件头为魔数和版本号，之后每条记录依次为
+ * 与上一条的时间差（变长整数，毫秒）、字符串字典引用的租户/方法/路径、变长长度前缀的查询字符串和请求体。
+ * 同一文件中重复出现的租户、方法、路径只写一次，之后以字典序号引用
+ * @Date 19/10/2026 下午7:05
+ * @Author Leo
+ */
+final class QueryLogFormat {
+
+    static final int MAGIC = 0x4B47514C;
+
+    static final int VERSION = 1;
+
+    /**
+     * 字典引用为0表示紧跟一个新字符串，否则为字典序号加1
+     */
+    static final int NEW_ENTRY = 0;
+
+    private QueryLogFormat() {
+    }
+
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("malformed varint");
+    }
+
+    /**
+     * 有符号整数的ZigZag编码，时钟回拨时时间差为负
+     */
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in, int maxLength) throws IOException {
+        long length = readVarLong(in);
+        if (length < 0 || length > maxLength) {
+            throw new IOException("string length out of range: " + length);
+        }
+        byte[] bytes = new byte[(int) length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
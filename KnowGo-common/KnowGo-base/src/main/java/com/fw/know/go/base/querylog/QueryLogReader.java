@@ -0,0 +1,75 @@
+package com.fw.know.go.base.querylog;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Description 查询日志读取器，进程异常退出时最后一条记录可能不完整，读到不完整的记录时视为文件结束
+ * @Date 19/10/2026 下午7:15
+ * @Author Leo
+ */
+public class QueryLogReader implements Closeable {
+
+    private static final int MAX_STRING_LENGTH = 1 << 20;
+
+    private final DataInputStream in;
+
+    private final List<String> dictionary = new ArrayList<>();
+
+    private long lastTimestamp;
+
+    public QueryLogReader(InputStream inputStream) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(inputStream));
+        if (in.readInt() != QueryLogFormat.MAGIC) {
+            throw new IOException("not a query log file");
+        }
+        int version = in.readUnsignedByte();
+        if (version != QueryLogFormat.VERSION) {
+            throw new IOException("unsupported query log version: " + version);
+        }
+    }
+
+    /**
+     * 读取下一条记录
+     * @return 记录，文件结束时返回空
+     * @throws IOException 读取失败或文件损坏
+     */
+    public QueryLogRecord next() throws IOException {
+        try {
+            long timestamp = lastTimestamp + QueryLogFormat.unZigZag(QueryLogFormat.readVarLong(in));
+            String tenant = this.readReference();
+            String method = this.readReference();
+            String path = this.readReference();
+            String query = QueryLogFormat.readString(in, MAX_STRING_LENGTH);
+            String body = QueryLogFormat.readString(in, MAX_STRING_LENGTH);
+            lastTimestamp = timestamp;
+            return new QueryLogRecord(timestamp, tenant, method, path, query, body);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private String readReference() throws IOException {
+        long reference = QueryLogFormat.readVarLong(in);
+        if (reference == QueryLogFormat.NEW_ENTRY) {
+            String value = QueryLogFormat.readString(in, MAX_STRING_LENGTH);
+            dictionary.add(value);
+            return value;
+        }
+        if (reference > dictionary.size()) {
+            throw new IOException("dictionary reference out of range: " + reference);
+        }
+        return dictionary.get((int) reference - 1);
+    }
+}
@@ -0,0 +1,22 @@
+package com.fw.know.go.base.querylog;
+
+/**
+ * @Description 查询日志中的一条请求
+ * @param timestampMillis 请求到达时间（毫秒时间戳）
+ * @param tenant 脱敏后的租户标识
+ * @param method HTTP方法
+ * @param path 请求路径
+ * @param query 查询字符串，没有时为空串
+ * @param body 请求体，没有时为空串
+ * @Date 19/10/2026 下午7:00
+ * @Author Leo
+ */
+public record QueryLogRecord(long timestampMillis, String tenant, String method, String path, String query,
+                             String body) {
+
+    public QueryLogRecord {
+        tenant = tenant == null ? "" : tenant;
+        query = query == null ? "" : query;
+        body = body == null ? "" : body;
+    }
+}
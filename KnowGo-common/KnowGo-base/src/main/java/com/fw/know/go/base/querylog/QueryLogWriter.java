@@ -0,0 +1,80 @@
+package com.fw.know.go.base.querylog;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @Description 查询日志写入器，只追加，非线程安全，由单个写线程使用
+ * @Date 19/10/2026 下午7:10
+ * @Author Leo
+ */
+public class QueryLogWriter implements Closeable {
+
+    private final DataOutputStream out;
+
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    private long lastTimestamp;
+
+    private long bytesWritten;
+
+    public QueryLogWriter(OutputStream outputStream) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        out.writeInt(QueryLogFormat.MAGIC);
+        out.writeByte(QueryLogFormat.VERSION);
+    }
+
+    /**
+     * 追加一条记录
+     * @param record 记录
+     * @throws IOException 写入失败
+     */
+    public void append(QueryLogRecord record) throws IOException {
+        int before = out.size();
+        QueryLogFormat.writeVarLong(out, QueryLogFormat.zigZag(record.timestampMillis() - lastTimestamp));
+        lastTimestamp = record.timestampMillis();
+        this.writeReference(record.tenant());
+        this.writeReference(record.method());
+        this.writeReference(record.path());
+        QueryLogFormat.writeString(out, record.query());
+        QueryLogFormat.writeString(out, record.body());
+        bytesWritten += out.size() - before;
+    }
+
+    /**
+     * 把缓冲区写到底层流
+     * @throws IOException 写入失败
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * 已写入的记录字节数（不含文件头）
+     * @return 字节数
+     */
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeReference(String value) throws IOException {
+        Integer index = dictionary.get(value);
+        if (index != null) {
+            QueryLogFormat.writeVarLong(out, index + 1L);
+            return;
+        }
+        QueryLogFormat.writeVarLong(out, QueryLogFormat.NEW_ENTRY);
+        QueryLogFormat.writeString(out, value);
+        dictionary.put(value, dictionary.size());
+    }
+}
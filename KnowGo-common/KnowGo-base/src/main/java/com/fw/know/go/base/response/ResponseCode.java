@@ -24,5 +24,10 @@ public enum ResponseCode {
     /**
      * 业务错误
      */
-    BIZ_ERROR;
+    BIZ_ERROR,
+
+    /**
+     * 降级响应，数据不完整
+     */
+    DEGRADED;
 }
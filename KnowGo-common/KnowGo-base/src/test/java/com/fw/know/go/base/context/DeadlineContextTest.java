@@ -0,0 +1,103 @@
+package com.fw.know.go.base.context;
+
+import com.fw.know.go.base.exception.DeadlineExceededException;
+import com.fw.know.go.base.exception.SystemException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 请求截止时间测试
+ * @Date 20/10/2026 下午2:30
+ * @Author Leo
+ */
+public class DeadlineContextTest {
+
+    @AfterEach
+    public void clearDeadline() {
+        DeadlineContext.clear();
+    }
+
+    @Test
+    public void runsInlineWithoutDeadline() {
+        Thread caller = Thread.currentThread();
+        assertNull(DeadlineContext.remaining());
+        assertSame(caller, DeadlineContext.callWithin("retrieve", Thread::currentThread));
+    }
+
+    @Test
+    public void failsFastWhenAlreadyExpired() {
+        DeadlineContext.set(Deadline.after(Duration.ZERO));
+        AtomicBoolean called = new AtomicBoolean();
+
+        assertThrows(DeadlineExceededException.class, () -> DeadlineContext.callWithin("retrieve", () -> {
+            called.set(true);
+            return null;
+        }));
+        assertFalse(called.get());
+    }
+
+    @Test
+    public void interruptsTaskWhenDeadlineExpires() throws InterruptedException {
+        DeadlineContext.set(Deadline.after(Duration.ofMillis(50)));
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        assertThrows(DeadlineExceededException.class, () -> DeadlineContext.callWithin("chat", () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }));
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(5).toNanos());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void returnsResultAndRethrowsFailuresWithinDeadline() {
+        DeadlineContext.set(Deadline.after(Duration.ofSeconds(10)));
+
+        assertEquals("answer", DeadlineContext.callWithin("chat", () -> "answer"));
+        assertThrows(IllegalStateException.class, () -> DeadlineContext.callWithin("chat", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        SystemException wrapped = assertThrows(SystemException.class, () -> DeadlineContext.callWithin("chat", () -> {
+            throw new IOException("reset");
+        }));
+        assertTrue(wrapped.getCause() instanceof IOException);
+    }
+
+    @Test
+    public void propagatesThroughContextSnapshot() throws Exception {
+        Deadline deadline = Deadline.after(Duration.ofSeconds(10));
+        DeadlineContext.set(deadline);
+
+        // callWithin 在虚拟线程上执行，截止时间随快照传递
+        assertSame(deadline, DeadlineContext.callWithin("retrieve", DeadlineContext::current));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertSame(deadline, executor.submit(ContextSnapshot.capture().wrap(DeadlineContext::current)).get());
+            // 任务结束后还原工作线程原来的上下文
+            assertNull(executor.submit(DeadlineContext::current).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
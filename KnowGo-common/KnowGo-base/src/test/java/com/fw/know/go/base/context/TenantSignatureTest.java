@@ -0,0 +1,43 @@
+package com.fw.know.go.base.context;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 租户签名测试
+ * @Date 20/10/2026 下午7:40
+ * @Author Leo
+ */
+public class TenantSignatureTest {
+
+    private final TenantSignature signature = new TenantSignature("gateway-secret", Duration.ofMinutes(5));
+
+    @Test
+    public void acceptsSignatureFromGateway() {
+        long now = 1_760_000_000_000L;
+        String signed = signature.sign("tenant-a", now);
+        assertTrue(signature.verify("tenant-a", String.valueOf(now), signed, now + 1000));
+        assertTrue(signature.verify("tenant-a", String.valueOf(now), signed.toUpperCase(), now));
+    }
+
+    @Test
+    public void rejectsForgedOrStaleSignature() {
+        long now = 1_760_000_000_000L;
+        String signed = signature.sign("tenant-a", now);
+        // 签名不能换到其他租户上使用
+        assertFalse(signature.verify("tenant-b", String.valueOf(now), signed, now));
+        assertFalse(signature.verify("tenant-a", String.valueOf(now + 1), signed, now));
+        assertFalse(signature.verify("tenant-a", String.valueOf(now), signed, now + Duration.ofMinutes(6).toMillis()));
+        assertFalse(signature.verify("tenant-a", String.valueOf(now),
+                new TenantSignature("other-secret", Duration.ofMinutes(5)).sign("tenant-a", now), now));
+        assertFalse(signature.verify("tenant-a", "abc", signed, now));
+        assertFalse(signature.verify("tenant-a", null, signed, now));
+        assertFalse(signature.verify("tenant-a", String.valueOf(now), null, now));
+        assertThrows(IllegalArgumentException.class, () -> new TenantSignature(" ", Duration.ofMinutes(5)));
+    }
+}
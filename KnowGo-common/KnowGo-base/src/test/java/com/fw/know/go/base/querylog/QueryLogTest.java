@@ -0,0 +1,76 @@
+package com.fw.know.go.base.querylog;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 查询日志读写测试
+ * @Date 19/10/2026 下午8:20
+ * @Author Leo
+ */
+public class QueryLogTest {
+
+    @Test
+    public void roundTrip() throws IOException {
+        List<QueryLogRecord> records = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 100; i++) {
+            records.add(i % 2 == 0
+                    ? new QueryLogRecord(now + i * 37L, "5f2c", "POST", "/rag/chat", "", "{\"question\":\"问题" + i + "\"}")
+                    : new QueryLogRecord(now + i * 37L, "", "GET", "/document/query", "query=q" + i, ""));
+        }
+        // 时钟回拨
+        records.add(new QueryLogRecord(now, "5f2c", "GET", "/document/query", "query=x", ""));
+        byte[] bytes = write(records);
+        // 路径和租户只写一次，每条记录远小于原始文本
+        assertTrue(bytes.length < 100 * 40, "size " + bytes.length);
+        assertEquals(records, read(bytes));
+    }
+
+    @Test
+    public void truncatedTailEndsFile() throws IOException {
+        List<QueryLogRecord> records = List.of(
+                new QueryLogRecord(1, "t", "GET", "/document/query", "query=a", ""),
+                new QueryLogRecord(2, "t", "GET", "/document/query", "query=b", ""));
+        byte[] bytes = write(records);
+        assertEquals(records.subList(0, 1), read(Arrays.copyOf(bytes, bytes.length - 2)));
+    }
+
+    @Test
+    public void rejectForeignFile() {
+        assertThrows(IOException.class, () -> new QueryLogReader(new ByteArrayInputStream("not a log".getBytes())));
+    }
+
+    private static byte[] write(List<QueryLogRecord> records) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (QueryLogWriter writer = new QueryLogWriter(out)) {
+            for (QueryLogRecord record : records) {
+                writer.append(record);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static List<QueryLogRecord> read(byte[] bytes) throws IOException {
+        List<QueryLogRecord> records = new ArrayList<>();
+        try (QueryLogReader reader = new QueryLogReader(new ByteArrayInputStream(bytes))) {
+            QueryLogRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+            assertNull(reader.next());
+        }
+        return records;
+    }
+}
@@ -0,0 +1,418 @@
+package com.fw.know.go.cache.codec;
+
+import com.alicp.jetcache.CacheValueHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * @Description 紧凑二进制缓存编解码
+ * <p>
+ * 格式：[4字节标识][1字节标志位][原始长度varint，仅压缩时][负载]
+ * 负载：[1字节包装类型][CacheValueHolder时：expireTime、accessTime varint][1字节值类型][值]
+ * String、float[]、List&lt;String&gt; 走专用编码，其余类型回退到Java序列化
+ * @Date 19/10/2026 下午1:40
+ * @Author Leo
+ */
+public final class CompactValueCodec {
+
+    /**
+     * 编码标识，写在每个值的头部，JetCache据此选择解码器
+     */
+    public static final int IDENTITY_NUMBER = 0x4B474301;
+
+    static final int HEADER_LENGTH = 4;
+
+    private static final byte FLAG_COMPRESSED = 0x01;
+
+    private static final byte WRAP_RAW = 0;
+    private static final byte WRAP_HOLDER = 1;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_FLOAT_ARRAY = 2;
+    private static final byte TYPE_STRING_LIST = 3;
+    private static final byte TYPE_JAVA = 127;
+
+    private CompactValueCodec() {
+    }
+
+    /**
+     * 编码
+     * @param value 待编码的值，远程缓存中为CacheValueHolder
+     * @param useIdentityNumber 是否写入编码标识
+     * @param compressThreshold 负载超过该字节数时压缩，小于等于0表示不压缩
+     * @return 编码后的字节
+     */
+    public static byte[] encode(Object value, boolean useIdentityNumber, int compressThreshold) throws IOException {
+        Output payload = new Output(256);
+        if (value instanceof CacheValueHolder<?> holder) {
+            payload.writeByte(WRAP_HOLDER);
+            payload.writeVarLong(holder.getExpireTime());
+            payload.writeVarLong(holder.getAccessTime());
+            writeValue(payload, holder.getValue());
+        } else {
+            payload.writeByte(WRAP_RAW);
+            writeValue(payload, value);
+        }
+
+        Output out = new Output(payload.size() + 16);
+        if (useIdentityNumber) {
+            out.writeInt(IDENTITY_NUMBER);
+        }
+        if (compressThreshold > 0 && payload.size() > compressThreshold) {
+            byte[] compressed = deflate(payload.buffer(), payload.size());
+            if (compressed.length < payload.size()) {
+                out.writeByte(FLAG_COMPRESSED);
+                out.writeVarInt(payload.size());
+                out.writeBytes(compressed, 0, compressed.length);
+                return out.toByteArray();
+            }
+        }
+        out.writeByte((byte) 0);
+        out.writeBytes(payload.buffer(), 0, payload.size());
+        return out.toByteArray();
+    }
+
+    /**
+     * 解码
+     * @param buffer 编码后的字节
+     * @param useIdentityNumber 是否包含编码标识
+     * @return 解码后的值
+     */
+    public static Object decode(byte[] buffer, boolean useIdentityNumber) throws IOException, ClassNotFoundException {
+        Input in = new Input(buffer, useIdentityNumber ? HEADER_LENGTH : 0);
+        byte flags = in.readByte();
+        if ((flags & FLAG_COMPRESSED) != 0) {
+            int length = in.readVarInt();
+            in = new Input(inflate(buffer, in.position(), length), 0);
+        }
+        byte wrap = in.readByte();
+        if (wrap == WRAP_HOLDER) {
+            CacheValueHolder<Object> holder = new CacheValueHolder<>();
+            holder.setExpireTime(in.readVarLong());
+            holder.setAccessTime(in.readVarLong());
+            holder.setValue(readValue(in));
+            return holder;
+        }
+        return readValue(in);
+    }
+
+    private static void writeValue(Output out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof String s) {
+            out.writeByte(TYPE_STRING);
+            out.writeString(s);
+        } else if (value instanceof float[] floats) {
+            out.writeByte(TYPE_FLOAT_ARRAY);
+            out.writeVarInt(floats.length);
+            out.writeFloats(floats);
+        } else if (isStringList(value)) {
+            List<?> list = (List<?>) value;
+            out.writeByte(TYPE_STRING_LIST);
+            out.writeVarInt(list.size());
+            for (Object item : list) {
+                out.writeString((String) item);
+            }
+        } else {
+            out.writeByte(TYPE_JAVA);
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(256);
+            try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                oos.writeObject(value);
+            }
+            byte[] bytes = bos.toByteArray();
+            out.writeBytes(bytes, 0, bytes.length);
+        }
+    }
+
+    private static Object readValue(Input in) throws IOException, ClassNotFoundException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return in.readString();
+            case TYPE_FLOAT_ARRAY:
+                return in.readFloats(in.readVarInt());
+            case TYPE_STRING_LIST: {
+                int size = in.readVarInt();
+                List<String> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(in.readString());
+                }
+                return list;
+            }
+            case TYPE_JAVA: {
+                ByteArrayInputStream bis = new ByteArrayInputStream(in.buffer(), in.position(), in.remaining());
+                try (ObjectInputStream ois = new ContextClassLoaderObjectInputStream(bis)) {
+                    return ois.readObject();
+                }
+            }
+            default:
+                throw new IOException("unknown compact value type: " + type);
+        }
+    }
+
+    /**
+     * 只有ArrayList/不可变List且元素全部为非空String时才走专用编码，保证解码后类型语义一致
+     */
+    private static boolean isStringList(Object value) {
+        if (!(value instanceof List<?> list)) {
+            return false;
+        }
+        if (!(value instanceof ArrayList) && !value.getClass().getName().startsWith("java.util.ImmutableCollections")) {
+            return false;
+        }
+        for (Object item : list) {
+            if (!(item instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] deflate(byte[] data, int length) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(data, 0, length);
+            deflater.finish();
+            Output out = new Output(Math.max(64, length / 2));
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                out.writeBytes(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int offset, int length) throws IOException {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data, offset, data.length - offset);
+            byte[] result = new byte[length];
+            int n = 0;
+            while (n < length) {
+                int read = inflater.inflate(result, n, length - n);
+                if (read == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                n += read;
+            }
+            if (n != length) {
+                throw new IOException("corrupted compact value, expect " + length + " bytes but got " + n);
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new IOException("corrupted compact value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 可扩容的写缓冲
+     */
+    private static final class Output {
+
+        private byte[] buf;
+
+        private int pos;
+
+        Output(int capacity) {
+            this.buf = new byte[capacity];
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+
+        int size() {
+            return pos;
+        }
+
+        byte[] toByteArray() {
+            byte[] result = new byte[pos];
+            System.arraycopy(buf, 0, result, 0, pos);
+            return result;
+        }
+
+        void writeByte(byte b) {
+            ensure(1);
+            buf[pos++] = b;
+        }
+
+        void writeInt(int v) {
+            ensure(4);
+            buf[pos++] = (byte) (v >>> 24);
+            buf[pos++] = (byte) (v >>> 16);
+            buf[pos++] = (byte) (v >>> 8);
+            buf[pos++] = (byte) v;
+        }
+
+        void writeVarInt(int v) {
+            ensure(5);
+            while ((v & ~0x7F) != 0) {
+                buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        void writeVarLong(long v) {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        void writeBytes(byte[] src, int offset, int length) {
+            ensure(length);
+            System.arraycopy(src, offset, buf, pos, length);
+            pos += length;
+        }
+
+        void writeString(String s) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            writeBytes(bytes, 0, bytes.length);
+        }
+
+        void writeFloats(float[] floats) {
+            ensure(floats.length * Float.BYTES);
+            ByteBuffer.wrap(buf, pos, floats.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                    .asFloatBuffer().put(floats);
+            pos += floats.length * Float.BYTES;
+        }
+
+        private void ensure(int n) {
+            if (pos + n > buf.length) {
+                byte[] grown = new byte[Math.max(buf.length << 1, pos + n)];
+                System.arraycopy(buf, 0, grown, 0, pos);
+                buf = grown;
+            }
+        }
+    }
+
+    /**
+     * 读缓冲
+     */
+    private static final class Input {
+
+        private final byte[] buf;
+
+        private int pos;
+
+        Input(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+
+        int position() {
+            return pos;
+        }
+
+        int remaining() {
+            return buf.length - pos;
+        }
+
+        byte readByte() throws IOException {
+            if (pos >= buf.length) {
+                throw new IOException("unexpected end of compact value");
+            }
+            return buf[pos++];
+        }
+
+        int readVarInt() throws IOException {
+            int result = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte b = readByte();
+                result |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("malformed varint");
+        }
+
+        long readVarLong() throws IOException {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("malformed varlong");
+        }
+
+        String readString() throws IOException {
+            int length = readVarInt();
+            check(length);
+            String s = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return s;
+        }
+
+        float[] readFloats(int count) throws IOException {
+            check(count * Float.BYTES);
+            float[] floats = new float[count];
+            ByteBuffer.wrap(buf, pos, count * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                    .asFloatBuffer().get(floats);
+            pos += count * Float.BYTES;
+            return floats;
+        }
+
+        private void check(int length) throws IOException {
+            if (length < 0 || length > remaining()) {
+                throw new IOException("unexpected end of compact value");
+            }
+        }
+    }
+
+    /**
+     * 使用线程上下文类加载器解析类，与JetCache的Java解码器保持一致
+     */
+    private static final class ContextClassLoaderObjectInputStream extends ObjectInputStream {
+
+        ContextClassLoaderObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader == null) {
+                return super.resolveClass(desc);
+            }
+            try {
+                return Class.forName(desc.getName(), false, classLoader);
+            } catch (ClassNotFoundException e) {
+                return super.resolveClass(desc);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.fw.know.go.cache.codec;
+
+import com.alicp.jetcache.support.AbstractValueDecoder;
+import com.alicp.jetcache.support.DecoderMap;
+
+/**
+ * @Description 紧凑二进制缓存值解码器，通过 valueDecoder: bean:compactValueDecoder 启用
+ * <p>
+ * 开启编码标识时按值头部的标识选择解码器，切换编码前写入的Java序列化数据仍可正常读取
+ * @Date 19/10/2026 下午2:08
+ * @Author Leo
+ */
+public class CompactValueDecoder extends AbstractValueDecoder {
+
+    public CompactValueDecoder(boolean useIdentityNumber) {
+        super(useIdentityNumber);
+        DecoderMap.defaultInstance().register(CompactValueCodec.IDENTITY_NUMBER, this);
+    }
+
+    @Override
+    protected Object doApply(byte[] buffer) throws Exception {
+        return CompactValueCodec.decode(buffer, useIdentityNumber);
+    }
+}
@@ -0,0 +1,31 @@
+package com.fw.know.go.cache.codec;
+
+import com.alicp.jetcache.CacheEncodeException;
+import com.alicp.jetcache.support.AbstractValueEncoder;
+
+/**
+ * @Description 紧凑二进制缓存值编码器，通过 valueEncoder: bean:compactValueEncoder 启用
+ * @Date 19/10/2026 下午2:05
+ * @Author Leo
+ */
+public class CompactValueEncoder extends AbstractValueEncoder {
+
+    /**
+     * 负载超过该字节数时压缩
+     */
+    private final int compressThreshold;
+
+    public CompactValueEncoder(boolean useIdentityNumber, int compressThreshold) {
+        super(useIdentityNumber);
+        this.compressThreshold = compressThreshold;
+    }
+
+    @Override
+    public byte[] apply(Object value) {
+        try {
+            return CompactValueCodec.encode(value, useIdentityNumber, compressThreshold);
+        } catch (Exception e) {
+            throw new CacheEncodeException("compact encode error: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.fw.know.go.cache.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @Description 缓存编解码配置属性
+ * @Date 19/10/2026 下午2:12
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = CacheCodecProperties.PREFIX)
+public class CacheCodecProperties {
+
+    public static final String PREFIX = "know.go.cache.codec";
+
+    /**
+     * 是否在值头部写入编码标识，开启后可与Java序列化数据混读
+     */
+    private boolean useIdentityNumber = true;
+
+    /**
+     * 负载超过该字节数时压缩，小于等于0表示不压缩
+     */
+    private int compressThreshold = 1024;
+}
@@ -1,6 +1,13 @@
 package com.fw.know.go.cache.configuration;
 
 import com.alicp.jetcache.anno.config.EnableMethodCache;
+import com.fw.know.go.cache.codec.CompactValueDecoder;
+import com.fw.know.go.cache.codec.CompactValueEncoder;
+import com.fw.know.go.cache.metrics.CacheMetricsPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
@@ -10,5 +17,21 @@ import org.springframework.context.annotation.Configuration;
  */
 @Configuration
 @EnableMethodCache(basePackages = "com.fw.know.go")
+@EnableConfigurationProperties(CacheCodecProperties.class)
 public class CacheConfiguration {
+
+    @Bean
+    public CompactValueEncoder compactValueEncoder(CacheCodecProperties properties) {
+        return new CompactValueEncoder(properties.isUseIdentityNumber(), properties.getCompressThreshold());
+    }
+
+    @Bean
+    public static CacheMetricsPostProcessor cacheMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new CacheMetricsPostProcessor(meterRegistry);
+    }
+
+    @Bean
+    public CompactValueDecoder compactValueDecoder(CacheCodecProperties properties) {
+        return new CompactValueDecoder(properties.isUseIdentityNumber());
+    }
 }
@@ -0,0 +1,30 @@
+package com.fw.know.go.cache.metrics;
+
+import com.alicp.jetcache.template.CacheBuilderTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * @Description 向JetCache的缓存模板注册监控安装器，之后通过CacheManager创建的缓存都会上报指标和JFR事件
+ * @Date 20/10/2026 下午5:00
+ * @Author Leo
+ */
+public class CacheMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    public CacheMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof CacheBuilderTemplate template) {
+            MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+            template.getCacheMonitorInstallers().add(new MicrometerCacheMonitorInstaller(meterRegistry));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,68 @@
+package com.fw.know.go.cache.metrics;
+
+import com.alicp.jetcache.CacheMonitor;
+import com.alicp.jetcache.CacheResult;
+import com.alicp.jetcache.CacheResultCode;
+import com.alicp.jetcache.event.CacheEvent;
+import com.alicp.jetcache.event.CacheGetAllEvent;
+import com.alicp.jetcache.event.CacheGetEvent;
+import com.alicp.jetcache.event.CacheLoadEvent;
+import com.alicp.jetcache.event.CachePutAllEvent;
+import com.alicp.jetcache.event.CachePutEvent;
+import com.alicp.jetcache.event.CacheRemoveAllEvent;
+import com.alicp.jetcache.event.CacheRemoveEvent;
+import com.fw.know.go.base.jfr.CacheOperationEvent;
+
+/**
+ * @Description 将JetCache缓存操作写入JFR，未开启录制时只有一次 isEnabled 判断的开销
+ * @Date 21/10/2026 上午11:20
+ * @Author Leo
+ */
+public class JfrCacheMonitor implements CacheMonitor {
+
+    private final String cacheName;
+
+    private final String tier;
+
+    public JfrCacheMonitor(String cacheName, String tier) {
+        this.cacheName = cacheName;
+        this.tier = tier;
+    }
+
+    @Override
+    public void afterOperation(CacheEvent event) {
+        CacheOperationEvent jfrEvent = new CacheOperationEvent();
+        if (!jfrEvent.isEnabled()) {
+            return;
+        }
+        if (event instanceof CacheGetEvent getEvent) {
+            this.commit(jfrEvent, "get", resultOf(getEvent.getResult()), getEvent.getMillis());
+        } else if (event instanceof CacheGetAllEvent getAllEvent) {
+            this.commit(jfrEvent, "get_all", resultOf(getAllEvent.getResult()), getAllEvent.getMillis());
+        } else if (event instanceof CachePutEvent putEvent) {
+            this.commit(jfrEvent, "put", resultOf(putEvent.getResult()), putEvent.getMillis());
+        } else if (event instanceof CachePutAllEvent putAllEvent) {
+            this.commit(jfrEvent, "put_all", resultOf(putAllEvent.getResult()), putAllEvent.getMillis());
+        } else if (event instanceof CacheRemoveEvent removeEvent) {
+            this.commit(jfrEvent, "remove", resultOf(removeEvent.getResult()), removeEvent.getMillis());
+        } else if (event instanceof CacheRemoveAllEvent removeAllEvent) {
+            this.commit(jfrEvent, "remove_all", resultOf(removeAllEvent.getResult()), removeAllEvent.getMillis());
+        } else if (event instanceof CacheLoadEvent loadEvent) {
+            this.commit(jfrEvent, "load", loadEvent.isSuccess() ? "success" : "error", loadEvent.getMillis());
+        }
+    }
+
+    private void commit(CacheOperationEvent jfrEvent, String operation, String result, long millis) {
+        jfrEvent.cache = cacheName;
+        jfrEvent.tier = tier;
+        jfrEvent.operation = operation;
+        jfrEvent.result = result;
+        jfrEvent.durationMillis = millis;
+        jfrEvent.commit();
+    }
+
+    private static String resultOf(CacheResult result) {
+        CacheResultCode code = result.getResultCode();
+        return code == null ? "unknown" : code.name().toLowerCase();
+    }
+}
@@ -0,0 +1,106 @@
+package com.fw.know.go.cache.metrics;
+
+import com.alicp.jetcache.CacheMonitor;
+import com.alicp.jetcache.CacheResult;
+import com.alicp.jetcache.CacheResultCode;
+import com.alicp.jetcache.event.CacheEvent;
+import com.alicp.jetcache.event.CacheGetAllEvent;
+import com.alicp.jetcache.event.CacheGetEvent;
+import com.alicp.jetcache.event.CacheLoadEvent;
+import com.alicp.jetcache.event.CachePutAllEvent;
+import com.alicp.jetcache.event.CachePutEvent;
+import com.alicp.jetcache.event.CacheRemoveAllEvent;
+import com.alicp.jetcache.event.CacheRemoveEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description 将JetCache缓存操作转为Micrometer指标，按缓存名和层级（local/remote）打标签
+ * <p>
+ * cache.gets 按 result=hit/miss/error 计数，命中率 = hit / (hit + miss)；cache.operation 记录各操作耗时
+ * @Date 20/10/2026 下午4:45
+ * @Author Leo
+ */
+public class MicrometerCacheMonitor implements CacheMonitor {
+
+    private final MeterRegistry meterRegistry;
+
+    private final String cacheName;
+
+    private final String tier;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter errors;
+
+    public MicrometerCacheMonitor(MeterRegistry meterRegistry, String cacheName, String tier) {
+        this.meterRegistry = meterRegistry;
+        this.cacheName = cacheName;
+        this.tier = tier;
+        this.hits = this.getCounter("hit");
+        this.misses = this.getCounter("miss");
+        this.errors = this.getCounter("error");
+    }
+
+    @Override
+    public void afterOperation(CacheEvent event) {
+        if (event instanceof CacheGetEvent getEvent) {
+            this.countGet(getEvent.getResult());
+            this.recordTime("get", getEvent.getMillis());
+        } else if (event instanceof CacheGetAllEvent getAllEvent) {
+            if (getAllEvent.getResult().isSuccess() && getAllEvent.getResult().getValues() != null) {
+                for (Object result : getAllEvent.getResult().getValues().values()) {
+                    this.countGet((CacheResult) result);
+                }
+            } else {
+                errors.increment();
+            }
+            this.recordTime("get_all", getAllEvent.getMillis());
+        } else if (event instanceof CachePutEvent putEvent) {
+            this.recordTime("put", putEvent.getMillis());
+        } else if (event instanceof CachePutAllEvent putAllEvent) {
+            this.recordTime("put_all", putAllEvent.getMillis());
+        } else if (event instanceof CacheRemoveEvent removeEvent) {
+            this.recordTime("remove", removeEvent.getMillis());
+        } else if (event instanceof CacheRemoveAllEvent removeAllEvent) {
+            this.recordTime("remove_all", removeAllEvent.getMillis());
+        } else if (event instanceof CacheLoadEvent loadEvent) {
+            this.recordTime("load", loadEvent.getMillis());
+        }
+    }
+
+    private void countGet(CacheResult result) {
+        CacheResultCode code = result.getResultCode();
+        if (code == CacheResultCode.SUCCESS) {
+            hits.increment();
+        } else if (code == CacheResultCode.NOT_EXISTS || code == CacheResultCode.EXPIRED) {
+            misses.increment();
+        } else {
+            errors.increment();
+        }
+    }
+
+    private void recordTime(String operation, long millis) {
+        Timer.builder("cache.operation")
+                .description("缓存操作耗时")
+                .tag("cache", cacheName)
+                .tag("tier", tier)
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    private Counter getCounter(String result) {
+        return Counter.builder("cache.gets")
+                .description("缓存读取次数")
+                .tag("cache", cacheName)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,55 @@
+package com.fw.know.go.cache.metrics;
+
+import com.alicp.jetcache.Cache;
+import com.alicp.jetcache.CacheManager;
+import com.alicp.jetcache.CacheUtil;
+import com.alicp.jetcache.MultiLevelCache;
+import com.alicp.jetcache.anno.CacheType;
+import com.alicp.jetcache.template.CacheMonitorInstaller;
+import com.alicp.jetcache.template.QuickConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * @Description 在缓存创建时挂上Micrometer和JFR监控，两级缓存分别统计本地和远程层的命中情况
+ * @Date 20/10/2026 下午4:55
+ * @Author Leo
+ */
+public class MicrometerCacheMonitorInstaller implements CacheMonitorInstaller {
+
+    public static final String TIER_LOCAL = "local";
+
+    public static final String TIER_REMOTE = "remote";
+
+    public static final String TIER_ALL = "all";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param meterRegistry 指标注册表，为空时只写入JFR
+     */
+    public MicrometerCacheMonitorInstaller(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addMonitors(CacheManager cacheManager, Cache cache, QuickConfig quickConfig) {
+        String name = quickConfig.getName();
+        Cache abstractCache = CacheUtil.getAbstractCache(cache);
+        if (abstractCache instanceof MultiLevelCache multiLevelCache && multiLevelCache.caches().length == 2) {
+            Cache local = multiLevelCache.caches()[0];
+            Cache remote = multiLevelCache.caches()[1];
+            this.install(local, name, TIER_LOCAL);
+            this.install(remote, name, TIER_REMOTE);
+            this.install(cache, name, TIER_ALL);
+            return;
+        }
+        this.install(cache, name, quickConfig.getCacheType() == CacheType.LOCAL ? TIER_LOCAL : TIER_REMOTE);
+    }
+
+    private void install(Cache cache, String name, String tier) {
+        if (meterRegistry != null) {
+            cache.config().getMonitors().add(new MicrometerCacheMonitor(meterRegistry, name, tier));
+        }
+        cache.config().getMonitors().add(new JfrCacheMonitor(name, tier));
+    }
+}
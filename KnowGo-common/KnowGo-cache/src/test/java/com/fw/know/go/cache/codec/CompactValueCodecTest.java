@@ -0,0 +1,112 @@
+package com.fw.know.go.cache.codec;
+
+import com.alicp.jetcache.CacheValueHolder;
+import com.alicp.jetcache.support.JavaValueEncoder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 紧凑编解码测试，包含与Java序列化的体积和耗时对比
+ * @Date 19/10/2026 下午2:30
+ * @Author Leo
+ */
+public class CompactValueCodecTest {
+
+    private final CompactValueEncoder encoder = new CompactValueEncoder(true, 1024);
+
+    private final CompactValueDecoder decoder = new CompactValueDecoder(true);
+
+    @Test
+    public void roundTripString() {
+        CacheValueHolder<String> holder = new CacheValueHolder<>("Spring AI 是一个AI应用框架", 60_000);
+        CacheValueHolder<?> decoded = (CacheValueHolder<?>) decoder.apply(encoder.apply(holder));
+        assertEquals(holder.getValue(), decoded.getValue());
+        assertEquals(holder.getExpireTime(), decoded.getExpireTime());
+        assertEquals(holder.getAccessTime(), decoded.getAccessTime());
+    }
+
+    @Test
+    public void roundTripFloatArray() {
+        float[] vector = vector(1536);
+        CacheValueHolder<?> decoded = (CacheValueHolder<?>) decoder.apply(encoder.apply(new CacheValueHolder<>(vector, 60_000)));
+        assertArrayEquals(vector, (float[]) decoded.getValue());
+    }
+
+    @Test
+    public void roundTripDocumentIds() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ids.add("doc-" + i);
+        }
+        CacheValueHolder<?> decoded = (CacheValueHolder<?>) decoder.apply(encoder.apply(new CacheValueHolder<>(ids, 60_000)));
+        assertEquals(ids, decoded.getValue());
+    }
+
+    @Test
+    public void fallbackToJavaSerialization() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("source", "test");
+        map.put("page", 3);
+        assertEquals(map, decoder.apply(encoder.apply(map)));
+        assertNull(decoder.apply(encoder.apply(null)));
+    }
+
+    @Test
+    public void compressLargePayload() {
+        String answer = "根据上下文，KnowGo 使用 JetCache 两级缓存。".repeat(200);
+        byte[] compressed = encoder.apply(answer);
+        byte[] plain = new CompactValueEncoder(true, 0).apply(answer);
+        assertTrue(compressed.length < plain.length);
+        assertEquals(answer, decoder.apply(compressed));
+    }
+
+    @Test
+    public void readJavaEncodedValue() {
+        CacheValueHolder<String> holder = new CacheValueHolder<>("旧数据", 60_000);
+        byte[] javaBytes = new JavaValueEncoder(true).apply(holder);
+        CacheValueHolder<?> decoded = (CacheValueHolder<?>) decoder.apply(javaBytes);
+        assertEquals("旧数据", decoded.getValue());
+    }
+
+    /**
+     * 编码体积小于Java序列化，编解码耗时见 CacheCodecBenchmark
+     */
+    @Test
+    public void smallerThanJavaCodec() {
+        JavaValueEncoder javaEncoder = new JavaValueEncoder(true);
+
+        Map<String, Object> samples = new java.util.LinkedHashMap<>();
+        samples.put("answer-300", "请根据以下上下文信息回答用户的问题".repeat(18));
+        samples.put("answer-4k", "请根据以下上下文信息回答用户的问题".repeat(250));
+        samples.put("vector-1536", vector(1536));
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add("9f1c2d7a3b8e4f60a1b2c3d4e5f6a7b" + i);
+        }
+        samples.put("doc-ids-20", ids);
+
+        for (Map.Entry<String, Object> sample : samples.entrySet()) {
+            CacheValueHolder<Object> holder = new CacheValueHolder<>(sample.getValue(), 60_000);
+            byte[] javaBytes = javaEncoder.apply(holder);
+            byte[] compactBytes = encoder.apply(holder);
+            assertTrue(compactBytes.length < javaBytes.length, sample.getKey() + " 紧凑编码应小于Java序列化");
+        }
+    }
+
+    private static float[] vector(int dimensions) {
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) Math.sin(i * 0.37);
+        }
+        return vector;
+    }
+}
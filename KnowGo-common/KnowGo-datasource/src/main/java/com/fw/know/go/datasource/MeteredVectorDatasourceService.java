@@ -0,0 +1,150 @@
+package com.fw.know.go.datasource;
+
+import com.fw.know.go.base.jfr.RetrievalEvent;
+import com.fw.know.go.skywalking.TraceSpans;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.ai.document.Document;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * @Description 记录检索耗时、命中文档数和入库吞吐的向量数据源服务，每次操作同时生成一个链路Span，检索另写入JFR事件
+ * @Date 20/10/2026 下午4:30
+ * @Author Leo
+ */
+public class MeteredVectorDatasourceService implements VectorDatasourceService {
+
+    private final VectorDatasourceService delegate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final DistributionSummary searchResults;
+
+    private final Counter documentsWritten;
+
+    public MeteredVectorDatasourceService(VectorDatasourceService delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.searchResults = DistributionSummary.builder("vector.search.results")
+                .description("单次相似性搜索返回的文档数")
+                .register(meterRegistry);
+        this.documentsWritten = Counter.builder("vector.documents.written")
+                .description("写入向量数据库的文档数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void addDocument(String id, String content, Map<String, Object> metadata) {
+        this.timed("add", () -> {
+            TraceSpans.tag("documents", 1);
+            TraceSpans.tag("chars", content == null ? 0 : content.length());
+            delegate.addDocument(id, content, metadata);
+            return null;
+        });
+        documentsWritten.increment();
+    }
+
+    @Override
+    public void addDocuments(List<Document> documents) {
+        this.timed("add", () -> {
+            TraceSpans.tag("documents", documents.size());
+            delegate.addDocuments(documents);
+            return null;
+        });
+        documentsWritten.increment(documents.size());
+    }
+
+    @Override
+    public void deleteDocument(String id) {
+        this.timed("delete", () -> {
+            delegate.deleteDocument(id);
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteDocuments(List<String> ids) {
+        this.timed("delete", () -> {
+            delegate.deleteDocuments(ids);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Document> similaritySearch(String query, int topK, double similarityThreshold) {
+        return this.search(query, topK, similarityThreshold,
+                () -> delegate.similaritySearch(query, topK, similarityThreshold));
+    }
+
+    @Override
+    public List<Document> similaritySearch(String query, int topK) {
+        return this.search(query, topK, 0, () -> delegate.similaritySearch(query, topK));
+    }
+
+    @Override
+    public List<Document> similaritySearch(String query, int topK, Map<String, Object> filter) {
+        return this.search(query, topK, 0, () -> delegate.similaritySearch(query, topK, filter));
+    }
+
+    @Override
+    public void clear() {
+        this.timed("clear", () -> {
+            delegate.clear();
+            return null;
+        });
+    }
+
+    private List<Document> search(String query, int topK, double similarityThreshold,
+                                  Supplier<List<Document>> search) {
+        RetrievalEvent event = new RetrievalEvent();
+        event.begin();
+        List<Document> documents = null;
+        boolean success = false;
+        try {
+            documents = this.timed("search", () -> {
+                List<Document> result = search.get();
+                TraceSpans.tag("hits", result == null ? 0 : result.size());
+                return result;
+            });
+            success = true;
+        } finally {
+            int hits = documents == null ? 0 : documents.size();
+            if (event.shouldCommit()) {
+                event.topK = topK;
+                event.similarityThreshold = similarityThreshold;
+                event.queryChars = query == null ? 0 : query.length();
+                event.hits = hits;
+                event.success = success;
+                event.commit();
+            }
+        }
+        searchResults.record(documents == null ? 0 : documents.size());
+        return documents;
+    }
+
+    /**
+     * 按操作类型记录耗时，搜索耗时包含查询文本的向量化
+     */
+    private <T> T timed(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return TraceSpans.trace("Chroma/" + operation, call);
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("vector.operation")
+                    .description("向量数据库操作耗时")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
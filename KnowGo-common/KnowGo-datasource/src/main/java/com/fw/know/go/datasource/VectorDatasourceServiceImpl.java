@@ -1,68 +1,142 @@
 package com.fw.know.go.datasource;
 
+import com.fw.know.go.base.context.RequestContext;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
-import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
- * @Description 
+ * @Description 向量数据源服务
+ * <p>
+ * 写入的文档总是在元数据中记录当前租户和文档ID，便于之后开启隔离；启用租户隔离时查询和删除附加当前租户的过滤条件，
+ * 租户之间互不可见，也不能删除其他租户的文档
  * @Date 5/11/2025 下午4:16
  * @Author  Leo
  */
 public class VectorDatasourceServiceImpl implements VectorDatasourceService {
 
+    /**
+     * 文档所属租户的元数据键
+     */
+    public static final String TENANT_KEY = "tenant_id";
+
+    /**
+     * 文档ID的元数据键，向量库按ID删除时不能附加过滤条件，启用租户隔离时改为按该键和租户过滤删除
+     */
+    public static final String ID_KEY = "doc_id";
+
     private final VectorStore vectorStore;
 
+    private final boolean tenantIsolation;
+
     public VectorDatasourceServiceImpl(VectorStore vectorStore) {
+        this(vectorStore, false);
+    }
+
+    public VectorDatasourceServiceImpl(VectorStore vectorStore, boolean tenantIsolation) {
         this.vectorStore = vectorStore;
+        this.tenantIsolation = tenantIsolation;
     }
 
     @Override
     public void addDocument(String id, String content, Map<String, Object> metadata) {
-        vectorStore.add(List.of(new Document(id, content, metadata)));
+        vectorStore.add(List.of(new Document(id, content, this.withTenant(id, metadata))));
     }
 
     @Override
     public void addDocuments(List<Document> documents) {
-        vectorStore.add(documents);
+        List<Document> scoped = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            scoped.add(document.mutate().metadata(this.withTenant(document.getId(), document.getMetadata())).build());
+        }
+        vectorStore.add(scoped);
     }
 
     @Override
     public void deleteDocument(String id) {
-        vectorStore.delete(List.of(id));
+        this.deleteDocuments(List.of(id));
     }
 
     @Override
     public void deleteDocuments(List<String> ids) {
-        vectorStore.delete(ids);
+        if (!tenantIsolation) {
+            vectorStore.delete(ids);
+            return;
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        FilterExpressionBuilder builder = new FilterExpressionBuilder();
+        vectorStore.delete(builder.and(builder.eq(TENANT_KEY, RequestContext.current().getTenantId()),
+                builder.in(ID_KEY, new ArrayList<>(ids))).build());
     }
 
     @Override
     public List<Document> similaritySearch(String query, int topK, double similarityThreshold) {
-        return vectorStore.similaritySearch(SearchRequest.builder().query(query).topK(topK).similarityThreshold(similarityThreshold).build());
+        return vectorStore.similaritySearch(this.scoped(SearchRequest.builder().query(query).topK(topK)
+                .similarityThreshold(similarityThreshold), Map.of()).build());
     }
 
     @Override
     public List<Document> similaritySearch(String query, int topK) {
-        return vectorStore.similaritySearch(SearchRequest.builder().query(query).topK(topK).build());
+        return vectorStore.similaritySearch(this.scoped(SearchRequest.builder().query(query).topK(topK), Map.of())
+                .build());
     }
 
     @Override
     public List<Document> similaritySearch(String query, int topK, Map<String, Object> filter) {
-        SearchRequest searchRequest = SearchRequest.builder()
-                .query(query)
-                .topK(topK)
-                .filterExpression(new Filter.Expression(Filter.ExpressionType.EQ, new Filter.Key("country"), new Filter.Value("UK")))
-                .build();
-        return vectorStore.similaritySearch(searchRequest);
+        return vectorStore.similaritySearch(this.scoped(SearchRequest.builder().query(query).topK(topK), filter)
+                .build());
     }
 
     @Override
     public void clear() {
+        if (tenantIsolation) {
+            // 只清除当前租户的文档
+            vectorStore.delete(new FilterExpressionBuilder().eq(TENANT_KEY, RequestContext.current().getTenantId())
+                    .build());
+            return;
+        }
         vectorStore.delete(List.of("*"));
     }
-}
\ No newline at end of file
+
+    /**
+     * 写入当前租户和文档ID，覆盖调用方传入的同名元数据
+     */
+    private Map<String, Object> withTenant(String id, Map<String, Object> metadata) {
+        Map<String, Object> scoped = metadata == null ? new HashMap<>() : new HashMap<>(metadata);
+        scoped.put(TENANT_KEY, RequestContext.current().getTenantId());
+        scoped.put(ID_KEY, id);
+        return scoped;
+    }
+
+    /**
+     * 把过滤条件转换为过滤表达式：各键之间为与，集合值为 IN，其余为 EQ；启用租户隔离时附加当前租户
+     */
+    private SearchRequest.Builder scoped(SearchRequest.Builder request, Map<String, Object> filter) {
+        FilterExpressionBuilder builder = new FilterExpressionBuilder();
+        FilterExpressionBuilder.Op expression = null;
+        if (tenantIsolation) {
+            expression = builder.eq(TENANT_KEY, RequestContext.current().getTenantId());
+        }
+        if (filter != null) {
+            for (Map.Entry<String, Object> entry : filter.entrySet()) {
+                FilterExpressionBuilder.Op condition = entry.getValue() instanceof Collection<?> values
+                        ? builder.in(entry.getKey(), new ArrayList<>(values))
+                        : builder.eq(entry.getKey(), entry.getValue());
+                expression = expression == null ? condition : builder.and(expression, condition);
+            }
+        }
+        if (expression == null) {
+            return request;
+        }
+        return request.filterExpression(expression.build());
+    }
+}
@@ -1,17 +1,36 @@
 package com.fw.know.go.datasource.configuration;
 
+import com.fw.know.go.datasource.MeteredVectorDatasourceService;
 import com.fw.know.go.datasource.VectorDatasourceService;
 import com.fw.know.go.datasource.VectorDatasourceServiceImpl;
+import com.fw.know.go.datasource.endpoint.ChromaEndpointPool;
+import com.fw.know.go.datasource.endpoint.EndpointRoutingInterceptor;
+import com.fw.know.go.datasource.local.LocalIndexSnapshot;
+import com.fw.know.go.datasource.local.LocalSnapshotFlusher;
+import com.fw.know.go.datasource.local.LocalVectorStore;
+import com.fw.know.go.datasource.shard.QueryEmbeddingCoalescer;
+import com.fw.know.go.datasource.shard.ShardRouter;
+import com.fw.know.go.datasource.shard.ShardedVectorDatasourceService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.ai.chroma.vectorstore.ChromaApi;
 import org.springframework.ai.chroma.vectorstore.ChromaVectorStore;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -34,14 +53,33 @@ public class DatasourceConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public ChromaApi chromaApi() {
+    @ConditionalOnProperty(prefix = VectorDatasourceProperties.PREFIX, name = "type",
+            havingValue = VectorDatasourceProperties.TYPE_CHROMA, matchIfMissing = true)
+    public ChromaApi chromaApi(ObjectProvider<RestClient.Builder> restClientBuilder,
+                               ObjectProvider<ClientHttpRequestFactory> requestFactory,
+                               ObjectProvider<MeterRegistry> meterRegistry) {
+        String baseUrl = Objects.requireNonNull(vectorDatasourceProperties.getBaseUrl());
+        // 使用Spring Boot创建的 RestClient.Builder，共享HTTP连接池和超时配置
+        RestClient.Builder restClient = restClientBuilder.getIfAvailable(RestClient::builder);
+        VectorDatasourceProperties.Endpoints endpoints = vectorDatasourceProperties.getEndpoints();
+        if (!endpoints.getReadUrls().isEmpty()) {
+            // 多节点：读请求在读节点间均衡并摘除故障节点，写请求发往 baseUrl
+            ChromaEndpointPool pool = new ChromaEndpointPool(baseUrl, endpoints.getReadUrls(),
+                    endpoints.getFailureThreshold(), endpoints.getEjectionTime(), System::nanoTime,
+                    meterRegistry.getIfAvailable());
+            restClient.requestInterceptor(new EndpointRoutingInterceptor(pool, baseUrl,
+                    requestFactory.getIfUnique(JdkClientHttpRequestFactory::new), endpoints.getHedgeDelay()));
+        }
         return ChromaApi.builder()
-                .baseUrl(Objects.requireNonNull(vectorDatasourceProperties.getBaseUrl()))
+                .baseUrl(baseUrl)
+                .restClientBuilder(restClient)
                 .build();
     }
 
     @Bean
     @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = VectorDatasourceProperties.PREFIX, name = "type",
+            havingValue = VectorDatasourceProperties.TYPE_CHROMA, matchIfMissing = true)
     public ChromaVectorStore vectorStore(EmbeddingModel embeddingModel, ChromaApi chromaApi,
                                          VectorDatasourceProperties storeProperties) {
         return ChromaVectorStore.builder(Objects.requireNonNull(chromaApi), Objects.requireNonNull(embeddingModel))
@@ -52,9 +90,86 @@ public class DatasourceConfiguration {
                 .build();
     }
 
+    /**
+     * 进程内向量存储，vector-datasource.type=local 时替代Chroma，用于压测和离线评测
+     */
+    @Bean
+    @ConditionalOnMissingBean(VectorStore.class)
+    @ConditionalOnProperty(prefix = VectorDatasourceProperties.PREFIX, name = "type",
+            havingValue = VectorDatasourceProperties.TYPE_LOCAL)
+    public LocalVectorStore localVectorStore(EmbeddingModel embeddingModel,
+                                             ObjectProvider<LocalIndexSnapshot> localIndexSnapshot) {
+        LocalVectorStore store = new LocalVectorStore(embeddingModel);
+        // 在创建Bean时从快照恢复，恢复完成前应用不会就绪
+        localIndexSnapshot.ifAvailable(snapshot -> snapshot.restore(store));
+        return store;
+    }
+
+    /**
+     * 进程内存储的快照目录，恢复和写入共用一个实例，写入时接着恢复时读到的段编号
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = VectorDatasourceProperties.PREFIX, name = "snapshot.enabled", havingValue = "true")
+    public LocalIndexSnapshot localIndexSnapshot() {
+        VectorDatasourceProperties.Snapshot snapshot = vectorDatasourceProperties.getSnapshot();
+        return new LocalIndexSnapshot(Path.of(snapshot.getDirectory()), snapshot.getCompactAfterSegments());
+    }
+
+    /**
+     * 定时把进程内存储的变更写成快照段
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean({LocalVectorStore.class, LocalIndexSnapshot.class})
+    public LocalSnapshotFlusher localSnapshotFlusher(LocalVectorStore localVectorStore,
+                                                     LocalIndexSnapshot localIndexSnapshot) {
+        return new LocalSnapshotFlusher(localVectorStore, localIndexSnapshot,
+                vectorDatasourceProperties.getSnapshot().getInterval());
+    }
+
     @Bean
     @ConditionalOnMissingBean
-    public VectorDatasourceService vectorDatasourceService(VectorStore vectorStore) {
-        return new VectorDatasourceServiceImpl(vectorStore);
+    public VectorDatasourceService vectorDatasourceService(VectorStore vectorStore, EmbeddingModel embeddingModel,
+                                                           ObjectProvider<ChromaApi> chromaApi,
+                                                           ObjectProvider<MeterRegistry> meterRegistry) throws Exception {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        VectorDatasourceService vectorDatasourceService = vectorDatasourceProperties.getSharding().isEnabled()
+                ? this.shardedVectorDatasourceService(embeddingModel, chromaApi.getIfAvailable(), registry)
+                : new VectorDatasourceServiceImpl(vectorStore, vectorDatasourceProperties.isTenantIsolation());
+        return registry == null ? vectorDatasourceService
+                : new MeteredVectorDatasourceService(vectorDatasourceService, registry);
+    }
+
+    /**
+     * 分片向量数据源，每个分片对应一个集合，分片共用一个查询向量合并器，扇出查询只向量化一次
+     */
+    private VectorDatasourceService shardedVectorDatasourceService(EmbeddingModel embeddingModel, ChromaApi chromaApi,
+                                                                   MeterRegistry registry) throws Exception {
+        VectorDatasourceProperties.Sharding sharding = vectorDatasourceProperties.getSharding();
+        QueryEmbeddingCoalescer coalescer = new QueryEmbeddingCoalescer(embeddingModel);
+        List<VectorDatasourceService> shards = new ArrayList<>(sharding.getShards());
+        for (int i = 0; i < sharding.getShards(); i++) {
+            shards.add(new VectorDatasourceServiceImpl(this.shardVectorStore(i, coalescer, chromaApi),
+                    vectorDatasourceProperties.isTenantIsolation()));
+        }
+        return new ShardedVectorDatasourceService(shards, new ShardRouter(sharding.getShards(), sharding.getStrategy()),
+                sharding.getTimeout(), coalescer, registry);
+    }
+
+    private VectorStore shardVectorStore(int shard, EmbeddingModel embeddingModel, ChromaApi chromaApi) throws Exception {
+        if (VectorDatasourceProperties.TYPE_LOCAL.equals(vectorDatasourceProperties.getType())) {
+            return new LocalVectorStore(embeddingModel);
+        }
+        ChromaVectorStore store = ChromaVectorStore.builder(Objects.requireNonNull(chromaApi), embeddingModel)
+                .tenantName(Objects.requireNonNull(vectorDatasourceProperties.getTenantName()))
+                .databaseName(Objects.requireNonNull(vectorDatasourceProperties.getDatabaseName()))
+                .collectionName(Objects.requireNonNull(vectorDatasourceProperties.getCollectionName()) + "-" + shard)
+                .initializeSchema(vectorDatasourceProperties.getInitializeSchema() != null
+                        && vectorDatasourceProperties.getInitializeSchema())
+                .build();
+        // 分片存储不是容器管理的Bean，需要手动初始化集合
+        store.afterPropertiesSet();
+        return store;
     }
 }
@@ -1,7 +1,12 @@
 package com.fw.know.go.datasource.configuration;
+import com.fw.know.go.datasource.shard.ShardStrategy;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @Description 向量数据库的配置属性
  * @Date 28/10/2025 下午2:24
@@ -15,16 +20,36 @@ public class VectorDatasourceProperties {
      */
     public static final String PREFIX = "vector-datasource";
 
+    /**
+     * 向量数据库类型：Chroma
+     */
+    public static final String TYPE_CHROMA = "chroma";
+
+    /**
+     * 向量数据库类型：进程内存储，用于压测和离线评测
+     */
+    public static final String TYPE_LOCAL = "local";
+
+    /**
+     * 向量数据库类型，chroma 或 local
+     */
+    private String type = TYPE_CHROMA;
+
     /**
      * 向量数据库的租户名称
      */
     private String tenantName;
 
     /**
-     * 向量数据库的URL
+     * 向量数据库的URL，配置了读节点时作为写节点
      */
     private String baseUrl;
 
+    /**
+     * 读节点配置
+     */
+    private Endpoints endpoints = new Endpoints();
+
     /**
      * 向量数据库的访问令牌
      */
@@ -54,4 +79,92 @@ public class VectorDatasourceProperties {
      * 是否初始化向量数据库的schema
      */
     private Boolean initializeSchema = true;
+
+    /**
+     * 是否按租户隔离文档，开启后查询和删除只作用于当前租户的文档。写入时不论是否开启都记录租户元数据；
+     * 默认关闭，记录租户元数据之前导入的文档在开启后查询不到，需要按租户重新导入后再开启
+     */
+    private boolean tenantIsolation = false;
+
+    /**
+     * 分片配置
+     */
+    private Sharding sharding = new Sharding();
+
+    /**
+     * 进程内存储的快照配置，type=local 时生效
+     */
+    private Snapshot snapshot = new Snapshot();
+
+    @Data
+    public static class Sharding {
+
+        /**
+         * 是否启用分片，启用后文档分布在 collectionName-0 到 collectionName-(shards-1) 这些集合中
+         */
+        private boolean enabled = false;
+
+        /**
+         * 分片数，写入数据后不能修改
+         */
+        private int shards = 4;
+
+        /**
+         * 分片策略，hash 按文档ID分片，tenant 按租户分片
+         */
+        private ShardStrategy strategy = ShardStrategy.HASH;
+
+        /**
+         * 单个分片的查询超时，超时的分片被跳过，返回其余分片的部分结果
+         */
+        private Duration timeout = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class Snapshot {
+
+        /**
+         * 是否启用快照，启用后启动时从快照恢复，运行中定时写增量快照
+         */
+        private boolean enabled = false;
+
+        /**
+         * 快照目录，应挂载持久卷
+         */
+        private String directory = "/tmp/knowgo-vector-snapshot";
+
+        /**
+         * 写增量快照的间隔
+         */
+        private Duration interval = Duration.ofSeconds(30);
+
+        /**
+         * 段数达到该值时写全量段替换全部旧段
+         */
+        private int compactAfterSegments = 16;
+    }
+
+    @Data
+    public static class Endpoints {
+
+        /**
+         * 读节点的URL，为空时读写都走 baseUrl；可以包含写节点
+         */
+        private List<String> readUrls = new ArrayList<>();
+
+        /**
+         * 读请求的对冲延迟，超过该时间未返回时向另一个读节点再发一次，为0时不对冲
+         */
+        private Duration hedgeDelay = Duration.ZERO;
+
+        /**
+         * 摘除节点的连续失败次数
+         */
+        private int failureThreshold = 3;
+
+        /**
+         * 节点被摘除的时间，期满后放行请求试探
+         */
+        private Duration ejectionTime = Duration.ofSeconds(30);
+    }
 }
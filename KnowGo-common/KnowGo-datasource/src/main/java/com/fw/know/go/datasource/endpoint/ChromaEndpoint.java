@@ -0,0 +1,97 @@
+package com.fw.know.go.datasource.endpoint;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @Description Chroma节点：记录在途请求数、延迟的指数移动平均和连续失败次数，连续失败达到阈值后在一段时间内被摘除
+ * @Date 19/10/2026 下午6:10
+ * @Author Leo
+ */
+public class ChromaEndpoint {
+
+    /**
+     * 延迟移动平均的平滑系数
+     */
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final String baseUrl;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private volatile double latencyEwmaMillis;
+
+    private volatile long ejectedUntilNanos;
+
+    private volatile boolean ejected;
+
+    public ChromaEndpoint(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    public double latencyEwmaMillis() {
+        return latencyEwmaMillis;
+    }
+
+    void begin() {
+        outstanding.incrementAndGet();
+    }
+
+    void end() {
+        outstanding.decrementAndGet();
+    }
+
+    /**
+     * 是否可用：未被摘除，或摘除时间已过（半开状态，下一次失败立即重新摘除）
+     */
+    boolean isAvailable(long nowNanos) {
+        return !ejected || nowNanos - ejectedUntilNanos >= 0;
+    }
+
+    boolean isEjected() {
+        return ejected;
+    }
+
+    void onSuccess(long elapsedNanos) {
+        this.updateLatency(elapsedNanos);
+        consecutiveFailures.set(0);
+        ejected = false;
+    }
+
+    /**
+     * 记录失败
+     * @return 本次失败是否导致节点被摘除
+     */
+    boolean onFailure(long elapsedNanos, long nowNanos, int failureThreshold, long ejectionNanos) {
+        this.updateLatency(elapsedNanos);
+        int failures = consecutiveFailures.incrementAndGet();
+        // 半开状态下的失败直接重新摘除
+        if (failures >= failureThreshold || ejected) {
+            ejectedUntilNanos = nowNanos + ejectionNanos;
+            boolean newlyEjected = !ejected;
+            ejected = true;
+            return newlyEjected;
+        }
+        return false;
+    }
+
+    private void updateLatency(long elapsedNanos) {
+        double millis = elapsedNanos / 1_000_000.0;
+        double previous = latencyEwmaMillis;
+        latencyEwmaMillis = previous == 0 ? millis : previous + EWMA_ALPHA * (millis - previous);
+    }
+
+    @Override
+    public String toString() {
+        return baseUrl;
+    }
+}
@@ -0,0 +1,158 @@
+package com.fw.know.go.datasource.endpoint;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * @Description Chroma节点池：读请求在读节点间按最少在途请求数均衡（相同时取延迟较低的节点），写请求固定发往写节点
+ * <p>
+ * 节点连续失败达到阈值后被摘除，摘除期满后放行请求试探，成功即恢复；所有读节点都被摘除时仍在其中选择，避免读请求全部失败
+ * @Date 19/10/2026 下午6:20
+ * @Author Leo
+ */
+@Slf4j
+public class ChromaEndpointPool {
+
+    private final ChromaEndpoint writeEndpoint;
+
+    private final List<ChromaEndpoint> readEndpoints;
+
+    private final int failureThreshold;
+
+    private final long ejectionNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter hedges;
+
+    /**
+     * @param writeUrl 写节点地址
+     * @param readUrls 读节点地址
+     * @param failureThreshold 摘除节点的连续失败次数
+     * @param ejectionTime 摘除时间
+     * @param nanoClock 纳秒时钟
+     * @param meterRegistry 指标注册表，可为空
+     */
+    public ChromaEndpointPool(String writeUrl, List<String> readUrls, int failureThreshold, Duration ejectionTime,
+                              LongSupplier nanoClock, MeterRegistry meterRegistry) {
+        if (readUrls == null || readUrls.isEmpty()) {
+            throw new IllegalArgumentException("readUrls must not be empty");
+        }
+        this.writeEndpoint = new ChromaEndpoint(writeUrl);
+        List<ChromaEndpoint> endpoints = new ArrayList<>(readUrls.size());
+        for (String readUrl : readUrls) {
+            ChromaEndpoint endpoint = new ChromaEndpoint(readUrl);
+            // 写节点同时作为读节点时共用同一个实例，在途请求数和健康状态合并计算
+            endpoints.add(endpoint.baseUrl().equals(writeEndpoint.baseUrl()) ? writeEndpoint : endpoint);
+        }
+        this.readEndpoints = List.copyOf(endpoints);
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.ejectionNanos = ejectionTime.toNanos();
+        this.nanoClock = nanoClock;
+        this.meterRegistry = meterRegistry;
+        this.hedges = meterRegistry == null ? null : Counter.builder("vector.endpoint.hedges")
+                .description("读请求超过对冲延迟后向第二个节点发出的请求数")
+                .register(meterRegistry);
+        if (meterRegistry != null) {
+            List<ChromaEndpoint> all = new ArrayList<>(readEndpoints);
+            if (!all.contains(writeEndpoint)) {
+                all.add(writeEndpoint);
+            }
+            for (ChromaEndpoint endpoint : all) {
+                Gauge.builder("vector.endpoint.outstanding", endpoint, ChromaEndpoint::outstanding)
+                        .description("节点的在途请求数")
+                        .tag("endpoint", endpoint.baseUrl())
+                        .register(meterRegistry);
+                Gauge.builder("vector.endpoint.ejected", endpoint, e -> e.isEjected() ? 1 : 0)
+                        .description("节点是否被摘除")
+                        .tag("endpoint", endpoint.baseUrl())
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    public ChromaEndpoint write() {
+        return writeEndpoint;
+    }
+
+    public int readCount() {
+        return readEndpoints.size();
+    }
+
+    /**
+     * 选择读节点
+     * @param exclude 排除的节点，对冲请求用于避开首个节点，可为空
+     * @return 读节点，排除后没有其他节点时为空
+     */
+    public ChromaEndpoint chooseRead(ChromaEndpoint exclude) {
+        long now = nanoClock.getAsLong();
+        ChromaEndpoint best = this.leastOutstanding(exclude, now, true);
+        return best != null ? best : this.leastOutstanding(exclude, now, false);
+    }
+
+    private ChromaEndpoint leastOutstanding(ChromaEndpoint exclude, long now, boolean availableOnly) {
+        ChromaEndpoint best = null;
+        for (ChromaEndpoint endpoint : readEndpoints) {
+            if (endpoint == exclude || (availableOnly && !endpoint.isAvailable(now))) {
+                continue;
+            }
+            if (best == null || endpoint.outstanding() < best.outstanding()
+                    || (endpoint.outstanding() == best.outstanding()
+                    && endpoint.latencyEwmaMillis() < best.latencyEwmaMillis())) {
+                best = endpoint;
+            }
+        }
+        return best;
+    }
+
+    void begin(ChromaEndpoint endpoint) {
+        endpoint.begin();
+    }
+
+    void end(ChromaEndpoint endpoint) {
+        endpoint.end();
+    }
+
+    void onSuccess(ChromaEndpoint endpoint, String kind, long elapsedNanos) {
+        endpoint.onSuccess(elapsedNanos);
+        this.record(endpoint, kind, "success", elapsedNanos);
+    }
+
+    void onFailure(ChromaEndpoint endpoint, String kind, long elapsedNanos) {
+        if (endpoint.onFailure(elapsedNanos, nanoClock.getAsLong(), failureThreshold, ejectionNanos)) {
+            log.warn("chroma endpoint {} ejected after {} consecutive failures", endpoint, failureThreshold);
+        }
+        this.record(endpoint, kind, "error", elapsedNanos);
+    }
+
+    void onHedge() {
+        if (hedges != null) {
+            hedges.increment();
+        }
+    }
+
+    private void record(ChromaEndpoint endpoint, String kind, String outcome, long elapsedNanos) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Timer.builder("vector.endpoint.requests")
+                .description("按节点统计的Chroma请求耗时")
+                .tag("endpoint", endpoint.baseUrl())
+                .tag("kind", kind)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+}
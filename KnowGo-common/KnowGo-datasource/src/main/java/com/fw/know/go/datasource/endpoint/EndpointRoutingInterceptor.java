@@ -0,0 +1,286 @@
+package com.fw.know.go.datasource.endpoint;
+
+import com.fw.know.go.base.context.ContextSnapshot;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.SocketException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @Description Chroma请求路由拦截器：按请求类型选择节点并改写请求地址，读请求可在对冲延迟后向第二个节点再发一次，取先成功的响应
+ * <p>
+ * 读请求：GET 请求，以及路径以 /query、/get 结尾的 POST 请求，其余请求都发往写节点；
+ * 读请求连接节点失败时改发到另一个读节点。
+ * 拦截器位于拦截链末端，自行通过请求工厂发出请求，不再调用后续执行链
+ * @Date 19/10/2026 下午6:40
+ * @Author Leo
+ */
+public class EndpointRoutingInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String KIND_READ = "read";
+
+    private static final String KIND_WRITE = "write";
+
+    /**
+     * 对冲请求在虚拟线程上执行
+     */
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ChromaEndpointPool pool;
+
+    private final String logicalBaseUrl;
+
+    private final ClientHttpRequestFactory requestFactory;
+
+    private final Duration hedgeDelay;
+
+    /**
+     * @param pool 节点池
+     * @param logicalBaseUrl ChromaApi 配置的基础地址，请求地址中的该前缀被替换为所选节点的地址
+     * @param requestFactory 发出请求的工厂
+     * @param hedgeDelay 对冲延迟，为空或0时不对冲
+     */
+    public EndpointRoutingInterceptor(ChromaEndpointPool pool, String logicalBaseUrl,
+                                      ClientHttpRequestFactory requestFactory, Duration hedgeDelay) {
+        this.pool = pool;
+        this.logicalBaseUrl = logicalBaseUrl.endsWith("/")
+                ? logicalBaseUrl.substring(0, logicalBaseUrl.length() - 1) : logicalBaseUrl;
+        this.requestFactory = requestFactory;
+        this.hedgeDelay = hedgeDelay;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String suffix = this.suffixOf(request.getURI());
+        if (!isRead(request)) {
+            return this.attempt(pool.write(), KIND_WRITE, request, body, suffix);
+        }
+        ChromaEndpoint primary = pool.chooseRead(null);
+        if (hedgeDelay == null || hedgeDelay.isZero() || hedgeDelay.isNegative() || pool.readCount() < 2) {
+            try {
+                return this.attempt(primary, KIND_READ, request, body, suffix);
+            } catch (IOException e) {
+                return this.fallback(primary, e, request, body, suffix);
+            }
+        }
+        return this.hedged(primary, request, body, suffix);
+    }
+
+    /**
+     * 读请求连接节点失败时改发到另一个读节点，没有其他节点或不是连接错误时抛出原异常
+     */
+    private ClientHttpResponse fallback(ChromaEndpoint failed, IOException error, HttpRequest request, byte[] body,
+                                        String suffix) throws IOException {
+        ChromaEndpoint alternate = isConnectionError(error) && !Thread.currentThread().isInterrupted()
+                ? pool.chooseRead(failed) : null;
+        if (alternate == null) {
+            throw error;
+        }
+        try {
+            return this.attempt(alternate, KIND_READ, request, body, suffix);
+        } catch (IOException e) {
+            e.addSuppressed(error);
+            throw e;
+        }
+    }
+
+    /**
+     * 先向首个节点发出请求，超过对冲延迟仍未返回时向另一个节点再发一次，
+     * 取先返回的正常响应；一方失败时等待另一方，都失败时抛出后失败的异常。
+     * 首个节点在对冲延迟内连接失败时直接改发到另一个节点
+     */
+    private ClientHttpResponse hedged(ChromaEndpoint primary, HttpRequest request, byte[] body, String suffix)
+            throws IOException {
+        CompletableFuture<ClientHttpResponse> first = this.submit(primary, request, body, suffix);
+        try {
+            return first.get(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // 超过对冲延迟，向另一个节点发出对冲请求
+        } catch (ExecutionException e) {
+            return this.fallback(primary, unwrap(e.getCause()), request, body, suffix);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("chroma request interrupted");
+        }
+        ChromaEndpoint secondary = pool.chooseRead(primary);
+        if (secondary == null) {
+            return await(first);
+        }
+        pool.onHedge();
+        CompletableFuture<ClientHttpResponse> second = this.submit(secondary, request, body, suffix);
+
+        CompletableFuture<ClientHttpResponse> winner = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(2);
+        for (CompletableFuture<ClientHttpResponse> attempt : List.of(first, second)) {
+            attempt.whenComplete((response, error) -> {
+                boolean last = pending.decrementAndGet() == 0;
+                if (error != null) {
+                    if (last) {
+                        winner.completeExceptionally(error);
+                    }
+                    return;
+                }
+                // 不健康的响应只在另一方也已结束时才返回，未被采用的响应立即关闭
+                boolean accepted = (isHealthy(response) || last) && winner.complete(response);
+                if (!accepted) {
+                    close(response);
+                }
+            });
+        }
+        return await(winner);
+    }
+
+    /**
+     * 在虚拟线程上发出读请求，携带调用线程的上下文（租户、截止时间等）
+     */
+    private CompletableFuture<ClientHttpResponse> submit(ChromaEndpoint endpoint, HttpRequest request, byte[] body,
+                                                         String suffix) {
+        Callable<ClientHttpResponse> call = ContextSnapshot.capture()
+                .wrap(() -> this.attempt(endpoint, KIND_READ, request, body, suffix));
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.call();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, EXECUTOR);
+    }
+
+    /**
+     * 向指定节点发出请求，记录在途请求数、延迟和健康状态
+     */
+    private ClientHttpResponse attempt(ChromaEndpoint endpoint, String kind, HttpRequest request, byte[] body,
+                                       String suffix) throws IOException {
+        ClientHttpRequest target = requestFactory.createRequest(URI.create(endpoint.baseUrl() + suffix),
+                request.getMethod());
+        request.getHeaders().forEach((name, values) -> {
+            if (!HttpHeaders.HOST.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                target.getHeaders().addAll(name, values);
+            }
+        });
+        long start = System.nanoTime();
+        pool.begin(endpoint);
+        try {
+            if (body.length > 0) {
+                target.getBody().write(body);
+            }
+            ClientHttpResponse response = target.execute();
+            if (isHealthy(response.getStatusCode())) {
+                pool.onSuccess(endpoint, kind, System.nanoTime() - start);
+            } else {
+                pool.onFailure(endpoint, kind, System.nanoTime() - start);
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            pool.onFailure(endpoint, kind, System.nanoTime() - start);
+            throw e;
+        } finally {
+            pool.end(endpoint);
+        }
+    }
+
+    private String suffixOf(URI uri) {
+        String url = uri.toString();
+        if (url.startsWith(logicalBaseUrl)) {
+            return url.substring(logicalBaseUrl.length());
+        }
+        String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+        return uri.getRawQuery() == null ? path : path + "?" + uri.getRawQuery();
+    }
+
+    static boolean isRead(HttpRequest request) {
+        if (HttpMethod.GET.equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getURI().getPath();
+        return HttpMethod.POST.equals(request.getMethod()) && path != null
+                && (path.endsWith("/query") || path.endsWith("/get"));
+    }
+
+    /**
+     * 服务端错误和限流视为节点不健康，客户端错误（如集合不存在）不影响节点健康状态
+     */
+    private static boolean isHealthy(HttpStatusCode status) {
+        return !status.is5xxServerError() && status.value() != 429;
+    }
+
+    /**
+     * 连接失败、连接被重置或域名无法解析，请求未被节点处理或可以安全地在其他读节点上重试
+     */
+    private static boolean isConnectionError(IOException error) {
+        for (Throwable t = error; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof SocketException || t instanceof UnknownHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isHealthy(ClientHttpResponse response) {
+        try {
+            return isHealthy(response.getStatusCode());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static ClientHttpResponse await(CompletableFuture<ClientHttpResponse> future) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("chroma request interrupted");
+        }
+    }
+
+    private static IOException unwrap(Throwable error) {
+        if (error instanceof UncheckedIOException unchecked) {
+            return unchecked.getCause();
+        }
+        if (error instanceof IOException ioException) {
+            return ioException;
+        }
+        if (error instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        return new IOException(error);
+    }
+
+    private static void close(ClientHttpResponse response) {
+        try {
+            response.close();
+        } catch (RuntimeException ignored) {
+            // 丢弃的对冲响应关闭失败不影响结果
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.fw.know.go.datasource.local;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+
+/**
+ * @Description 在文档元数据上求值Spring AI的过滤表达式，供进程内向量存储使用
+ * @Date 19/10/2026 下午5:10
+ * @Author Leo
+ */
+final class LocalFilterEvaluator {
+
+    private LocalFilterEvaluator() {
+    }
+
+    /**
+     * 元数据是否满足过滤表达式
+     * @param operand 过滤表达式或分组
+     * @param metadata 文档元数据
+     * @return 是否满足
+     */
+    static boolean matches(Filter.Operand operand, Map<String, Object> metadata) {
+        if (operand instanceof Filter.Group group) {
+            return matches(group.content(), metadata);
+        }
+        if (!(operand instanceof Filter.Expression expression)) {
+            throw new IllegalArgumentException("unsupported filter operand: " + operand);
+        }
+        return switch (expression.type()) {
+            case AND -> matches(expression.left(), metadata) && matches(expression.right(), metadata);
+            case OR -> matches(expression.left(), metadata) || matches(expression.right(), metadata);
+            case NOT -> !matches(expression.left(), metadata);
+            case EQ -> equalsValue(valueOf(expression, metadata), expected(expression));
+            case NE -> !equalsValue(valueOf(expression, metadata), expected(expression));
+            case GT -> compare(expression, metadata, c -> c > 0);
+            case GTE -> compare(expression, metadata, c -> c >= 0);
+            case LT -> compare(expression, metadata, c -> c < 0);
+            case LTE -> compare(expression, metadata, c -> c <= 0);
+            case IN -> contains(expected(expression), valueOf(expression, metadata));
+            case NIN -> !contains(expected(expression), valueOf(expression, metadata));
+            default -> throw new IllegalArgumentException("unsupported filter type: " + expression.type());
+        };
+    }
+
+    private static Object valueOf(Filter.Expression expression, Map<String, Object> metadata) {
+        if (!(expression.left() instanceof Filter.Key key)) {
+            throw new IllegalArgumentException("filter left operand must be a key: " + expression);
+        }
+        return metadata.get(unquote(key.key()));
+    }
+
+    private static Object expected(Filter.Expression expression) {
+        if (!(expression.right() instanceof Filter.Value value)) {
+            throw new IllegalArgumentException("filter right operand must be a value: " + expression);
+        }
+        return value.value();
+    }
+
+    private static boolean equalsValue(Object actual, Object expected) {
+        if (actual instanceof Number a && expected instanceof Number b) {
+            return Double.compare(a.doubleValue(), b.doubleValue()) == 0;
+        }
+        return actual != null && expected != null && Objects.equals(actual.toString(), expected.toString());
+    }
+
+    /**
+     * 比较运算，缺失字段不满足任何比较
+     */
+    private static boolean compare(Filter.Expression expression, Map<String, Object> metadata, IntPredicate accept) {
+        Object actual = valueOf(expression, metadata);
+        Object expected = expected(expression);
+        return actual != null && expected != null && accept.test(compare(actual, expected));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Object actual, Object expected) {
+        if (actual instanceof Number a && expected instanceof Number b) {
+            return Double.compare(a.doubleValue(), b.doubleValue());
+        }
+        if (actual instanceof Comparable comparable && actual.getClass().isInstance(expected)) {
+            return comparable.compareTo(expected);
+        }
+        return actual.toString().compareTo(expected.toString());
+    }
+
+    private static boolean contains(Object expected, Object actual) {
+        Collection<?> values = expected instanceof Collection<?> collection ? collection : List.of(expected);
+        for (Object value : values) {
+            if (equalsValue(actual, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String unquote(String key) {
+        if (key.length() >= 2 && (key.startsWith("'") && key.endsWith("'") || key.startsWith("\"") && key.endsWith("\""))) {
+            return key.substring(1, key.length() - 1);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,186 @@
+package com.fw.know.go.datasource.local;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * @Description 进程内向量存储的快照目录，由一个清单文件和若干只追加的段文件组成
+ * <p>
+ * 每次快照只把上次快照以来的变更写成一个新段，再原子替换清单；段数达到上限时写一个全量段替换全部旧段。
+ * 恢复时按清单顺序映射各段并依次应用，任一段损坏时放弃整个快照，下次快照写全量段
+ * @Date 19/10/2026 下午11:20
+ * @Author Leo
+ */
+@Slf4j
+public class LocalIndexSnapshot {
+
+    static final String MANIFEST = "MANIFEST";
+
+    private static final String MANIFEST_HEADER = "KGVS-MANIFEST " + SnapshotSegment.VERSION;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private static final String SEGMENT_SUFFIX = ".kgs";
+
+    private final Path directory;
+
+    private final int compactAfterSegments;
+
+    /**
+     * 清单中的段文件名，按写入顺序
+     */
+    private final List<String> segments = new ArrayList<>();
+
+    private long generation;
+
+    /**
+     * 快照不可用时，下次快照写全量段
+     */
+    private boolean forceFull = true;
+
+    public LocalIndexSnapshot(Path directory, int compactAfterSegments) {
+        this.directory = directory;
+        this.compactAfterSegments = Math.max(1, compactAfterSegments);
+    }
+
+    /**
+     * 从快照恢复存储，存储应为空
+     * @param store 进程内向量存储
+     * @return 恢复后的文档数
+     */
+    public synchronized int restore(LocalVectorStore store) {
+        Path manifest = directory.resolve(MANIFEST);
+        if (!Files.exists(manifest)) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        try {
+            List<String> names = readManifest(manifest);
+            for (String name : names) {
+                store.apply(SnapshotSegment.read(directory.resolve(name)));
+            }
+            segments.clear();
+            segments.addAll(names);
+            generation = names.stream().mapToLong(LocalIndexSnapshot::generationOf).max().orElse(0);
+            forceFull = false;
+            log.info("restored {} documents from {} snapshot segments in {} ms", store.size(), names.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            // 部分段已应用时存储内容不完整，丢弃后由调用方重新导入
+            log.warn("local vector snapshot at {} is unusable, starting empty", directory, e);
+            store.clear();
+            // 新段的编号接在已有段之后，避免清单替换前覆盖旧段
+            generation = this.listSegments().stream().mapToLong(LocalIndexSnapshot::generationOf).max().orElse(0);
+            forceFull = true;
+        }
+        return store.size();
+    }
+
+    /**
+     * 写一次快照：有变更时追加一个增量段，段数达到上限时写全量段
+     * @param store 进程内向量存储
+     * @throws UncheckedIOException 写入失败，变更已记回存储
+     */
+    public synchronized void write(LocalVectorStore store) {
+        boolean full = forceFull || segments.size() >= compactAfterSegments;
+        SnapshotSegment.Data data = full ? store.drainAll() : store.drainChanges();
+        if (!full && data.isEmpty()) {
+            return;
+        }
+        String name = SEGMENT_PREFIX + String.format("%012d", generation + 1) + SEGMENT_SUFFIX;
+        List<String> next = new ArrayList<>(full ? List.of() : segments);
+        next.add(name);
+        try {
+            Files.createDirectories(directory);
+            SnapshotSegment.write(directory.resolve(name), data);
+            this.writeManifest(next);
+        } catch (IOException e) {
+            store.restoreChanges(data);
+            throw new UncheckedIOException("write local vector snapshot failed", e);
+        }
+        generation++;
+        segments.clear();
+        segments.addAll(next);
+        forceFull = false;
+        if (full) {
+            this.deleteObsolete();
+        }
+        log.debug("wrote {} snapshot segment {} with {} documents and {} deletions", full ? "full" : "incremental",
+                name, data.rows(), data.tombstones().size());
+    }
+
+    /**
+     * 当前清单中的段数
+     * @return 段数
+     */
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    private static List<String> readManifest(Path manifest) throws IOException {
+        List<String> lines = Files.readAllLines(manifest, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !MANIFEST_HEADER.equals(lines.get(0))) {
+            throw new IOException("unsupported snapshot manifest: " + manifest);
+        }
+        return lines.subList(1, lines.size()).stream().filter(line -> !line.isBlank()).toList();
+    }
+
+    private void writeManifest(List<String> names) throws IOException {
+        Path tmp = directory.resolve(MANIFEST + ".tmp");
+        List<String> lines = new ArrayList<>(names.size() + 1);
+        lines.add(MANIFEST_HEADER);
+        lines.addAll(names);
+        Files.write(tmp, lines, StandardCharsets.UTF_8);
+        Files.move(tmp, directory.resolve(MANIFEST), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 删除不在清单中的段文件和宕机遗留的临时文件
+     */
+    private void deleteObsolete() {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.endsWith(".tmp") || (isSegment(name) && !segments.contains(name));
+            }).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("delete obsolete snapshot file {} failed", file, e);
+                }
+            });
+        } catch (IOException e) {
+            log.warn("list snapshot directory {} failed", directory, e);
+        }
+    }
+
+    private List<String> listSegments() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).filter(LocalIndexSnapshot::isSegment).toList();
+        } catch (IOException e) {
+            log.warn("list snapshot directory {} failed", directory, e);
+            return List.of();
+        }
+    }
+
+    private static boolean isSegment(String name) {
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long generationOf(String name) {
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
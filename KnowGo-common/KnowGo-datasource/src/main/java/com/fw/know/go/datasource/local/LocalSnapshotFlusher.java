@@ -0,0 +1,49 @@
+package com.fw.know.go.datasource.local;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description 定时把进程内向量存储的变更写成快照段，写入失败时变更记回存储，下次重试；关闭时再写一次
+ * @Date 19/10/2026 下午11:35
+ * @Author Leo
+ */
+@Slf4j
+public class LocalSnapshotFlusher implements AutoCloseable {
+
+    private final LocalVectorStore store;
+
+    private final LocalIndexSnapshot snapshot;
+
+    private final ScheduledExecutorService scheduler;
+
+    public LocalSnapshotFlusher(LocalVectorStore store, LocalIndexSnapshot snapshot, Duration interval) {
+        this.store = store;
+        this.snapshot = snapshot;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("local-snapshot-flusher").daemon(true).factory());
+        long millis = interval.toMillis();
+        this.scheduler.scheduleWithFixedDelay(this::flush, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 写出当前变更
+     */
+    public void flush() {
+        try {
+            snapshot.write(store);
+        } catch (RuntimeException e) {
+            log.warn("flush local vector snapshot failed, changes kept for next flush", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        this.flush();
+    }
+}
@@ -0,0 +1,356 @@
+package com.fw.know.go.datasource.local;
+
+import com.fw.know.go.datasource.scoring.FloatMatrix;
+import com.fw.know.go.datasource.scoring.TopKSelector;
+import com.fw.know.go.datasource.scoring.VectorKernels;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * @Description 进程内向量存储，向量归一化后按行连续存储在 {@link FloatMatrix} 中，检索时用打分内核批量计算点积，
+ * 再用 {@link TopKSelector} 保留得分最高的K个，返回的得分和 distance 元数据与Chroma的余弦距离一致，用于压测和离线评测替代Chroma
+ * <p>
+ * 矩阵维度由第一个写入的向量决定，维度不同的向量拒绝写入，维度不同的查询返回空结果。
+ * 存储记录上次快照以来的变更，由 {@link LocalIndexSnapshot} 写成增量快照段，重启时从快照恢复
+ * @Date 19/10/2026 下午5:00
+ * @Author Leo
+ */
+public class LocalVectorStore implements VectorStore {
+
+    public static final String DISTANCE = "distance";
+
+    private final EmbeddingModel embeddingModel;
+
+    private final BatchingStrategy batchingStrategy;
+
+    /**
+     * 文档ID到矩阵行号
+     */
+    private final Map<String, Integer> rows = new HashMap<>();
+
+    /**
+     * 与矩阵行一一对应的文档
+     */
+    private final List<Document> documents = new ArrayList<>();
+
+    /**
+     * 上次快照以来写入或更新的文档ID
+     */
+    private final Set<String> upserted = new HashSet<>();
+
+    /**
+     * 上次快照以来删除的文档ID
+     */
+    private final Set<String> removed = new HashSet<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private FloatMatrix matrix;
+
+    public LocalVectorStore(EmbeddingModel embeddingModel) {
+        this(embeddingModel, new TokenCountBatchingStrategy());
+    }
+
+    public LocalVectorStore(EmbeddingModel embeddingModel, BatchingStrategy batchingStrategy) {
+        this.embeddingModel = embeddingModel;
+        this.batchingStrategy = batchingStrategy;
+    }
+
+    @Override
+    public void add(List<Document> documents) {
+        if (documents == null || documents.isEmpty()) {
+            return;
+        }
+        List<float[]> vectors = embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(),
+                batchingStrategy);
+        List<float[]> normalized = new ArrayList<>(vectors.size());
+        for (float[] vector : vectors) {
+            normalized.add(normalize(vector));
+        }
+        lock.writeLock().lock();
+        try {
+            int dimensions = matrix == null ? normalized.get(0).length : matrix.dimensions();
+            for (float[] vector : normalized) {
+                if (vector.length != dimensions) {
+                    throw new IllegalArgumentException("vector dimensions differ: " + vector.length + " vs " + dimensions);
+                }
+            }
+            for (int i = 0; i < documents.size(); i++) {
+                this.put(documents.get(i), normalized.get(i));
+                upserted.add(documents.get(i).getId());
+                removed.remove(documents.get(i).getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(List<String> idList) {
+        lock.writeLock().lock();
+        try {
+            for (String id : idList) {
+                Integer row = rows.get(id);
+                if (row != null) {
+                    this.deleteRow(row);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(Filter.Expression filterExpression) {
+        lock.writeLock().lock();
+        try {
+            // 从后往前删，被换到当前行的最后一行已经检查过
+            for (int row = documents.size() - 1; row >= 0; row--) {
+                if (LocalFilterEvaluator.matches(filterExpression, documents.get(row).getMetadata())) {
+                    this.deleteRow(row);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Document> similaritySearch(SearchRequest request) {
+        float[] query = normalize(embeddingModel.embed(request.getQuery()));
+        Filter.Expression filter = request.hasFilterExpression() ? request.getFilterExpression() : null;
+        float threshold = (float) request.getSimilarityThreshold();
+        List<Document> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (matrix == null || matrix.dimensions() != query.length || matrix.rows() == 0) {
+                return result;
+            }
+            int count = matrix.rows();
+            float[] scores = new float[count];
+            matrix.dotAll(query, scores);
+            if (filter != null) {
+                // 只对过了阈值的行求值过滤条件，不满足的行排除出TopK
+                for (int row = 0; row < count; row++) {
+                    if (scores[row] >= threshold
+                            && !LocalFilterEvaluator.matches(filter, documents.get(row).getMetadata())) {
+                        scores[row] = Float.NEGATIVE_INFINITY;
+                    }
+                }
+            }
+            for (int row : TopKSelector.select(scores, count, request.getTopK(), threshold)) {
+                result.add(toResult(documents.get(row), scores[row]));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * 当前保存的文档数
+     * @return 文档数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return LocalVectorStore.class.getSimpleName();
+    }
+
+    /**
+     * 取出上次快照以来的变更，用于写增量快照段
+     * @return 变更的文档、向量和删除的文档ID
+     */
+    SnapshotSegment.Data drainChanges() {
+        lock.writeLock().lock();
+        try {
+            int dimensions = matrix == null ? 0 : matrix.dimensions();
+            float[] vectors = new float[upserted.size() * dimensions];
+            List<Document> changed = new ArrayList<>(upserted.size());
+            for (String id : upserted) {
+                int row = rows.get(id);
+                System.arraycopy(matrix.data(), row * dimensions, vectors, changed.size() * dimensions, dimensions);
+                changed.add(documents.get(row));
+            }
+            SnapshotSegment.Data data = new SnapshotSegment.Data(dimensions, vectors, changed, new ArrayList<>(removed));
+            upserted.clear();
+            removed.clear();
+            return data;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 取出全部文档，用于写全量快照段，同时清空变更记录
+     * @return 全部文档和向量
+     */
+    SnapshotSegment.Data drainAll() {
+        lock.writeLock().lock();
+        try {
+            int dimensions = matrix == null ? 0 : matrix.dimensions();
+            float[] vectors = matrix == null ? new float[0] : Arrays.copyOf(matrix.data(), matrix.rows() * dimensions);
+            upserted.clear();
+            removed.clear();
+            return new SnapshotSegment.Data(dimensions, vectors, new ArrayList<>(documents), List.of());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 快照写入失败时把取出的变更记回去，下次快照时重新写入
+     * @param data 取出的变更
+     */
+    void restoreChanges(SnapshotSegment.Data data) {
+        lock.writeLock().lock();
+        try {
+            for (Document document : data.documents()) {
+                if (rows.containsKey(document.getId())) {
+                    upserted.add(document.getId());
+                }
+            }
+            for (String id : data.tombstones()) {
+                if (!rows.containsKey(id)) {
+                    removed.add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 从快照段恢复，不记为变更
+     * @param data 快照段内容
+     */
+    void apply(SnapshotSegment.Data data) {
+        lock.writeLock().lock();
+        try {
+            for (String id : data.tombstones()) {
+                Integer row = rows.get(id);
+                if (row != null) {
+                    this.removeRow(row);
+                }
+            }
+            if (data.rows() == 0) {
+                return;
+            }
+            if (matrix == null || matrix.rows() == 0) {
+                // 空存储直接接管段中的向量数组，不逐行拷贝
+                matrix = FloatMatrix.wrap(data.dimensions(), data.vectors(), data.rows());
+                rows.clear();
+                documents.clear();
+                for (Document document : data.documents()) {
+                    rows.put(document.getId(), documents.size());
+                    documents.add(document);
+                }
+                return;
+            }
+            int dimensions = data.dimensions();
+            for (int i = 0; i < data.rows(); i++) {
+                this.put(data.documents().get(i),
+                        Arrays.copyOfRange(data.vectors(), i * dimensions, (i + 1) * dimensions));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 清空存储和变更记录
+     */
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            matrix = null;
+            rows.clear();
+            documents.clear();
+            upserted.clear();
+            removed.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Document document, float[] vector) {
+        if (matrix == null) {
+            matrix = new FloatMatrix(vector.length);
+        }
+        Integer row = rows.get(document.getId());
+        if (row != null) {
+            matrix.set(row, vector);
+            documents.set(row, document);
+            return;
+        }
+        rows.put(document.getId(), matrix.add(vector));
+        documents.add(document);
+    }
+
+    /**
+     * 删除一行并记为变更
+     */
+    private void deleteRow(int row) {
+        String id = documents.get(row).getId();
+        this.removeRow(row);
+        upserted.remove(id);
+        removed.add(id);
+    }
+
+    private void removeRow(int row) {
+        rows.remove(documents.get(row).getId());
+        int moved = matrix.removeSwap(row);
+        Document last = documents.remove(documents.size() - 1);
+        if (moved >= 0) {
+            documents.set(row, last);
+            rows.put(last.getId(), row);
+        }
+    }
+
+    private static Document toResult(Document document, float score) {
+        Map<String, Object> metadata = new HashMap<>(document.getMetadata());
+        metadata.put(DISTANCE, 1 - score);
+        return Document.builder()
+                .id(document.getId())
+                .text(document.getText())
+                .metadata(metadata)
+                .score((double) score)
+                .build();
+    }
+
+    private static float[] normalize(float[] vector) {
+        float norm = VectorKernels.norm(vector);
+        if (norm == 0f) {
+            return vector.clone();
+        }
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] / norm;
+        }
+        return normalized;
+    }
+}
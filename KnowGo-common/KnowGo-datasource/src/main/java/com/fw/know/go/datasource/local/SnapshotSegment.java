@@ -0,0 +1,269 @@
+package com.fw.know.go.datasource.local;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.ai.document.Document;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * @Description 快照段文件，一个段保存一批写入的向量、文档和删除的文档ID，写入后不再修改
+ * <p>
+ * 文件布局（小端）：64字节文件头，随后依次是向量区（rows * dimensions 个float，64字节对齐）、文档区和删除区。
+ * 文件头记录各区的偏移量、文件头本身和文件体的CRC32C校验和。
+ * 读取时整个文件映射到内存，校验后向量区整体拷贝成float数组，不逐个解析
+ * @Date 19/10/2026 下午11:00
+ * @Author Leo
+ */
+final class SnapshotSegment {
+
+    /**
+     * 文件魔数，"KGVS"
+     */
+    static final int MAGIC = 0x4B475653;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 64;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int NULL_LENGTH = -1;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {
+    };
+
+    private SnapshotSegment() {
+    }
+
+    /**
+     * 段内容
+     * @param dimensions 向量维度，没有向量时为0
+     * @param vectors 按行连续存储的向量，行数与文档数相同
+     * @param documents 文档
+     * @param tombstones 删除的文档ID，先于本段的向量生效
+     */
+    record Data(int dimensions, float[] vectors, List<Document> documents, List<String> tombstones) {
+
+        int rows() {
+            return documents.size();
+        }
+
+        boolean isEmpty() {
+            return documents.isEmpty() && tombstones.isEmpty();
+        }
+    }
+
+    /**
+     * 写入段文件，先写临时文件再原子改名，写到一半宕机不会留下半个段
+     * @param file 段文件
+     * @param data 段内容
+     * @throws IOException 写入失败
+     */
+    static void write(Path file, Data data) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            SectionWriter writer = new SectionWriter(channel, HEADER_SIZE);
+            long vectorsOffset = writer.position();
+            int values = data.rows() * data.dimensions();
+            for (int i = 0; i < values; i++) {
+                writer.putFloat(data.vectors()[i]);
+            }
+            long documentsOffset = writer.position();
+            for (Document document : data.documents()) {
+                writer.putString(document.getId());
+                writer.putString(document.getText());
+                writer.putBytes(OBJECT_MAPPER.writeValueAsBytes(document.getMetadata()));
+            }
+            long tombstonesOffset = writer.position();
+            for (String id : data.tombstones()) {
+                writer.putString(id);
+            }
+            writer.flush();
+            long end = writer.position();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(data.dimensions()).putInt(data.rows())
+                    .putInt(data.tombstones().size()).putInt(0)
+                    .putLong(vectorsOffset).putLong(documentsOffset).putLong(tombstonesOffset).putLong(end)
+                    .putInt((int) writer.checksum());
+            CRC32C headerChecksum = new CRC32C();
+            headerChecksum.update(header.array(), 0, header.position());
+            header.putInt((int) headerChecksum.getValue());
+            header.flip();
+            long offset = 0;
+            while (header.hasRemaining()) {
+                offset += channel.write(header, offset);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 映射并读取段文件
+     * @param file 段文件
+     * @return 段内容
+     * @throws IOException 读取失败、格式不符或校验和不一致
+     */
+    static Data read(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("snapshot segment truncated: " + file);
+            }
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("snapshot segment larger than 2GB: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("not a snapshot segment: " + file);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("unsupported snapshot segment version " + buffer.getInt(4) + ": " + file);
+        }
+        CRC32C headerChecksum = new CRC32C();
+        headerChecksum.update(buffer.slice(0, HEADER_SIZE - Integer.BYTES));
+        if ((int) headerChecksum.getValue() != buffer.getInt(HEADER_SIZE - Integer.BYTES)) {
+            throw new IOException("snapshot segment header checksum mismatch: " + file);
+        }
+        int dimensions = buffer.getInt(8);
+        int rows = buffer.getInt(12);
+        int tombstoneCount = buffer.getInt(16);
+        long vectorsOffset = buffer.getLong(24);
+        long documentsOffset = buffer.getLong(32);
+        long tombstonesOffset = buffer.getLong(40);
+        long end = buffer.getLong(48);
+        if (end != buffer.capacity() || vectorsOffset != HEADER_SIZE
+                || documentsOffset != vectorsOffset + (long) rows * dimensions * Float.BYTES
+                || tombstonesOffset < documentsOffset || tombstonesOffset > end) {
+            throw new IOException("snapshot segment layout corrupted: " + file);
+        }
+        CRC32C bodyChecksum = new CRC32C();
+        bodyChecksum.update(buffer.slice(HEADER_SIZE, (int) (end - HEADER_SIZE)));
+        if ((int) bodyChecksum.getValue() != buffer.getInt(56)) {
+            throw new IOException("snapshot segment checksum mismatch: " + file);
+        }
+
+        float[] vectors = new float[rows * dimensions];
+        buffer.slice((int) vectorsOffset, vectors.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                .asFloatBuffer().get(vectors);
+        ByteBuffer documentsSection = buffer.slice((int) documentsOffset, (int) (tombstonesOffset - documentsOffset))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        List<Document> documents = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String id = getString(documentsSection);
+            String text = getString(documentsSection);
+            Map<String, Object> metadata = OBJECT_MAPPER.readValue(getBytes(documentsSection), METADATA_TYPE);
+            documents.add(Document.builder().id(id).text(text).metadata(metadata).build());
+        }
+        ByteBuffer tombstonesSection = buffer.slice((int) tombstonesOffset, (int) (end - tombstonesOffset))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        List<String> tombstones = new ArrayList<>(tombstoneCount);
+        for (int i = 0; i < tombstoneCount; i++) {
+            tombstones.add(getString(tombstonesSection));
+        }
+        return new Data(dimensions, vectors, documents, tombstones);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = getBytes(buffer);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * 带缓冲的顺序写入，边写边计算校验和
+     */
+    private static final class SectionWriter {
+
+        private final FileChannel channel;
+
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        private final CRC32C checksum = new CRC32C();
+
+        private long position;
+
+        SectionWriter(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        void putFloat(float value) throws IOException {
+            this.ensure(Float.BYTES);
+            buffer.putFloat(value);
+        }
+
+        void putString(String value) throws IOException {
+            this.putBytes(value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            this.ensure(Integer.BYTES);
+            if (bytes == null) {
+                buffer.putInt(NULL_LENGTH);
+                return;
+            }
+            buffer.putInt(bytes.length);
+            int written = 0;
+            while (written < bytes.length) {
+                this.ensure(1);
+                int length = Math.min(buffer.remaining(), bytes.length - written);
+                buffer.put(bytes, written, length);
+                written += length;
+            }
+        }
+
+        long position() throws IOException {
+            this.flush();
+            return position;
+        }
+
+        long checksum() {
+            return checksum.getValue();
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            checksum.update(buffer.array(), 0, buffer.limit());
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            buffer.clear();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                this.flush();
+            }
+        }
+    }
+}
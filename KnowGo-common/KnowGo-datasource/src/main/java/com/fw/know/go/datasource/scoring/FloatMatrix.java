@@ -0,0 +1,152 @@
+package com.fw.know.go.datasource.scoring;
+
+import java.util.Arrays;
+
+/**
+ * @Description 按行连续存储的float矩阵，每行一个向量；删除行时用最后一行填补空位，保持存储连续
+ * <p>
+ * 非线程安全，由调用方加锁
+ * @Date 19/10/2026 下午10:10
+ * @Author Leo
+ */
+public final class FloatMatrix {
+
+    private static final int INITIAL_ROWS = 16;
+
+    private final int dimensions;
+
+    private float[] data;
+
+    private int rows;
+
+    public FloatMatrix(int dimensions) {
+        this(dimensions, INITIAL_ROWS);
+    }
+
+    public FloatMatrix(int dimensions, int capacity) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("dimensions must be positive");
+        }
+        this.dimensions = dimensions;
+        this.data = new float[Math.max(1, capacity) * dimensions];
+    }
+
+    /**
+     * 由已有数据构建矩阵，数据不复制
+     * @param dimensions 维度
+     * @param data 按行连续存储的数据
+     * @param rows 行数
+     * @return 矩阵
+     */
+    public static FloatMatrix wrap(int dimensions, float[] data, int rows) {
+        FloatMatrix matrix = new FloatMatrix(dimensions, 1);
+        if (data.length < rows * dimensions) {
+            throw new IllegalArgumentException("data shorter than rows * dimensions");
+        }
+        matrix.data = data;
+        matrix.rows = rows;
+        return matrix;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * 底层数组，只读使用
+     * @return 数组，前 rows * dimensions 个元素有效
+     */
+    public float[] data() {
+        return data;
+    }
+
+    /**
+     * 追加一行
+     * @param vector 向量
+     * @return 行号
+     */
+    public int add(float[] vector) {
+        this.checkDimensions(vector);
+        if ((rows + 1) * dimensions > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length + dimensions, data.length + (data.length >> 1)));
+        }
+        System.arraycopy(vector, 0, data, rows * dimensions, dimensions);
+        return rows++;
+    }
+
+    /**
+     * 覆盖一行
+     * @param row 行号
+     * @param vector 向量
+     */
+    public void set(int row, float[] vector) {
+        this.checkDimensions(vector);
+        this.checkRow(row);
+        System.arraycopy(vector, 0, data, row * dimensions, dimensions);
+    }
+
+    /**
+     * 删除一行，用最后一行填补
+     * @param row 行号
+     * @return 被移动到该行的原最后一行的行号，删除的就是最后一行时为-1
+     */
+    public int removeSwap(int row) {
+        this.checkRow(row);
+        int last = rows - 1;
+        rows--;
+        if (row == last) {
+            return -1;
+        }
+        System.arraycopy(data, last * dimensions, data, row * dimensions, dimensions);
+        return last;
+    }
+
+    /**
+     * 复制一行
+     * @param row 行号
+     * @return 向量
+     */
+    public float[] row(int row) {
+        this.checkRow(row);
+        return Arrays.copyOfRange(data, row * dimensions, (row + 1) * dimensions);
+    }
+
+    /**
+     * 查询向量与每一行的点积
+     * @param query 查询向量
+     * @param scores 得分，长度不小于行数
+     */
+    public void dotAll(float[] query, float[] scores) {
+        this.checkDimensions(query);
+        VectorKernels.kernel().dotRows(query, data, rows, scores);
+    }
+
+    /**
+     * 点积最高的K行
+     * @param query 查询向量
+     * @param k 最多返回的行数
+     * @param threshold 最低点积
+     * @return 行号，按点积降序
+     */
+    public int[] topK(float[] query, int k, float threshold) {
+        float[] scores = new float[rows];
+        this.dotAll(query, scores);
+        return TopKSelector.select(scores, rows, k, threshold);
+    }
+
+    private void checkDimensions(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("vector dimensions differ: " + vector.length + " vs " + dimensions);
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("row " + row + " out of " + rows);
+        }
+    }
+}
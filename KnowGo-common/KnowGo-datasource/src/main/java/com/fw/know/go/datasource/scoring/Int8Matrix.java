@@ -0,0 +1,78 @@
+package com.fw.know.go.datasource.scoring;
+
+/**
+ * @Description 按行连续存储的int8量化矩阵，每行一个缩放系数，存储为float矩阵的1/4，用于内存受限时的粗排
+ * @Date 19/10/2026 下午10:20
+ * @Author Leo
+ */
+public final class Int8Matrix {
+
+    private final int dimensions;
+
+    private final int rows;
+
+    private final byte[] codes;
+
+    private final float[] scales;
+
+    private Int8Matrix(int dimensions, int rows, byte[] codes, float[] scales) {
+        this.dimensions = dimensions;
+        this.rows = rows;
+        this.codes = codes;
+        this.scales = scales;
+    }
+
+    /**
+     * 量化一个float矩阵
+     * @param matrix float矩阵
+     * @return int8矩阵
+     */
+    public static Int8Matrix quantize(FloatMatrix matrix) {
+        int dimensions = matrix.dimensions();
+        int rows = matrix.rows();
+        byte[] codes = new byte[rows * dimensions];
+        float[] scales = new float[rows];
+        for (int row = 0; row < rows; row++) {
+            scales[row] = Int8Quantizer.quantize(matrix.row(row), codes, row * dimensions);
+        }
+        return new Int8Matrix(dimensions, rows, codes, scales);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * 查询向量与每一行的近似点积
+     * @param query 查询向量
+     * @param scores 得分，长度不小于行数
+     */
+    public void dotAll(float[] query, float[] scores) {
+        if (query.length != dimensions) {
+            throw new IllegalArgumentException("vector dimensions differ: " + query.length + " vs " + dimensions);
+        }
+        byte[] queryCodes = new byte[dimensions];
+        float queryScale = Int8Quantizer.quantize(query, queryCodes, 0);
+        ScoringKernel kernel = VectorKernels.kernel();
+        for (int row = 0; row < rows; row++) {
+            scores[row] = kernel.dot(queryCodes, 0, codes, row * dimensions, dimensions) * queryScale * scales[row];
+        }
+    }
+
+    /**
+     * 近似点积最高的K行
+     * @param query 查询向量
+     * @param k 最多返回的行数
+     * @param threshold 最低点积
+     * @return 行号，按近似点积降序
+     */
+    public int[] topK(float[] query, int k, float threshold) {
+        float[] scores = new float[rows];
+        this.dotAll(query, scores);
+        return TopKSelector.select(scores, rows, k, threshold);
+    }
+}
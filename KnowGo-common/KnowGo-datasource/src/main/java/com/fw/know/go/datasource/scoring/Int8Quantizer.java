@@ -0,0 +1,49 @@
+package com.fw.know.go.datasource.scoring;
+
+/**
+ * @Description int8对称量化：按向量的最大绝对值缩放到 [-127, 127]，存储为原来的1/4，点积乘以两个向量的缩放系数还原
+ * @Date 19/10/2026 下午10:05
+ * @Author Leo
+ */
+public final class Int8Quantizer {
+
+    private static final float MAX_CODE = 127f;
+
+    private Int8Quantizer() {
+    }
+
+    /**
+     * 量化一个向量
+     * @param vector 向量
+     * @param codes 量化结果的目标数组
+     * @param offset 写入位置
+     * @return 缩放系数，原值约等于 code * scale
+     */
+    public static float quantize(float[] vector, byte[] codes, int offset) {
+        float max = 0f;
+        for (float v : vector) {
+            max = Math.max(max, Math.abs(v));
+        }
+        if (max == 0f) {
+            return 0f;
+        }
+        float scale = max / MAX_CODE;
+        float inverse = 1f / scale;
+        for (int i = 0; i < vector.length; i++) {
+            codes[offset + i] = (byte) Math.round(vector[i] * inverse);
+        }
+        return scale;
+    }
+
+    /**
+     * 量化后的近似点积
+     * @param a 向量a的量化结果
+     * @param aScale 向量a的缩放系数
+     * @param b 向量b的量化结果
+     * @param bScale 向量b的缩放系数
+     * @return 近似点积
+     */
+    public static float dot(byte[] a, float aScale, byte[] b, float bScale) {
+        return VectorKernels.dot(a, b) * aScale * bScale;
+    }
+}
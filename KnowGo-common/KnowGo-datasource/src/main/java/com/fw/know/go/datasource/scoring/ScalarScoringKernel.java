@@ -0,0 +1,47 @@
+package com.fw.know.go.datasource.scoring;
+
+/**
+ * @Description 向量打分的标量实现，运行时未加载 jdk.incubator.vector 模块时使用
+ * @Date 19/10/2026 下午9:45
+ * @Author Leo
+ */
+public final class ScalarScoringKernel implements ScoringKernel {
+
+    public static final ScalarScoringKernel INSTANCE = new ScalarScoringKernel();
+
+    private ScalarScoringKernel() {
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0f;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float l2Squared(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0f;
+        for (int i = 0; i < length; i++) {
+            float diff = a[aOffset + i] - b[bOffset + i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    @Override
+    public int dot(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,89 @@
+package com.fw.know.go.datasource.scoring;
+
+/**
+ * @Description 向量打分内核，向量以连续数组存储，通过偏移量访问矩阵中的某一行
+ * @Date 19/10/2026 下午9:40
+ * @Author Leo
+ */
+public interface ScoringKernel {
+
+    /**
+     * 点积
+     * @param a 数组a
+     * @param aOffset a中向量的起始位置
+     * @param b 数组b
+     * @param bOffset b中向量的起始位置
+     * @param length 向量维度
+     * @return 点积
+     */
+    float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    /**
+     * 欧氏距离的平方
+     * @param a 数组a
+     * @param aOffset a中向量的起始位置
+     * @param b 数组b
+     * @param bOffset b中向量的起始位置
+     * @param length 向量维度
+     * @return 欧氏距离的平方
+     */
+    float l2Squared(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    /**
+     * int8向量的点积，结果未乘量化系数
+     * @param a 数组a
+     * @param aOffset a中向量的起始位置
+     * @param b 数组b
+     * @param bOffset b中向量的起始位置
+     * @param length 向量维度
+     * @return 点积
+     */
+    int dot(byte[] a, int aOffset, byte[] b, int bOffset, int length);
+
+    /**
+     * 余弦相似度，任一向量为零向量时返回0
+     */
+    default float cosine(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float dot = this.dot(a, aOffset, b, bOffset, length);
+        float normA = this.dot(a, aOffset, a, aOffset, length);
+        float normB = this.dot(b, bOffset, b, bOffset, length);
+        if (normA == 0f || normB == 0f) {
+            return 0f;
+        }
+        return (float) (dot / Math.sqrt((double) normA * normB));
+    }
+
+    /**
+     * 查询向量与矩阵每一行的点积
+     * @param query 查询向量
+     * @param matrix 按行连续存储的矩阵
+     * @param rows 行数
+     * @param scores 得分，长度不小于rows
+     */
+    default void dotRows(float[] query, float[] matrix, int rows, float[] scores) {
+        int dimensions = query.length;
+        for (int row = 0; row < rows; row++) {
+            scores[row] = this.dot(query, 0, matrix, row * dimensions, dimensions);
+        }
+    }
+
+    /**
+     * 查询向量与矩阵每一行的欧氏距离平方
+     * @param query 查询向量
+     * @param matrix 按行连续存储的矩阵
+     * @param rows 行数
+     * @param distances 距离，长度不小于rows
+     */
+    default void l2Rows(float[] query, float[] matrix, int rows, float[] distances) {
+        int dimensions = query.length;
+        for (int row = 0; row < rows; row++) {
+            distances[row] = this.l2Squared(query, 0, matrix, row * dimensions, dimensions);
+        }
+    }
+
+    /**
+     * 内核名称
+     * @return 名称
+     */
+    String name();
+}
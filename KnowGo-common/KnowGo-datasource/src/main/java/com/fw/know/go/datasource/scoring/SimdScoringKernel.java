@@ -0,0 +1,120 @@
+package com.fw.know.go.datasource.scoring;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * @Description 基于 jdk.incubator.vector 的向量打分实现，使用当前CPU的首选向量宽度，4路累加器隐藏FMA延迟
+ * <p>
+ * 只能通过 {@link VectorKernels} 间接加载：运行时需要 --add-modules jdk.incubator.vector，否则回退到标量实现
+ * @Date 19/10/2026 下午9:50
+ * @Author Leo
+ */
+final class SimdScoringKernel implements ScoringKernel {
+
+    private static final VectorSpecies<Float> FLOAT = FloatVector.SPECIES_PREFERRED;
+
+    private static final VectorSpecies<Integer> INT = IntVector.SPECIES_PREFERRED;
+
+    /**
+     * 与INT通道数相同的byte向量，byte向量最小为64位，通道数不足8时int8点积走标量
+     */
+    private static final VectorSpecies<Byte> BYTE = INT.length() >= 8
+            ? VectorSpecies.of(byte.class, VectorShape.forBitSize(INT.length() * Byte.SIZE)) : null;
+
+    private static final int UNROLL = 4;
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        int lanes = FLOAT.length();
+        int step = lanes * UNROLL;
+        int unrolledBound = length - length % step;
+        FloatVector acc0 = FloatVector.zero(FLOAT);
+        FloatVector acc1 = FloatVector.zero(FLOAT);
+        FloatVector acc2 = FloatVector.zero(FLOAT);
+        FloatVector acc3 = FloatVector.zero(FLOAT);
+        int i = 0;
+        for (; i < unrolledBound; i += step) {
+            acc0 = FloatVector.fromArray(FLOAT, a, aOffset + i)
+                    .fma(FloatVector.fromArray(FLOAT, b, bOffset + i), acc0);
+            acc1 = FloatVector.fromArray(FLOAT, a, aOffset + i + lanes)
+                    .fma(FloatVector.fromArray(FLOAT, b, bOffset + i + lanes), acc1);
+            acc2 = FloatVector.fromArray(FLOAT, a, aOffset + i + 2 * lanes)
+                    .fma(FloatVector.fromArray(FLOAT, b, bOffset + i + 2 * lanes), acc2);
+            acc3 = FloatVector.fromArray(FLOAT, a, aOffset + i + 3 * lanes)
+                    .fma(FloatVector.fromArray(FLOAT, b, bOffset + i + 3 * lanes), acc3);
+        }
+        int bound = FLOAT.loopBound(length);
+        for (; i < bound; i += lanes) {
+            acc0 = FloatVector.fromArray(FLOAT, a, aOffset + i)
+                    .fma(FloatVector.fromArray(FLOAT, b, bOffset + i), acc0);
+        }
+        float sum = acc0.add(acc1).add(acc2.add(acc3)).reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float l2Squared(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        int lanes = FLOAT.length();
+        int step = lanes * 2;
+        int unrolledBound = length - length % step;
+        FloatVector acc0 = FloatVector.zero(FLOAT);
+        FloatVector acc1 = FloatVector.zero(FLOAT);
+        int i = 0;
+        for (; i < unrolledBound; i += step) {
+            FloatVector diff0 = FloatVector.fromArray(FLOAT, a, aOffset + i)
+                    .sub(FloatVector.fromArray(FLOAT, b, bOffset + i));
+            FloatVector diff1 = FloatVector.fromArray(FLOAT, a, aOffset + i + lanes)
+                    .sub(FloatVector.fromArray(FLOAT, b, bOffset + i + lanes));
+            acc0 = diff0.fma(diff0, acc0);
+            acc1 = diff1.fma(diff1, acc1);
+        }
+        int bound = FLOAT.loopBound(length);
+        for (; i < bound; i += lanes) {
+            FloatVector diff = FloatVector.fromArray(FLOAT, a, aOffset + i)
+                    .sub(FloatVector.fromArray(FLOAT, b, bOffset + i));
+            acc0 = diff.fma(diff, acc0);
+        }
+        float sum = acc0.add(acc1).reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            float diff = a[aOffset + i] - b[bOffset + i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    @Override
+    public int dot(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        if (BYTE == null) {
+            return ScalarScoringKernel.INSTANCE.dot(a, aOffset, b, bOffset, length);
+        }
+        int lanes = BYTE.length();
+        int bound = BYTE.loopBound(length);
+        IntVector acc = IntVector.zero(INT);
+        int i = 0;
+        for (; i < bound; i += lanes) {
+            IntVector va = (IntVector) ByteVector.fromArray(BYTE, a, aOffset + i)
+                    .convertShape(VectorOperators.B2I, INT, 0);
+            IntVector vb = (IntVector) ByteVector.fromArray(BYTE, b, bOffset + i)
+                    .convertShape(VectorOperators.B2I, INT, 0);
+            acc = acc.add(va.mul(vb));
+        }
+        int sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public String name() {
+        return "simd-" + FLOAT.vectorBitSize();
+    }
+}
@@ -0,0 +1,92 @@
+package com.fw.know.go.datasource.scoring;
+
+/**
+ * @Description 从得分数组中选出得分最高的K个下标，用定长的最小堆实现，不产生装箱对象
+ * @Date 19/10/2026 下午10:00
+ * @Author Leo
+ */
+public final class TopKSelector {
+
+    private TopKSelector() {
+    }
+
+    /**
+     * 选出得分不低于阈值的前K个下标
+     * @param scores 得分
+     * @param count 参与选择的得分个数
+     * @param k 最多选出的个数
+     * @param threshold 最低得分
+     * @return 下标，按得分降序，得分相同时下标小的在前
+     */
+    public static int[] select(float[] scores, int count, int k, float threshold) {
+        if (k <= 0 || count <= 0) {
+            return new int[0];
+        }
+        int[] heap = new int[Math.min(k, count)];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            float score = scores[i];
+            if (score < threshold || Float.isNaN(score)) {
+                continue;
+            }
+            if (size < heap.length) {
+                heap[size] = i;
+                siftUp(heap, size, scores);
+                size++;
+            } else if (worse(heap[0], i, scores)) {
+                heap[0] = i;
+                siftDown(heap, size, scores);
+            }
+        }
+        int[] result = new int[size];
+        // 依次弹出堆顶（最差的），倒序填入结果
+        for (int last = size - 1; last >= 0; last--) {
+            result[last] = heap[0];
+            heap[0] = heap[last];
+            siftDown(heap, last, scores);
+        }
+        return result;
+    }
+
+    /**
+     * a是否比b差：得分更低，或得分相同但下标更大
+     */
+    private static boolean worse(int a, int b, float[] scores) {
+        return scores[a] < scores[b] || (scores[a] == scores[b] && a > b);
+    }
+
+    private static void siftUp(int[] heap, int index, float[] scores) {
+        int node = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!worse(node, heap[parent], scores)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = node;
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        if (size == 0) {
+            return;
+        }
+        int index = 0;
+        int node = heap[0];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && worse(heap[right], heap[child], scores)) {
+                child = right;
+            }
+            if (!worse(heap[child], node, scores)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = node;
+    }
+}
@@ -0,0 +1,118 @@
+package com.fw.know.go.datasource.scoring;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * @Description 向量打分：点积、模长、余弦相似度、欧氏距离和int8点积
+ * <p>
+ * 运行时加载了 jdk.incubator.vector 模块（--add-modules jdk.incubator.vector）时使用SIMD实现，否则使用标量实现；
+ * 设置系统属性 knowgo.scoring.scalar=true 可强制使用标量实现
+ * @Date 19/10/2026 下午2:20
+ * @Author Leo
+ */
+@Slf4j
+public final class VectorKernels {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final String SIMD_KERNEL = "com.fw.know.go.datasource.scoring.SimdScoringKernel";
+
+    private static final ScoringKernel KERNEL = load();
+
+    private VectorKernels() {
+    }
+
+    /**
+     * 当前使用的打分内核
+     * @return 打分内核
+     */
+    public static ScoringKernel kernel() {
+        return KERNEL;
+    }
+
+    /**
+     * 点积
+     * @param a 向量a
+     * @param b 向量b，维度与a相同
+     * @return 点积
+     */
+    public static float dot(float[] a, float[] b) {
+        checkDimensions(a.length, b.length);
+        return KERNEL.dot(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * int8向量的点积，结果未乘量化系数
+     * @param a 向量a
+     * @param b 向量b，维度与a相同
+     * @return 点积
+     */
+    public static int dot(byte[] a, byte[] b) {
+        checkDimensions(a.length, b.length);
+        return KERNEL.dot(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * 模长
+     * @param a 向量
+     * @return 模长
+     */
+    public static float norm(float[] a) {
+        return (float) Math.sqrt(KERNEL.dot(a, 0, a, 0, a.length));
+    }
+
+    /**
+     * 余弦相似度，任一向量为零向量时返回0
+     * @param a 向量a
+     * @param b 向量b，维度与a相同
+     * @return 余弦相似度
+     */
+    public static float cosine(float[] a, float[] b) {
+        checkDimensions(a.length, b.length);
+        return KERNEL.cosine(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * 欧氏距离的平方
+     * @param a 向量a
+     * @param b 向量b，维度与a相同
+     * @return 欧氏距离的平方
+     */
+    public static float l2Squared(float[] a, float[] b) {
+        checkDimensions(a.length, b.length);
+        return KERNEL.l2Squared(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * 查询向量与一批已归一化向量的点积，结果写入scores
+     * @param query 已归一化的查询向量
+     * @param vectors 已归一化的向量
+     * @param scores 得分，长度不小于vectors的长度
+     */
+    public static void dotAll(float[] query, float[][] vectors, float[] scores) {
+        for (int i = 0; i < vectors.length; i++) {
+            scores[i] = dot(query, vectors[i]);
+        }
+    }
+
+    private static void checkDimensions(int a, int b) {
+        if (a != b) {
+            throw new IllegalArgumentException("vector dimensions differ: " + a + " vs " + b);
+        }
+    }
+
+    private static ScoringKernel load() {
+        if (Boolean.getBoolean("knowgo.scoring.scalar") || ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            log.info("vector scoring uses scalar kernel");
+            return ScalarScoringKernel.INSTANCE;
+        }
+        try {
+            ScoringKernel kernel = (ScoringKernel) Class.forName(SIMD_KERNEL).getDeclaredConstructor().newInstance();
+            log.info("vector scoring uses {} kernel", kernel.name());
+            return kernel;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("failed to load simd scoring kernel, falling back to scalar", e);
+            return ScalarScoringKernel.INSTANCE;
+        }
+    }
+}
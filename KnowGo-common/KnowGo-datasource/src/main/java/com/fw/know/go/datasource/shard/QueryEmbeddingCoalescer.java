@@ -0,0 +1,116 @@
+package com.fw.know.go.datasource.shard;
+
+import com.fw.know.go.base.exception.BaseErrorCode;
+import com.fw.know.go.base.exception.SystemException;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @Description 查询向量合并：扇出查询期间固定查询文本，各分片对同一文本的向量化只调用一次模型
+ * <p>
+ * 分片查询通过 {@link #pin(String)} 固定查询文本，固定期间第一个调用方计算向量，其余调用方等待并复用结果；
+ * 未固定的文本直接调用被包装的模型
+ * @Date 19/10/2026 下午4:45
+ * @Author Leo
+ */
+public class QueryEmbeddingCoalescer implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+
+    private final Map<String, Pinned> pinned = new ConcurrentHashMap<>();
+
+    public QueryEmbeddingCoalescer(EmbeddingModel delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 固定查询文本，返回的句柄关闭后释放
+     * @param text 查询文本
+     * @return 句柄
+     */
+    public Pin pin(String text) {
+        if (text == null) {
+            return () -> {
+            };
+        }
+        pinned.compute(text, (key, entry) -> {
+            Pinned current = entry == null ? new Pinned() : entry;
+            current.refs++;
+            return current;
+        });
+        return () -> pinned.computeIfPresent(text, (key, entry) -> --entry.refs == 0 ? null : entry);
+    }
+
+    @Override
+    public float[] embed(String text) {
+        Pinned entry = text == null ? null : pinned.get(text);
+        if (entry == null) {
+            return delegate.embed(text);
+        }
+        if (entry.started.compareAndSet(false, true)) {
+            try {
+                float[] vector = delegate.embed(text);
+                entry.vector.complete(vector);
+                return vector;
+            } catch (RuntimeException e) {
+                entry.vector.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return entry.vector.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new SystemException("query embedding failed", e.getCause(), BaseErrorCode.DOWNSTREAM_ERROR);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SystemException("query embedding interrupted", e, BaseErrorCode.DEADLINE_EXCEEDED);
+        }
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        return delegate.call(request);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return delegate.embed(document);
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+
+    /**
+     * 固定句柄
+     */
+    public interface Pin extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    private static final class Pinned {
+
+        /**
+         * 引用计数，只在 ConcurrentHashMap.compute 内修改
+         */
+        private int refs;
+
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        private final CompletableFuture<float[]> vector = new CompletableFuture<>();
+    }
+}
@@ -0,0 +1,90 @@
+package com.fw.know.go.datasource.shard;
+
+import com.fw.know.go.base.context.RequestContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * @Description 分片路由：根据分片策略计算文档写入的分片和查询需要访问的分片
+ * <p>
+ * 路由只依赖 String.hashCode，跨进程、跨版本稳定；分片数确定后不能修改，否则已写入的文档无法按ID找到
+ * @Date 19/10/2026 下午4:35
+ * @Author Leo
+ */
+public class ShardRouter {
+
+    private final int shards;
+
+    private final ShardStrategy strategy;
+
+    private final List<Integer> allShards;
+
+    public ShardRouter(int shards, ShardStrategy strategy) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("shards must be positive");
+        }
+        this.shards = shards;
+        this.strategy = strategy;
+        this.allShards = IntStream.range(0, shards).boxed().toList();
+    }
+
+    public int shards() {
+        return shards;
+    }
+
+    /**
+     * 文档写入的分片
+     * @param id 文档ID
+     * @return 分片序号
+     */
+    public int shardForWrite(String id) {
+        return strategy == ShardStrategy.TENANT ? shardOf(currentTenant()) : shardOf(id);
+    }
+
+    /**
+     * 按ID删除文档时访问的分片
+     * @param ids 文档ID
+     * @return 分片序号到该分片上文档ID的映射，下标为分片序号
+     */
+    public List<List<String>> shardsForDelete(List<String> ids) {
+        List<List<String>> grouped = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            grouped.add(new ArrayList<>());
+        }
+        for (String id : ids) {
+            grouped.get(this.shardForWrite(id)).add(id);
+        }
+        return grouped;
+    }
+
+    /**
+     * 查询需要访问的分片
+     * @return 分片序号
+     */
+    public List<Integer> shardsForQuery() {
+        return strategy == ShardStrategy.TENANT ? List.of(shardOf(currentTenant())) : allShards;
+    }
+
+    /**
+     * 全部分片
+     * @return 分片序号
+     */
+    public List<Integer> allShards() {
+        return allShards;
+    }
+
+    int shardOf(String key) {
+        int h = key == null ? 0 : key.hashCode();
+        // 混淆高低位，避免相近的ID落在相同分片
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return Math.floorMod(h, shards);
+    }
+
+    private static String currentTenant() {
+        return RequestContext.current().getTenantId();
+    }
+}
@@ -0,0 +1,19 @@
+package com.fw.know.go.datasource.shard;
+
+/**
+ * @Description 分片策略
+ * @Date 19/10/2026 下午4:30
+ * @Author Leo
+ */
+public enum ShardStrategy {
+
+    /**
+     * 按文档ID哈希分片，写入分散到所有分片，查询需要扇出到全部分片
+     */
+    HASH,
+
+    /**
+     * 按租户分片，同一租户的文档落在同一分片，查询只访问当前租户所在分片
+     */
+    TENANT
+}
@@ -0,0 +1,263 @@
+package com.fw.know.go.datasource.shard;
+
+import com.fw.know.go.base.context.ContextSnapshot;
+import com.fw.know.go.base.context.DeadlineContext;
+import com.fw.know.go.base.exception.DeadlineExceededException;
+import com.fw.know.go.datasource.VectorDatasourceService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * @Description 分片向量数据源服务：文档按分片策略写入N个集合，查询在虚拟线程上并行访问各分片，用有界堆合并出全局topK
+ * <p>
+ * 每个分片的等待时间不超过分片超时和请求剩余时间中的较小值，超时或失败的分片被跳过，返回其余分片的部分结果；
+ * 所有分片都未在时限内返回时抛出 {@link DeadlineExceededException}，全部失败时抛出第一个分片的异常
+ * @Date 19/10/2026 下午5:00
+ * @Author Leo
+ */
+@Slf4j
+public class ShardedVectorDatasourceService implements VectorDatasourceService {
+
+    private static final String STAGE = "shard-search";
+
+    /**
+     * 分片查询在虚拟线程上执行，阻塞在网络调用上不占用平台线程
+     */
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final List<VectorDatasourceService> shards;
+
+    private final ShardRouter router;
+
+    private final Duration shardTimeout;
+
+    private final QueryEmbeddingCoalescer coalescer;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter partialResults;
+
+    /**
+     * @param shards 各分片的数据源服务，下标即分片序号
+     * @param router 分片路由
+     * @param shardTimeout 单个分片的等待时间
+     * @param coalescer 分片共用的查询向量合并器，可为空
+     * @param meterRegistry 指标注册表，可为空
+     */
+    public ShardedVectorDatasourceService(List<VectorDatasourceService> shards, ShardRouter router,
+                                          Duration shardTimeout, QueryEmbeddingCoalescer coalescer,
+                                          MeterRegistry meterRegistry) {
+        if (shards.size() != router.shards()) {
+            throw new IllegalArgumentException("shard count mismatch: " + shards.size() + " != " + router.shards());
+        }
+        this.shards = List.copyOf(shards);
+        this.router = router;
+        this.shardTimeout = shardTimeout;
+        this.coalescer = coalescer;
+        this.meterRegistry = meterRegistry;
+        this.partialResults = meterRegistry == null ? null : Counter.builder("vector.shard.partial")
+                .description("有分片超时或失败、只返回部分结果的查询次数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void addDocument(String id, String content, Map<String, Object> metadata) {
+        shards.get(router.shardForWrite(id)).addDocument(id, content, metadata);
+    }
+
+    @Override
+    public void addDocuments(List<Document> documents) {
+        List<List<Document>> grouped = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            grouped.add(new ArrayList<>());
+        }
+        for (Document document : documents) {
+            grouped.get(router.shardForWrite(document.getId())).add(document);
+        }
+        for (int i = 0; i < grouped.size(); i++) {
+            if (!grouped.get(i).isEmpty()) {
+                shards.get(i).addDocuments(grouped.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void deleteDocument(String id) {
+        shards.get(router.shardForWrite(id)).deleteDocument(id);
+    }
+
+    @Override
+    public void deleteDocuments(List<String> ids) {
+        List<List<String>> grouped = router.shardsForDelete(ids);
+        for (int i = 0; i < grouped.size(); i++) {
+            if (!grouped.get(i).isEmpty()) {
+                shards.get(i).deleteDocuments(grouped.get(i));
+            }
+        }
+    }
+
+    @Override
+    public List<Document> similaritySearch(String query, int topK, double similarityThreshold) {
+        return this.fanOut(query, topK, shard -> shard.similaritySearch(query, topK, similarityThreshold));
+    }
+
+    @Override
+    public List<Document> similaritySearch(String query, int topK) {
+        return this.fanOut(query, topK, shard -> shard.similaritySearch(query, topK));
+    }
+
+    @Override
+    public List<Document> similaritySearch(String query, int topK, Map<String, Object> filter) {
+        return this.fanOut(query, topK, shard -> shard.similaritySearch(query, topK, filter));
+    }
+
+    @Override
+    public void clear() {
+        for (VectorDatasourceService shard : shards) {
+            shard.clear();
+        }
+    }
+
+    /**
+     * 并行查询各分片并合并结果
+     */
+    private List<Document> fanOut(String query, int topK,
+                                  Function<VectorDatasourceService, List<Document>> search) {
+        List<Integer> targets = router.shardsForQuery();
+        if (targets.size() == 1) {
+            return search.apply(shards.get(targets.getFirst()));
+        }
+        try (QueryEmbeddingCoalescer.Pin ignored = coalescer == null ? null : coalescer.pin(query)) {
+            ContextSnapshot snapshot = ContextSnapshot.capture();
+            List<Future<List<Document>>> futures = new ArrayList<>(targets.size());
+            for (Integer target : targets) {
+                VectorDatasourceService shard = shards.get(target);
+                futures.add(EXECUTOR.submit(snapshot.wrap(() -> this.timed(target, () -> search.apply(shard)))));
+            }
+            return this.collect(targets, futures, topK);
+        }
+    }
+
+    /**
+     * 在时限内收集各分片结果，超时的分片被取消
+     */
+    private List<Document> collect(List<Integer> targets, List<Future<List<Document>>> futures, int topK) {
+        long deadline = System.nanoTime() + this.waitBudget().toNanos();
+        List<List<Document>> results = new ArrayList<>(futures.size());
+        RuntimeException firstFailure = null;
+        int timedOut = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            Future<List<Document>> future = futures.get(i);
+            try {
+                results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                timedOut++;
+                log.warn("shard {} search timed out", targets.get(i));
+            } catch (ExecutionException e) {
+                log.warn("shard {} search failed", targets.get(i), e.getCause());
+                if (firstFailure == null) {
+                    firstFailure = e.getCause() instanceof RuntimeException runtimeException
+                            ? runtimeException : new IllegalStateException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                futures.forEach(pending -> pending.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new DeadlineExceededException(STAGE);
+            }
+        }
+        if (results.isEmpty()) {
+            if (firstFailure != null && timedOut == 0) {
+                throw firstFailure;
+            }
+            throw new DeadlineExceededException(STAGE);
+        }
+        if (results.size() < futures.size() && partialResults != null) {
+            partialResults.increment();
+        }
+        return merge(results, topK);
+    }
+
+    /**
+     * 等待时间取分片超时和请求剩余时间中的较小值
+     */
+    private Duration waitBudget() {
+        Duration remaining = DeadlineContext.remaining();
+        if (remaining == null || remaining.compareTo(shardTimeout) > 0) {
+            return shardTimeout;
+        }
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private List<Document> timed(int shard, Supplier<List<Document>> search) {
+        if (meterRegistry == null) {
+            return search.get();
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return search.get();
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("vector.shard.search")
+                    .description("单个分片的查询耗时")
+                    .tag("shard", String.valueOf(shard))
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 用大小为topK的最小堆合并各分片结果，按得分降序返回
+     * @param results 各分片结果
+     * @param topK 返回的最大结果数
+     * @return 合并后的结果
+     */
+    static List<Document> merge(List<List<Document>> results, int topK) {
+        if (topK <= 0) {
+            return List.of();
+        }
+        Comparator<Document> byScore = Comparator.comparingDouble(ShardedVectorDatasourceService::scoreOf);
+        PriorityQueue<Document> heap = new PriorityQueue<>(topK + 1, byScore);
+        for (List<Document> result : results) {
+            if (result == null) {
+                continue;
+            }
+            for (Document document : result) {
+                if (heap.size() < topK) {
+                    heap.offer(document);
+                } else if (scoreOf(document) > scoreOf(heap.peek())) {
+                    heap.poll();
+                    heap.offer(document);
+                }
+            }
+        }
+        List<Document> merged = new ArrayList<>(heap);
+        merged.sort(byScore.reversed());
+        return merged;
+    }
+
+    private static double scoreOf(Document document) {
+        return document.getScore() == null ? 0 : document.getScore();
+    }
+}
@@ -0,0 +1,103 @@
+package com.fw.know.go.datasource;
+
+import com.fw.know.go.base.context.RequestContext;
+import com.fw.know.go.datasource.local.LocalVectorStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @Description 向量数据源服务测试
+ * @Date 20/10/2026 下午6:10
+ * @Author Leo
+ */
+public class VectorDatasourceServiceImplTest {
+
+    /**
+     * 文本中的 x、y 各计一维
+     */
+    private final EmbeddingModel embeddingModel = new EmbeddingModel() {
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                embeddings.add(new Embedding(vector(request.getInstructions().get(i)), i));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return vector(document.getText());
+        }
+    };
+
+    private static float[] vector(String text) {
+        return new float[]{text.chars().filter(c -> c == 'x').count(), text.chars().filter(c -> c == 'y').count()};
+    }
+
+    @AfterEach
+    public void clearContext() {
+        RequestContext.clear();
+    }
+
+    @Test
+    public void searchesOnlyCurrentTenant() {
+        VectorDatasourceService service = new VectorDatasourceServiceImpl(new LocalVectorStore(embeddingModel), true);
+        RequestContext.set(new RequestContext("a", null));
+        service.addDocument("a1", "xxxx", Map.of(VectorDatasourceServiceImpl.TENANT_KEY, "b"));
+        RequestContext.set(new RequestContext("b", null));
+        service.addDocuments(List.of(new Document("b1", "xxxy", Map.of("lang", "zh")),
+                new Document("b2", "xyyy", Map.of("lang", "en"))));
+
+        assertEquals(List.of("b1", "b2"), ids(service.similaritySearch("x", 10)));
+        assertEquals(List.of("b2"), ids(service.similaritySearch("x", 10, Map.of("lang", "en"))));
+        assertEquals(List.of("b1", "b2"), ids(service.similaritySearch("x", 10, Map.of("lang", List.of("zh", "en")))));
+        // 过滤条件中的租户不能越过当前租户
+        assertEquals(List.of(), ids(service.similaritySearch("x", 10,
+                Map.of(VectorDatasourceServiceImpl.TENANT_KEY, "a"))));
+
+        RequestContext.set(new RequestContext("a", null));
+        assertEquals(List.of("a1"), ids(service.similaritySearch("x", 10, 0.0)));
+    }
+
+    @Test
+    public void deletesOnlyCurrentTenant() {
+        LocalVectorStore store = new LocalVectorStore(embeddingModel);
+        VectorDatasourceService service = new VectorDatasourceServiceImpl(store, true);
+        RequestContext.set(new RequestContext("a", null));
+        service.addDocument("a1", "xxxx", Map.of());
+        RequestContext.set(new RequestContext("b", null));
+        service.addDocuments(List.of(new Document("b1", "xxxy", Map.of()), new Document("b2", "xyyy", Map.of())));
+
+        service.deleteDocuments(List.of("a1", "b1"));
+        assertEquals(List.of("b2"), ids(service.similaritySearch("x", 10)));
+        service.clear();
+        assertEquals(1, store.size());
+        RequestContext.set(new RequestContext("a", null));
+        assertEquals(List.of("a1"), ids(service.similaritySearch("x", 10)));
+    }
+
+    @Test
+    public void filterWithoutIsolation() {
+        VectorDatasourceService service = new VectorDatasourceServiceImpl(new LocalVectorStore(embeddingModel));
+        service.addDocuments(List.of(new Document("1", "xxxx", Map.of("country", "CN")),
+                new Document("2", "xxxy", Map.of("country", "UK"))));
+        assertEquals(List.of("1"), ids(service.similaritySearch("x", 10, Map.of("country", "CN"))));
+        assertEquals(List.of("1", "2"), ids(service.similaritySearch("x", 10)));
+    }
+
+    private static List<String> ids(List<Document> documents) {
+        return documents.stream().map(Document::getId).toList();
+    }
+}
@@ -0,0 +1,74 @@
+package com.fw.know.go.datasource.endpoint;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description Chroma节点池测试
+ * @Date 19/10/2026 下午7:10
+ * @Author Leo
+ */
+public class ChromaEndpointPoolTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final ChromaEndpointPool pool = new ChromaEndpointPool("http://w:8000",
+            List.of("http://r1:8000", "http://r2:8000", "http://r3:8000/"), 2, Duration.ofSeconds(30),
+            clock::get, null);
+
+    @Test
+    public void choosesLeastOutstandingThenLowestLatency() {
+        ChromaEndpoint first = pool.chooseRead(null);
+        pool.begin(first);
+        ChromaEndpoint second = pool.chooseRead(null);
+        pool.begin(second);
+        ChromaEndpoint third = pool.chooseRead(null);
+        assertEquals(List.of("http://r1:8000", "http://r2:8000", "http://r3:8000"),
+                List.of(first.baseUrl(), second.baseUrl(), third.baseUrl()));
+
+        pool.end(first);
+        pool.end(second);
+        pool.onSuccess(first, "read", Duration.ofMillis(50).toNanos());
+        pool.onSuccess(second, "read", Duration.ofMillis(5).toNanos());
+        pool.onSuccess(third, "read", Duration.ofMillis(80).toNanos());
+        assertSame(second, pool.chooseRead(null));
+        assertSame(first, pool.chooseRead(second));
+    }
+
+    @Test
+    public void ejectsAfterConsecutiveFailuresAndReadmitsAfterEjectionTime() {
+        ChromaEndpoint bad = pool.chooseRead(null);
+        pool.onFailure(bad, "read", 1_000);
+        pool.onFailure(bad, "read", 1_000);
+        assertNotSame(bad, pool.chooseRead(null));
+
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        // 半开：放行试探，失败一次立即重新摘除
+        pool.onFailure(bad, "read", 1_000);
+        assertNotSame(bad, pool.chooseRead(null));
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        pool.onSuccess(bad, "read", 1_000);
+        pool.onFailure(bad, "read", 1_000);
+        assertTrue(bad.isAvailable(clock.get()));
+    }
+
+    @Test
+    public void fallsBackToEjectedEndpointsWhenAllAreEjected() {
+        ChromaEndpointPool single = new ChromaEndpointPool("http://w:8000", List.of("http://w:8000"), 1,
+                Duration.ofSeconds(30), clock::get, null);
+        ChromaEndpoint endpoint = single.chooseRead(null);
+        assertSame(single.write(), endpoint);
+        single.onFailure(endpoint, "read", 1_000);
+        assertSame(endpoint, single.chooseRead(null));
+        assertNull(single.chooseRead(endpoint));
+    }
+}
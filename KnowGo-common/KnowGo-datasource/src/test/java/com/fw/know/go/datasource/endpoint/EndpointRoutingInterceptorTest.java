@@ -0,0 +1,134 @@
+package com.fw.know.go.datasource.endpoint;
+
+import com.fw.know.go.base.context.RequestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description Chroma请求路由拦截器测试
+ * @Date 20/10/2026 上午11:05
+ * @Author Leo
+ */
+public class EndpointRoutingInterceptorTest {
+
+    private static final String BASE_URL = "http://chroma:8000";
+
+    private static final String QUERY_PATH = "/api/v1/collections/c1/query";
+
+    private final ChromaEndpointPool pool = new ChromaEndpointPool("http://w:8000",
+            List.of("http://r1:8000", "http://r2:8000"), 2, Duration.ofSeconds(30), System::nanoTime, null);
+
+    private final List<String> hosts = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    public void clearContext() {
+        RequestContext.clear();
+    }
+
+    @Test
+    public void readFallsThroughToAlternateOnConnectionError() throws IOException {
+        EndpointRoutingInterceptor interceptor = new EndpointRoutingInterceptor(pool, BASE_URL,
+                this.factory(Map.of("r1", new ConnectException("Connection refused"))), null);
+
+        ClientHttpResponse response = interceptor.intercept(this.query(), new byte[0], null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of("r1", "r2"), hosts);
+    }
+
+    @Test
+    public void readDoesNotRetryAfterReadTimeout() {
+        EndpointRoutingInterceptor interceptor = new EndpointRoutingInterceptor(pool, BASE_URL,
+                this.factory(Map.of("r1", new SocketTimeoutException("Read timed out"))), null);
+
+        assertThrows(SocketTimeoutException.class, () -> interceptor.intercept(this.query(), new byte[0], null));
+        assertEquals(List.of("r1"), hosts);
+    }
+
+    @Test
+    public void hedgedReadFallsThroughBeforeHedgeDelay() throws IOException {
+        EndpointRoutingInterceptor interceptor = new EndpointRoutingInterceptor(pool, BASE_URL,
+                this.factory(Map.of("r1", new ConnectException("Connection refused"))), Duration.ofSeconds(10));
+
+        long start = System.nanoTime();
+        ClientHttpResponse response = interceptor.intercept(this.query(), new byte[0], null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of("r1", "r2"), hosts);
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(5).toNanos());
+    }
+
+    @Test
+    public void hedgedReadsCarryRequestContext() throws IOException {
+        Map<String, String> tenants = new ConcurrentHashMap<>();
+        ClientHttpRequestFactory factory = (uri, method) -> {
+            hosts.add(uri.getHost());
+            tenants.put(uri.getHost(), RequestContext.current().getTenantId());
+            boolean slow = "r1".equals(uri.getHost());
+            return new MockClientHttpRequest(method, uri) {
+                @Override
+                protected ClientHttpResponse executeInternal() throws IOException {
+                    if (slow) {
+                        try {
+                            Thread.sleep(500);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+                }
+            };
+        };
+        EndpointRoutingInterceptor interceptor = new EndpointRoutingInterceptor(pool, BASE_URL, factory,
+                Duration.ofMillis(20));
+
+        RequestContext.set(new RequestContext("t1", "/document/query"));
+        ClientHttpResponse response = interceptor.intercept(this.query(), new byte[0], null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Map.of("r1", "t1", "r2", "t1"), tenants);
+    }
+
+    private MockClientHttpRequest query() {
+        return new MockClientHttpRequest(HttpMethod.POST, URI.create(BASE_URL + QUERY_PATH));
+    }
+
+    /**
+     * 按主机返回失败或200响应，记录请求过的主机
+     */
+    private ClientHttpRequestFactory factory(Map<String, IOException> failures) {
+        return (uri, method) -> {
+            hosts.add(uri.getHost());
+            IOException failure = failures.get(uri.getHost());
+            return new MockClientHttpRequest(method, uri) {
+                @Override
+                protected ClientHttpResponse executeInternal() throws IOException {
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package com.fw.know.go.datasource.local;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.vectorstore.SearchRequest;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @Description 进程内向量存储快照测试
+ * @Date 19/10/2026 下午11:45
+ * @Author Leo
+ */
+public class LocalIndexSnapshotTest {
+
+    /**
+     * 文本中的 x、y 各计一维
+     */
+    private final EmbeddingModel embeddingModel = new EmbeddingModel() {
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                embeddings.add(new Embedding(vector(request.getInstructions().get(i)), i));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return vector(document.getText());
+        }
+    };
+
+    @TempDir
+    Path directory;
+
+    private static float[] vector(String text) {
+        return new float[]{text.chars().filter(c -> c == 'x').count(), text.chars().filter(c -> c == 'y').count()};
+    }
+
+    @Test
+    public void incrementalSegmentsRestoreLatestState() {
+        LocalVectorStore store = new LocalVectorStore(embeddingModel);
+        LocalIndexSnapshot snapshot = new LocalIndexSnapshot(directory, 16);
+        store.add(List.of(new Document("a", "xxxx", Map.of("lang", "zh")), new Document("b", "xxxy", Map.of("n", 1))));
+        snapshot.write(store);
+        store.add(List.of(new Document("c", "xyyy", Map.of()), new Document("a", "yyyy", Map.of("lang", "en"))));
+        store.delete(List.of("b"));
+        snapshot.write(store);
+        snapshot.write(store);
+        assertEquals(2, snapshot.segmentCount());
+
+        LocalVectorStore restored = new LocalVectorStore(embeddingModel);
+        assertEquals(2, new LocalIndexSnapshot(directory, 16).restore(restored));
+        List<Document> hits = restored.similaritySearch(SearchRequest.builder().query("y").topK(2).build());
+        assertEquals(List.of("a", "c"), hits.stream().map(Document::getId).toList());
+        assertEquals("en", hits.get(0).getMetadata().get("lang"));
+        assertEquals(1.0, hits.get(0).getScore(), 1e-6);
+    }
+
+    @Test
+    public void compactionReplacesSegments() throws IOException {
+        LocalVectorStore store = new LocalVectorStore(embeddingModel);
+        LocalIndexSnapshot snapshot = new LocalIndexSnapshot(directory, 2);
+        for (int i = 0; i < 4; i++) {
+            store.add(List.of(new Document("d" + i, "x".repeat(i + 1) + "y", Map.of())));
+            snapshot.write(store);
+        }
+        // 全量、增量、全量、增量
+        assertEquals(2, snapshot.segmentCount());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(3, files.count());
+        }
+        LocalVectorStore restored = new LocalVectorStore(embeddingModel);
+        assertEquals(4, new LocalIndexSnapshot(directory, 2).restore(restored));
+    }
+
+    @Test
+    public void corruptedSegmentStartsEmpty() throws IOException {
+        LocalVectorStore store = new LocalVectorStore(embeddingModel);
+        LocalIndexSnapshot snapshot = new LocalIndexSnapshot(directory, 16);
+        store.add(List.of(new Document("a", "xxxx", Map.of())));
+        snapshot.write(store);
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(file -> file.toString().endsWith(".kgs")).findFirst().orElseThrow();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(SnapshotSegment.HEADER_SIZE);
+            file.write(0x7f);
+        }
+
+        LocalVectorStore restored = new LocalVectorStore(embeddingModel);
+        LocalIndexSnapshot reopened = new LocalIndexSnapshot(directory, 16);
+        assertEquals(0, reopened.restore(restored));
+        // 恢复失败后下次写全量段，不覆盖旧段
+        restored.add(List.of(new Document("b", "y", Map.of())));
+        reopened.write(restored);
+        assertEquals(1, reopened.segmentCount());
+        assertEquals(1, new LocalIndexSnapshot(directory, 16).restore(new LocalVectorStore(embeddingModel)));
+    }
+}
@@ -0,0 +1,81 @@
+package com.fw.know.go.datasource.local;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @Description 进程内向量存储测试
+ * @Date 19/10/2026 下午5:20
+ * @Author Leo
+ */
+public class LocalVectorStoreTest {
+
+    /**
+     * 文本中的 x、y 各计一维，便于构造确定的相似度
+     */
+    private final EmbeddingModel embeddingModel = new EmbeddingModel() {
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                embeddings.add(new Embedding(vector(request.getInstructions().get(i)), i));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return vector(document.getText());
+        }
+    };
+
+    private static float[] vector(String text) {
+        return new float[]{text.chars().filter(c -> c == 'x').count(), text.chars().filter(c -> c == 'y').count()};
+    }
+
+    @Test
+    public void searchTopKWithThresholdAndFilter() {
+        LocalVectorStore store = new LocalVectorStore(embeddingModel);
+        store.add(List.of(
+                new Document("a", "xxxx", Map.of("lang", "zh")),
+                new Document("b", "xxxy", Map.of("lang", "en")),
+                new Document("c", "xyyy", Map.of("lang", "zh")),
+                new Document("d", "yyyy", Map.of("lang", "zh"))));
+
+        List<Document> top2 = store.similaritySearch(SearchRequest.builder().query("x").topK(2).build());
+        assertEquals(List.of("a", "b"), top2.stream().map(Document::getId).toList());
+        assertEquals(1.0, top2.get(0).getScore(), 1e-6);
+        assertEquals(0.0, ((Number) top2.get(0).getMetadata().get(LocalVectorStore.DISTANCE)).doubleValue(), 1e-6);
+
+        List<Document> aboveThreshold = store.similaritySearch(SearchRequest.builder().query("x").topK(10)
+                .similarityThreshold(0.5).build());
+        assertEquals(List.of("a", "b"), aboveThreshold.stream().map(Document::getId).toList());
+
+        List<Document> filtered = store.similaritySearch(SearchRequest.builder().query("x").topK(2)
+                .filterExpression(new FilterExpressionBuilder().eq("lang", "zh").build()).build());
+        assertEquals(List.of("a", "c"), filtered.stream().map(Document::getId).toList());
+    }
+
+    @Test
+    public void deleteByIdAndFilter() {
+        LocalVectorStore store = new LocalVectorStore(embeddingModel);
+        store.add(List.of(new Document("a", "x", Map.of("lang", "zh")), new Document("b", "y", Map.of("lang", "en")),
+                new Document("c", "xy", Map.of("lang", "en"))));
+        store.delete(List.of("a"));
+        assertEquals(2, store.size());
+        store.delete(new FilterExpressionBuilder().eq("lang", "en").build());
+        assertEquals(0, store.size());
+    }
+}
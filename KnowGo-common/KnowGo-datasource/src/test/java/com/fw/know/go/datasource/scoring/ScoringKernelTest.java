@@ -0,0 +1,97 @@
+package com.fw.know.go.datasource.scoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @Description 打分内核测试，SIMD实现与标量实现结果一致，覆盖非整倍数维度的尾部处理
+ * @Date 19/10/2026 下午10:30
+ * @Author Leo
+ */
+public class ScoringKernelTest {
+
+    private final ScoringKernel scalar = ScalarScoringKernel.INSTANCE;
+
+    private final ScoringKernel simd = new SimdScoringKernel();
+
+    @Test
+    public void simdMatchesScalar() {
+        Random random = new Random(42);
+        for (int length : new int[]{1, 7, 8, 33, 768, 1536}) {
+            float[] a = randomFloats(random, length + 3);
+            float[] b = randomFloats(random, length + 5);
+            assertEquals(scalar.dot(a, 3, b, 5, length), simd.dot(a, 3, b, 5, length), 1e-3f);
+            assertEquals(scalar.l2Squared(a, 3, b, 5, length), simd.l2Squared(a, 3, b, 5, length), 1e-3f);
+            assertEquals(scalar.cosine(a, 3, b, 5, length), simd.cosine(a, 3, b, 5, length), 1e-5f);
+
+            byte[] x = randomBytes(random, length + 2);
+            byte[] y = randomBytes(random, length);
+            assertEquals(scalar.dot(x, 2, y, 0, length), simd.dot(x, 2, y, 0, length));
+        }
+    }
+
+    @Test
+    public void int8ExtremesDoNotOverflow() {
+        byte[] a = new byte[4096];
+        Arrays.fill(a, Byte.MIN_VALUE);
+        assertEquals(4096 * 128 * 128, simd.dot(a, 0, a, 0, a.length));
+    }
+
+    @Test
+    public void topKOverMatrix() {
+        FloatMatrix matrix = new FloatMatrix(2);
+        matrix.add(new float[]{1f, 0f});
+        matrix.add(new float[]{0f, 1f});
+        matrix.add(new float[]{0.6f, 0.8f});
+        matrix.add(new float[]{0.8f, 0.6f});
+        assertArrayEquals(new int[]{2, 3}, matrix.topK(new float[]{0.6f, 0.8f}, 2, 0f));
+        assertArrayEquals(new int[]{2, 3, 1}, matrix.topK(new float[]{0.6f, 0.8f}, 10, 0.7f));
+
+        assertEquals(3, matrix.removeSwap(0));
+        assertArrayEquals(new float[]{0.8f, 0.6f}, matrix.row(0));
+        assertEquals(3, matrix.rows());
+    }
+
+    @Test
+    public void topKBreaksTiesByIndex() {
+        float[] scores = {0.5f, 0.9f, 0.5f, Float.NaN, 0.9f, 0.1f};
+        assertArrayEquals(new int[]{1, 4, 0}, TopKSelector.select(scores, scores.length, 3, 0.2f));
+        assertArrayEquals(new int[0], TopKSelector.select(scores, scores.length, 0, 0f));
+    }
+
+    @Test
+    public void int8ApproximatesFloatDot() {
+        Random random = new Random(7);
+        FloatMatrix matrix = new FloatMatrix(256);
+        for (int i = 0; i < 50; i++) {
+            matrix.add(randomFloats(random, 256));
+        }
+        float[] query = randomFloats(random, 256);
+        float[] exact = new float[50];
+        float[] approximate = new float[50];
+        matrix.dotAll(query, exact);
+        Int8Matrix.quantize(matrix).dotAll(query, approximate);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(exact[i], approximate[i], 0.15f);
+        }
+    }
+
+    private static float[] randomFloats(Random random, int length) {
+        float[] values = new float[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = random.nextFloat() * 2 - 1;
+        }
+        return values;
+    }
+
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] values = new byte[length];
+        random.nextBytes(values);
+        return values;
+    }
+}
@@ -0,0 +1,40 @@
+package com.fw.know.go.datasource.scoring;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @Description 向量打分测试
+ * @Date 19/10/2026 下午2:25
+ * @Author Leo
+ */
+public class VectorKernelsTest {
+
+    @Test
+    public void dotAndCosine() {
+        float[] a = {1f, 2f, 3f};
+        float[] b = {4f, -5f, 6f};
+        assertEquals(12f, VectorKernels.dot(a, b), 1e-6f);
+        assertEquals((float) Math.sqrt(14), VectorKernels.norm(a), 1e-6f);
+        assertEquals(12f / (float) Math.sqrt(14 * 77), VectorKernels.cosine(a, b), 1e-6f);
+        assertEquals(1f, VectorKernels.cosine(a, new float[]{2f, 4f, 6f}), 1e-6f);
+        assertEquals(0f, VectorKernels.cosine(a, new float[3]));
+    }
+
+    @Test
+    public void dotAll() {
+        float[][] vectors = {{1f, 0f}, {0f, 1f}, {0.6f, 0.8f}};
+        float[] scores = new float[3];
+        VectorKernels.dotAll(new float[]{0.6f, 0.8f}, vectors, scores);
+        assertEquals(0.6f, scores[0], 1e-6f);
+        assertEquals(0.8f, scores[1], 1e-6f);
+        assertEquals(1f, scores[2], 1e-6f);
+    }
+
+    @Test
+    public void rejectDifferentDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> VectorKernels.dot(new float[2], new float[3]));
+    }
+}
@@ -0,0 +1,150 @@
+package com.fw.know.go.datasource.shard;
+
+import com.fw.know.go.base.context.RequestContext;
+import com.fw.know.go.datasource.VectorDatasourceService;
+import com.fw.know.go.datasource.VectorDatasourceServiceImpl;
+import com.fw.know.go.datasource.local.LocalVectorStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 分片向量数据源测试
+ * @Date 19/10/2026 下午5:40
+ * @Author Leo
+ */
+public class ShardedVectorDatasourceServiceTest {
+
+    private final AtomicInteger queryEmbeddings = new AtomicInteger();
+
+    /**
+     * 文本中的 x、y 各计一维，便于构造确定的相似度
+     */
+    private final EmbeddingModel embeddingModel = new EmbeddingModel() {
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                embeddings.add(new Embedding(vector(request.getInstructions().get(i)), i));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(String text) {
+            queryEmbeddings.incrementAndGet();
+            return vector(text);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return vector(document.getText());
+        }
+    };
+
+    private static float[] vector(String text) {
+        return new float[]{text.chars().filter(c -> c == 'x').count(), text.chars().filter(c -> c == 'y').count()};
+    }
+
+    @AfterEach
+    public void cleanup() {
+        RequestContext.clear();
+    }
+
+    @Test
+    public void mergesGlobalTopKAndEmbedsQueryOnce() {
+        QueryEmbeddingCoalescer coalescer = new QueryEmbeddingCoalescer(embeddingModel);
+        List<LocalVectorStore> stores = new ArrayList<>();
+        List<VectorDatasourceService> shards = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            LocalVectorStore store = new LocalVectorStore(coalescer);
+            stores.add(store);
+            shards.add(new VectorDatasourceServiceImpl(store));
+        }
+        ShardedVectorDatasourceService service = new ShardedVectorDatasourceService(shards,
+                new ShardRouter(3, ShardStrategy.HASH), Duration.ofSeconds(5), coalescer, null);
+        service.addDocuments(List.of(
+                new Document("a", "xxxx", Map.of()),
+                new Document("b", "xxxy", Map.of()),
+                new Document("c", "xxyy", Map.of()),
+                new Document("d", "xyyy", Map.of()),
+                new Document("e", "yyyy", Map.of())));
+        assertEquals(5, stores.stream().mapToInt(LocalVectorStore::size).sum());
+
+        queryEmbeddings.set(0);
+        List<Document> top3 = service.similaritySearch("x", 3);
+        assertEquals(List.of("a", "b", "c"), top3.stream().map(Document::getId).toList());
+        assertEquals(1, queryEmbeddings.get());
+    }
+
+    @Test
+    public void returnsPartialResultsWhenShardTimesOut() {
+        LocalVectorStore fast = new LocalVectorStore(embeddingModel);
+        fast.add(List.of(new Document("a", "xxxx", Map.of())));
+        VectorDatasourceService slow = new VectorDatasourceServiceImpl(new LocalVectorStore(embeddingModel)) {
+            @Override
+            public List<Document> similaritySearch(String query, int topK) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return List.of();
+            }
+        };
+        ShardedVectorDatasourceService service = new ShardedVectorDatasourceService(
+                List.of(new VectorDatasourceServiceImpl(fast), slow), new ShardRouter(2, ShardStrategy.HASH),
+                Duration.ofMillis(200), null, null);
+
+        long start = System.nanoTime();
+        List<Document> result = service.similaritySearch("x", 5);
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(2).toNanos());
+        assertEquals(List.of("a"), result.stream().map(Document::getId).toList());
+    }
+
+    @Test
+    public void tenantStrategyKeepsTenantOnOneShard() {
+        List<LocalVectorStore> stores = new ArrayList<>();
+        List<VectorDatasourceService> shards = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            LocalVectorStore store = new LocalVectorStore(embeddingModel);
+            stores.add(store);
+            shards.add(new VectorDatasourceServiceImpl(store));
+        }
+        ShardRouter router = new ShardRouter(4, ShardStrategy.TENANT);
+        ShardedVectorDatasourceService service = new ShardedVectorDatasourceService(shards, router,
+                Duration.ofSeconds(5), null, null);
+
+        RequestContext.set(new RequestContext("tenant-a", RequestContext.NO_ENDPOINT));
+        service.addDocuments(List.of(new Document("a1", "xxxx", Map.of()), new Document("a2", "xxyy", Map.of())));
+        int shard = router.shardsForQuery().getFirst();
+        assertEquals(2, stores.get(shard).size());
+        assertEquals(2, service.similaritySearch("x", 5).size());
+    }
+
+    @Test
+    public void mergeKeepsHighestScores() {
+        List<Document> merged = ShardedVectorDatasourceService.merge(List.of(
+                List.of(scored("a", 0.9), scored("b", 0.5)),
+                List.of(scored("c", 0.7), scored("d", 0.6)),
+                List.of()), 3);
+        assertEquals(List.of("a", "c", "d"), merged.stream().map(Document::getId).toList());
+    }
+
+    private static Document scored(String id, double score) {
+        return Document.builder().id(id).text(id).score(score).build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.fw.know.go.http;
+
+/**
+ * @Description HTTP协议版本
+ * @Date 19/10/2026 下午7:32
+ * @Author Leo
+ */
+public enum HttpProtocol {
+
+    /**
+     * HTTP/1.1，使用带连接池的 Apache HttpClient
+     */
+    HTTP_1_1,
+
+    /**
+     * HTTP/2，使用JDK HttpClient，服务端不支持时自动回退到HTTP/1.1
+     */
+    HTTP_2
+}
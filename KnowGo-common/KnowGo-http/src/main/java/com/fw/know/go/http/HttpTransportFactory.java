@@ -0,0 +1,100 @@
+package com.fw.know.go.http;
+
+import com.fw.know.go.http.configuration.HttpTransportProperties;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.Map;
+
+/**
+ * @Description 按配置创建HTTP连接池和客户端
+ * @Date 19/10/2026 下午7:50
+ * @Author Leo
+ */
+public final class HttpTransportFactory {
+
+    private HttpTransportFactory() {
+    }
+
+    /**
+     * 创建连接池，按主机设置最大连接数
+     * @param properties 配置
+     * @return 连接池
+     */
+    public static PoolingHttpClientConnectionManager connectionManager(HttpTransportProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxTotal())
+                .setMaxConnPerRoute(properties.getMaxPerRoute())
+                .setDefaultSocketConfig(SocketConfig.custom()
+                        .setTcpNoDelay(true)
+                        .setSoKeepAlive(true)
+                        .setSoTimeout(Timeout.of(properties.getReadTimeout()))
+                        .build())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                        .setTimeToLive(TimeValue.of(properties.getTimeToLive()))
+                        .setValidateAfterInactivity(TimeValue.of(properties.getValidateAfterInactivity()))
+                        .build())
+                .build();
+        for (Map.Entry<String, Integer> entry : properties.getMaxPerHost().entrySet()) {
+            connectionManager.setMaxPerRoute(route(entry.getKey()), entry.getValue());
+        }
+        return connectionManager;
+    }
+
+    /**
+     * 创建使用连接池的客户端，响应体的gzip解压由客户端自动完成
+     * @param properties 配置
+     * @param connectionManager 连接池
+     * @return 客户端
+     */
+    public static CloseableHttpClient httpClient(HttpTransportProperties properties,
+                                                 PoolingHttpClientConnectionManager connectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleTimeout()))
+                .build();
+    }
+
+    /**
+     * 创建HTTP/2客户端，同一主机的并发请求在一个连接上多路复用
+     * @param properties 配置
+     * @return 客户端
+     */
+    public static HttpClient http2Client(HttpTransportProperties properties) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+    }
+
+    /**
+     * 把 scheme://host[:port] 解析为连接池的路由，端口缺省时按scheme取默认端口
+     * @param url 主机地址
+     * @return 路由
+     */
+    public static HttpRoute route(String url) {
+        URI uri = URI.create(url.contains("://") ? url : "http://" + url);
+        String scheme = uri.getScheme() == null ? "http" : uri.getScheme().toLowerCase();
+        boolean secure = "https".equals(scheme);
+        int port = uri.getPort() > 0 ? uri.getPort() : (secure ? 443 : 80);
+        return new HttpRoute(new HttpHost(scheme, uri.getHost(), port), null, secure);
+    }
+}
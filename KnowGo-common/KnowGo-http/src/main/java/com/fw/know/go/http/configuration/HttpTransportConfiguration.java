@@ -0,0 +1,97 @@
+package com.fw.know.go.http.configuration;
+
+import com.fw.know.go.http.HttpProtocol;
+import com.fw.know.go.http.HttpTransportFactory;
+import com.fw.know.go.http.RequestCompressionInterceptor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.util.Map;
+
+/**
+ * @Description 共享HTTP传输配置类：通过 RestClientCustomizer 注入Spring Boot创建的每个 RestClient.Builder，
+ * Chroma和DashScope的客户端共用同一个连接池
+ * @Date 19/10/2026 下午8:00
+ * @Author Leo
+ */
+@Configuration
+@EnableConfigurationProperties(HttpTransportProperties.class)
+@ConditionalOnProperty(prefix = HttpTransportProperties.PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HttpTransportConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = HttpTransportProperties.PREFIX, name = "protocol", havingValue = "HTTP_1_1", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager knowGoConnectionManager(HttpTransportProperties properties,
+                                                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = HttpTransportFactory.connectionManager(properties);
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "knowgo").bindTo(registry);
+            // 单独设置了上限的主机，另外导出该主机的连接占用
+            for (Map.Entry<String, Integer> entry : properties.getMaxPerHost().entrySet()) {
+                HttpRoute route = HttpTransportFactory.route(entry.getKey());
+                Gauge.builder("http.client.pool.route.leased", connectionManager,
+                                manager -> manager.getStats(route).getLeased())
+                        .description("该主机已借出的连接数")
+                        .tag("host", entry.getKey())
+                        .register(registry);
+                Gauge.builder("http.client.pool.route.pending", connectionManager,
+                                manager -> manager.getStats(route).getPending())
+                        .description("等待该主机连接的请求数")
+                        .tag("host", entry.getKey())
+                        .register(registry);
+            }
+        }
+        return connectionManager;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = HttpTransportProperties.PREFIX, name = "protocol", havingValue = "HTTP_1_1", matchIfMissing = true)
+    public CloseableHttpClient knowGoHttpClient(HttpTransportProperties properties,
+                                                PoolingHttpClientConnectionManager knowGoConnectionManager) {
+        return HttpTransportFactory.httpClient(properties, knowGoConnectionManager);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ClientHttpRequestFactory knowGoClientHttpRequestFactory(HttpTransportProperties properties,
+                                                                   ObjectProvider<CloseableHttpClient> knowGoHttpClient) {
+        if (properties.getProtocol() == HttpProtocol.HTTP_2) {
+            JdkClientHttpRequestFactory requestFactory =
+                    new JdkClientHttpRequestFactory(HttpTransportFactory.http2Client(properties));
+            requestFactory.setReadTimeout(properties.getReadTimeout());
+            return requestFactory;
+        }
+        return new HttpComponentsClientHttpRequestFactory(knowGoHttpClient.getObject());
+    }
+
+    @Bean
+    public RestClientCustomizer knowGoRestClientCustomizer(HttpTransportProperties properties,
+                                                           ClientHttpRequestFactory knowGoClientHttpRequestFactory) {
+        HttpTransportProperties.Compression compression = properties.getCompression();
+        RequestCompressionInterceptor compressionInterceptor = compression.getHosts().isEmpty() ? null
+                : new RequestCompressionInterceptor(compression.getMinRequestSize().toBytes(), compression.getHosts());
+        return builder -> {
+            builder.requestFactory(knowGoClientHttpRequestFactory);
+            if (compressionInterceptor != null) {
+                builder.requestInterceptor(compressionInterceptor);
+            }
+        };
+    }
+}
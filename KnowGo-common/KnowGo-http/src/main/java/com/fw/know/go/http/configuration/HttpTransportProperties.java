@@ -0,0 +1,98 @@
+package com.fw.know.go.http.configuration;
+
+import com.fw.know.go.http.HttpProtocol;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @Description 共享HTTP传输配置属性，调用Chroma和DashScope的RestClient共用一个连接池
+ * @Date 19/10/2026 下午7:30
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = HttpTransportProperties.PREFIX)
+public class HttpTransportProperties {
+
+    public static final String PREFIX = "know.go.http";
+
+    /**
+     * 是否启用共享HTTP传输，关闭后使用Spring Boot默认的请求工厂
+     */
+    private boolean enabled = true;
+
+    /**
+     * 协议，HTTP_1_1 使用带连接池的 Apache HttpClient；HTTP_2 使用JDK HttpClient，同一主机的请求复用一个连接
+     */
+    private HttpProtocol protocol = HttpProtocol.HTTP_1_1;
+
+    /**
+     * 连接池的最大连接数
+     */
+    private int maxTotal = 200;
+
+    /**
+     * 每个主机的默认最大连接数
+     */
+    private int maxPerRoute = 50;
+
+    /**
+     * 按主机单独设置的最大连接数，键为 scheme://host[:port]
+     */
+    private Map<String, Integer> maxPerHost = new LinkedHashMap<>();
+
+    /**
+     * 建立连接的超时
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * 读取响应的超时，非流式的大模型调用可能较慢
+     */
+    private Duration readTimeout = Duration.ofSeconds(120);
+
+    /**
+     * 从连接池获取连接的等待超时
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    /**
+     * 连接的最长存活时间，到期后不再复用，便于服务端节点变化后重新建连
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    /**
+     * 空闲超过该时间的连接被后台清理
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 连接空闲超过该时间后，复用前先检查是否仍然可用
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    /**
+     * 请求体压缩配置
+     */
+    private Compression compression = new Compression();
+
+    @Data
+    public static class Compression {
+
+        /**
+         * 请求体不小于该大小时以gzip压缩
+         */
+        private DataSize minRequestSize = DataSize.ofKilobytes(64);
+
+        /**
+         * 接受gzip请求体的主机，为空时不压缩请求体；响应体的解压对所有主机生效
+         */
+        private List<String> hosts = new ArrayList<>();
+    }
+}
@@ -0,0 +1,55 @@
+package com.fw.know.go.http;
+
+import com.fw.know.go.http.configuration.HttpTransportProperties;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 共享HTTP传输测试
+ * @Date 19/10/2026 下午8:20
+ * @Author Leo
+ */
+public class HttpTransportFactoryTest {
+
+    @Test
+    public void appliesPerHostLimits() throws IOException {
+        HttpTransportProperties properties = new HttpTransportProperties();
+        properties.setMaxTotal(100);
+        properties.setMaxPerRoute(10);
+        properties.getMaxPerHost().put("https://dashscope.aliyuncs.com", 64);
+        try (PoolingHttpClientConnectionManager connectionManager = HttpTransportFactory.connectionManager(properties)) {
+            assertEquals(100, connectionManager.getMaxTotal());
+            assertEquals(10, connectionManager.getDefaultMaxPerRoute());
+            assertEquals(64, connectionManager.getMaxPerRoute(HttpTransportFactory.route("https://dashscope.aliyuncs.com:443")));
+            assertEquals(10, connectionManager.getMaxPerRoute(HttpTransportFactory.route("http://chroma:8000")));
+        }
+    }
+
+    @Test
+    public void resolvesDefaultPorts() {
+        HttpRoute https = HttpTransportFactory.route("https://dashscope.aliyuncs.com");
+        assertEquals(443, https.getTargetHost().getPort());
+        assertTrue(https.isSecure());
+        assertEquals(8000, HttpTransportFactory.route("chroma:8000").getTargetHost().getPort());
+    }
+
+    @Test
+    public void gzipRoundTrip() throws IOException {
+        byte[] body = "{\"input\":{\"texts\":[\"向量化批量请求\"]}}".repeat(500).getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = RequestCompressionInterceptor.gzip(body);
+        assertTrue(compressed.length < body.length / 10);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(body, in.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.fw.know.go.skywalking;
+
+import com.fw.know.go.base.context.ContextSnapshot;
+import org.apache.skywalking.apm.toolkit.trace.CallableWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * @Description 子任务继续父线程的链路，检索、模型对冲等在虚拟线程上执行的调用仍归属同一条Trace
+ * @Date 21/10/2026 上午9:40
+ * @Author Leo
+ */
+public class SkyWalkingTaskDecorator implements ContextSnapshot.TaskDecorator {
+
+    @Override
+    public <T> Callable<T> decorate(Callable<T> task) {
+        return CallableWrapper.of(task);
+    }
+}
@@ -0,0 +1,66 @@
+package com.fw.know.go.skywalking;
+
+import org.apache.skywalking.apm.toolkit.trace.ActiveSpan;
+import org.apache.skywalking.apm.toolkit.trace.Tracer;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * @Description 链路追踪工具，为各处理阶段创建本地Span
+ * <p>
+ * 在阶段内部调用 {@link #tag(String, Object)} 为当前Span打上大小类标签（字节数、token数、命中数），
+ * 未挂载SkyWalking探针时所有方法均为空操作
+ * @Date 21/10/2026 上午9:30
+ * @Author Leo
+ */
+public final class TraceSpans {
+
+    private TraceSpans() {
+    }
+
+    /**
+     * 在本地Span内执行
+     * @param operation 操作名
+     * @param call 调用
+     * @return 调用结果
+     */
+    public static <T> T trace(String operation, Supplier<T> call) {
+        Tracer.createLocalSpan(operation);
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            ActiveSpan.error(e);
+            throw e;
+        } finally {
+            Tracer.stopSpan();
+        }
+    }
+
+    /**
+     * 在本地Span内执行，允许抛出受检异常
+     * @param operation 操作名
+     * @param call 调用
+     * @return 调用结果
+     */
+    public static <T> T call(String operation, Callable<T> call) throws Exception {
+        Tracer.createLocalSpan(operation);
+        try {
+            return call.call();
+        } catch (Exception e) {
+            ActiveSpan.error(e);
+            throw e;
+        } finally {
+            Tracer.stopSpan();
+        }
+    }
+
+    /**
+     * 为当前Span打标签
+     * @param key 标签名
+     * @param value 标签值
+     */
+    public static void tag(String key, Object value) {
+        ActiveSpan.tag(key, String.valueOf(value));
+    }
+}
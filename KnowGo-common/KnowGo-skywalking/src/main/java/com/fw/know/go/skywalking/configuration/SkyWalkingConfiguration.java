@@ -0,0 +1,24 @@
+package com.fw.know.go.skywalking.configuration;
+
+import com.fw.know.go.base.context.ContextSnapshot;
+import com.fw.know.go.skywalking.SkyWalkingTaskDecorator;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @Description 链路追踪配置类
+ * @Date 21/10/2026 上午9:45
+ * @Author Leo
+ */
+@Configuration
+public class SkyWalkingConfiguration {
+
+    private static final AtomicBoolean INSTALLED = new AtomicBoolean();
+
+    public SkyWalkingConfiguration() {
+        if (INSTALLED.compareAndSet(false, true)) {
+            ContextSnapshot.registerDecorator(new SkyWalkingTaskDecorator());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.fw.know.go.web.capture;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * @Description 查询脱敏：邮箱替换为固定值，6位以上的连续数字（手机号、证件号、卡号等）按位替换为0，
+ * 租户标识替换为加盐哈希。问题的长度和结构保持不变，回放时缓存命中情况与原始流量一致
+ * @Date 19/10/2026 下午7:25
+ * @Author Leo
+ */
+public class QueryAnonymizer {
+
+    private static final Pattern EMAIL = Pattern.compile("[\\w.+-]+@[\\w-]+(\\.[\\w-]+)+");
+
+    private static final Pattern LONG_NUMBER = Pattern.compile("\\d{6,}");
+
+    private static final String EMAIL_REPLACEMENT = "user@example.com";
+
+    private static final int TENANT_HASH_BYTES = 8;
+
+    private final byte[] salt;
+
+    public QueryAnonymizer(String salt) {
+        if (salt == null || salt.isBlank()) {
+            throw new IllegalArgumentException("query capture salt must not be blank");
+        }
+        this.salt = salt.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 脱敏文本
+     * @param text 原始文本
+     * @return 脱敏后的文本
+     */
+    public String anonymize(String text) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        String masked = EMAIL.matcher(text).replaceAll(EMAIL_REPLACEMENT);
+        Matcher matcher = LONG_NUMBER.matcher(masked);
+        if (!matcher.find()) {
+            return masked;
+        }
+        StringBuilder sb = new StringBuilder(masked.length());
+        do {
+            matcher.appendReplacement(sb, "0".repeat(matcher.group().length()));
+        } while (matcher.find());
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    /**
+     * 文本是否包含需要脱敏的个人信息
+     * @param text 文本
+     * @return 包含邮箱或6位以上的连续数字时返回 true
+     */
+    public static boolean containsPersonalData(String text) {
+        return text != null && (EMAIL.matcher(text).find() || LONG_NUMBER.matcher(text).find());
+    }
+
+    /**
+     * 脱敏查询字符串，参数值解码后脱敏再编码
+     * @param queryString 原始查询字符串
+     * @return 脱敏后的查询字符串
+     */
+    public String anonymizeQueryString(String queryString) {
+        if (queryString == null || queryString.isEmpty()) {
+            return queryString;
+        }
+        StringBuilder sb = new StringBuilder(queryString.length());
+        for (String pair : queryString.split("&")) {
+            if (!sb.isEmpty()) {
+                sb.append('&');
+            }
+            int split = pair.indexOf('=');
+            if (split < 0) {
+                sb.append(pair);
+                continue;
+            }
+            String value = URLDecoder.decode(pair.substring(split + 1), StandardCharsets.UTF_8);
+            sb.append(pair, 0, split + 1).append(URLEncoder.encode(this.anonymize(value), StandardCharsets.UTF_8));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 租户标识的加盐哈希，同一租户总是得到同一结果
+     * @param tenant 租户标识
+     * @return 哈希
+     */
+    public String hashTenant(String tenant) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            byte[] hash = digest.digest(tenant.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, TENANT_HASH_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.fw.know.go.web.capture;
+
+import com.fw.know.go.base.querylog.QueryLogRecord;
+import com.fw.know.go.base.querylog.QueryLogWriter;
+import com.fw.know.go.web.configuration.QueryCaptureProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @Description 查询采集写出器，请求线程只入队，由后台线程顺序写入文件，文件超过大小上限时切换到新文件
+ * @Date 19/10/2026 下午7:30
+ * @Author Leo
+ */
+@Slf4j
+public class QueryCaptureWriter implements AutoCloseable {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directory;
+
+    private final long maxFileBytes;
+
+    private final BlockingQueue<QueryLogRecord> queue;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    private QueryLogWriter writer;
+
+    private int fileSequence;
+
+    public QueryCaptureWriter(QueryCaptureProperties properties) {
+        this.directory = Path.of(properties.getDirectory());
+        this.maxFileBytes = properties.getMaxFileSize().toBytes();
+        this.queue = new ArrayBlockingQueue<>(properties.getBufferSize());
+        this.thread = Thread.ofPlatform().name("query-capture-writer").daemon(true).unstarted(this::drainLoop);
+        this.thread.start();
+    }
+
+    /**
+     * 提交一条记录，队列满时丢弃，不阻塞请求线程
+     * @param record 记录
+     */
+    public void submit(QueryLogRecord record) {
+        if (!queue.offer(record)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * 因队列满丢弃的记录数
+     * @return 记录数
+     */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                QueryLogRecord record = queue.poll(1, TimeUnit.SECONDS);
+                if (record == null) {
+                    continue;
+                }
+                this.write(record);
+                QueryLogRecord next;
+                while ((next = queue.poll()) != null) {
+                    this.write(next);
+                }
+                writer.flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                log.warn("write query log failed, switching to a new file", e);
+                this.closeWriter();
+            }
+        }
+    }
+
+    private void write(QueryLogRecord record) throws IOException {
+        if (writer == null || writer.bytesWritten() >= maxFileBytes) {
+            this.closeWriter();
+            Files.createDirectories(directory);
+            Path file = directory.resolve("queries-" + LocalDateTime.now().format(FILE_TIME) + "-"
+                    + ProcessHandle.current().pid() + "-" + (fileSequence++) + ".qlog");
+            writer = new QueryLogWriter(Files.newOutputStream(file, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE));
+            log.info("query capture writing to {}", file);
+        }
+        writer.append(record);
+    }
+
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("close query log failed", e);
+        }
+        writer = null;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+        this.closeWriter();
+        if (dropped.get() > 0) {
+            log.warn("query capture dropped {} records because the buffer was full", dropped.get());
+        }
+    }
+}
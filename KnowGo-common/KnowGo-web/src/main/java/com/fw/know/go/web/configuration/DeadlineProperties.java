@@ -0,0 +1,45 @@
+package com.fw.know.go.web.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Description 请求截止时间配置属性
+ * @Date 20/10/2026 下午2:05
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = DeadlineProperties.PREFIX)
+public class DeadlineProperties {
+
+    public static final String PREFIX = "know.go.web.deadline";
+
+    /**
+     * 客户端指定超时时间（毫秒）的请求头
+     */
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    /**
+     * 是否启用
+     */
+    private boolean enabled = true;
+
+    /**
+     * 默认超时时间
+     */
+    private Duration defaultTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 客户端可指定的最大超时时间
+     */
+    private Duration maxTimeout = Duration.ofSeconds(120);
+
+    /**
+     * 需要设置截止时间的路径，支持Ant风格
+     */
+    private List<String> includePaths = new ArrayList<>();
+}
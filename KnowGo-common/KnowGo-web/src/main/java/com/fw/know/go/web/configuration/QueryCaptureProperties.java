@@ -0,0 +1,60 @@
+package com.fw.know.go.web.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Description 查询采集配置属性，采集脱敏后的请求用于回放压测
+ * @Date 19/10/2026 下午7:20
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = QueryCaptureProperties.PREFIX)
+public class QueryCaptureProperties {
+
+    public static final String PREFIX = "know.go.web.capture";
+
+    /**
+     * 是否启用，默认关闭
+     */
+    private boolean enabled = false;
+
+    /**
+     * 采集的路径，支持Ant风格
+     */
+    private List<String> includePaths = new ArrayList<>();
+
+    /**
+     * 采集文件目录
+     */
+    private String directory = "/tmp/knowgo-querylog";
+
+    /**
+     * 采样率，0到1之间
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * 请求体超过该大小时不采集
+     */
+    private DataSize maxBodySize = DataSize.ofKilobytes(16);
+
+    /**
+     * 单个文件的大小上限，超过后切换到新文件
+     */
+    private DataSize maxFileSize = DataSize.ofMegabytes(64);
+
+    /**
+     * 待写出记录的队列长度，队列满时丢弃
+     */
+    private int bufferSize = 10000;
+
+    /**
+     * 租户标识哈希使用的盐，不同环境应不同且不公开；启用采集时必须配置，未配置时启动失败
+     */
+    private String salt;
+}
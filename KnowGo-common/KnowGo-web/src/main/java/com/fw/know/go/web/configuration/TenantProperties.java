@@ -0,0 +1,40 @@
+package com.fw.know.go.web.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Description 租户认证配置属性，开启签名校验后租户标识只接受网关签名过的请求头
+ * @Date 20/10/2026 下午7:20
+ * @Author Leo
+ */
+@Data
+@ConfigurationProperties(prefix = TenantProperties.PREFIX)
+public class TenantProperties {
+
+    public static final String PREFIX = "know.go.web.tenant";
+
+    /**
+     * 是否校验网关签名的租户；关闭或未配置密钥时所有请求使用默认租户
+     */
+    private boolean enforceSignature = false;
+
+    /**
+     * 与网关共享的签名密钥，开启签名校验时必须配置
+     */
+    private String secret;
+
+    /**
+     * 签名时间戳与本机时间允许的最大偏差
+     */
+    private Duration maxClockSkew = Duration.ofMinutes(5);
+
+    /**
+     * 不需要租户的路径，支持Ant风格
+     */
+    private List<String> excludePaths = new ArrayList<>(List.of("/actuator/**", "/error"));
+}
@@ -1,10 +1,18 @@
 package com.fw.know.go.web.configuration;
 
+import com.fw.know.go.web.capture.QueryCaptureWriter;
+import com.fw.know.go.web.filter.DeadlineFilter;
+import com.fw.know.go.web.filter.QueryCaptureFilter;
 import com.fw.know.go.web.handler.GlobalWebExceptionHandler;
+import com.fw.know.go.web.interceptor.RequestContextInterceptor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * @Classname WebConfiguration
@@ -14,6 +22,7 @@ import org.springframework.context.annotation.Bean;
  */
 @AutoConfiguration
 @ConditionalOnWebApplication
+@EnableConfigurationProperties({DeadlineProperties.class, QueryCaptureProperties.class, TenantProperties.class})
 public class WebConfiguration {
 
     @Bean
@@ -21,4 +30,36 @@ public class WebConfiguration {
     public GlobalWebExceptionHandler globalWebExceptionHandler() {
         return new GlobalWebExceptionHandler();
     }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public DeadlineFilter deadlineFilter(DeadlineProperties deadlineProperties) {
+        return new DeadlineFilter(deadlineProperties);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = QueryCaptureProperties.PREFIX, name = "enabled", havingValue = "true")
+    public QueryCaptureWriter queryCaptureWriter(QueryCaptureProperties queryCaptureProperties) {
+        return new QueryCaptureWriter(queryCaptureProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = QueryCaptureProperties.PREFIX, name = "enabled", havingValue = "true")
+    public QueryCaptureFilter queryCaptureFilter(QueryCaptureProperties queryCaptureProperties,
+                                                 QueryCaptureWriter queryCaptureWriter) {
+        return new QueryCaptureFilter(queryCaptureProperties, queryCaptureWriter);
+    }
+
+    @Bean
+    public WebMvcConfigurer requestContextWebMvcConfigurer(TenantProperties tenantProperties) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new RequestContextInterceptor(tenantProperties))
+                        .excludePathPatterns(tenantProperties.getExcludePaths());
+            }
+        };
+    }
 }
@@ -0,0 +1,60 @@
+package com.fw.know.go.web.filter;
+
+import cn.hutool.core.util.NumberUtil;
+import com.fw.know.go.base.context.Deadline;
+import com.fw.know.go.base.context.DeadlineContext;
+import com.fw.know.go.web.configuration.DeadlineProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * @Description 为请求设置截止时间，客户端可通过 X-Request-Timeout（毫秒）缩短，不能超过配置的最大值
+ * @Date 20/10/2026 下午2:10
+ * @Author Leo
+ */
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final DeadlineProperties properties;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public DeadlineFilter(DeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return properties.getIncludePaths().stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        DeadlineContext.set(Deadline.after(this.timeoutOf(request)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DeadlineContext.clear();
+        }
+    }
+
+    private Duration timeoutOf(HttpServletRequest request) {
+        String header = request.getHeader(DeadlineProperties.TIMEOUT_HEADER);
+        if (header == null || !NumberUtil.isLong(header.trim())) {
+            return properties.getDefaultTimeout();
+        }
+        Duration requested = Duration.ofMillis(Math.max(1, Long.parseLong(header.trim())));
+        return requested.compareTo(properties.getMaxTimeout()) > 0 ? properties.getMaxTimeout() : requested;
+    }
+}
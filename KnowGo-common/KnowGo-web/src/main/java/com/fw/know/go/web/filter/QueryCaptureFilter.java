@@ -0,0 +1,74 @@
+package com.fw.know.go.web.filter;
+
+import com.fw.know.go.base.querylog.QueryLogRecord;
+import com.fw.know.go.web.capture.QueryAnonymizer;
+import com.fw.know.go.web.capture.QueryCaptureWriter;
+import com.fw.know.go.web.configuration.QueryCaptureProperties;
+import com.fw.know.go.web.interceptor.RequestContextInterceptor;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @Description 按采样率采集匹配路径的请求，脱敏后交给后台线程写入查询日志，用于回放压测
+ * @Date 19/10/2026 下午7:40
+ * @Author Leo
+ */
+public class QueryCaptureFilter extends OncePerRequestFilter {
+
+    private final QueryCaptureProperties properties;
+
+    private final QueryCaptureWriter writer;
+
+    private final QueryAnonymizer anonymizer;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public QueryCaptureFilter(QueryCaptureProperties properties, QueryCaptureWriter writer) {
+        this.properties = properties;
+        this.writer = writer;
+        this.anonymizer = new QueryAnonymizer(properties.getSalt());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled() || ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return properties.getIncludePaths().stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long arrivedAt = System.currentTimeMillis();
+        long maxBody = properties.getMaxBodySize().toBytes();
+        if (request.getContentLengthLong() > maxBody) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ContentCachingRequestWrapper wrapper = new ContentCachingRequestWrapper(request, (int) maxBody);
+        try {
+            filterChain.doFilter(wrapper, response);
+        } finally {
+            // 只记录校验通过的租户，被拒绝的请求不带租户
+            Object tenant = request.getAttribute(RequestContextInterceptor.TENANT_ATTRIBUTE);
+            String body = new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8);
+            writer.submit(new QueryLogRecord(arrivedAt,
+                    tenant instanceof String verified ? anonymizer.hashTenant(verified) : "",
+                    request.getMethod(),
+                    request.getRequestURI().substring(request.getContextPath().length()),
+                    anonymizer.anonymizeQueryString(request.getQueryString()),
+                    anonymizer.anonymize(body)));
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.fw.know.go.web.handler;
 import cn.hutool.core.map.MapUtil;
 import com.fw.know.go.base.exception.BizException;
 import com.fw.know.go.base.exception.SystemException;
+import com.fw.know.go.base.exception.TenantUnauthorizedException;
 import com.fw.know.go.web.vo.Result;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -46,6 +47,20 @@ public class GlobalWebExceptionHandler {
         return errors;
     }
 
+    /**
+     * 处理租户未认证异常
+     *
+     * @param ex 租户未认证异常
+     * @return 包含错误信息的映射
+     */
+    @ExceptionHandler(TenantUnauthorizedException.class)
+    @ResponseStatus(HttpStatus.UNAUTHORIZED)
+    @ResponseBody
+    public Result<Object> handleTenantUnauthorizedException(TenantUnauthorizedException ex) {
+        log.warn("TenantUnauthorizedException occurred: {}", ex.getMessage());
+        return Result.error(ex.getErrorCode().getCode(), ex.getErrorCode().getMessage());
+    }
+
     /**
      * 处理业务异常
      *
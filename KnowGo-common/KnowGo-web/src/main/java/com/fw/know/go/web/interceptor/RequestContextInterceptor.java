@@ -0,0 +1,85 @@
+package com.fw.know.go.web.interceptor;
+
+import com.fw.know.go.base.context.RequestContext;
+import com.fw.know.go.base.context.TenantSignature;
+import com.fw.know.go.base.exception.TenantUnauthorizedException;
+import com.fw.know.go.web.configuration.TenantProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.regex.Pattern;
+
+/**
+ * @Description 确定请求的租户并写入 {@link RequestContext}
+ * <p>
+ * 开启 enforce-signature 且配置了密钥时只接受网关签名的租户，没有有效签名的请求直接拒绝；
+ * 否则所有请求使用默认租户，不信任客户端传入的租户请求头
+ * <p>
+ * 接口取匹配到的路由模板（如 /document/{id}），不使用原始路径，避免统计维度随路径参数膨胀
+ * @Date 19/10/2026 上午9:40
+ * @Author Leo
+ */
+@Slf4j
+public class RequestContextInterceptor implements HandlerInterceptor {
+
+    /**
+     * 校验通过的租户，供过滤器和异步派发读取
+     */
+    public static final String TENANT_ATTRIBUTE = RequestContextInterceptor.class.getName() + ".tenant";
+
+    private static final Pattern TENANT_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    /**
+     * 未开启签名校验或未配置密钥时为空，此时所有请求使用默认租户
+     */
+    private final TenantSignature signature;
+
+    public RequestContextInterceptor(TenantProperties properties) {
+        if (!properties.isEnforceSignature()) {
+            log.warn("{}.enforce-signature is off, every request uses tenant '{}'",
+                    TenantProperties.PREFIX, RequestContext.DEFAULT_TENANT);
+            this.signature = null;
+        } else if (properties.getSecret() == null || properties.getSecret().isBlank()) {
+            log.warn("{}.enforce-signature is on but {}.secret is not configured, every request uses tenant '{}'",
+                    TenantProperties.PREFIX, TenantProperties.PREFIX, RequestContext.DEFAULT_TENANT);
+            this.signature = null;
+        } else {
+            this.signature = new TenantSignature(properties.getSecret(), properties.getMaxClockSkew());
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String tenant = this.authenticate(request);
+        request.setAttribute(TENANT_ATTRIBUTE, tenant);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern == null ? RequestContext.NO_ENDPOINT : request.getMethod() + " " + pattern;
+        RequestContext.set(new RequestContext(tenant, endpoint));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestContext.clear();
+    }
+
+    private String authenticate(HttpServletRequest request) {
+        // 异步派发沿用首次派发时校验过的租户，长时间的流式响应不受签名时效影响
+        if (request.getAttribute(TENANT_ATTRIBUTE) instanceof String verified) {
+            return verified;
+        }
+        if (signature == null) {
+            return RequestContext.DEFAULT_TENANT;
+        }
+        String tenant = request.getHeader(TenantSignature.TENANT_HEADER);
+        if (tenant == null || !TENANT_PATTERN.matcher(tenant).matches()
+                || !signature.verify(tenant, request.getHeader(TenantSignature.TIMESTAMP_HEADER),
+                request.getHeader(TenantSignature.SIGNATURE_HEADER), System.currentTimeMillis())) {
+            throw new TenantUnauthorizedException("missing or invalid tenant signature");
+        }
+        return tenant;
+    }
+}
@@ -3,6 +3,7 @@ package com.fw.know.go.web.vo;
 import lombok.Getter;
 import lombok.Setter;
 
+import static com.fw.know.go.base.response.ResponseCode.DEGRADED;
 import static com.fw.know.go.base.response.ResponseCode.SUCCESS;
 
 /**
@@ -54,6 +55,10 @@ public class Result<T> {
         return new Result<>(true, SUCCESS.name(), SUCCESS.name(), data);
     }
 
+    public static <T> Result<T> degraded(T data, String message) {
+        return new Result<>(true, DEGRADED.name(), message, data);
+    }
+
     public static <T> Result<T> error(String errorCode, String errorMsg) {
         return new Result<>(false, errorCode, errorMsg, null);
     }
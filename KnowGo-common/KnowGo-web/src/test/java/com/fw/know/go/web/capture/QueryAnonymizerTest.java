@@ -0,0 +1,48 @@
+package com.fw.know.go.web.capture;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 查询脱敏测试
+ * @Date 19/10/2026 下午8:25
+ * @Author Leo
+ */
+public class QueryAnonymizerTest {
+
+    private final QueryAnonymizer anonymizer = new QueryAnonymizer("test");
+
+    @Test
+    public void maskEmailAndLongNumbers() {
+        assertEquals("{\"question\":\"user@example.com 的订单 000000000000 在 2025 年为什么没到\"}",
+                anonymizer.anonymize("{\"question\":\"leo.f@corp.com.cn 的订单 138001380001 在 2025 年为什么没到\"}"));
+        assertEquals("query=%E6%89%8B%E6%9C%BA00000000000&topK=5",
+                anonymizer.anonymizeQueryString("query=%E6%89%8B%E6%9C%BA13800138000&topK=5"));
+    }
+
+    @Test
+    public void detectPersonalData() {
+        assertTrue(QueryAnonymizer.containsPersonalData("手机13800138000收不到验证码"));
+        assertTrue(QueryAnonymizer.containsPersonalData("请联系 leo.f@corp.com.cn"));
+        assertFalse(QueryAnonymizer.containsPersonalData("2025 年的报销流程是什么"));
+        assertFalse(QueryAnonymizer.containsPersonalData(null));
+    }
+
+    @Test
+    public void hashTenantStably() {
+        assertEquals(anonymizer.hashTenant("acme"), anonymizer.hashTenant("acme"));
+        assertEquals(16, anonymizer.hashTenant("acme").length());
+        assertNotEquals(anonymizer.hashTenant("acme"), new QueryAnonymizer("other").hashTenant("acme"));
+    }
+
+    @Test
+    public void rejectsBlankSalt() {
+        assertThrows(IllegalArgumentException.class, () -> new QueryAnonymizer(null));
+        assertThrows(IllegalArgumentException.class, () -> new QueryAnonymizer(" "));
+    }
+}
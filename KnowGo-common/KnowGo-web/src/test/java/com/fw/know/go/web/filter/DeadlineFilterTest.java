@@ -0,0 +1,98 @@
+package com.fw.know.go.web.filter;
+
+import com.fw.know.go.base.context.Deadline;
+import com.fw.know.go.base.context.DeadlineContext;
+import com.fw.know.go.web.configuration.DeadlineProperties;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Description 请求截止时间过滤器测试
+ * @Date 20/10/2026 下午2:40
+ * @Author Leo
+ */
+public class DeadlineFilterTest {
+
+    private final DeadlineProperties properties = new DeadlineProperties();
+
+    private final DeadlineFilter filter;
+
+    public DeadlineFilterTest() {
+        properties.setDefaultTimeout(Duration.ofSeconds(30));
+        properties.setMaxTimeout(Duration.ofSeconds(120));
+        properties.setIncludePaths(List.of("/chat/**"));
+        this.filter = new DeadlineFilter(properties);
+    }
+
+    @AfterEach
+    public void clearDeadline() {
+        DeadlineContext.clear();
+    }
+
+    @Test
+    public void usesDefaultWithoutValidHeader() throws Exception {
+        assertBetween(Duration.ofSeconds(29), Duration.ofSeconds(30), this.remainingFor(null));
+        assertBetween(Duration.ofSeconds(29), Duration.ofSeconds(30), this.remainingFor("abc"));
+        assertBetween(Duration.ofSeconds(29), Duration.ofSeconds(30), this.remainingFor("1.5"));
+    }
+
+    @Test
+    public void headerShortensTimeout() throws Exception {
+        assertBetween(Duration.ofMillis(1), Duration.ofMillis(500), this.remainingFor(" 500 "));
+        assertBetween(Duration.ofSeconds(59), Duration.ofSeconds(60), this.remainingFor("60000"));
+    }
+
+    @Test
+    public void headerClampedToMaxAndMinimum() throws Exception {
+        assertBetween(Duration.ofSeconds(119), Duration.ofSeconds(120), this.remainingFor("999999999"));
+        // 0和负数按1毫秒处理，请求立即到期而不是不设截止时间
+        assertBetween(Duration.ZERO, Duration.ofMillis(1), this.remainingFor("0"));
+        assertBetween(Duration.ZERO, Duration.ofMillis(1), this.remainingFor("-5"));
+    }
+
+    @Test
+    public void clearsDeadlineAfterRequest() throws Exception {
+        this.remainingFor("500");
+        assertNull(DeadlineContext.current());
+    }
+
+    @Test
+    public void skipsPathsNotIncluded() throws Exception {
+        AtomicReference<Deadline> seen = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/document/list");
+        request.addHeader(DeadlineProperties.TIMEOUT_HEADER, "500");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> seen.set(DeadlineContext.current()));
+
+        assertNull(seen.get());
+    }
+
+    /**
+     * 以指定的超时请求头执行过滤器，返回执行链中看到的剩余时间
+     */
+    private Duration remainingFor(String header) throws ServletException, IOException {
+        AtomicReference<Duration> remaining = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/chat/ask");
+        if (header != null) {
+            request.addHeader(DeadlineProperties.TIMEOUT_HEADER, header);
+        }
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> remaining.set(DeadlineContext.remaining()));
+        return remaining.get();
+    }
+
+    private static void assertBetween(Duration min, Duration max, Duration actual) {
+        assertTrue(actual != null && actual.compareTo(min) >= 0 && actual.compareTo(max) <= 0,
+                "expected between " + min + " and " + max + " but was " + actual);
+    }
+}
@@ -0,0 +1,97 @@
+package com.fw.know.go.web.interceptor;
+
+import com.fw.know.go.base.context.RequestContext;
+import com.fw.know.go.base.context.TenantSignature;
+import com.fw.know.go.base.exception.TenantUnauthorizedException;
+import com.fw.know.go.web.configuration.TenantProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @Description 请求上下文拦截器测试
+ * @Date 20/10/2026 下午3:10
+ * @Author Leo
+ */
+public class RequestContextInterceptorTest {
+
+    private static final String SECRET = "gateway-secret";
+
+    @AfterEach
+    public void clearContext() {
+        RequestContext.clear();
+    }
+
+    @Test
+    public void usesDefaultTenantWhenEnforcementIsOff() {
+        RequestContextInterceptor interceptor = new RequestContextInterceptor(properties(false, SECRET));
+
+        // 未开启校验时不信任客户端传入的租户请求头
+        assertEquals(RequestContext.DEFAULT_TENANT, this.tenantOf(interceptor, request("tenant-a")));
+        assertEquals(RequestContext.DEFAULT_TENANT,
+                this.tenantOf(interceptor, new MockHttpServletRequest("POST", "/rag/chat")));
+    }
+
+    @Test
+    public void usesDefaultTenantWhenSecretIsMissing() {
+        RequestContextInterceptor interceptor = new RequestContextInterceptor(properties(true, " "));
+
+        assertEquals(RequestContext.DEFAULT_TENANT, this.tenantOf(interceptor, request("tenant-a")));
+    }
+
+    @Test
+    public void acceptsSignedTenantWhenEnforced() {
+        RequestContextInterceptor interceptor = new RequestContextInterceptor(properties(true, SECRET));
+        MockHttpServletRequest request = signed("tenant-a", SECRET);
+
+        assertEquals("tenant-a", this.tenantOf(interceptor, request));
+        assertEquals("tenant-a", request.getAttribute(RequestContextInterceptor.TENANT_ATTRIBUTE));
+    }
+
+    @Test
+    public void rejectsUnsignedOrForgedTenantWhenEnforced() {
+        RequestContextInterceptor interceptor = new RequestContextInterceptor(properties(true, SECRET));
+
+        assertThrows(TenantUnauthorizedException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest("POST", "/rag/chat"),
+                        new MockHttpServletResponse(), null));
+        assertThrows(TenantUnauthorizedException.class,
+                () -> interceptor.preHandle(request("tenant-a"), new MockHttpServletResponse(), null));
+        assertThrows(TenantUnauthorizedException.class,
+                () -> interceptor.preHandle(signed("tenant-a", "other-secret"), new MockHttpServletResponse(), null));
+    }
+
+    private String tenantOf(RequestContextInterceptor interceptor, MockHttpServletRequest request) {
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+        return RequestContext.current().getTenantId();
+    }
+
+    private static TenantProperties properties(boolean enforceSignature, String secret) {
+        TenantProperties properties = new TenantProperties();
+        properties.setEnforceSignature(enforceSignature);
+        properties.setSecret(secret);
+        properties.setMaxClockSkew(Duration.ofMinutes(5));
+        return properties;
+    }
+
+    private static MockHttpServletRequest request(String tenant) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/rag/chat");
+        request.addHeader(TenantSignature.TENANT_HEADER, tenant);
+        return request;
+    }
+
+    private static MockHttpServletRequest signed(String tenant, String secret) {
+        long now = System.currentTimeMillis();
+        MockHttpServletRequest request = request(tenant);
+        request.addHeader(TenantSignature.TIMESTAMP_HEADER, String.valueOf(now));
+        request.addHeader(TenantSignature.SIGNATURE_HEADER,
+                new TenantSignature(secret, Duration.ofMinutes(5)).sign(tenant, now));
+        return request;
+    }
+}
@@ -3,9 +3,9 @@ package com.fw.know.go.server.config;
 import com.alibaba.cloud.ai.dashscope.api.DashScopeApi;
 import com.alibaba.cloud.ai.dashscope.embedding.DashScopeEmbeddingModel;
 import com.alibaba.cloud.ai.dashscope.embedding.DashScopeEmbeddingOptions;
+import com.fw.know.go.ai.audit.AsyncAuditAdvisor;
 import io.micrometer.observation.ObservationRegistry;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
 import org.springframework.ai.chroma.vectorstore.ChromaApi;
 import org.springframework.ai.chroma.vectorstore.ChromaVectorStore;
 import org.springframework.ai.embedding.BatchingStrategy;
@@ -17,6 +17,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
 
 /**
  * @Classname ChatClientConfig
@@ -31,13 +32,17 @@ public class ChatClientConfig {
     private String apiKey;
 
     @Bean
-    public ChatClient chatClient(ChatClient.Builder builder) {
-        return builder.defaultAdvisors(new SimpleLoggerAdvisor()).build();
+    public ChatClient chatClient(ChatClient.Builder builder, AsyncAuditAdvisor asyncAuditAdvisor) {
+        return builder.defaultAdvisors(asyncAuditAdvisor).build();
     }
 
     @Bean
-    public DashScopeApi dashScopeApi() {
-        return DashScopeApi.builder().apiKey(apiKey).build();
+    public DashScopeApi dashScopeApi(ObjectProvider<RestClient.Builder> restClientBuilder) {
+        // 使用Spring Boot创建的 RestClient.Builder，共享HTTP连接池和超时配置
+        return DashScopeApi.builder()
+                .apiKey(apiKey)
+                .restClientBuilder(restClientBuilder.getIfAvailable(RestClient::builder))
+                .build();
     }
 
     @Bean